@@ -0,0 +1,349 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package charge;
+
+import java.util.Locale;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Bilan d'une mesure de charge de {@link GenerateurCharge} : parties jouées, débit,
+ * erreurs relevées par les joueurs virtuels et centiles de latence par type de requête.
+ * 
+ * <p>Chaque thread remplit son propre bilan, fusionné avec les autres à la fin de la mesure :
+ * un bilan ne doit servir qu'à un seul thread à la fois.</p>
+ * 
+ * @author Coyote
+ */
+public final class BilanCharge {
+
+
+	/**
+	 * Types de requêtes mesurés.
+	 */
+	public enum Requete {
+
+		/**
+		 * Création d'une partie : <code>NOUVELLE</code>.
+		 */
+		NOUVELLE,
+		/**
+		 * Combinaison que l'IA doit trouver : <code>SECRET</code>.
+		 */
+		SECRET,
+		/**
+		 * Tentative du joueur : <code>ESSAI</code>.
+		 */
+		ESSAI,
+		/**
+		 * Tour de l'IA, mesuré de la ligne qui le précède à la ligne <code>IA</code>.
+		 */
+		IA
+
+	}
+
+	/**
+	 * Nombre d'erreurs écrites dans les logs par bilan, les suivantes sont seulement comptées.
+	 */
+	private static final int MAX_ERREURS_LOG = 10;
+	/**
+	 * Centiles affichés.
+	 */
+	private static final double[] CENTILES = { 0.5, 0.9, 0.99, 0.999 };
+	/**
+	 * En-têtes des centiles affichés.
+	 */
+	private static final String[] NOMS_CENTILES = { "p50", "p90", "p99", "p99.9" };
+	/**
+	 * Création de l'objet Logger permettant la gestion des logs de l'application.
+	 */
+	private static final Logger LOG = LogManager.getLogger();
+	/**
+	 * Latences de chaque type de requête, dans l'ordre de <code>Requete</code>.
+	 */
+	private final HistogrammeLatences[] latences;
+	/**
+	 * Durées des parties, de la création à la fin.
+	 */
+	private final HistogrammeLatences parties;
+	/**
+	 * Nombre de réponses du serveur fausses ou inattendues.
+	 */
+	private long nbrErreurs;
+	/**
+	 * Nombre de tours de l'IA refusés par un serveur saturé, puis retentés.
+	 */
+	private long nbrRefus;
+	/**
+	 * Nombre de joueurs arrêtés en cours de partie à la fin du délai de grâce.
+	 */
+	private long nbrInterrompus;
+	/**
+	 * Durée de la mesure en nanosecondes.
+	 */
+	private long dureeNanos;
+	/**
+	 * Durée de la construction des joueurs avant la mesure, en nanosecondes.
+	 */
+	private long preparationNanos;
+
+
+	/**
+	 * Constructeur d'un bilan vide.
+	 */
+	public BilanCharge() {
+
+		latences = new HistogrammeLatences[Requete.values().length];
+
+		for (int r = 0; r < latences.length; r++) {
+			latences[r] = new HistogrammeLatences();
+		}
+
+		parties = new HistogrammeLatences();
+	}
+
+	/**
+	 * Compte la latence d'une requête.
+	 * 
+	 * @param requete : type de la requête.
+	 * @param nanos : latence en nanosecondes.
+	 */
+	void ajouterLatence(Requete requete, long nanos) {
+
+		latences[requete.ordinal()].ajouter(nanos);
+	}
+
+	/**
+	 * Compte une partie terminée sans erreur.
+	 * 
+	 * @param nanos : durée de la partie en nanosecondes.
+	 */
+	void ajouterPartie(long nanos) {
+
+		parties.ajouter(nanos);
+	}
+
+	/**
+	 * Compte une réponse fausse ou inattendue, écrite dans les logs pour les premières.
+	 * 
+	 * @param message : description de l'erreur.
+	 */
+	void ajouterErreur(String message) {
+
+		nbrErreurs++;
+
+		if (nbrErreurs <= MAX_ERREURS_LOG) {
+			LOG.error("Charge : " + message);
+		}
+	}
+
+	/**
+	 * Compte un tour de l'IA refusé par le serveur.
+	 */
+	void ajouterRefus() {
+
+		nbrRefus++;
+	}
+
+	/**
+	 * Compte un joueur arrêté en cours de partie.
+	 */
+	void ajouterInterrompu() {
+
+		nbrInterrompus++;
+	}
+
+	/**
+	 * Ajoute les mesures d'un autre bilan à celui-ci.
+	 * 
+	 * @param autre : bilan d'un autre thread.
+	 */
+	void fusionner(BilanCharge autre) {
+
+		for (int r = 0; r < latences.length; r++) {
+			latences[r].fusionner(autre.latences[r]);
+		}
+
+		parties.fusionner(autre.parties);
+		nbrErreurs += autre.nbrErreurs;
+		nbrRefus += autre.nbrRefus;
+		nbrInterrompus += autre.nbrInterrompus;
+	}
+
+	/**
+	 * Fixe la durée de la mesure.
+	 * 
+	 * @param dureeNanos : durée en nanosecondes.
+	 */
+	void setDureeNanos(long dureeNanos) {
+
+		this.dureeNanos = dureeNanos;
+	}
+
+	/**
+	 * Fixe la durée de la construction des joueurs, hors mesure.
+	 * 
+	 * @param preparationNanos : durée en nanosecondes.
+	 */
+	void setPreparationNanos(long preparationNanos) {
+
+		this.preparationNanos = preparationNanos;
+	}
+
+	/**
+	 * Récupère le nombre de parties terminées sans erreur.
+	 * 
+	 * @return <code>long</code>
+	 */
+	public long getNbrParties() {
+
+		return parties.getNbr();
+	}
+
+	/**
+	 * Récupère le nombre de requêtes d'un type.
+	 * 
+	 * @param requete : type de la requête.
+	 * 
+	 * @return <code>long</code>
+	 */
+	public long getNbrRequetes(Requete requete) {
+
+		return latences[requete.ordinal()].getNbr();
+	}
+
+	/**
+	 * Récupère un centile de latence d'un type de requête.
+	 * 
+	 * @param requete : type de la requête.
+	 * @param q : fraction des requêtes, par exemple <code>0.99</code>.
+	 * 
+	 * @return <code>long</code> : en nanosecondes, à 3 % près.
+	 */
+	public long getLatence(Requete requete, double q) {
+
+		return latences[requete.ordinal()].centile(q);
+	}
+
+	/**
+	 * Récupère le nombre de réponses du serveur fausses ou inattendues.
+	 * 
+	 * @return <code>long</code>
+	 */
+	public long getNbrErreurs() {
+
+		return nbrErreurs;
+	}
+
+	/**
+	 * Récupère le nombre de tours de l'IA refusés par un serveur saturé.
+	 * 
+	 * @return <code>long</code>
+	 */
+	public long getNbrRefus() {
+
+		return nbrRefus;
+	}
+
+	/**
+	 * Récupère le nombre de joueurs arrêtés en cours de partie.
+	 * 
+	 * @return <code>long</code>
+	 */
+	public long getNbrInterrompus() {
+
+		return nbrInterrompus;
+	}
+
+	/**
+	 * Récupère la durée de la mesure en secondes.
+	 * 
+	 * @return <code>double</code>
+	 */
+	public double getDureeSecondes() {
+
+		return dureeNanos / 1e9;
+	}
+
+	/**
+	 * Récupère la durée de la construction des joueurs avant la mesure, en secondes.
+	 * 
+	 * @return <code>double</code>
+	 */
+	public double getPreparationSecondes() {
+
+		return preparationNanos / 1e9;
+	}
+
+	/**
+	 * Récupère le débit soutenu en parties par seconde.
+	 * 
+	 * @return <code>double</code>
+	 */
+	public double getPartiesParSeconde() {
+
+		return dureeNanos == 0 ? 0 : getNbrParties() * 1e9 / dureeNanos;
+	}
+
+	@Override
+	public String toString() {
+
+		StringBuilder sb = new StringBuilder();
+
+		sb.append(String.format(Locale.ROOT, "Parties : %d en %.3f s (%.1f parties/s), après %.3f s de préparation%n",
+				getNbrParties(), getDureeSecondes(), getPartiesParSeconde(), getPreparationSecondes()));
+		sb.append(String.format(Locale.ROOT, "Erreurs : %d, tours de l'IA refusés : %d, joueurs interrompus : %d%n",
+				nbrErreurs, nbrRefus, nbrInterrompus));
+		sb.append(String.format(Locale.ROOT, "%-9s %10s %10s", "Latences", "nombre", "moyenne"));
+
+		for (String nom : NOMS_CENTILES) {
+			sb.append(String.format(Locale.ROOT, " %10s", nom));
+		}
+
+		sb.append(String.format(Locale.ROOT, " %10s  (µs)%n", "max"));
+
+		for (Requete requete : Requete.values()) {
+			if (latences[requete.ordinal()].getNbr() > 0) {
+				ajouterLigne(requete.name(), latences[requete.ordinal()], sb);
+			}
+		}
+
+		ajouterLigne("PARTIE", parties, sb);
+
+		return sb.toString();
+	}
+
+	/**
+	 * Ajoute la ligne d'un histogramme au bilan affiché.
+	 * 
+	 * @param nom : nom de la ligne.
+	 * @param histogramme : latences de la ligne.
+	 * @param sb : reçoit la ligne.
+	 */
+	private static void ajouterLigne(String nom, HistogrammeLatences histogramme, StringBuilder sb) {
+
+		sb.append(String.format(Locale.ROOT, "%-9s %10d %10.1f", nom, histogramme.getNbr(), histogramme.getMoyenne() / 1e3));
+
+		for (double q : CENTILES) {
+			sb.append(String.format(Locale.ROOT, " %10.1f", histogramme.centile(q) / 1e3));
+		}
+
+		sb.append(String.format(Locale.ROOT, " %10.1f%n", histogramme.getMax() / 1e3));
+	}
+
+}
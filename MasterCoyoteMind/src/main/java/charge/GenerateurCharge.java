@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package charge;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import ia.GenerateurAleatoire;
+import ia.GenerateurSplittable;
+import ia.SolveurRecherche;
+import moteur.ConfigPartie;
+import moteur.ModeJeu;
+import moteur.TypeJeu;
+import serveur.ProtocoleJeu;
+import serveur.ServeurJeu;
+
+/**
+ * Générateur de charge : des milliers de joueurs virtuels enchaînent des parties pendant une durée donnée,
+ * contre un {@link ServeurJeu} par le réseau ou contre le protocole du serveur dans la même JVM.
+ * 
+ * <p>Chaque joueur cherche la combinaison avec le solveur de l'IA et vérifie chaque réponse avec les règles
+ * du jeu. Le bilan donne les centiles de latence par type de requête (création de partie, secret, essai,
+ * tour de l'IA), le débit de parties par seconde, les erreurs et les tours refusés par un serveur saturé.</p>
+ * 
+ * <p>Les joueurs sont répartis sur des pilotes, un par thread, qui ne partagent rien jusqu'à la fusion
+ * des bilans. Une même graine et un même nombre de threads rejouent les mêmes parties.</p>
+ * 
+ * <p>Utilisation : <code>java charge.GenerateurCharge cible type mode nbrJoueurs dureeSecondes
+ * [cases [essais [couleurs [nbrThreads [graine]]]]]</code>, avec <code>cible</code> valant <code>local</code>
+ * ou <code>hote:port</code>, et <code>type</code> et <code>mode</code> les noms du protocole,
+ * par exemple <code>MASTERMIND DUEL</code>.</p>
+ * 
+ * @see JoueurVirtuel
+ * @see ProtocoleJeu
+ * 
+ * @author Coyote
+ */
+public final class GenerateurCharge {
+
+
+	/**
+	 * Nombre de cases par défaut.
+	 */
+	private static final int CASES_PAR_DEFAUT = 4;
+	/**
+	 * Nombre d'essais par défaut.
+	 */
+	private static final int ESSAIS_PAR_DEFAUT = 10;
+	/**
+	 * Nombre de couleurs par défaut au <i>MasterMind</i>.
+	 */
+	private static final int COULEURS_PAR_DEFAUT = 6;
+	/**
+	 * Délai laissé aux parties en cours à la fin de la mesure, en millisecondes.
+	 */
+	private static final long DELAI_GRACE = 30_000;
+
+
+	/**
+	 * Classe utilitaire, pas d'instance.
+	 */
+	private GenerateurCharge() {
+	}
+
+	/**
+	 * Lance une mesure et affiche son bilan.
+	 * 
+	 * @param args : cible, type de jeu, mode de jeu, nombre de joueurs, durée en secondes, et éventuellement
+	 * le nombre de cases, d'essais, de couleurs, de threads (par défaut un par cœur) et la graine.
+	 * 
+	 * @throws InterruptedException si le thread principal est interrompu pendant la mesure.
+	 */
+	public static void main(String[] args) throws InterruptedException {
+
+		if (args.length < 5) {
+			System.err.println("Usage : GenerateurCharge <local|hote:port> type mode nbrJoueurs dureeSecondes"
+					+ " [cases [essais [couleurs [nbrThreads [graine]]]]]");
+			return;
+		}
+
+		InetSocketAddress adresse = lireCible(args[0]);
+		TypeJeu type = TypeJeu.valueOf(args[1].toUpperCase(Locale.ROOT));
+		ModeJeu mode = ModeJeu.valueOf(args[2].toUpperCase(Locale.ROOT));
+		int nbrJoueurs = Integer.parseInt(args[3]);
+		long dureeMillis = Math.round(Double.parseDouble(args[4]) * 1000);
+		int nbrDeCases = args.length > 5 ? Integer.parseInt(args[5]) : CASES_PAR_DEFAUT;
+		int nbrEssais = args.length > 6 ? Integer.parseInt(args[6]) : ESSAIS_PAR_DEFAUT;
+		int nbrDeCouleurs = type == TypeJeu.RECHERCHE ? SolveurRecherche.CHIFFRE_MAX + 1
+				: args.length > 7 ? Integer.parseInt(args[7]) : COULEURS_PAR_DEFAUT;
+		int nbrThreads = args.length > 8 ? Integer.parseInt(args[8]) : Runtime.getRuntime().availableProcessors();
+		long graine = args.length > 9 ? Long.parseLong(args[9]) : GenerateurSplittable.nouvelleGraine();
+
+		ConfigPartie config = new ConfigPartie(type, mode, nbrDeCases, nbrEssais, nbrDeCouleurs);
+
+		System.out.println(config + ", " + nbrJoueurs + " joueur(s) sur " + (adresse == null ? "local" : adresse)
+				+ ", " + nbrThreads + " thread(s), graine " + graine);
+		System.out.print(jouer(adresse, config, nbrJoueurs, dureeMillis, nbrThreads, graine));
+	}
+
+	/**
+	 * Fait jouer des joueurs virtuels pendant une durée donnée, sur plusieurs threads.
+	 * Les parties en cours à la fin de la durée sont finies, dans la limite d'un délai de grâce.
+	 * 
+	 * <p>Les joueurs et leurs solveurs sont construits avant la mesure : le premier solveur d'un plateau
+	 * calcule les tables partagées par tous les autres, ce qui peut prendre plus que la mesure elle-même.
+	 * Ce temps de préparation est donné à part dans le bilan.</p>
+	 * 
+	 * @param adresse : adresse du serveur, ou <code>null</code> pour jouer dans la même JVM.
+	 * @param config : configuration des parties.
+	 * @param nbrJoueurs : nombre de joueurs simultanés, au moins 1.
+	 * @param dureeMillis : durée de la mesure, en millisecondes.
+	 * @param nbrThreads : nombre de threads, au moins 1.
+	 * @param graine : graine des générateurs de nombres aléatoires.
+	 * 
+	 * @return Le bilan de la mesure : <code>BilanCharge</code>
+	 * 
+	 * @throws InterruptedException si le thread appelant est interrompu pendant la mesure.
+	 */
+	public static BilanCharge jouer(InetSocketAddress adresse, ConfigPartie config, int nbrJoueurs,
+			long dureeMillis, int nbrThreads, long graine) throws InterruptedException {
+
+		if (nbrJoueurs < 1 || dureeMillis < 0 || nbrThreads < 1) {
+			throw new IllegalArgumentException("Charge invalide : " + nbrJoueurs + " joueurs, " + dureeMillis
+					+ " ms, " + nbrThreads + " threads");
+		}
+
+		int nbrPilotes = Math.min(nbrThreads, nbrJoueurs);
+		GenerateurAleatoire graines = new GenerateurSplittable(graine);
+		List<Pilote> pilotes = new ArrayList<>(nbrPilotes);
+
+		long debutPreparation = System.nanoTime();
+
+		for (int t = 0; t < nbrPilotes; t++) {
+
+			// Joueurs répartis au plus juste : les premiers pilotes en ont un de plus.
+			int part = nbrJoueurs / nbrPilotes + (t < nbrJoueurs % nbrPilotes ? 1 : 0);
+			GenerateurAleatoire randPilote = graines.split();
+
+			pilotes.add(adresse == null
+					? new PiloteLocal(config, part, randPilote)
+					: new PiloteSocket(adresse, config, part, randPilote));
+		}
+
+		ExecutorService executeur = Executors.newFixedThreadPool(nbrPilotes);
+		List<Future<BilanCharge>> resultats = new ArrayList<>(nbrPilotes);
+
+		// La mesure ne commence qu'une fois tous les joueurs prêts.
+		long debut = System.nanoTime();
+		long fin = debut + TimeUnit.MILLISECONDS.toNanos(dureeMillis);
+		long finGrace = fin + TimeUnit.MILLISECONDS.toNanos(DELAI_GRACE);
+
+		try {
+			for (Pilote pilote : pilotes) {
+
+				pilote.demarrer(fin, finGrace);
+				resultats.add(executeur.submit(pilote));
+			}
+
+			BilanCharge bilan = new BilanCharge();
+
+			for (Future<BilanCharge> resultat : resultats) {
+				bilan.fusionner(resultat.get());
+			}
+
+			bilan.setDureeNanos(System.nanoTime() - debut);
+			bilan.setPreparationNanos(debut - debutPreparation);
+
+			return bilan;
+
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Génération de charge interrompue", e.getCause());
+
+		} finally {
+			executeur.shutdownNow();
+		}
+	}
+
+	/**
+	 * Lit la cible de la mesure.
+	 * 
+	 * @param cible : <code>local</code>, ou <code>hote:port</code>.
+	 * 
+	 * @return L'adresse du serveur, ou <code>null</code> pour jouer dans la même JVM : <code>InetSocketAddress</code>
+	 * 
+	 * @throws IllegalArgumentException si la cible n'est ni <code>local</code> ni <code>hote:port</code>.
+	 */
+	private static InetSocketAddress lireCible(String cible) {
+
+		if ("local".equalsIgnoreCase(cible)) {
+			return null;
+		}
+
+		int separateur = cible.lastIndexOf(':');
+
+		if (separateur <= 0) {
+			throw new IllegalArgumentException("Cible invalide, local ou hote:port attendu : " + cible);
+		}
+
+		return new InetSocketAddress(cible.substring(0, separateur), Integer.parseInt(cible.substring(separateur + 1)));
+	}
+
+}
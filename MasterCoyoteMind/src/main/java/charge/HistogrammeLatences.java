@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package charge;
+
+/**
+ * Répartition de durées en nanosecondes, pour en lire les centiles sans garder chaque mesure.
+ * 
+ * <p>Les durées sont rangées dans des classes log-linéaires : exactes jusqu'à 63 ns,
+ * puis 32 classes par puissance de deux, soit une erreur relative de 3 % au plus,
+ * sur toute la plage d'un <code>long</code> avec moins de 2 000 compteurs.</p>
+ * 
+ * <p>Un histogramme ne doit servir qu'à un seul thread à la fois : chaque thread remplit le sien,
+ * fusionné avec les autres à la fin de la mesure.</p>
+ * 
+ * @author Coyote
+ */
+final class HistogrammeLatences {
+
+
+	/**
+	 * Nombre de bits de précision : <code>2^BITS_PRECISION</code> classes par puissance de deux.
+	 */
+	private static final int BITS_PRECISION = 5;
+	/**
+	 * Nombre de classes par puissance de deux.
+	 */
+	private static final int CLASSES_PAR_OCTAVE = 1 << BITS_PRECISION;
+	/**
+	 * Nombre de classes exactes, une par nanoseconde.
+	 */
+	private static final int CLASSES_EXACTES = 2 * CLASSES_PAR_OCTAVE;
+	/**
+	 * Nombre de mesures de chaque classe.
+	 */
+	private final long[] compteurs;
+	/**
+	 * Nombre de mesures.
+	 */
+	private long nbr;
+	/**
+	 * Somme des mesures, en nanosecondes.
+	 */
+	private long somme;
+	/**
+	 * Plus grande mesure, en nanosecondes.
+	 */
+	private long max;
+
+
+	/**
+	 * Constructeur d'un histogramme vide.
+	 */
+	HistogrammeLatences() {
+
+		compteurs = new long[classe(Long.MAX_VALUE) + 1];
+	}
+
+	/**
+	 * Compte une durée.
+	 * 
+	 * @param nanos : durée en nanosecondes, ramenée à <code>0</code> si elle est négative.
+	 */
+	void ajouter(long nanos) {
+
+		long duree = Math.max(0, nanos);
+
+		compteurs[classe(duree)]++;
+		nbr++;
+		somme += duree;
+		max = Math.max(max, duree);
+	}
+
+	/**
+	 * Ajoute les mesures d'un autre histogramme à celui-ci.
+	 * 
+	 * @param autre : histogramme d'un autre thread.
+	 */
+	void fusionner(HistogrammeLatences autre) {
+
+		for (int c = 0; c < compteurs.length; c++) {
+			compteurs[c] += autre.compteurs[c];
+		}
+
+		nbr += autre.nbr;
+		somme += autre.somme;
+		max = Math.max(max, autre.max);
+	}
+
+	/**
+	 * Lit un centile : la durée sous laquelle tombe la fraction <code>q</code> des mesures.
+	 * 
+	 * @param q : fraction des mesures, de <code>0</code> à <code>1</code>.
+	 * 
+	 * @return Le centile en nanosecondes, au milieu de sa classe, <code>0</code> sans mesure : <code>long</code>
+	 */
+	long centile(double q) {
+
+		if (nbr == 0) {
+			return 0;
+		}
+
+		long rang = Math.max(1, (long) Math.ceil(q * nbr));
+		long cumul = 0;
+
+		for (int c = 0; c < compteurs.length; c++) {
+
+			cumul += compteurs[c];
+
+			if (cumul >= rang) {
+				// Le milieu de la classe, sans dépasser la plus grande mesure.
+				return Math.min(max, debut(c) + (debut(c + 1) - debut(c) - 1) / 2);
+			}
+		}
+
+		return max;
+	}
+
+	/**
+	 * Calcule la classe d'une durée.
+	 * 
+	 * @param duree : durée positive, en nanosecondes.
+	 * 
+	 * @return L'indice de la classe : <code>int</code>
+	 */
+	private static int classe(long duree) {
+
+		if (duree < CLASSES_EXACTES) {
+			return (int) duree;
+		}
+
+		// Décalage qui garde les BITS_PRECISION + 1 bits de poids fort.
+		int decalage = 63 - Long.numberOfLeadingZeros(duree) - BITS_PRECISION;
+
+		return decalage * CLASSES_PAR_OCTAVE + (int) (duree >>> decalage);
+	}
+
+	/**
+	 * Calcule la plus petite durée d'une classe.
+	 * 
+	 * @param classe : indice de la classe.
+	 * 
+	 * @return La durée en nanosecondes : <code>long</code>
+	 */
+	private static long debut(int classe) {
+
+		if (classe < CLASSES_EXACTES) {
+			return classe;
+		}
+
+		int decalage = classe / CLASSES_PAR_OCTAVE - 1;
+		long mantisse = classe % CLASSES_PAR_OCTAVE + CLASSES_PAR_OCTAVE;
+
+		long debut = mantisse << decalage;
+
+		// La classe qui suit la dernière commence au-delà d'un long.
+		return debut < 0 ? Long.MAX_VALUE : debut;
+	}
+
+	/**
+	 * Récupère le nombre de mesures.
+	 * 
+	 * @return <code>long</code>
+	 */
+	long getNbr() {
+
+		return nbr;
+	}
+
+	/**
+	 * Récupère la durée moyenne.
+	 * 
+	 * @return <code>double</code> : en nanosecondes.
+	 */
+	double getMoyenne() {
+
+		return nbr == 0 ? 0 : (double) somme / nbr;
+	}
+
+	/**
+	 * Récupère la plus grande mesure.
+	 * 
+	 * @return <code>long</code> : en nanosecondes.
+	 */
+	long getMax() {
+
+		return max;
+	}
+
+}
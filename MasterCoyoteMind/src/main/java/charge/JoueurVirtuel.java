@@ -0,0 +1,607 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package charge;
+
+import ia.ComparateurCombinaisons;
+import ia.GenerateurAleatoire;
+import ia.SolveurMasterMind;
+import ia.SolveurRecherche;
+import moteur.ConfigPartie;
+import moteur.ModeJeu;
+import moteur.Partie;
+import moteur.Reponse;
+import moteur.Resultat;
+import moteur.TypeJeu;
+import serveur.ProtocoleJeu;
+
+/**
+ * Joueur simulé qui enchaîne des parties avec le protocole texte de {@link ProtocoleJeu}, ligne par ligne,
+ * sans savoir s'il parle à un serveur par le réseau ou au protocole dans la même JVM.
+ * 
+ * <p>Il cherche la combinaison avec le solveur de l'IA, pour des tentatives réalistes,
+ * et recalcule chaque réponse du serveur avec les règles du jeu : la combinaison qu'il cherche
+ * est tirée de la graine de la partie comme le fait le serveur, celle que cherche l'IA est tirée par le joueur.
+ * Une réponse fausse ou inattendue compte comme erreur : le joueur quitte la connexion, puis en ouvre une autre.</p>
+ * 
+ * <p>Chaque commande attend sa réponse avant la suivante. Passé la fin de la mesure, le joueur finit
+ * sa partie puis quitte. Un joueur ne doit servir qu'à un seul thread à la fois.</p>
+ * 
+ * @see GenerateurCharge
+ * 
+ * @author Coyote
+ */
+final class JoueurVirtuel {
+
+
+	/**
+	 * Ce que le joueur attend du serveur.
+	 */
+	private enum Etat {
+
+		/**
+		 * La ligne d'accueil d'une nouvelle connexion.
+		 */
+		BIENVENUE,
+		/**
+		 * La réponse à <code>NOUVELLE</code>.
+		 */
+		NOUVELLE,
+		/**
+		 * La réponse à <code>SECRET</code>.
+		 */
+		SECRET,
+		/**
+		 * La réponse à <code>ESSAI</code>.
+		 */
+		ESSAI,
+		/**
+		 * Le tour de l'IA.
+		 */
+		IA,
+		/**
+		 * La réponse à <code>ETAT</code>, envoyé pour relancer un tour de l'IA refusé.
+		 */
+		RELANCE,
+		/**
+		 * La fin de la partie.
+		 */
+		FIN,
+		/**
+		 * La réponse à <code>QUITTER</code> : les lignes d'une partie abandonnée sont ignorées d'ici là.
+		 */
+		QUITTER,
+		/**
+		 * Rien : la connexion est fermée.
+		 */
+		DECONNECTE
+
+	}
+
+	/**
+	 * Début de l'erreur d'un serveur qui refuse un tour de l'IA, à retenter.
+	 */
+	private static final String OCCUPE = "ERREUR Serveur occupé";
+	/**
+	 * Configuration des parties.
+	 */
+	private final ConfigPartie config;
+	/**
+	 * Générateur du joueur : graines des parties, combinaisons de l'IA et choix du solveur.
+	 */
+	private final GenerateurAleatoire rand;
+	/**
+	 * Bilan du thread du joueur.
+	 */
+	private final BilanCharge bilan;
+	/**
+	 * Fin de la mesure, selon <code>System.nanoTime()</code>, fixée au démarrage du pilote.
+	 */
+	private long fin;
+	/**
+	 * Solveur des tentatives au <i>MasterMind</i>, <code>null</code> en <i>Recherche</i>.
+	 */
+	private final SolveurMasterMind solveurMasterMind;
+	/**
+	 * Solveur des tentatives en <i>Recherche</i>, <code>null</code> au <i>MasterMind</i>.
+	 */
+	private final SolveurRecherche solveurRecherche;
+	/**
+	 * Règles du <i>MasterMind</i> pour vérifier les tours de l'IA, <code>null</code> en <i>Recherche</i>.
+	 */
+	private final ComparateurCombinaisons comparateur;
+	/**
+	 * Dernière tentative du joueur.
+	 */
+	private final int[] tentative;
+	/**
+	 * Combinaison que l'IA doit trouver.
+	 */
+	private final int[] combinaisonIA;
+	/**
+	 * Réponse calculée en <i>Recherche</i>.
+	 */
+	private final int[] reponseRecherche;
+	/**
+	 * Combinaison que le joueur doit trouver, celle de la partie jumelle.
+	 */
+	private int[] combinaison;
+	/**
+	 * Ce que le joueur attend du serveur.
+	 */
+	private Etat etat;
+	/**
+	 * Réponse attendue à <code>NOUVELLE</code>, ou ligne de fin attendue.
+	 */
+	private String ligneAttendue;
+	/**
+	 * Graine de la partie en cours.
+	 */
+	private long graine;
+	/**
+	 * Début de l'attente en cours, selon <code>System.nanoTime()</code>.
+	 */
+	private long debutAttente;
+	/**
+	 * Début de la partie en cours, selon <code>System.nanoTime()</code>.
+	 */
+	private long debutPartie;
+	/**
+	 * Nombre de tentatives du joueur dans la partie en cours.
+	 */
+	private int nbrEssaisJoues;
+	/**
+	 * Nombre de tours de l'IA dans la partie en cours.
+	 */
+	private int nbrToursIA;
+
+
+	/**
+	 * Constructeur de <i>JoueurVirtuel</i>, déconnecté.
+	 * 
+	 * @param config <code>:ConfigPartie</code> Configuration des parties.
+	 * @param rand <code>:GenerateurAleatoire</code> Générateur propre au joueur.
+	 * @param bilan <code>:BilanCharge</code> Bilan du thread du joueur.
+	 */
+	JoueurVirtuel(ConfigPartie config, GenerateurAleatoire rand, BilanCharge bilan) {
+
+		this.config = config;
+		this.rand = rand;
+		this.bilan = bilan;
+
+		int nbrDeCases = config.getNbrDeCases();
+
+		if (config.getType() == TypeJeu.MASTERMIND) {
+			solveurMasterMind = new SolveurMasterMind(nbrDeCases, config.getNbrDeCouleurs(), rand);
+			solveurRecherche = null;
+			comparateur = new ComparateurCombinaisons(nbrDeCases, config.getNbrDeCouleurs());
+		} else {
+			solveurMasterMind = null;
+			solveurRecherche = new SolveurRecherche(nbrDeCases);
+			comparateur = null;
+		}
+
+		tentative = new int[nbrDeCases];
+		combinaisonIA = new int[nbrDeCases];
+		reponseRecherche = new int[nbrDeCases];
+		etat = Etat.DECONNECTE;
+	}
+
+	/**
+	 * Ouvre une nouvelle connexion : le joueur attend la ligne d'accueil.
+	 */
+	void connecter() {
+
+		etat = Etat.BIENVENUE;
+	}
+
+	/**
+	 * Traite une ligne du serveur.
+	 * 
+	 * @param ligne : la ligne, sans fin de ligne.
+	 * @param maintenant : date de réception, selon <code>System.nanoTime()</code>.
+	 * 
+	 * @return La commande suivante à envoyer, ou <code>null</code> s'il faut attendre : <code>String</code>
+	 */
+	String recevoir(String ligne, long maintenant) {
+
+		if (etat == Etat.IA && ligne.startsWith(OCCUPE)) {
+			// Le tour est relancé par la commande suivante, sans toucher à la partie.
+			bilan.ajouterRefus();
+			etat = Etat.RELANCE;
+			return "ETAT";
+		}
+
+		switch (etat) {
+
+			case BIENVENUE:
+				if (!ProtocoleJeu.BIENVENUE.equals(ligne)) {
+					return erreur("Accueil inattendu : " + ligne);
+				}
+				return nouvellePartie(maintenant);
+
+			case NOUVELLE:
+				if (!ligne.equals(ligneAttendue)) {
+					return erreur("Réponse " + ligne + " à NOUVELLE, attendu " + ligneAttendue);
+				}
+				bilan.ajouterLatence(BilanCharge.Requete.NOUVELLE, maintenant - debutAttente);
+				return config.getMode().isIaCherche() ? secret(maintenant) : essai(maintenant);
+
+			case SECRET:
+				if (!"OK".equals(ligne)) {
+					return erreur("Réponse " + ligne + " à SECRET, attendu OK");
+				}
+				bilan.ajouterLatence(BilanCharge.Requete.SECRET, maintenant - debutAttente);
+				if (config.getMode() == ModeJeu.DEFENSEUR) {
+					return attendreIA(maintenant);
+				}
+				return essai(maintenant);
+
+			case ESSAI:
+				return reponse(ligne, maintenant);
+
+			case IA:
+				return tourIA(ligne, maintenant);
+
+			case RELANCE:
+				if (!ligne.startsWith("ETAT ")) {
+					return erreur("Réponse " + ligne + " à ETAT");
+				}
+				// Le tour relancé est mesuré depuis la ligne qui l'a précédé.
+				etat = Etat.IA;
+				return null;
+
+			case FIN:
+				if (!ligne.equals(ligneAttendue)) {
+					return erreur("Fin " + ligne + ", attendu " + ligneAttendue);
+				}
+				bilan.ajouterPartie(maintenant - debutPartie);
+				return nouvellePartie(maintenant);
+
+			case QUITTER:
+				if ("AU REVOIR".equals(ligne)) {
+					etat = Etat.DECONNECTE;
+				}
+				return null;
+
+			default:
+				bilan.ajouterErreur("Ligne après la déconnexion : " + ligne);
+				return null;
+		}
+	}
+
+	/**
+	 * Note l'envoi effectif de la commande rendue par <code>recevoir()</code> : sa latence part de là,
+	 * sans l'attente du joueur derrière les autres joueurs de son pilote.
+	 * Un tour de l'IA relancé reste mesuré depuis la ligne qui l'a précédé.
+	 * 
+	 * @param maintenant : date de l'envoi, selon <code>System.nanoTime()</code>.
+	 */
+	void envoyer(long maintenant) {
+
+		if (etat != Etat.RELANCE) {
+			debutAttente = maintenant;
+		}
+	}
+
+	/**
+	 * Constate la fermeture de la connexion : c'est une erreur si le joueur n'avait pas quitté.
+	 * 
+	 * @param cause : description de la fermeture.
+	 */
+	void deconnecter(String cause) {
+
+		if (etat != Etat.DECONNECTE) {
+			bilan.ajouterErreur(cause + ", en attente de " + etat);
+			etat = Etat.DECONNECTE;
+		}
+	}
+
+	/**
+	 * Indique si la connexion du joueur est fermée.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	boolean isDeconnecte() {
+
+		return etat == Etat.DECONNECTE;
+	}
+
+	/**
+	 * Fixe la fin de la mesure, avant la première partie.
+	 * 
+	 * @param fin : fin de la mesure, selon <code>System.nanoTime()</code>.
+	 */
+	void demarrer(long fin) {
+
+		this.fin = fin;
+	}
+
+	/**
+	 * Indique si la mesure est finie : le joueur ne commence plus de partie.
+	 * 
+	 * @param maintenant : date selon <code>System.nanoTime()</code>.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	boolean isFini(long maintenant) {
+
+		return maintenant - fin >= 0;
+	}
+
+	/**
+	 * Commence une partie, ou quitte si la mesure est finie.
+	 * La combinaison à trouver est tirée de la graine, sans construire la partie.
+	 * 
+	 * @param maintenant : date de l'envoi.
+	 * 
+	 * @return La commande : <code>String</code>
+	 */
+	private String nouvellePartie(long maintenant) {
+
+		if (isFini(maintenant)) {
+			etat = Etat.QUITTER;
+			return "QUITTER";
+		}
+
+		ModeJeu mode = config.getMode();
+		graine = rand.nextLong();
+
+		if (mode.isJoueurCherche()) {
+			combinaison = Partie.tirerCombinaison(config, graine);
+		}
+
+		if (mode.isIaCherche()) {
+			for (int i = 0; i < combinaisonIA.length; i++) {
+				combinaisonIA[i] = rand.nextInt(config.getNbrDeCouleurs());
+			}
+		}
+
+		if (solveurMasterMind != null) {
+			solveurMasterMind.reinitialiser();
+		} else {
+			solveurRecherche.reinitialiser();
+		}
+
+		nbrEssaisJoues = 0;
+		nbrToursIA = 0;
+
+		String partie = config.getType() + " " + mode + " " + config.getNbrDeCases() + " " + config.getNbrEssais()
+				+ " " + config.getNbrDeCouleurs() + " " + graine;
+
+		ligneAttendue = "OK " + partie;
+		etat = Etat.NOUVELLE;
+		debutAttente = maintenant;
+		debutPartie = maintenant;
+
+		return "NOUVELLE " + partie;
+	}
+
+	/**
+	 * Donne la combinaison que l'IA doit trouver.
+	 * 
+	 * @param maintenant : date de l'envoi.
+	 * 
+	 * @return La commande : <code>String</code>
+	 */
+	private String secret(long maintenant) {
+
+		etat = Etat.SECRET;
+		debutAttente = maintenant;
+
+		return "SECRET " + chiffres(combinaisonIA);
+	}
+
+	/**
+	 * Propose la tentative suivante du solveur.
+	 * 
+	 * @param maintenant : date de l'envoi.
+	 * 
+	 * @return La commande : <code>String</code>
+	 */
+	private String essai(long maintenant) {
+
+		if (solveurMasterMind != null) {
+			solveurMasterMind.prochaineTentative(tentative);
+		} else {
+			solveurRecherche.prochaineTentative(tentative);
+		}
+
+		nbrEssaisJoues++;
+		etat = Etat.ESSAI;
+		debutAttente = maintenant;
+
+		return "ESSAI " + chiffres(tentative);
+	}
+
+	/**
+	 * Vérifie la réponse à une tentative du joueur et la donne au solveur.
+	 * 
+	 * @param ligne : la ligne reçue.
+	 * @param maintenant : date de réception.
+	 * 
+	 * @return La commande suivante, ou <code>null</code> : <code>String</code>
+	 */
+	private String reponse(String ligne, long maintenant) {
+
+		bilan.ajouterLatence(BilanCharge.Requete.ESSAI, maintenant - debutAttente);
+
+		String attendue;
+		boolean trouvee;
+
+		if (solveurMasterMind != null) {
+			int reponse = solveurMasterMind.repondre(combinaison);
+			attendue = solveurMasterMind.bienPlace(reponse) + " " + solveurMasterMind.present(reponse);
+			trouvee = solveurMasterMind.bienPlace(reponse) == config.getNbrDeCases();
+			solveurMasterMind.appliquerReponse(reponse);
+		} else {
+			solveurRecherche.repondre(combinaison, reponseRecherche);
+			attendue = Reponse.recherche(reponseRecherche).toString();
+			trouvee = SolveurRecherche.estTrouvee(reponseRecherche);
+			solveurRecherche.appliquerReponse(reponseRecherche);
+		}
+
+		if (!ligne.equals("REPONSE " + attendue)) {
+			return erreur("Réponse " + ligne + " à ESSAI " + chiffres(tentative) + ", attendu REPONSE " + attendue);
+		}
+
+		if (trouvee) {
+			return attendreFin(Resultat.VICTOIRE_JOUEUR);
+		}
+
+		if (config.getMode() == ModeJeu.CHALLENGER) {
+			return nbrEssaisJoues >= config.getNbrEssais() ? attendreFin(Resultat.VICTOIRE_IA) : essai(maintenant);
+		}
+
+		return attendreIA(maintenant);
+	}
+
+	/**
+	 * Vérifie un tour de l'IA avec les règles du jeu.
+	 * 
+	 * @param ligne : la ligne reçue.
+	 * @param maintenant : date de réception.
+	 * 
+	 * @return La commande suivante, ou <code>null</code> : <code>String</code>
+	 */
+	private String tourIA(String ligne, long maintenant) {
+
+		String[] mots = ligne.split(" ", 3);
+		int[] tentativeIA = mots.length == 3 && "IA".equals(mots[0]) ? lireChiffres(mots[1]) : null;
+
+		if (tentativeIA == null) {
+			return erreur("Tour de l'IA attendu : " + ligne);
+		}
+
+		bilan.ajouterLatence(BilanCharge.Requete.IA, maintenant - debutAttente);
+		nbrToursIA++;
+
+		String attendue;
+		boolean trouvee;
+
+		if (comparateur != null) {
+			int reponse = comparateur.comparer(combinaisonIA, tentativeIA);
+			attendue = comparateur.bienPlace(reponse) + " " + comparateur.present(reponse);
+			trouvee = comparateur.bienPlace(reponse) == config.getNbrDeCases();
+		} else {
+			SolveurRecherche.comparer(combinaisonIA, tentativeIA, reponseRecherche);
+			attendue = Reponse.recherche(reponseRecherche).toString();
+			trouvee = SolveurRecherche.estTrouvee(reponseRecherche);
+		}
+
+		if (!mots[2].equals(attendue)) {
+			return erreur("Tour " + ligne + " de l'IA, attendu " + attendue);
+		}
+
+		if (trouvee) {
+			return attendreFin(Resultat.VICTOIRE_IA);
+		}
+
+		if (nbrToursIA >= config.getNbrEssais()) {
+			return attendreFin(config.getMode() == ModeJeu.DEFENSEUR ? Resultat.VICTOIRE_JOUEUR : Resultat.EGALITE);
+		}
+
+		return config.getMode() == ModeJeu.DEFENSEUR ? attendreIA(maintenant) : essai(maintenant);
+	}
+
+	/**
+	 * Attend le tour de l'IA, mesuré à partir de maintenant.
+	 * 
+	 * @param maintenant : date de la dernière ligne reçue.
+	 * 
+	 * @return <code>null</code> : rien à envoyer.
+	 */
+	private String attendreIA(long maintenant) {
+
+		etat = Etat.IA;
+		debutAttente = maintenant;
+
+		return null;
+	}
+
+	/**
+	 * Attend la fin de la partie, avec la combinaison du joueur quand il la cherchait.
+	 * 
+	 * @param resultat : résultat attendu.
+	 * 
+	 * @return <code>null</code> : rien à envoyer.
+	 */
+	private String attendreFin(Resultat resultat) {
+
+		ligneAttendue = "FIN " + resultat + (config.getMode().isJoueurCherche() ? " " + chiffres(combinaison) : "");
+		etat = Etat.FIN;
+
+		return null;
+	}
+
+	/**
+	 * Compte une erreur et quitte la connexion : les lignes de la partie abandonnée sont ignorées.
+	 * 
+	 * @param message : description de l'erreur.
+	 * 
+	 * @return La commande <code>QUITTER</code> : <code>String</code>
+	 */
+	private String erreur(String message) {
+
+		bilan.ajouterErreur(message + " (" + config + ", graine " + graine + ")");
+		etat = Etat.QUITTER;
+
+		return "QUITTER";
+	}
+
+	/**
+	 * Lit une combinaison du plateau écrite sans séparateur.
+	 * 
+	 * @param texte : les chiffres.
+	 * 
+	 * @return Les chiffres, ou <code>null</code> si ce n'est pas une combinaison du plateau : <code>int[]</code>
+	 */
+	private int[] lireChiffres(String texte) {
+
+		if (texte.length() != config.getNbrDeCases()) {
+			return null;
+		}
+
+		int[] chiffres = new int[texte.length()];
+
+		for (int i = 0; i < chiffres.length; i++) {
+
+			chiffres[i] = Character.digit(texte.charAt(i), ProtocoleJeu.BASE_CHIFFRES);
+
+			if (chiffres[i] < 0 || chiffres[i] >= config.getNbrDeCouleurs()) {
+				return null;
+			}
+		}
+
+		return chiffres;
+	}
+
+	/**
+	 * Écrit une combinaison sans séparateur, comme le protocole.
+	 * 
+	 * @param chiffres : chiffres de la combinaison.
+	 * 
+	 * @return <code>String</code>
+	 */
+	private static String chiffres(int[] chiffres) {
+
+		StringBuilder texte = new StringBuilder(chiffres.length);
+		ProtocoleJeu.ajouterChiffres(chiffres, texte);
+
+		return texte.toString();
+	}
+
+}
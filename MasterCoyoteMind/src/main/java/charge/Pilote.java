@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package charge;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Pilote d'un groupe de joueurs virtuels, sur un seul thread : ses joueurs et leurs solveurs sont construits
+ * avant la mesure, qui ne commence qu'à l'appel de <code>demarrer()</code>.
+ * 
+ * @see PiloteLocal
+ * @see PiloteSocket
+ * 
+ * @author Coyote
+ */
+interface Pilote extends Callable<BilanCharge> {
+
+	/**
+	 * Fixe les dates de la mesure, avant de confier le pilote à son thread.
+	 * 
+	 * @param fin : fin de la mesure, selon <code>System.nanoTime()</code>.
+	 * @param finGrace : date limite des parties en cours à la fin de la mesure.
+	 */
+	void demarrer(long fin, long finGrace);
+
+}
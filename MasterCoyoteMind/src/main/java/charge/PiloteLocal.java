@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package charge;
+
+import ia.GenerateurAleatoire;
+import moteur.ConfigPartie;
+import serveur.ProtocoleJeu;
+
+/**
+ * Fait jouer des joueurs virtuels contre le protocole du serveur dans la même JVM, sans réseau :
+ * chaque joueur a son propre {@link ProtocoleJeu}, comme une connexion du serveur, et les tours de l'IA
+ * sont joués dès que la partie les attend. La mesure porte alors sur le moteur seul.
+ * 
+ * <p>Les joueurs d'un pilote jouent chacun leur tour, une commande à la fois, sur le thread du pilote :
+ * le pilote ne partage rien avec les autres jusqu'à la fusion des bilans.</p>
+ * 
+ * @see PiloteSocket
+ * 
+ * @author Coyote
+ */
+final class PiloteLocal implements Pilote {
+
+
+	/**
+	 * Joueurs du pilote.
+	 */
+	private final JoueurVirtuel[] joueurs;
+	/**
+	 * Protocole de chaque joueur, <code>null</code> quand sa connexion est fermée.
+	 */
+	private final ProtocoleJeu[] protocoles;
+	/**
+	 * Prochaine commande de chaque joueur.
+	 */
+	private final String[] commandes;
+	/**
+	 * Générateur du pilote, confié aux protocoles qui ne s'en servent pas : chaque partie a sa graine.
+	 */
+	private final GenerateurAleatoire rand;
+	/**
+	 * Bilan du pilote.
+	 */
+	private final BilanCharge bilan;
+	/**
+	 * Date limite, selon <code>System.nanoTime()</code>, des parties commencées avant la fin de la mesure.
+	 */
+	private long finGrace;
+
+
+	/**
+	 * Constructeur de <i>PiloteLocal</i>.
+	 * 
+	 * @param config <code>:ConfigPartie</code> Configuration des parties.
+	 * @param nbrJoueurs <code>:int</code> Nombre de joueurs du pilote.
+	 * @param rand <code>:GenerateurAleatoire</code> Générateur du pilote, dont chaque joueur tire le sien.
+	 */
+	PiloteLocal(ConfigPartie config, int nbrJoueurs, GenerateurAleatoire rand) {
+
+		this.joueurs = new JoueurVirtuel[nbrJoueurs];
+		this.protocoles = new ProtocoleJeu[nbrJoueurs];
+		this.commandes = new String[nbrJoueurs];
+		this.rand = rand;
+		this.bilan = new BilanCharge();
+
+		for (int i = 0; i < nbrJoueurs; i++) {
+			joueurs[i] = new JoueurVirtuel(config, rand.split(), bilan);
+		}
+	}
+
+	@Override
+	public void demarrer(long fin, long finGrace) {
+
+		this.finGrace = finGrace;
+
+		for (JoueurVirtuel joueur : joueurs) {
+			joueur.demarrer(fin);
+		}
+	}
+
+	/**
+	 * Fait jouer les joueurs jusqu'à la fin de la mesure, puis leur laisse finir leur partie.
+	 * 
+	 * @return Le bilan du pilote : <code>BilanCharge</code>
+	 */
+	@Override
+	public BilanCharge call() {
+
+		int nbrActifs = joueurs.length;
+
+		while (nbrActifs > 0 && System.nanoTime() - finGrace < 0) {
+
+			nbrActifs = 0;
+
+			for (int i = 0; i < joueurs.length; i++) {
+
+				if (protocoles[i] == null) {
+
+					if (joueurs[i].isFini(System.nanoTime())) {
+						continue;
+					}
+
+					connecter(i);
+				}
+
+				nbrActifs++;
+				jouer(i);
+			}
+		}
+
+		for (ProtocoleJeu protocole : protocoles) {
+			if (protocole != null) {
+				bilan.ajouterInterrompu();
+			}
+		}
+
+		return bilan;
+	}
+
+	/**
+	 * Ouvre une connexion pour un joueur, qui reçoit la ligne d'accueil.
+	 * 
+	 * @param i : numéro du joueur.
+	 */
+	private void connecter(int i) {
+
+		protocoles[i] = new ProtocoleJeu(rand);
+		joueurs[i].connecter();
+		commandes[i] = joueurs[i].recevoir(ProtocoleJeu.BIENVENUE, System.nanoTime());
+	}
+
+	/**
+	 * Exécute la prochaine commande d'un joueur et les tours de l'IA qui la suivent,
+	 * en livrant chaque réponse au joueur.
+	 * 
+	 * @param i : numéro du joueur.
+	 */
+	private void jouer(int i) {
+
+		StringBuilder sortie = new StringBuilder();
+
+		joueurs[i].envoyer(System.nanoTime());
+		boolean fermer = protocoles[i].executer(commandes[i], sortie);
+
+		commandes[i] = livrer(joueurs[i], sortie);
+
+		while (!fermer && protocoles[i].isTourIA()) {
+
+			sortie.setLength(0);
+			protocoles[i].jouerIA(sortie);
+
+			String commande = livrer(joueurs[i], sortie);
+			if (commande != null) {
+				commandes[i] = commande;
+			}
+		}
+
+		if (fermer) {
+			joueurs[i].deconnecter("Connexion fermée par le protocole");
+			protocoles[i] = null;
+			commandes[i] = null;
+		}
+	}
+
+	/**
+	 * Livre des lignes de réponse à un joueur.
+	 * 
+	 * @param joueur : le joueur.
+	 * @param sortie : les lignes, chacune terminée par <code>\n</code>.
+	 * 
+	 * @return La dernière commande du joueur, ou <code>null</code> s'il attend encore : <code>String</code>
+	 */
+	private static String livrer(JoueurVirtuel joueur, CharSequence sortie) {
+
+		long maintenant = System.nanoTime();
+		String commande = null;
+		int debut = 0;
+
+		for (int fin = 0; fin < sortie.length(); fin++) {
+
+			if (sortie.charAt(fin) == '\n') {
+
+				String suivante = joueur.recevoir(sortie.subSequence(debut, fin).toString(), maintenant);
+				if (suivante != null) {
+					commande = suivante;
+				}
+
+				debut = fin + 1;
+			}
+		}
+
+		return commande;
+	}
+
+}
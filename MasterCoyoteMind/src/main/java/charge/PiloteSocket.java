@@ -0,0 +1,367 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package charge;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import ia.GenerateurAleatoire;
+import moteur.ConfigPartie;
+import serveur.ServeurJeu;
+
+/**
+ * Fait jouer des joueurs virtuels contre un {@link ServeurJeu} par le réseau, une connexion TCP par joueur.
+ * 
+ * <p>Un seul thread et un seul <code>Selector</code> tiennent toutes les connexions du pilote, sans jamais
+ * bloquer sur l'une d'elles : quelques pilotes suffisent à simuler des milliers de joueurs.
+ * La latence mesurée va de l'envoi d'une commande à la lecture de sa réponse, réseau compris.</p>
+ * 
+ * <p>Un joueur dont la connexion est fermée après une erreur en ouvre une autre, jusqu'à la fin de la mesure.
+ * Une connexion qui échoue n'est pas rouverte : un serveur absent ne doit pas être bombardé.</p>
+ * 
+ * @see PiloteLocal
+ * 
+ * @author Coyote
+ */
+final class PiloteSocket implements Pilote {
+
+
+	/**
+	 * Taille du tampon de lecture, partagé par les connexions du pilote.
+	 */
+	private static final int TAILLE_LECTURE = 8192;
+	/**
+	 * Attente maximum du sélecteur, en millisecondes, pour revoir la date limite.
+	 */
+	private static final long ATTENTE_SELECTION = 100;
+	/**
+	 * Adresse du serveur.
+	 */
+	private final InetSocketAddress adresse;
+	/**
+	 * Joueurs du pilote.
+	 */
+	private final JoueurVirtuel[] joueurs;
+	/**
+	 * Bilan du pilote.
+	 */
+	private final BilanCharge bilan;
+	/**
+	 * Date limite, selon <code>System.nanoTime()</code>, des parties commencées avant la fin de la mesure.
+	 */
+	private long finGrace;
+	/**
+	 * Tampon de lecture : les octets lus sont traités aussitôt.
+	 */
+	private final ByteBuffer lecture;
+	/**
+	 * Sélecteur des connexions, ouvert par <code>call()</code>.
+	 */
+	private Selector selecteur;
+
+
+	/**
+	 * Connexion d'un joueur.
+	 */
+	private static final class Connexion {
+
+		/**
+		 * Numéro du joueur.
+		 */
+		private final int numero;
+		/**
+		 * Canal de la connexion.
+		 */
+		private final SocketChannel canal;
+		/**
+		 * Octets de la ligne en cours de lecture.
+		 */
+		private final ByteArrayOutputStream ligne;
+		/**
+		 * Octets qui restent à envoyer, <code>null</code> si tout est parti.
+		 */
+		private ByteBuffer ecriture;
+
+
+		/**
+		 * Constructeur de <i>Connexion</i>.
+		 * 
+		 * @param numero <code>:int</code> Numéro du joueur.
+		 * @param canal <code>:SocketChannel</code> Canal de la connexion.
+		 */
+		private Connexion(int numero, SocketChannel canal) {
+
+			this.numero = numero;
+			this.canal = canal;
+			this.ligne = new ByteArrayOutputStream();
+		}
+
+		/**
+		 * Termine la ligne en cours de lecture.
+		 * 
+		 * @return La ligne, sans fin de ligne : <code>String</code>
+		 */
+		private String finirLigne() {
+
+			String texte = new String(ligne.toByteArray(), StandardCharsets.UTF_8);
+			ligne.reset();
+
+			return texte.endsWith("\r") ? texte.substring(0, texte.length() - 1) : texte;
+		}
+
+	}
+
+
+	/**
+	 * Constructeur de <i>PiloteSocket</i>.
+	 * 
+	 * @param adresse <code>:InetSocketAddress</code> Adresse du serveur.
+	 * @param config <code>:ConfigPartie</code> Configuration des parties.
+	 * @param nbrJoueurs <code>:int</code> Nombre de joueurs du pilote.
+	 * @param rand <code>:GenerateurAleatoire</code> Générateur du pilote, dont chaque joueur tire le sien.
+	 */
+	PiloteSocket(InetSocketAddress adresse, ConfigPartie config, int nbrJoueurs, GenerateurAleatoire rand) {
+
+		this.adresse = adresse;
+		this.joueurs = new JoueurVirtuel[nbrJoueurs];
+		this.bilan = new BilanCharge();
+		this.lecture = ByteBuffer.allocate(TAILLE_LECTURE);
+
+		for (int i = 0; i < nbrJoueurs; i++) {
+			joueurs[i] = new JoueurVirtuel(config, rand.split(), bilan);
+		}
+	}
+
+	@Override
+	public void demarrer(long fin, long finGrace) {
+
+		this.finGrace = finGrace;
+
+		for (JoueurVirtuel joueur : joueurs) {
+			joueur.demarrer(fin);
+		}
+	}
+
+	/**
+	 * Connecte les joueurs et les fait jouer jusqu'à la fin de la mesure, puis leur laisse finir leur partie.
+	 * 
+	 * @return Le bilan du pilote : <code>BilanCharge</code>
+	 * 
+	 * @throws IOException si le sélecteur ne peut pas être ouvert.
+	 */
+	@Override
+	public BilanCharge call() throws IOException {
+
+		try (Selector ouvert = Selector.open()) {
+
+			selecteur = ouvert;
+
+			for (int i = 0; i < joueurs.length; i++) {
+				ouvrir(i);
+			}
+
+			while (!selecteur.keys().isEmpty() && System.nanoTime() - finGrace < 0) {
+
+				selecteur.select(ATTENTE_SELECTION);
+
+				Iterator<SelectionKey> cles = selecteur.selectedKeys().iterator();
+
+				while (cles.hasNext()) {
+					SelectionKey cle = cles.next();
+					cles.remove();
+					traiter(cle);
+				}
+			}
+
+			for (SelectionKey cle : selecteur.keys()) {
+				if (cle.isValid()) {
+					bilan.ajouterInterrompu();
+					((Connexion) cle.attachment()).canal.close();
+				}
+			}
+		}
+
+		return bilan;
+	}
+
+	/**
+	 * Ouvre une connexion pour un joueur, qui attend la ligne d'accueil.
+	 * 
+	 * @param numero : numéro du joueur.
+	 */
+	private void ouvrir(int numero) {
+
+		SocketChannel canal = null;
+
+		try {
+			canal = SocketChannel.open();
+			canal.configureBlocking(false);
+			canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+			joueurs[numero].connecter();
+
+			boolean connecte = canal.connect(adresse);
+			canal.register(selecteur, connecte ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT,
+					new Connexion(numero, canal));
+
+		} catch (IOException e) {
+			joueurs[numero].deconnecter("Connexion à " + adresse + " impossible : " + e.getMessage());
+			fermerCanal(canal);
+		}
+	}
+
+	/**
+	 * Traite une connexion prête.
+	 * 
+	 * @param cle : clé de la connexion.
+	 */
+	private void traiter(SelectionKey cle) {
+
+		Connexion connexion = (Connexion) cle.attachment();
+
+		try {
+			if (cle.isConnectable()) {
+				connexion.canal.finishConnect();
+				cle.interestOps(SelectionKey.OP_READ);
+				return;
+			}
+
+			if (cle.isWritable()) {
+				ecrire(cle, connexion);
+			}
+
+			if (cle.isValid() && cle.isReadable()) {
+				lire(cle, connexion);
+			}
+
+		} catch (IOException e) {
+			fermer(cle, connexion, "Connexion à " + adresse + " interrompue : " + e.getMessage(), false);
+		}
+	}
+
+	/**
+	 * Lit les octets disponibles et livre les lignes complètes au joueur, puis envoie sa commande.
+	 * 
+	 * @param cle : clé de la connexion.
+	 * @param connexion : la connexion.
+	 * 
+	 * @throws IOException si la lecture échoue.
+	 */
+	private void lire(SelectionKey cle, Connexion connexion) throws IOException {
+
+		lecture.clear();
+
+		if (connexion.canal.read(lecture) < 0) {
+			fermer(cle, connexion, "Connexion fermée par le serveur", true);
+			return;
+		}
+
+		lecture.flip();
+
+		JoueurVirtuel joueur = joueurs[connexion.numero];
+		long maintenant = System.nanoTime();
+		String commande = null;
+
+		while (lecture.hasRemaining()) {
+
+			byte octet = lecture.get();
+
+			if (octet == '\n') {
+				String suivante = joueur.recevoir(connexion.finirLigne(), maintenant);
+				if (suivante != null) {
+					commande = suivante;
+				}
+			} else {
+				connexion.ligne.write(octet);
+			}
+		}
+
+		if (commande != null) {
+			connexion.ecriture = ByteBuffer.wrap((commande + "\n").getBytes(StandardCharsets.UTF_8));
+			joueur.envoyer(System.nanoTime());
+			ecrire(cle, connexion);
+		}
+	}
+
+	/**
+	 * Envoie ce que la connexion peut prendre, et attend qu'elle reprenne le reste.
+	 * 
+	 * @param cle : clé de la connexion.
+	 * @param connexion : la connexion.
+	 * 
+	 * @throws IOException si l'écriture échoue.
+	 */
+	private static void ecrire(SelectionKey cle, Connexion connexion) throws IOException {
+
+		connexion.canal.write(connexion.ecriture);
+
+		if (connexion.ecriture.hasRemaining()) {
+			cle.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+		} else {
+			connexion.ecriture = null;
+			cle.interestOps(SelectionKey.OP_READ);
+		}
+	}
+
+	/**
+	 * Ferme une connexion, et en rouvre une pour le joueur si demandé et si la mesure n'est pas finie.
+	 * 
+	 * @param cle : clé de la connexion.
+	 * @param connexion : la connexion.
+	 * @param cause : description de la fermeture, erreur si le joueur n'avait pas quitté.
+	 * @param rouvrir : <code>true</code> pour rouvrir une connexion.
+	 */
+	private void fermer(SelectionKey cle, Connexion connexion, String cause, boolean rouvrir) {
+
+		cle.cancel();
+		fermerCanal(connexion.canal);
+
+		JoueurVirtuel joueur = joueurs[connexion.numero];
+		joueur.deconnecter(cause);
+
+		if (rouvrir && !joueur.isFini(System.nanoTime())) {
+			ouvrir(connexion.numero);
+		}
+	}
+
+	/**
+	 * Ferme un canal sans propager d'erreur : il ne sert plus.
+	 * 
+	 * @param canal : le canal, ou <code>null</code>.
+	 */
+	private static void fermerCanal(SocketChannel canal) {
+
+		if (canal == null) {
+			return;
+		}
+
+		try {
+			canal.close();
+		} catch (IOException e) {
+			// La connexion est abandonnée de toute façon.
+		}
+	}
+
+}
@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+/**
+ * Génération de charge : des joueurs virtuels, guidés par le solveur de l'IA, enchaînent des parties
+ * contre le serveur de jeu et mesurent les latences et le débit, en vérifiant chaque réponse.
+ * 
+ * @see charge.GenerateurCharge
+ * @see charge.BilanCharge
+ * 
+ * @author Coyote
+ */
+
+package charge;
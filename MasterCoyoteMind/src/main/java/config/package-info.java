@@ -1,9 +1,9 @@
-
-/**
- * Package de la classe important les configurations à partir du XML.
- * 
- * @see config.ImportConfig
- * 
- * @author Coyote
- */
+
+/**
+ * Package de la classe important les configurations à partir du XML.
+ * 
+ * @see config.ImportConfig
+ * 
+ * @author Coyote
+ */
 package config;
\ No newline at end of file
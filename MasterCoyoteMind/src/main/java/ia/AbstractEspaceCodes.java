@@ -0,0 +1,349 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+/**
+ * Classe abstraite qui permet de mettre en commun le calcul des réponses
+ * entre les espaces de codes d'une partie de type <i>MasterMind</i>.
+ * 
+ * <p>Une combinaison y est manipulée sous deux formes compactées dans un <code>long</code> :</p>
+ * <ul>
+ * <li>ses chiffres, la case <code>i</code> occupant le quartet (4 bits) <code>i</code>.</li>
+ * <li>son histogramme de couleurs, le nombre d'occurrences de la couleur <code>c</code>
+ * occupant le quartet <code>c</code>.</li>
+ * </ul>
+ * <p>La réponse (bien placés, présents) entre deux combinaisons se calcule
+ * directement sur ces valeurs, sans jamais les reconvertir en tableau.</p>
+ * 
+ * @see EspaceCodes
+ * @see EspaceCodesEtendu
+ * 
+ * @author Coyote
+ */
+public abstract class AbstractEspaceCodes {
+
+
+	/**
+	 * Nombre maximum de cases, un compteur de l'histogramme devant tenir dans un quartet.
+	 */
+	public static final int MAX_CASES = 15;
+	/**
+	 * Nombre maximum de couleurs, une couleur devant tenir dans un quartet.
+	 */
+	public static final int MAX_COULEURS = 16;
+	/**
+	 * Bit de poids fort de chaque quartet.
+	 */
+	private static final long QUARTETS_HAUTS = 0x8888888888888888L;
+	/**
+	 * Quartet de poids faible de chaque octet.
+	 */
+	private static final long QUARTETS_BAS = 0x0F0F0F0F0F0F0F0FL;
+	/**
+	 * Détermine le nombre de cases du plateau de jeu.
+	 */
+	protected final int nbrDeCases;
+	/**
+	 * Détermine le nombre de couleurs possibles,
+	 * c'est à dire ici les chiffres utilisables.
+	 */
+	protected final int nbrDeCouleurs;
+	/**
+	 * Masque qui garde le bit de poids faible de chaque quartet utilisé par une case.
+	 */
+	protected final long masqueCases;
+
+
+	/**
+	 * Constructeur de <i>AbstractEspaceCodes</i>.
+	 * 
+	 * @param nbrDeCases <code>:int</code> Nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs <code>:int</code> Nombre de couleurs differentes.
+	 * 
+	 * @throws IllegalArgumentException si les combinaisons ne tiennent pas dans un <code>long</code>.
+	 */
+	public AbstractEspaceCodes(int nbrDeCases, int nbrDeCouleurs) {
+
+		if (nbrDeCases < 1 || nbrDeCases > MAX_CASES || nbrDeCouleurs < 2 || nbrDeCouleurs > MAX_COULEURS) {
+			throw new IllegalArgumentException("Espace de codes invalide : " + nbrDeCases + "x" + nbrDeCouleurs);
+		}
+
+		this.nbrDeCases = nbrDeCases;
+		this.nbrDeCouleurs = nbrDeCouleurs;
+
+		long masque = 0;
+		for (int i = 0; i < nbrDeCases; i++) {
+			masque |= 1L << (4 * i);
+		}
+		masqueCases = masque;
+	}
+
+	/**
+	 * Parcourt des combinaisons consécutives dans l'ordre croissant comme un compteur kilométrique,
+	 * en mettant à jour les chiffres et l'histogramme sans aucune division.
+	 * 
+	 * @param chiffresDepart : chiffres compactés de la première combinaison.
+	 * @param chiffresDest : reçoit les chiffres compactés de chaque combinaison.
+	 * @param histoDest : reçoit l'histogramme compacté de chaque combinaison.
+	 * @param nombre : nombre de combinaisons à parcourir, sans dépasser la dernière.
+	 */
+	protected void enumerer(long chiffresDepart, long[] chiffresDest, long[] histoDest, int nombre) {
+
+		long chiffresCourants = chiffresDepart;
+		long histogrammeCourant = histogrammeDe(chiffresDepart);
+		int derniereCouleur = nbrDeCouleurs - 1;
+
+		for (int k = 0; k < nombre; k++) {
+
+			chiffresDest[k] = chiffresCourants;
+			histoDest[k] = histogrammeCourant;
+
+			// Incrémente la dernière case et propage la retenue vers la première.
+			int i = nbrDeCases - 1;
+
+			while (i >= 0) {
+
+				int decalageCase = 4 * i;
+				int chiffre = (int)(chiffresCourants >>> decalageCase) & 0xF;
+				histogrammeCourant -= 1L << (4 * chiffre);
+
+				if (chiffre < derniereCouleur) {
+
+					chiffresCourants += 1L << decalageCase;
+					histogrammeCourant += 1L << (4 * (chiffre + 1));
+					break;
+				}
+
+				chiffresCourants &= ~(0xFL << decalageCase);
+				histogrammeCourant += 1L;
+				i--;
+			}
+		}
+	}
+
+	/**
+	 * Calcule l'histogramme des couleurs à partir des chiffres compactés.
+	 * 
+	 * @param chiffres : chiffres compactés d'une combinaison.
+	 * 
+	 * @return L'histogramme compacté : <code>long</code>
+	 */
+	public long histogrammeDe(long chiffres) {
+
+		long histogramme = 0;
+
+		for (int i = 0; i < nbrDeCases; i++) {
+			histogramme += 1L << (4 * ((int)(chiffres >>> (4 * i)) & 0xF));
+		}
+
+		return histogramme;
+	}
+
+	/**
+	 * Remplit un tableau avec des chiffres compactés.
+	 * 
+	 * @param chiffres : chiffres compactés d'une combinaison.
+	 * @param tableau : tableau de destination de taille <code>nbrDeCases</code>.
+	 */
+	public void decompacter(long chiffres, int[] tableau) {
+
+		for (int i = 0; i < nbrDeCases; i++) {
+			tableau[i] = (int)(chiffres >>> (4 * i)) & 0xF;
+		}
+	}
+
+	/**
+	 * Compacte un tableau de chiffres, un par quartet.
+	 * 
+	 * @param tableau : chiffres de la combinaison, de la première à la dernière case.
+	 * 
+	 * @return Les chiffres compactés : <code>long</code>
+	 */
+	public long compacter(int[] tableau) {
+
+		long chiffres = 0;
+
+		for (int i = 0; i < nbrDeCases; i++) {
+			chiffres |= (long)tableau[i] << (4 * i);
+		}
+
+		return chiffres;
+	}
+
+	/**
+	 * Calcule la réponse obtenue en proposant une tentative quand la combinaison
+	 * à trouver est une autre, à partir de leurs formes compactées.
+	 * 
+	 * <p>Les bien placés sont les quartets nuls du <i>ou exclusif</i> des chiffres,
+	 * les présents sont la somme des minimums des histogrammes moins les bien placés.</p>
+	 * 
+	 * @param chiffresCombinaison : chiffres compactés de la combinaison à trouver.
+	 * @param histoCombinaison : histogramme compacté de la combinaison à trouver.
+	 * @param chiffresTentative : chiffres compactés de la tentative.
+	 * @param histoTentative : histogramme compacté de la tentative.
+	 * 
+	 * @return La réponse codée, à lire avec <code>bienPlace()</code> et <code>present()</code>.
+	 * 
+	 * @see AbstractEspaceCodes#bienPlace(int)
+	 * @see AbstractEspaceCodes#present(int)
+	 */
+	public int reponse(long chiffresCombinaison, long histoCombinaison, long chiffresTentative, long histoTentative) {
+
+		long difference = chiffresCombinaison ^ chiffresTentative;
+		difference = (difference | (difference >>> 1) | (difference >>> 2) | (difference >>> 3)) & masqueCases;
+
+		int bienPlace = nbrDeCases - Long.bitCount(difference);
+
+		return bienPlace * (nbrDeCases + 1) + communs(histoCombinaison, histoTentative) - bienPlace;
+	}
+
+	/**
+	 * Calcule la réponse entre deux combinaisons à partir de leurs seuls chiffres compactés.
+	 * 
+	 * @param chiffresCombinaison : chiffres compactés de la combinaison à trouver.
+	 * @param chiffresTentative : chiffres compactés de la tentative.
+	 * 
+	 * @return La réponse codée : <code>int</code>
+	 * 
+	 * @see AbstractEspaceCodes#reponse(long, long, long, long)
+	 */
+	public int reponseChiffres(long chiffresCombinaison, long chiffresTentative) {
+
+		return reponse(chiffresCombinaison, histogrammeDe(chiffresCombinaison),
+				chiffresTentative, histogrammeDe(chiffresTentative));
+	}
+
+	/**
+	 * Calcule la somme des minimums, couleur par couleur, de deux histogrammes.
+	 * 
+	 * <p>Tant qu'un compteur tient sur 3 bits (7 cases ou moins), les 16 quartets sont
+	 * comparés d'un seul coup : le bit haut de <code>(a | 8) - b</code> vaut 1 quand a &gt;= b.</p>
+	 * 
+	 * @param histoA : premier histogramme compacté.
+	 * @param histoB : second histogramme compacté.
+	 * 
+	 * @return Le nombre de chiffres en commun : <code>int</code>
+	 */
+	private int communs(long histoA, long histoB) {
+
+		if (nbrDeCases <= 7) {
+
+			long superieur = ((histoA | QUARTETS_HAUTS) - histoB) & QUARTETS_HAUTS;
+			long masque = (superieur >>> 3) * 0xF;
+			long minimum = (histoB & masque) | (histoA & ~masque);
+			long octets = (minimum & QUARTETS_BAS) + ((minimum >>> 4) & QUARTETS_BAS);
+
+			return (int)((octets * 0x0101010101010101L) >>> 56);
+		}
+
+		int communs = 0;
+
+		for (int c = 0; c < nbrDeCouleurs; c++) {
+
+			int decalage = 4 * c;
+			communs += Math.min((int)(histoA >>> decalage) & 0xF, (int)(histoB >>> decalage) & 0xF);
+		}
+
+		return communs;
+	}
+
+	/**
+	 * Code une réponse à partir de ses deux composantes.
+	 * 
+	 * @param bienPlace : nombre de chiffres bien placés.
+	 * @param present : nombre de chiffres présents.
+	 * 
+	 * @return La réponse codée : <code>int</code>
+	 */
+	public int coderReponse(int bienPlace, int present) {
+
+		return bienPlace * (nbrDeCases + 1) + present;
+	}
+
+	/**
+	 * Lit le nombre de bien placés d'une réponse codée.
+	 * 
+	 * @param reponse : la réponse codée.
+	 * 
+	 * @return Le nombre de chiffres bien placés : <code>int</code>
+	 */
+	public int bienPlace(int reponse) {
+
+		return reponse / (nbrDeCases + 1);
+	}
+
+	/**
+	 * Lit le nombre de présents d'une réponse codée.
+	 * 
+	 * @param reponse : la réponse codée.
+	 * 
+	 * @return Le nombre de chiffres présents : <code>int</code>
+	 */
+	public int present(int reponse) {
+
+		return reponse % (nbrDeCases + 1);
+	}
+
+	/**
+	 * Récupère le nombre de réponses codées différentes possibles.
+	 * Toute réponse codée est strictement inférieure à cette valeur.
+	 * 
+	 * @return <code>(nbrDeCases + 1)²</code>
+	 */
+	public int getNbrReponses() {
+
+		return (nbrDeCases + 1) * (nbrDeCases + 1);
+	}
+
+	/**
+	 * Récupère la réponse codée d'une combinaison trouvée.
+	 * 
+	 * @return La réponse où toutes les cases sont bien placées : <code>int</code>
+	 */
+	public int getReponseVictoire() {
+
+		return nbrDeCases * (nbrDeCases + 1);
+	}
+
+	/**
+	 * Récupère le nombre de combinaisons de l'espace.
+	 * 
+	 * @return <code>nbrDeCouleurs ^ nbrDeCases</code>
+	 */
+	public abstract long getNbrDeCodes();
+
+	/**
+	 * Récupère le nombre de cases.
+	 * 
+	 * @return int : nombre de cases.
+	 */
+	public int getNbrDeCases() {
+
+		return nbrDeCases;
+	}
+
+	/**
+	 * Récupère le nombre de couleurs.
+	 * 
+	 * @return int : nombre de couleurs.
+	 */
+	public int getNbrDeCouleurs() {
+
+		return nbrDeCouleurs;
+	}
+
+}
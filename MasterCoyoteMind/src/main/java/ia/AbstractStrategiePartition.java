@@ -0,0 +1,453 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Classe abstraite qui permet de mettre en commun le code des stratégies
+ * qui notent chaque tentative possible d'après la partition des candidats qu'elle produit.
+ * 
+ * <p>Pour une tentative donnée, chaque candidat est rangé dans la case de la réponse
+ * qu'il renverrait. La stratégie choisit la tentative dont la partition a le meilleur score,
+ * en préférant un candidat (qui peut gagner tout de suite) en cas d'égalité.</p>
+ * 
+ * <p>Le nombre de calculs de réponses par tour est limité par un <i>budget</i> :</p>
+ * <ul>
+ * <li>Au premier tour, seules les tentatives différentes à une permutation
+ * des couleurs et des cases près sont notées (<code>0011</code>, <code>0012</code>...).</li>
+ * <li>Ensuite toutes les combinaisons sont notées si le budget le permet,
+ * sinon seulement les candidats, sinon un échantillon tiré au hasard.</li>
+ * </ul>
+ * 
+ * <p>La notation peut être répartie sur plusieurs cœurs avec un <code>ForkJoinPool</code>
+ * (voir {@link #AbstractStrategiePartition(int, ForkJoinPool)}).</p>
+ * 
+ * @see StrategieMinimax
+ * @see StrategieEntropie
+ * 
+ * @author Coyote
+ */
+public abstract class AbstractStrategiePartition implements StrategieIA {
+
+
+	/**
+	 * Nombre de calculs de réponses autorisés par tour par défaut.
+	 */
+	public static final int BUDGET_PAR_DEFAUT = 4_000_000;
+	/**
+	 * Nombre minimum de calculs de réponses dans un tour pour découper la notation entre plusieurs tâches.
+	 */
+	private static final long SEUIL_PARALLELE = 200_000;
+	/**
+	 * Nombre maximum de calculs de réponses confiés à une seule tâche.
+	 */
+	private static final long TRANCHE_PARALLELE = 50_000;
+	/**
+	 * Nombre de calculs de réponses autorisés par tour.
+	 */
+	protected final int budget;
+	/**
+	 * Pool qui se partage la notation des tentatives, <code>null</code> pour noter dans le thread de l'appelant.
+	 */
+	private final ForkJoinPool pool;
+	/**
+	 * Codes des candidats du tour, réutilisé d'un tour à l'autre.
+	 */
+	private int[] tabCandidats;
+	/**
+	 * Codes des tentatives notées pendant le tour, réutilisé d'un tour à l'autre.
+	 */
+	private int[] tabTentatives;
+	/**
+	 * Nombre de candidats par réponse pour la tentative en cours de notation.
+	 */
+	private int[] partition;
+
+
+	/**
+	 * Constructeur qui fixe le budget de calcul par tour.
+	 * 
+	 * @param budget <code>:int</code> Nombre de calculs de réponses autorisés par tour.
+	 */
+	public AbstractStrategiePartition(int budget) {
+
+		this(budget, null);
+	}
+
+	/**
+	 * Constructeur qui fixe le budget de calcul par tour et le pool qui se partage la notation.
+	 * 
+	 * @param budget <code>:int</code> Nombre de calculs de réponses autorisés par tour.
+	 * @param pool <code>:ForkJoinPool</code> Pool utilisé pour noter en parallèle, ou <code>null</code>.
+	 */
+	public AbstractStrategiePartition(int budget, ForkJoinPool pool) {
+
+		this.budget = budget;
+		this.pool = pool;
+		tabCandidats = new int[0];
+		tabTentatives = new int[0];
+		partition = new int[0];
+	}
+
+	@Override
+	public int choisirTentative(EspaceCodes espaceCodes, EnsembleCandidats candidats, GenerateurAleatoire rand) {
+
+		int nbrCandidats = candidats.cardinal();
+
+		// Avec deux candidats ou moins, jouer un candidat est toujours optimal.
+		if (nbrCandidats <= 2) {
+			return candidats.suivant(0);
+		}
+
+		// Trop de candidats pour noter ne serait-ce qu'une tentative.
+		if (nbrCandidats > budget) {
+			return candidats.tirer(rand);
+		}
+
+		if (tabCandidats.length < nbrCandidats) {
+			tabCandidats = new int[nbrCandidats];
+		}
+		candidats.copierVers(tabCandidats);
+
+		int nbrTentatives = preparerTentatives(espaceCodes, nbrCandidats, rand);
+
+		if (partition.length < espaceCodes.getNbrReponses()) {
+			partition = new int[espaceCodes.getNbrReponses()];
+		}
+
+		return meilleureTentative(espaceCodes, candidats, nbrCandidats, nbrTentatives);
+	}
+
+	/**
+	 * Note toutes les tentatives préparées et renvoie la meilleure.
+	 * 
+	 * <p>Si un <code>ForkJoinPool</code> est fourni et qu'il y a assez de calculs à faire,
+	 * la notation est découpée entre les tâches du pool.</p>
+	 * 
+	 * @param espaceCodes : espace de toutes les combinaisons possibles.
+	 * @param candidats : codes encore compatibles.
+	 * @param nbrCandidats : nombre de codes dans <code>tabCandidats</code>.
+	 * @param nbrTentatives : nombre de codes dans <code>tabTentatives</code>.
+	 * 
+	 * @return Le code de la meilleure tentative : <code>int</code>
+	 */
+	private int meilleureTentative(EspaceCodes espaceCodes, EnsembleCandidats candidats,
+			int nbrCandidats, int nbrTentatives) {
+
+		Notation meilleure;
+
+		if (pool != null && (long)nbrTentatives * nbrCandidats >= SEUIL_PARALLELE) {
+
+			meilleure = pool.invoke(new TacheNotation(espaceCodes, candidats, nbrCandidats, 0, nbrTentatives));
+
+		} else {
+
+			meilleure = noter(espaceCodes, candidats, nbrCandidats, 0, nbrTentatives, partition);
+		}
+
+		return meilleure == null ? tabCandidats[0] : meilleure.tentative;
+	}
+
+	/**
+	 * Note les tentatives de <code>tabTentatives</code> entre <code>debut</code> inclus
+	 * et <code>fin</code> exclus, et renvoie la meilleure d'entre elles.
+	 * 
+	 * @param espaceCodes : espace de toutes les combinaisons possibles.
+	 * @param candidats : codes encore compatibles.
+	 * @param nbrCandidats : nombre de codes dans <code>tabCandidats</code>.
+	 * @param debut : indice de la première tentative à noter.
+	 * @param fin : indice qui suit la dernière tentative à noter.
+	 * @param cases : histogramme propre à l'appelant, d'au moins <code>getNbrReponses()</code> cases.
+	 * 
+	 * @return La meilleure notation, ou <code>null</code> si toutes ont été abandonnées.
+	 */
+	private Notation noter(EspaceCodes espaceCodes, EnsembleCandidats candidats,
+			int nbrCandidats, int debut, int fin, int[] cases) {
+
+		int nbrReponses = espaceCodes.getNbrReponses();
+		double meilleurScore = Double.POSITIVE_INFINITY;
+		Notation meilleure = null;
+
+		for (int t = debut; t < fin; t++) {
+
+			int tentative = tabTentatives[t];
+			Arrays.fill(cases, 0, nbrReponses, 0);
+			boolean abandon = false;
+
+			for (int c = 0; c < nbrCandidats; c++) {
+
+				int effectif = ++cases[espaceCodes.reponse(tabCandidats[c], tentative)];
+
+				if (abandonner(effectif, meilleurScore)) {
+					abandon = true;
+					break;
+				}
+			}
+
+			if (abandon) {
+				continue;
+			}
+
+			double score = evaluer(cases, nbrReponses, nbrCandidats);
+			boolean estCandidat = candidats.contient(tentative);
+
+			// Une notation n'est créée que pour une tentative meilleure que les précédentes.
+			if (Notation.bat(score, estCandidat, meilleure)) {
+
+				meilleurScore = score;
+				meilleure = new Notation(tentative, score, estCandidat);
+			}
+		}
+
+		return meilleure;
+	}
+
+	/**
+	 * Remplit <code>tabTentatives</code> avec les tentatives à noter pendant ce tour.
+	 * 
+	 * @param espaceCodes : espace de toutes les combinaisons possibles.
+	 * @param nbrCandidats : nombre de candidats restants.
+	 * @param rand : générateur de nombres aléatoires de la partie.
+	 * 
+	 * @return Le nombre de tentatives à noter : <code>int</code>
+	 */
+	private int preparerTentatives(EspaceCodes espaceCodes, int nbrCandidats, GenerateurAleatoire rand) {
+
+		int taille = espaceCodes.getTaille();
+		int nbrTentatives;
+
+		if (nbrCandidats == taille) {
+
+			nbrTentatives = tentativesCanoniques(espaceCodes);
+
+		} else if ((long)taille * nbrCandidats <= budget) {
+
+			nbrTentatives = taille;
+			if (tabTentatives.length < nbrTentatives) {
+				tabTentatives = new int[nbrTentatives];
+			}
+			for (int code = 0; code < taille; code++) {
+				tabTentatives[code] = code;
+			}
+
+		} else {
+
+			nbrTentatives = nbrCandidats;
+			if (tabTentatives.length < nbrTentatives) {
+				tabTentatives = new int[nbrTentatives];
+			}
+			System.arraycopy(tabCandidats, 0, tabTentatives, 0, nbrCandidats);
+		}
+
+		// Garde un échantillon au hasard si le budget est dépassé.
+		int limite = Math.max(1, budget / nbrCandidats);
+
+		if (nbrTentatives > limite) {
+
+			for (int i = 0; i < limite; i++) {
+
+				int j = i + rand.nextInt(nbrTentatives - i);
+				int echange = tabTentatives[i];
+				tabTentatives[i] = tabTentatives[j];
+				tabTentatives[j] = echange;
+			}
+			nbrTentatives = limite;
+		}
+
+		return nbrTentatives;
+	}
+
+	/**
+	 * Remplit <code>tabTentatives</code> avec une tentative par classe de symétrie :
+	 * chiffres croissants, commençant par 0 et augmentant d'au plus 1 d'une case à l'autre.
+	 * 
+	 * @param espaceCodes : espace de toutes les combinaisons possibles.
+	 * 
+	 * @return Le nombre de tentatives canoniques : <code>int</code>
+	 */
+	private int tentativesCanoniques(EspaceCodes espaceCodes) {
+
+		int nbrDeCases = espaceCodes.getNbrDeCases();
+		int nbrDeCouleurs = espaceCodes.getNbrDeCouleurs();
+
+		int maximum = 1 << (nbrDeCases - 1);
+		if (tabTentatives.length < maximum) {
+			tabTentatives = new int[maximum];
+		}
+
+		int nbrTentatives = 0;
+
+		// Chaque bit de masque indique si la case suivante change de couleur.
+		for (int masque = 0; masque < maximum; masque++) {
+
+			int couleur = 0;
+			int code = 0;
+
+			for (int i = 0; i < nbrDeCases; i++) {
+
+				if (i > 0 && (masque & (1 << (i - 1))) != 0) {
+					couleur++;
+				}
+				code = code * nbrDeCouleurs + couleur;
+			}
+
+			if (couleur < nbrDeCouleurs) {
+				tabTentatives[nbrTentatives++] = code;
+			}
+		}
+
+		return nbrTentatives;
+	}
+
+	/**
+	 * Note la partition des candidats produite par une tentative.
+	 * Plus le score est petit, meilleure est la tentative.
+	 * 
+	 * <p>Peut être appelée en même temps par plusieurs tâches du pool :
+	 * elle ne doit rien modifier d'autre que ses variables locales.</p>
+	 * 
+	 * @param partition : nombre de candidats par réponse codée.
+	 * @param nbrReponses : nombre de cases utilisées dans <code>partition</code>.
+	 * @param nbrCandidats : nombre total de candidats.
+	 * 
+	 * @return Le score de la tentative : <code>double</code>
+	 */
+	protected abstract double evaluer(int[] partition, int nbrReponses, int nbrCandidats);
+
+	/**
+	 * Permet d'arrêter la notation d'une tentative dès qu'elle ne peut plus battre la meilleure.
+	 * 
+	 * @param effectif : nombre de candidats de la case qui vient d'être incrémentée.
+	 * @param meilleurScore : score de la meilleure tentative notée jusqu'ici.
+	 * 
+	 * @return <code>true</code> pour abandonner la tentative en cours.
+	 */
+	protected boolean abandonner(int effectif, double meilleurScore) {
+
+		return false;
+	}
+
+	/**
+	 * Score d'une tentative notée.
+	 */
+	private static final class Notation {
+
+		/**
+		 * Code de la tentative.
+		 */
+		private final int tentative;
+		/**
+		 * Score de la tentative, plus il est petit meilleure elle est.
+		 */
+		private final double score;
+		/**
+		 * Vaut <code>true</code> si la tentative est encore un candidat.
+		 */
+		private final boolean estCandidat;
+
+		private Notation(int tentative, double score, boolean estCandidat) {
+
+			this.tentative = tentative;
+			this.score = score;
+			this.estCandidat = estCandidat;
+		}
+
+		/**
+		 * Compare avec une autre notation : à score égal, un candidat l'emporte.
+		 * 
+		 * <p>Une notation ne bat jamais une notation de même valeur placée avant elle,
+		 * ce qui donne le même résultat que la notation séquentielle quel que soit le découpage.</p>
+		 * 
+		 * @param autre : notation placée avant celle-ci, peut être <code>null</code>.
+		 * 
+		 * @return <code>true</code> si cette notation est strictement meilleure.
+		 */
+		private boolean meilleureQue(Notation autre) {
+
+			return bat(score, estCandidat, autre);
+		}
+
+		/**
+		 * Compare un score pas encore noté avec une notation, comme <code>meilleureQue()</code>.
+		 * 
+		 * @param score : score de la tentative.
+		 * @param estCandidat : <code>true</code> si la tentative est encore un candidat.
+		 * @param autre : notation placée avant, peut être <code>null</code>.
+		 * 
+		 * @return <code>true</code> si la tentative est strictement meilleure.
+		 */
+		private static boolean bat(double score, boolean estCandidat, Notation autre) {
+
+			return autre == null || score < autre.score
+					|| (score == autre.score && estCandidat && !autre.estCandidat);
+		}
+	}
+
+	/**
+	 * Tâche qui note une tranche de <code>tabTentatives</code>, en la coupant en deux
+	 * tant qu'elle représente plus de <code>TRANCHE_PARALLELE</code> calculs de réponses.
+	 * 
+	 * <p>Chaque tâche feuille remplit son propre histogramme de réponses,
+	 * les meilleures notations des deux moitiés sont ensuite comparées.</p>
+	 */
+	private final class TacheNotation extends RecursiveTask<Notation> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient EspaceCodes espaceCodes;
+		private final transient EnsembleCandidats candidats;
+		private final int nbrCandidats;
+		private final int debut;
+		private final int fin;
+
+		private TacheNotation(EspaceCodes espaceCodes, EnsembleCandidats candidats,
+				int nbrCandidats, int debut, int fin) {
+
+			this.espaceCodes = espaceCodes;
+			this.candidats = candidats;
+			this.nbrCandidats = nbrCandidats;
+			this.debut = debut;
+			this.fin = fin;
+		}
+
+		@Override
+		protected Notation compute() {
+
+			if (fin - debut <= 1 || (long)(fin - debut) * nbrCandidats <= TRANCHE_PARALLELE) {
+				return noter(espaceCodes, candidats, nbrCandidats, debut, fin,
+						new int[espaceCodes.getNbrReponses()]);
+			}
+
+			int milieu = (debut + fin) >>> 1;
+			TacheNotation gauche = new TacheNotation(espaceCodes, candidats, nbrCandidats, debut, milieu);
+			TacheNotation droite = new TacheNotation(espaceCodes, candidats, nbrCandidats, milieu, fin);
+
+			gauche.fork();
+			Notation resultatDroite = droite.compute();
+			Notation resultatGauche = gauche.join();
+
+			if (resultatDroite != null && resultatDroite.meilleureQue(resultatGauche)) {
+				return resultatDroite;
+			}
+			return resultatGauche;
+		}
+	}
+
+}
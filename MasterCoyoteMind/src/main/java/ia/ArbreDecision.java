@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Arbre de décision complet de l'IA du <i>MasterMind</i>, calculé par {@link OptimiseurArbre} :
+ * il donne une tentative pour chaque suite de réponses possible, jusqu'à la victoire.
+ * 
+ * <p>Contrairement au {@link LivreOuvertures}, l'arbre n'est pas complet : seuls les nœuds
+ * atteignables sont rangés, et chaque nœud garde l'index de ses enfants, une case par réponse codée.</p>
+ * 
+ * <p>Format du fichier (entiers de 4 octets, poids fort en premier) :</p>
+ * <ul>
+ * <li>en-tête : <code>MAGIQUE</code>, nombre de cases, nombre de couleurs, nombre de nœuds.</li>
+ * <li>puis, pour chaque nœud, le code de la tentative.</li>
+ * <li>puis, pour chaque nœud et chaque réponse codée, l'index de l'enfant, ou <code>-1</code>.</li>
+ * </ul>
+ * 
+ * @see StrategieLivre
+ * 
+ * @author Coyote
+ */
+public final class ArbreDecision implements ArbreTentatives {
+
+
+	/**
+	 * Premier entier de tout arbre de décision.
+	 */
+	public static final int MAGIQUE = 0x4D434F32;
+	/**
+	 * Arbres déjà cherchés, par nom de fichier : vide si la configuration n'a pas d'arbre.
+	 */
+	private static final Map<String, Optional<ArbreDecision>> ARBRES = new ConcurrentHashMap<>();
+	/**
+	 * Nombre de cases du plateau de jeu.
+	 */
+	private final int nbrDeCases;
+	/**
+	 * Nombre de couleurs possibles.
+	 */
+	private final int nbrDeCouleurs;
+	/**
+	 * Nombre de branches de chaque nœud : <code>(nbrDeCases + 1)²</code>.
+	 */
+	private final int nbrReponses;
+	/**
+	 * Code de la tentative de chaque nœud.
+	 */
+	private final int[] tentatives;
+	/**
+	 * Enfant de chaque nœud pour chaque réponse, à l'index <code>noeud * nbrReponses + reponse</code>.
+	 */
+	private final int[] enfants;
+
+
+	/**
+	 * Constructeur de <i>ArbreDecision</i>.
+	 * 
+	 * @param nbrDeCases <code>:int</code> Nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs <code>:int</code> Nombre de couleurs possibles.
+	 * @param tentatives <code>:int[]</code> Code de la tentative de chaque nœud.
+	 * @param enfants <code>:int[]</code> Enfant de chaque nœud pour chaque réponse codée, <code>-1</code> si aucun.
+	 * 
+	 * @throws IllegalArgumentException si les tailles des tableaux ne correspondent pas.
+	 */
+	public ArbreDecision(int nbrDeCases, int nbrDeCouleurs, int[] tentatives, int[] enfants) {
+
+		this.nbrDeCases = nbrDeCases;
+		this.nbrDeCouleurs = nbrDeCouleurs;
+		this.nbrReponses = (nbrDeCases + 1) * (nbrDeCases + 1);
+		this.tentatives = tentatives;
+		this.enfants = enfants;
+
+		if ((long)tentatives.length * nbrReponses != enfants.length) {
+			throw new IllegalArgumentException("Arbre de décision incohérent : " + tentatives.length + " nœuds, "
+					+ enfants.length + " enfants");
+		}
+	}
+
+	/**
+	 * Récupère le chemin de l'arbre de décision d'une configuration,
+	 * dans le même dossier que les livres d'ouvertures.
+	 * 
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs possibles.
+	 * 
+	 * @return Le chemin du fichier, qui n'existe pas forcément : <code>Path</code>
+	 */
+	public static Path chemin(int nbrDeCases, int nbrDeCouleurs) {
+
+		return LivreOuvertures.chemin(nbrDeCases, nbrDeCouleurs).resolveSibling(nom(nbrDeCases, nbrDeCouleurs));
+	}
+
+	/**
+	 * Récupère le nom du fichier de l'arbre de décision d'une configuration.
+	 * 
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs possibles.
+	 * 
+	 * @return Le nom du fichier : <code>String</code>
+	 */
+	private static String nom(int nbrDeCases, int nbrDeCouleurs) {
+
+		return "arbre-" + nbrDeCases + "x" + nbrDeCouleurs + ".bin";
+	}
+
+	/**
+	 * Lit l'arbre de décision d'une configuration, en le cherchant la première fois seulement,
+	 * comme un livre d'ouvertures : dossier des livres, puis classpath.
+	 * 
+	 * <p>Un arbre illisible n'est signalé qu'une fois : la configuration est ensuite jouée sans arbre.</p>
+	 * 
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs possibles.
+	 * 
+	 * @return L'arbre, ou <code>null</code> s'il n'y en a pas pour cette configuration.
+	 * 
+	 * @throws IOException si le fichier existe mais ne peut pas être lu.
+	 */
+	public static ArbreDecision charger(int nbrDeCases, int nbrDeCouleurs) throws IOException {
+
+		String nom = nom(nbrDeCases, nbrDeCouleurs);
+
+		try {
+			return ARBRES.computeIfAbsent(nom, n -> chercher(n, nbrDeCases, nbrDeCouleurs)).orElse(null);
+
+		} catch (UncheckedIOException e) {
+			ARBRES.putIfAbsent(nom, Optional.empty());
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Lit l'arbre de décision d'une configuration.
+	 * 
+	 * @param nom : nom du fichier.
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs possibles.
+	 * 
+	 * @return L'arbre, vide s'il n'y en a pas pour cette configuration : <code>Optional</code>
+	 * 
+	 * @throws UncheckedIOException si le fichier existe mais ne peut pas être lu.
+	 */
+	private static Optional<ArbreDecision> chercher(String nom, int nbrDeCases, int nbrDeCouleurs) {
+
+		try {
+			ByteBuffer table = LivreOuvertures.lireRessource(nom);
+			if (table == null) {
+				return Optional.empty();
+			}
+
+			ArbreDecision arbre = lire(table, nom);
+			if (arbre.nbrDeCases != nbrDeCases || arbre.nbrDeCouleurs != nbrDeCouleurs) {
+				throw new IOException("Arbre de décision d'une autre configuration : " + nom);
+			}
+			return Optional.of(arbre);
+
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Lit un arbre de décision.
+	 * 
+	 * @param chemin : chemin du fichier.
+	 * 
+	 * @return L'arbre : <code>ArbreDecision</code>
+	 * 
+	 * @throws IOException si le fichier ne peut pas être lu ou n'est pas un arbre valide.
+	 */
+	public static ArbreDecision lire(Path chemin) throws IOException {
+
+		return lire(LivreOuvertures.projeter(chemin), chemin.toString());
+	}
+
+	/**
+	 * Lit un arbre de décision déjà chargé en mémoire.
+	 * 
+	 * @param table : contenu du fichier.
+	 * @param nom : nom du fichier, pour les messages d'erreur.
+	 * 
+	 * @return L'arbre : <code>ArbreDecision</code>
+	 * 
+	 * @throws IOException si le contenu n'est pas un arbre valide.
+	 */
+	private static ArbreDecision lire(ByteBuffer table, String nom) throws IOException {
+
+		IntBuffer entree = table.asIntBuffer();
+
+		if (entree.remaining() < 4 || entree.get() != MAGIQUE) {
+			throw new IOException("Arbre de décision invalide : " + nom);
+		}
+
+		int nbrDeCases = entree.get();
+		int nbrDeCouleurs = entree.get();
+		int nbrNoeuds = entree.get();
+		long nbrEnfants = (long)nbrNoeuds * (nbrDeCases + 1) * (nbrDeCases + 1);
+
+		if (nbrDeCases < 1 || nbrDeCases > AbstractEspaceCodes.MAX_CASES
+				|| nbrNoeuds < 1 || nbrEnfants > Integer.MAX_VALUE || entree.remaining() != nbrNoeuds + nbrEnfants) {
+			throw new IOException("Arbre de décision invalide : " + nom);
+		}
+
+		int[] tentatives = new int[nbrNoeuds];
+		int[] enfants = new int[(int)nbrEnfants];
+
+		entree.get(tentatives);
+		entree.get(enfants);
+
+		return new ArbreDecision(nbrDeCases, nbrDeCouleurs, tentatives, enfants);
+	}
+
+	/**
+	 * Écrit l'arbre de décision dans un fichier.
+	 * 
+	 * @param chemin : chemin du fichier.
+	 * 
+	 * @throws IOException si le fichier ne peut pas être écrit.
+	 */
+	public void ecrire(Path chemin) throws IOException {
+
+		try (DataOutputStream sortie = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(chemin)))) {
+
+			sortie.writeInt(MAGIQUE);
+			sortie.writeInt(nbrDeCases);
+			sortie.writeInt(nbrDeCouleurs);
+			sortie.writeInt(tentatives.length);
+
+			for (int tentative : tentatives) {
+				sortie.writeInt(tentative);
+			}
+			for (int enfant : enfants) {
+				sortie.writeInt(enfant);
+			}
+		}
+	}
+
+	@Override
+	public int tentative(int noeud) {
+
+		if (noeud < 0 || noeud >= tentatives.length) {
+			return -1;
+		}
+
+		return tentatives[noeud];
+	}
+
+	@Override
+	public int enfant(int noeud, int reponse) {
+
+		if (noeud < 0 || noeud >= tentatives.length || reponse < 0 || reponse >= nbrReponses) {
+			return -1;
+		}
+
+		return enfants[noeud * nbrReponses + reponse];
+	}
+
+	/**
+	 * Récupère le nombre de nœuds de l'arbre.
+	 * 
+	 * @return <code>int</code>
+	 */
+	public int getNbrNoeuds() {
+
+		return tentatives.length;
+	}
+
+	/**
+	 * Récupère le nombre de cases.
+	 * 
+	 * @return int : nombre de cases.
+	 */
+	public int getNbrDeCases() {
+
+		return nbrDeCases;
+	}
+
+	/**
+	 * Récupère le nombre de couleurs.
+	 * 
+	 * @return int : nombre de couleurs.
+	 */
+	public int getNbrDeCouleurs() {
+
+		return nbrDeCouleurs;
+	}
+
+}
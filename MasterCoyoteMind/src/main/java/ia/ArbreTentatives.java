@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+/**
+ * Arbre de tentatives que l'IA peut suivre tour après tour :
+ * chaque nœud donne une tentative, et chaque réponse mène au nœud suivant.
+ * 
+ * <p>La racine est le nœud <code>0</code> et l'index <code>-1</code> désigne un nœud
+ * en dehors de l'arbre.</p>
+ * 
+ * @see LivreOuvertures
+ * @see ArbreDecision
+ * @see StrategieLivre
+ * 
+ * @author Coyote
+ */
+public interface ArbreTentatives {
+
+
+	/**
+	 * Récupère la tentative rangée dans un nœud.
+	 * 
+	 * @param noeud : index du nœud, <code>-1</code> en dehors de l'arbre.
+	 * 
+	 * @return Le code de la tentative, ou <code>-1</code> si l'arbre n'en a pas.
+	 */
+	int tentative(int noeud);
+
+	/**
+	 * Récupère le nœud atteint depuis un autre par une réponse.
+	 * 
+	 * @param noeud : index du nœud de départ, <code>-1</code> en dehors de l'arbre.
+	 * @param reponse : réponse codée obtenue.
+	 * 
+	 * @return L'index du nœud atteint, ou <code>-1</code> s'il est en dehors de l'arbre.
+	 */
+	int enfant(int noeud, int reponse);
+
+}
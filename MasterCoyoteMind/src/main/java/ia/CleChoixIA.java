@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+/**
+ * Clé de tout ce dont dépend le prochain choix d'un {@link SolveurMasterMind} :
+ * espace des codes, stratégie, état de la stratégie, nombre de tentatives et candidats restants.
+ * 
+ * <p>Deux solveurs de clés égales peuvent jouer la même tentative : la calculer une fois
+ * puis l'imposer aux autres donne une partie aussi valable que si chacun l'avait choisie,
+ * seul le hasard de la stratégie n'est tiré qu'une fois. Deux parties qui ont reçu les mêmes réponses
+ * aux mêmes tentatives ont des clés égales, de même que deux suites différentes qui laissent
+ * les mêmes candidats.</p>
+ * 
+ * <p>La clé lit les candidats du solveur sans les copier, ce qui évite de recopier
+ * ses mots à la modification suivante : elle ne doit être comparée que tant que le solveur
+ * ne joue pas, par exemple entre la demande d'un tour de l'IA et ce tour.
+ * Seule l'empreinte est calculée à la construction.</p>
+ * 
+ * @see SolveurMasterMind#cleChoix()
+ * 
+ * @author Coyote
+ */
+public final class CleChoixIA {
+
+
+	/**
+	 * Espace des codes du solveur, commun aux solveurs d'une même configuration.
+	 */
+	private final EspaceCodes espaceCodes;
+	/**
+	 * Classe de la stratégie du solveur.
+	 */
+	private final Class<?> strategie;
+	/**
+	 * État de la stratégie.
+	 * 
+	 * @see StrategieIA#sauvegarderEtat()
+	 */
+	private final long etatStrategie;
+	/**
+	 * Nombre de réponses appliquées depuis le début de la partie.
+	 */
+	private final int nbrTentatives;
+	/**
+	 * Codes encore possibles du solveur, lus sans copie et jamais modifiés par la clé.
+	 */
+	private final EnsembleCandidats candidats;
+	/**
+	 * Empreinte calculée une fois pour toutes.
+	 */
+	private final int empreinte;
+
+
+	/**
+	 * Constructeur de <i>CleChoixIA</i>.
+	 * 
+	 * @param espaceCodes <code>:EspaceCodes</code> Espace des codes du solveur.
+	 * @param strategie <code>:StrategieIA</code> Stratégie du solveur.
+	 * @param nbrTentatives <code>:int</code> Nombre de réponses appliquées.
+	 * @param candidats <code>:EnsembleCandidats</code> Codes encore possibles du solveur.
+	 */
+	CleChoixIA(EspaceCodes espaceCodes, StrategieIA strategie, int nbrTentatives, EnsembleCandidats candidats) {
+
+		this.espaceCodes = espaceCodes;
+		this.strategie = strategie.getClass();
+		this.etatStrategie = strategie.sauvegarderEtat();
+		this.nbrTentatives = nbrTentatives;
+		this.candidats = candidats;
+
+		int hash = candidats.empreinte();
+		hash = 31 * hash + Long.hashCode(etatStrategie);
+		hash = 31 * hash + nbrTentatives;
+		empreinte = 31 * hash + espaceCodes.getNbrDeCases() * (EspaceCodes.MAX_COULEURS + 1) + espaceCodes.getNbrDeCouleurs();
+	}
+
+	/**
+	 * Récupère le nombre de codes encore possibles.
+	 * 
+	 * @return int : nombre de candidats.
+	 */
+	public int getNbrCandidats() {
+
+		return candidats.cardinal();
+	}
+
+	@Override
+	public int hashCode() {
+
+		return empreinte;
+	}
+
+	@Override
+	public boolean equals(Object objet) {
+
+		if (this == objet) {
+			return true;
+		}
+		if (!(objet instanceof CleChoixIA)) {
+			return false;
+		}
+
+		CleChoixIA autre = (CleChoixIA) objet;
+
+		return empreinte == autre.empreinte
+				&& etatStrategie == autre.etatStrategie
+				&& nbrTentatives == autre.nbrTentatives
+				&& strategie == autre.strategie
+				&& espaceCodes.getNbrDeCases() == autre.espaceCodes.getNbrDeCases()
+				&& espaceCodes.getNbrDeCouleurs() == autre.espaceCodes.getNbrDeCouleurs()
+				&& candidats.memesCodes(autre.candidats);
+	}
+
+}
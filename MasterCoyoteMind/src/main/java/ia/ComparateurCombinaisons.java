@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+import java.util.Arrays;
+
+/**
+ * Calcule la réponse (bien placés, présents) entre une combinaison et une tentative
+ * données sous forme de tableaux, pour tous les modes de type <i>MasterMind</i>.
+ * 
+ * <p>Les deux tableaux sont compactés puis comparés par
+ * {@link AbstractEspaceCodes#reponseChiffres(long, long)} : les réponses données au joueur
+ * et celles qui filtrent les candidats de l'IA viennent de la même règle.
+ * La réponse est codée comme celle de {@link AbstractEspaceCodes#reponse(long, long, long, long)}.</p>
+ * 
+ * <p><code>main()</code> vérifie sur toutes les paires de combinaisons d'un petit plateau
+ * que ce calcul linéaire donne la même réponse que la comparaison case par case d'origine.</p>
+ * 
+ * @author Coyote
+ */
+public class ComparateurCombinaisons {
+
+
+	/**
+	 * Espace des codes du plateau, sans aucun cache : seul son calcul des réponses sert.
+	 */
+	private final EspaceCodesEtendu espace;
+
+
+	/**
+	 * Constructeur de <i>ComparateurCombinaisons</i>.
+	 * 
+	 * @param nbrDeCases <code>:int</code> Nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs <code>:int</code> Nombre de couleurs differentes.
+	 * 
+	 * @throws IllegalArgumentException si les combinaisons ne tiennent pas dans un <code>long</code>.
+	 */
+	public ComparateurCombinaisons(int nbrDeCases, int nbrDeCouleurs) {
+
+		espace = new EspaceCodesEtendu(nbrDeCases, nbrDeCouleurs);
+	}
+
+	/**
+	 * Vérifie sur toutes les paires de combinaisons d'un plateau que <code>comparer()</code>
+	 * donne la même réponse que la comparaison case par case d'origine.
+	 * 
+	 * @param args : nombre de cases et nombre de couleurs.
+	 */
+	public static void main(String[] args) {
+
+		if (args.length < 2) {
+			System.err.println("Usage : ComparateurCombinaisons nbrDeCases nbrDeCouleurs");
+			return;
+		}
+
+		int nbrDeCases = Integer.parseInt(args[0]);
+		int nbrDeCouleurs = Integer.parseInt(args[1]);
+
+		long nbrPaires = verifier(nbrDeCases, nbrDeCouleurs);
+
+		System.out.println(nbrPaires + " paires vérifiées sur " + nbrDeCases + "x" + nbrDeCouleurs + ".");
+	}
+
+	/**
+	 * Compare toutes les paires de combinaisons d'un plateau avec les deux calculs de réponse.
+	 * 
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs differentes.
+	 * 
+	 * @return Le nombre de paires vérifiées : <code>long</code>
+	 * 
+	 * @throws IllegalStateException à la première paire dont les réponses diffèrent.
+	 */
+	public static long verifier(int nbrDeCases, int nbrDeCouleurs) {
+
+		ComparateurCombinaisons comparateur = new ComparateurCombinaisons(nbrDeCases, nbrDeCouleurs);
+		boolean[] testCombi = new boolean[nbrDeCases];
+		int[] combinaison = new int[nbrDeCases];
+		int[] tentative = new int[nbrDeCases];
+		long nbrPaires = 0;
+
+		do {
+			Arrays.fill(tentative, 0);
+
+			do {
+				int reponse = comparateur.comparer(combinaison, tentative);
+
+				if (reponse != comparerParPaires(combinaison, tentative, testCombi)) {
+
+					throw new IllegalStateException("Réponses différentes pour " + Arrays.toString(combinaison)
+							+ " et " + Arrays.toString(tentative));
+				}
+				nbrPaires++;
+
+			} while (suivante(tentative, nbrDeCouleurs));
+
+		} while (suivante(combinaison, nbrDeCouleurs));
+
+		return nbrPaires;
+	}
+
+	/**
+	 * Calcule la réponse obtenue en proposant <code>tentative</code>
+	 * quand la combinaison à trouver est <code>combinaison</code>.
+	 * 
+	 * @param combinaison : chiffres de la combinaison à trouver.
+	 * @param tentative : chiffres de la tentative.
+	 * 
+	 * @return La réponse codée, à lire avec <code>bienPlace()</code> et <code>present()</code>.
+	 */
+	public int comparer(int[] combinaison, int[] tentative) {
+
+		return espace.reponseChiffres(espace.compacter(combinaison), espace.compacter(tentative));
+	}
+
+	/**
+	 * Lit le nombre de bien placés d'une réponse codée.
+	 * 
+	 * @param reponse : la réponse codée.
+	 * 
+	 * @return Le nombre de chiffres bien placés : <code>int</code>
+	 */
+	public int bienPlace(int reponse) {
+
+		return espace.bienPlace(reponse);
+	}
+
+	/**
+	 * Lit le nombre de présents d'une réponse codée.
+	 * 
+	 * @param reponse : la réponse codée.
+	 * 
+	 * @return Le nombre de chiffres présents : <code>int</code>
+	 */
+	public int present(int reponse) {
+
+		return espace.present(reponse);
+	}
+
+	/**
+	 * Comparaison case par case d'origine des modes <i>MasterMind</i>, en O(cases²),
+	 * gardée comme référence pour <code>verifier()</code>.
+	 * 
+	 * @param combinaison : chiffres de la combinaison à trouver.
+	 * @param tentative : chiffres de la tentative.
+	 * @param testCombi : tableau de travail de taille <code>nbrDeCases</code>,
+	 * évite un double test d'un chiffre.
+	 * 
+	 * @return La réponse codée : <code>int</code>
+	 */
+	private static int comparerParPaires(int[] combinaison, int[] tentative, boolean[] testCombi) {
+
+		int present = 0;
+		int bienPlace = 0;
+
+		Arrays.fill(testCombi, true);
+
+		for (int i = 0; i < combinaison.length; i++) {
+
+			if (combinaison[i] == tentative[i]) {
+
+				testCombi[i] = false;
+				bienPlace++;
+
+			} else {
+
+				for (int j = 0; j < tentative.length; j++) {
+
+					// Evite les doublons avec les biens placés et test la présence dans la tentative.
+					if (i != j
+							&& combinaison[i] == tentative[j]
+							&& testCombi[j]
+							&& combinaison[j] != tentative[j]) {
+
+						testCombi[j] = false;
+						present++;
+						break;
+					}
+				}
+			}
+		}
+
+		return bienPlace * (combinaison.length + 1) + present;
+	}
+
+	/**
+	 * Passe à la combinaison suivante, la dernière case variant le plus vite.
+	 * 
+	 * @param chiffres : combinaison modifiée sur place.
+	 * @param nbrDeCouleurs : nombre de couleurs differentes.
+	 * 
+	 * @return <code>false</code> une fois revenu à la première combinaison.
+	 */
+	private static boolean suivante(int[] chiffres, int nbrDeCouleurs) {
+
+		for (int i = chiffres.length - 1; i >= 0; i--) {
+
+			if (++chiffres[i] < nbrDeCouleurs) {
+				return true;
+			}
+			chiffres[i] = 0;
+		}
+
+		return false;
+	}
+
+}
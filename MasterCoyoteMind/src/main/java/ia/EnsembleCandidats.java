@@ -0,0 +1,511 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Ensemble des codes encore possibles pour l'IA, stocké sous forme de tableau de bits.
+ * 
+ * <p>Chaque code de l'espace occupe un seul bit, ce qui remplace une liste d'<code>Integer</code>.
+ * Un index de rangs (nombre de bits à 1 avant chaque bloc de mots) permet de retrouver
+ * le <i>k</i>-ième code restant sans parcourir tout l'ensemble,
+ * et donc de tirer un code au hasard de manière uniforme.</p>
+ * 
+ * <p><code>copie()</code> partage les bits avec la copie, sans les recopier :
+ * le premier des deux ensembles modifié recopie alors ses mots.
+ * L'index de rangs est mis à jour avant le premier partage, si bien que lire, copier
+ * ou restaurer un ensemble partagé jamais modifié n'écrit rien : il peut servir
+ * à plusieurs threads une fois publié sans course (file d'un exécuteur, champ
+ * <code>final</code> ou <code>volatile</code>...). Rien n'est synchronisé en dehors de ce cas.</p>
+ * 
+ * @see EspaceCodes
+ * 
+ * @author Coyote
+ */
+public class EnsembleCandidats {
+
+
+	/**
+	 * Nombre de mots de 64 bits par bloc de l'index de rangs.
+	 */
+	private static final int MOTS_PAR_BLOC = 8;
+	/**
+	 * Nombre de codes de l'espace couvert par l'ensemble.
+	 */
+	private final int taille;
+	/**
+	 * Bits de l'ensemble, le code <code>c</code> est le bit <code>c % 64</code> du mot <code>c / 64</code>.
+	 */
+	private long[] mots;
+	/**
+	 * Nombre de bits à 1 avant chaque bloc de <code>MOTS_PAR_BLOC</code> mots.
+	 */
+	private int[] rangs;
+	/**
+	 * Nombre de codes présents dans l'ensemble.
+	 */
+	private int cardinal;
+	/**
+	 * Vaut <code>true</code> quand l'index de rangs correspond aux bits actuels.
+	 */
+	private boolean rangsAJour;
+	/**
+	 * Vaut <code>true</code> quand les mots et l'index de rangs sont partagés avec une copie.
+	 */
+	private boolean partage;
+
+
+	/**
+	 * Construit un ensemble vide couvrant les codes de <code>0</code> à <code>taille - 1</code>.
+	 * 
+	 * @param taille <code>:int</code> Nombre de codes de l'espace.
+	 */
+	public EnsembleCandidats(int taille) {
+
+		this.taille = taille;
+		mots = new long[(taille + 63) >>> 6];
+		rangs = new int[(mots.length + MOTS_PAR_BLOC - 1) / MOTS_PAR_BLOC];
+		cardinal = 0;
+		rangsAJour = false;
+		partage = false;
+	}
+
+	/**
+	 * Construit une copie qui partage les bits d'un autre ensemble.
+	 * 
+	 * @param source <code>:EnsembleCandidats</code> Ensemble copié.
+	 */
+	private EnsembleCandidats(EnsembleCandidats source) {
+
+		taille = source.taille;
+		mots = source.mots;
+		rangs = source.rangs;
+		cardinal = source.cardinal;
+		rangsAJour = source.rangsAJour;
+		partage = true;
+	}
+
+	/**
+	 * Copie l'ensemble, les bits n'étant recopiés qu'à la première modification.
+	 * Seul l'index de rangs est recalculé, s'il ne correspond plus aux bits.
+	 * 
+	 * @return La copie : <code>EnsembleCandidats</code>
+	 */
+	public EnsembleCandidats copie() {
+
+		marquerPartage();
+		return new EnsembleCandidats(this);
+	}
+
+	/**
+	 * Remplace le contenu de l'ensemble par celui d'un autre, sans recopier les bits.
+	 * 
+	 * @param source : ensemble copié, sur le même espace.
+	 * 
+	 * @throws IllegalArgumentException si les deux ensembles ne couvrent pas le même espace.
+	 */
+	public void restaurer(EnsembleCandidats source) {
+
+		if (source.taille != taille) {
+			throw new IllegalArgumentException("Ensemble d'un autre espace : " + source.taille + " codes au lieu de " + taille);
+		}
+
+		source.marquerPartage();
+		mots = source.mots;
+		rangs = source.rangs;
+		cardinal = source.cardinal;
+		rangsAJour = source.rangsAJour;
+		partage = true;
+	}
+
+	/**
+	 * Met à jour l'index de rangs puis marque les bits comme partagés.
+	 * Un ensemble déjà partagé n'est pas touché : son index est à jour
+	 * tant qu'aucune modification ne lui a rendu ses propres mots.
+	 */
+	private void marquerPartage() {
+
+		if (!partage) {
+			majRangs();
+			partage = true;
+		}
+	}
+
+	/**
+	 * Recopie les bits et l'index de rangs avant une modification s'ils sont partagés.
+	 */
+	private void preparerEcriture() {
+
+		if (partage) {
+			mots = mots.clone();
+			rangs = rangs.clone();
+			partage = false;
+		}
+	}
+
+	/**
+	 * (Re)Remplit l'ensemble avec tous les codes de l'espace.
+	 */
+	public void remplir() {
+
+		preparerEcriture();
+
+		for (int i = 0; i < mots.length; i++) {
+			mots[i] = -1L;
+		}
+
+		// Retire les bits au-delà du dernier code.
+		int reste = taille & 63;
+		if (reste != 0) {
+			mots[mots.length - 1] = (1L << reste) - 1;
+		}
+
+		cardinal = taille;
+		rangsAJour = false;
+	}
+
+	/**
+	 * Vide l'ensemble.
+	 */
+	public void vider() {
+
+		preparerEcriture();
+
+		for (int i = 0; i < mots.length; i++) {
+			mots[i] = 0L;
+		}
+
+		cardinal = 0;
+		rangsAJour = false;
+	}
+
+	/**
+	 * Teste la présence d'un code dans l'ensemble.
+	 * 
+	 * @param code : le code à tester.
+	 * 
+	 * @return <code>true</code> si le code est présent.
+	 */
+	public boolean contient(int code) {
+
+		return (mots[code >>> 6] & (1L << code)) != 0;
+	}
+
+	/**
+	 * Ajoute un code à l'ensemble.
+	 * 
+	 * @param code : le code à ajouter.
+	 */
+	public void ajouter(int code) {
+
+		if (!contient(code)) {
+			preparerEcriture();
+			mots[code >>> 6] |= 1L << code;
+			cardinal++;
+			rangsAJour = false;
+		}
+	}
+
+	/**
+	 * Retire un code de l'ensemble.
+	 * 
+	 * @param code : le code à retirer.
+	 */
+	public void retirer(int code) {
+
+		if (contient(code)) {
+			preparerEcriture();
+			mots[code >>> 6] &= ~(1L << code);
+			cardinal--;
+			rangsAJour = false;
+		}
+	}
+
+	/**
+	 * Garde uniquement les codes qui vérifient le prédicat.
+	 * 
+	 * @param garder : prédicat appelé une fois pour chaque code présent.
+	 */
+	public void filtrer(IntPredicate garder) {
+
+		preparerEcriture();
+
+		int nouveauCardinal = 0;
+
+		for (int i = 0; i < mots.length; i++) {
+
+			long mot = mots[i];
+			long resultat = mot;
+
+			while (mot != 0) {
+
+				long bit = mot & -mot;
+				int code = (i << 6) + Long.numberOfTrailingZeros(mot);
+
+				if (!garder.test(code)) {
+					resultat &= ~bit;
+				}
+
+				mot ^= bit;
+			}
+
+			mots[i] = resultat;
+			nouveauCardinal += Long.bitCount(resultat);
+		}
+
+		cardinal = nouveauCardinal;
+		rangsAJour = false;
+	}
+
+	/**
+	 * Récupère le nombre de mots de 64 bits de l'ensemble.
+	 * 
+	 * @return int : nombre de mots.
+	 */
+	int nbrMots() {
+
+		return mots.length;
+	}
+
+	/**
+	 * Récupère un mot de l'ensemble, le code <code>64 * i + j</code> étant son bit <code>j</code>.
+	 * 
+	 * @param i : index du mot.
+	 * 
+	 * @return Les 64 bits du mot : <code>long</code>
+	 */
+	long mot(int i) {
+
+		return mots[i];
+	}
+
+	/**
+	 * Garde uniquement les codes d'un mot dont le bit est à 1 dans le masque.
+	 * 
+	 * @param i : index du mot.
+	 * @param masque : bits des codes à garder.
+	 */
+	void garderMot(int i, long masque) {
+
+		long retires = mots[i] & ~masque;
+
+		if (retires != 0) {
+			preparerEcriture();
+			mots[i] &= masque;
+			cardinal -= Long.bitCount(retires);
+			rangsAJour = false;
+		}
+	}
+
+	/**
+	 * Récupère le premier code présent à partir de <code>depuis</code> inclus.
+	 * 
+	 * @param depuis : code de départ de la recherche.
+	 * 
+	 * @return Le code trouvé, ou <code>-1</code> si il n'y en a plus.
+	 */
+	public int suivant(int depuis) {
+
+		if (depuis >= taille) {
+			return -1;
+		}
+
+		int i = depuis >>> 6;
+		long mot = mots[i] & (-1L << depuis);
+
+		while (mot == 0) {
+
+			if (++i == mots.length) {
+				return -1;
+			}
+			mot = mots[i];
+		}
+
+		return (i << 6) + Long.numberOfTrailingZeros(mot);
+	}
+
+	/**
+	 * Copie les codes présents dans un tableau, dans l'ordre croissant.
+	 * 
+	 * @param destination : tableau d'au moins <code>cardinal()</code> cases.
+	 * 
+	 * @return Le nombre de codes copiés : <code>int</code>
+	 */
+	public int copierVers(int[] destination) {
+
+		int n = 0;
+
+		for (int i = 0; i < mots.length; i++) {
+
+			long mot = mots[i];
+
+			while (mot != 0) {
+
+				destination[n++] = (i << 6) + Long.numberOfTrailingZeros(mot);
+				mot &= mot - 1;
+			}
+		}
+
+		return n;
+	}
+
+	/**
+	 * Récupère le code de rang <code>rang</code> parmi les codes présents, dans l'ordre croissant.
+	 * 
+	 * @param rang : de <code>0</code> à <code>cardinal() - 1</code>.
+	 * 
+	 * @return Le code correspondant : <code>int</code>
+	 */
+	public int selectionner(int rang) {
+
+		if (rang < 0 || rang >= cardinal) {
+			throw new IndexOutOfBoundsException("Rang " + rang + " hors de l'ensemble de " + cardinal + " codes");
+		}
+
+		majRangs();
+
+		// Recherche dichotomique du dernier bloc qui commence avant le rang.
+		int debut = 0;
+		int fin = rangs.length - 1;
+
+		while (debut < fin) {
+
+			int milieu = (debut + fin + 1) >>> 1;
+
+			if (rangs[milieu] <= rang) {
+				debut = milieu;
+			} else {
+				fin = milieu - 1;
+			}
+		}
+
+		int reste = rang - rangs[debut];
+		int i = debut * MOTS_PAR_BLOC;
+		int nbrBits = Long.bitCount(mots[i]);
+
+		while (reste >= nbrBits) {
+
+			reste -= nbrBits;
+			nbrBits = Long.bitCount(mots[++i]);
+		}
+
+		long mot = mots[i];
+
+		for (int j = 0; j < reste; j++) {
+			mot &= mot - 1;
+		}
+
+		return (i << 6) + Long.numberOfTrailingZeros(mot);
+	}
+
+	/**
+	 * Tire un code présent au hasard, de manière uniforme.
+	 * 
+	 * @param rand : générateur de nombres aléatoires.
+	 * 
+	 * @return Le code tiré : <code>int</code>
+	 */
+	public int tirer(GenerateurAleatoire rand) {
+
+		return selectionner(rand.nextInt(cardinal));
+	}
+
+	/**
+	 * Recalcule l'index de rangs si les bits ont changé depuis le dernier calcul.
+	 */
+	private void majRangs() {
+
+		if (rangsAJour) {
+			return;
+		}
+
+		// L'index partagé reste celui des autres copies.
+		if (partage) {
+			rangs = new int[rangs.length];
+		}
+
+		int total = 0;
+
+		for (int i = 0; i < mots.length; i++) {
+
+			if (i % MOTS_PAR_BLOC == 0) {
+				rangs[i / MOTS_PAR_BLOC] = total;
+			}
+			total += Long.bitCount(mots[i]);
+		}
+
+		rangsAJour = true;
+	}
+
+	/**
+	 * Récupère le nombre de codes présents, calculé par comptage de population.
+	 * 
+	 * @return int : nombre de codes présents.
+	 */
+	public int cardinal() {
+
+		return cardinal;
+	}
+
+	/**
+	 * Teste si l'ensemble est vide.
+	 * 
+	 * @return <code>true</code> si aucun code n'est présent.
+	 */
+	public boolean estVide() {
+
+		return cardinal == 0;
+	}
+
+	/**
+	 * Récupère le nombre de codes de l'espace couvert.
+	 * 
+	 * @return int : taille de l'espace.
+	 */
+	public int getTaille() {
+
+		return taille;
+	}
+
+	/**
+	 * Teste si deux ensembles contiennent exactement les mêmes codes.
+	 * 
+	 * @param autre : ensemble comparé.
+	 * 
+	 * @return <code>true</code> si les deux ensembles couvrent le même espace avec les mêmes codes.
+	 */
+	boolean memesCodes(EnsembleCandidats autre) {
+
+		return taille == autre.taille && cardinal == autre.cardinal
+				&& (mots == autre.mots || Arrays.equals(mots, autre.mots));
+	}
+
+	/**
+	 * Calcule une empreinte des codes présents, égale pour deux ensembles de mêmes codes.
+	 * 
+	 * @return int : l'empreinte.
+	 * 
+	 * @see #memesCodes(EnsembleCandidats)
+	 */
+	int empreinte() {
+
+		return 31 * Arrays.hashCode(mots) + taille;
+	}
+
+}
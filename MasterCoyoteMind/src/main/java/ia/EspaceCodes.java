@@ -0,0 +1,378 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Représente l'ensemble des combinaisons possibles d'une partie de type <i>MasterMind</i>.
+ * 
+ * <p>Chaque combinaison est identifiée par un <i>code</i> : un <code>int</code>
+ * écrit en base <code>nbrDeCouleurs</code>, la première case étant le chiffre de poids fort.
+ * Pour chaque code, l'espace garde en cache :</p>
+ * <ul>
+ * <li>ses chiffres, un par quartet (4 bits) d'un <code>long</code>,
+ * ce qui donne un accès en O(1) à chaque case.</li>
+ * <li>son histogramme de couleurs, le nombre d'occurrences de chaque couleur par quartet.</li>
+ * </ul>
+ * <p>La réponse (bien placés, présents) entre deux codes se calcule alors
+ * directement sur ces valeurs, sans jamais reconvertir le code en tableau.</p>
+ * 
+ * <p>Les caches occupent 16 octets par code : au-delà de <code>TAILLE_MAX_TABLE</code> codes,
+ * il faut passer par un {@link EspaceCodesEtendu}.</p>
+ * 
+ * <p>Un espace ne change plus une fois construit : <code>partage()</code> en garde un seul
+ * par configuration pour toutes les parties. Un petit espace partagé garde aussi
+ * la matrice de toutes les réponses, lue au lieu d'être recalculée.
+ * Les espaces partagés ne sont jamais oubliés : leur mémoire, colonnes des {@link NoyauReponses}
+ * comprises, est bornée par <code>MEMOIRE_MAX_PARTAGE</code>. Au-delà, chaque partie
+ * construit son propre espace, qui compte alors dans sa mémoire estimée.</p>
+ * 
+ * @author Coyote
+ */
+public class EspaceCodes extends AbstractEspaceCodes {
+
+
+	/**
+	 * Nombre maximum de codes d'un espace mis en cache (64 Mo de caches).
+	 */
+	public static final int TAILLE_MAX_TABLE = 1 << 22;
+	/**
+	 * Nombre maximum de codes d'un espace partagé dont la matrice des réponses est calculée (16 Mo).
+	 */
+	public static final int TAILLE_MAX_MATRICE = 1 << 12;
+	/**
+	 * Plafond de la mémoire estimée des espaces partagés et de leurs colonnes, en octets.
+	 */
+	public static final long MEMOIRE_MAX_PARTAGE = 128L << 20;
+	/**
+	 * Espaces partagés, par nombre de cases et de couleurs. Ils sont ajoutés sous le verrou de la table.
+	 */
+	private static final Map<Integer, EspaceCodes> ESPACES = new ConcurrentHashMap<>();
+	/**
+	 * Mémoire estimée des espaces partagés, sous le verrou de <code>ESPACES</code>.
+	 */
+	private static long memoirePartagee;
+	/**
+	 * Nombre de codes de l'espace : <code>nbrDeCouleurs ^ nbrDeCases</code>.
+	 */
+	private final int taille;
+	/**
+	 * Chiffres de chaque code, la case <code>i</code> occupe le quartet <code>i</code>.
+	 */
+	private final long[] chiffres;
+	/**
+	 * Histogramme de chaque code, la couleur <code>c</code> occupe le quartet <code>c</code>.
+	 */
+	private final long[] histogrammes;
+	/**
+	 * Réponse de chaque paire de codes, en <code>[combinaison * taille + tentative]</code>,
+	 * <code>null</code> si elle n'est pas calculée.
+	 */
+	private final byte[] matriceReponses;
+	/**
+	 * Vaut <code>true</code> pour un espace obtenu par <code>partage()</code>.
+	 */
+	private final boolean partage;
+
+
+	/**
+	 * Construit l'espace des codes et remplit les caches de chiffres et d'histogrammes.
+	 * 
+	 * @param nbrDeCases <code>:int</code> Nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs <code>:int</code> Nombre de couleurs differentes.
+	 * 
+	 * @throws IllegalArgumentException si l'espace ne peut pas être représenté.
+	 */
+	public EspaceCodes(int nbrDeCases, int nbrDeCouleurs) {
+
+		this(nbrDeCases, nbrDeCouleurs, false);
+	}
+
+	/**
+	 * Construit l'espace des codes, avec la matrice des réponses pour un petit espace partagé.
+	 * 
+	 * @param nbrDeCases <code>:int</code> Nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs <code>:int</code> Nombre de couleurs differentes.
+	 * @param partage <code>:boolean</code> Vaut <code>true</code> pour un espace partagé.
+	 */
+	private EspaceCodes(int nbrDeCases, int nbrDeCouleurs, boolean partage) {
+
+		super(nbrDeCases, nbrDeCouleurs);
+
+		double nbrDeCodes = Math.pow(nbrDeCouleurs, nbrDeCases);
+
+		if (nbrDeCodes > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Espace de codes trop grand : " + nbrDeCases + "x" + nbrDeCouleurs);
+		}
+
+		this.taille = (int)nbrDeCodes;
+
+		chiffres = new long[taille];
+		histogrammes = new long[taille];
+
+		enumerer(0L, chiffres, histogrammes, taille);
+
+		this.partage = partage;
+		matriceReponses = partage && taille <= TAILLE_MAX_MATRICE ? calculerMatrice() : null;
+	}
+
+	/**
+	 * Récupère l'espace partagé d'une configuration, construit à la première demande.
+	 * Toutes les parties de la même configuration utilisent alors les mêmes caches.
+	 * Si le nouvel espace dépasserait <code>MEMOIRE_MAX_PARTAGE</code>, l'appelant reçoit
+	 * un espace à lui seul, sans matrice des réponses.
+	 * 
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs differentes.
+	 * 
+	 * @return L'espace, partagé si la place le permet : <code>EspaceCodes</code>
+	 * 
+	 * @throws IllegalArgumentException si l'espace ne peut pas être représenté.
+	 * 
+	 * @see EspaceCodes#estPartage()
+	 */
+	public static EspaceCodes partage(int nbrDeCases, int nbrDeCouleurs) {
+
+		Integer cle = nbrDeCases * (MAX_COULEURS + 1) + nbrDeCouleurs;
+		EspaceCodes espace = ESPACES.get(cle);
+
+		if (espace != null) {
+			return espace;
+		}
+
+		synchronized (ESPACES) {
+
+			espace = ESPACES.get(cle);
+
+			if (espace == null && reste(nbrDeCases, nbrDeCouleurs)) {
+				espace = new EspaceCodes(nbrDeCases, nbrDeCouleurs, true);
+				ESPACES.put(cle, espace);
+				memoirePartagee += estimerMemoire(nbrDeCases, nbrDeCouleurs, true);
+			}
+		}
+
+		// Plafond atteint : l'espace est construit hors du verrou.
+		return espace != null ? espace : new EspaceCodes(nbrDeCases, nbrDeCouleurs);
+	}
+
+	/**
+	 * Teste si <code>partage()</code> donnerait un espace partagé pour cette configuration.
+	 * La réponse peut changer dès qu'une autre configuration est partagée.
+	 * 
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs differentes.
+	 * 
+	 * @return <code>true</code> si l'espace est déjà partagé, ou s'il reste sa place sous le plafond.
+	 */
+	public static boolean estPartageable(int nbrDeCases, int nbrDeCouleurs) {
+
+		if (ESPACES.containsKey(nbrDeCases * (MAX_COULEURS + 1) + nbrDeCouleurs)) {
+			return true;
+		}
+
+		synchronized (ESPACES) {
+			return reste(nbrDeCases, nbrDeCouleurs);
+		}
+	}
+
+	/**
+	 * Teste s'il reste la place d'un nouvel espace partagé sous le plafond, sous le verrou de <code>ESPACES</code>.
+	 * 
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs differentes.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	private static boolean reste(int nbrDeCases, int nbrDeCouleurs) {
+
+		return memoirePartagee + estimerMemoire(nbrDeCases, nbrDeCouleurs, true) <= MEMOIRE_MAX_PARTAGE;
+	}
+
+	/**
+	 * Estime la mémoire d'un espace, en octets : chiffres et histogrammes, colonnes de ses
+	 * {@link NoyauReponses}, et matrice des réponses d'un petit espace partagé.
+	 * 
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs differentes.
+	 * @param partage : <code>true</code> pour un espace partagé.
+	 * 
+	 * @return <code>long</code>
+	 */
+	public static long estimerMemoire(int nbrDeCases, int nbrDeCouleurs, boolean partage) {
+
+		long taille = (long)Math.pow(nbrDeCouleurs, nbrDeCases);
+		long octets = 2L * Long.BYTES * taille + NoyauReponses.estimerMemoire(nbrDeCases, nbrDeCouleurs, taille);
+
+		if (partage && taille <= TAILLE_MAX_MATRICE) {
+			octets += taille * taille;
+		}
+
+		return octets;
+	}
+
+	/**
+	 * Calcule la réponse de chaque paire de codes.
+	 * 
+	 * @return La matrice : <code>byte[]</code>
+	 */
+	private byte[] calculerMatrice() {
+
+		byte[] matrice = new byte[taille * taille];
+
+		for (int combinaison = 0; combinaison < taille; combinaison++) {
+
+			int ligne = combinaison * taille;
+
+			for (int tentative = 0; tentative < taille; tentative++) {
+				matrice[ligne + tentative] = (byte)reponse(chiffres[combinaison], histogrammes[combinaison],
+						chiffres[tentative], histogrammes[tentative]);
+			}
+		}
+
+		return matrice;
+	}
+
+	/**
+	 * Teste si un espace est assez petit pour que ses caches tiennent en mémoire.
+	 * 
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs differentes.
+	 * 
+	 * @return <code>true</code> si l'espace a au plus <code>TAILLE_MAX_TABLE</code> codes.
+	 */
+	public static boolean estTabulable(int nbrDeCases, int nbrDeCouleurs) {
+
+		return Math.pow(nbrDeCouleurs, nbrDeCases) <= TAILLE_MAX_TABLE;
+	}
+
+	/**
+	 * Convertit un tableau de chiffres en code.
+	 * 
+	 * @param tableau : chiffres de la combinaison, de la première à la dernière case.
+	 * 
+	 * @return Le code correspondant : <code>int</code>
+	 */
+	public int encoder(int[] tableau) {
+
+		int code = 0;
+
+		for (int i = 0; i < nbrDeCases; i++) {
+			code = code * nbrDeCouleurs + tableau[i];
+		}
+
+		return code;
+	}
+
+	/**
+	 * Remplit un tableau avec les chiffres d'un code.
+	 * 
+	 * @param code : le code à convertir.
+	 * @param tableau : tableau de destination de taille <code>nbrDeCases</code>.
+	 */
+	public void decoder(int code, int[] tableau) {
+
+		decompacter(chiffres[code], tableau);
+	}
+
+	/**
+	 * Récupère le chiffre d'une case d'un code en O(1).
+	 * 
+	 * @param code : le code.
+	 * @param position : index de la case, de 0 à <code>nbrDeCases - 1</code>.
+	 * 
+	 * @return Le chiffre de la case : <code>int</code>
+	 */
+	public int chiffre(int code, int position) {
+
+		return (int)(chiffres[code] >>> (4 * position)) & 0xF;
+	}
+
+	/**
+	 * Récupère les chiffres d'un code, un par quartet.
+	 * 
+	 * @param code : le code.
+	 * 
+	 * @return Les chiffres compactés : <code>long</code>
+	 */
+	public long chiffres(int code) {
+
+		return chiffres[code];
+	}
+
+	/**
+	 * Récupère l'histogramme des couleurs d'un code, un compteur par quartet.
+	 * 
+	 * @param code : le code.
+	 * 
+	 * @return L'histogramme compacté : <code>long</code>
+	 */
+	public long histogramme(int code) {
+
+		return histogrammes[code];
+	}
+
+	/**
+	 * Calcule la réponse obtenue en proposant <code>tentative</code>
+	 * quand la combinaison à trouver est <code>combinaison</code>.
+	 * 
+	 * @param combinaison : code de la combinaison à trouver.
+	 * @param tentative : code de la tentative.
+	 * 
+	 * @return La réponse codée, à lire avec <code>bienPlace()</code> et <code>present()</code>.
+	 * 
+	 * @see AbstractEspaceCodes#reponse(long, long, long, long)
+	 */
+	public int reponse(int combinaison, int tentative) {
+
+		if (matriceReponses != null) {
+			return matriceReponses[combinaison * taille + tentative] & 0xFF;
+		}
+
+		return reponse(chiffres[combinaison], histogrammes[combinaison], chiffres[tentative], histogrammes[tentative]);
+	}
+
+	/**
+	 * Récupère le nombre de codes de l'espace.
+	 * 
+	 * @return <code>nbrDeCouleurs ^ nbrDeCases</code>
+	 */
+	public int getTaille() {
+
+		return taille;
+	}
+
+	/**
+	 * Indique si l'espace est partagé entre les parties.
+	 * 
+	 * @return <code>boolean</code>
+	 * 
+	 * @see EspaceCodes#partage(int, int)
+	 */
+	public boolean estPartage() {
+
+		return partage;
+	}
+
+	@Override
+	public long getNbrDeCodes() {
+
+		return taille;
+	}
+
+}
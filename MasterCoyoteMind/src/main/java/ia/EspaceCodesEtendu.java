@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+/**
+ * Représente l'ensemble des combinaisons possibles d'une partie de type <i>MasterMind</i>
+ * trop grande pour être mise en cache (plus de <code>EspaceCodes.TAILLE_MAX_TABLE</code> codes).
+ * 
+ * <p>Chaque combinaison est identifiée par un <i>code</i> : un <code>long</code>
+ * écrit en base <code>nbrDeCouleurs</code>, la première case étant le chiffre de poids fort.
+ * Rien n'est gardé en mémoire : les chiffres et histogrammes compactés d'un code
+ * sont calculés à la demande, et les codes compatibles sont construits case par case
+ * par un {@link GenerateurCompatibles}.</p>
+ * 
+ * @see EspaceCodes
+ * 
+ * @author Coyote
+ */
+public class EspaceCodesEtendu extends AbstractEspaceCodes {
+
+
+	/**
+	 * Nombre de codes de l'espace : <code>nbrDeCouleurs ^ nbrDeCases</code>.
+	 */
+	private final long nbrDeCodes;
+
+
+	/**
+	 * Construit l'espace des codes, sans aucun cache.
+	 * 
+	 * @param nbrDeCases <code>:int</code> Nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs <code>:int</code> Nombre de couleurs differentes.
+	 * 
+	 * @throws IllegalArgumentException si l'espace ne peut pas être représenté.
+	 */
+	public EspaceCodesEtendu(int nbrDeCases, int nbrDeCouleurs) {
+
+		super(nbrDeCases, nbrDeCouleurs);
+
+		// Au plus 16 ^ 15 = 2 ^ 60 codes : le produit tient toujours dans un long.
+		long produit = 1;
+		for (int i = 0; i < nbrDeCases; i++) {
+			produit *= nbrDeCouleurs;
+		}
+		nbrDeCodes = produit;
+	}
+
+	/**
+	 * Convertit un tableau de chiffres en code.
+	 * 
+	 * @param tableau : chiffres de la combinaison, de la première à la dernière case.
+	 * 
+	 * @return Le code correspondant : <code>long</code>
+	 */
+	public long encoder(int[] tableau) {
+
+		long code = 0;
+
+		for (int i = 0; i < nbrDeCases; i++) {
+			code = code * nbrDeCouleurs + tableau[i];
+		}
+
+		return code;
+	}
+
+	/**
+	 * Remplit un tableau avec les chiffres d'un code.
+	 * 
+	 * @param code : le code à convertir.
+	 * @param tableau : tableau de destination de taille <code>nbrDeCases</code>.
+	 */
+	public void decoder(long code, int[] tableau) {
+
+		decompacter(chiffres(code), tableau);
+	}
+
+	/**
+	 * Calcule les chiffres d'un code, un par quartet.
+	 * 
+	 * @param code : le code.
+	 * 
+	 * @return Les chiffres compactés : <code>long</code>
+	 */
+	public long chiffres(long code) {
+
+		long reste = code;
+		long chiffres = 0;
+
+		for (int i = nbrDeCases - 1; i >= 0; i--) {
+
+			chiffres |= (reste % nbrDeCouleurs) << (4 * i);
+			reste /= nbrDeCouleurs;
+		}
+
+		return chiffres;
+	}
+
+	/**
+	 * Convertit des chiffres compactés en code.
+	 * 
+	 * @param chiffres : chiffres compactés de la combinaison.
+	 * 
+	 * @return Le code correspondant : <code>long</code>
+	 */
+	public long code(long chiffres) {
+
+		long code = 0;
+
+		for (int i = 0; i < nbrDeCases; i++) {
+			code = code * nbrDeCouleurs + ((chiffres >>> (4 * i)) & 0xF);
+		}
+
+		return code;
+	}
+
+	@Override
+	public long getNbrDeCodes() {
+
+		return nbrDeCodes;
+	}
+
+}
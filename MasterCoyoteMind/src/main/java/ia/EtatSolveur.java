@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+/**
+ * Instantané de l'état d'un {@link SolveurMasterMind}, pour explorer plusieurs suites
+ * d'une même partie puis revenir en arrière.
+ * 
+ * <p>Un instantané ne change jamais : il partage les bits des candidats avec le solveur,
+ * qui ne les recopie qu'à sa prochaine modification. Le prendre ou le restaurer
+ * se fait donc sans recopier les candidats, et il peut être restauré dans plusieurs solveurs
+ * de la même configuration, y compris sur d'autres threads.</p>
+ * 
+ * @see SolveurMasterMind#sauvegarder()
+ * @see SolveurMasterMind#restaurer(EtatSolveur)
+ * 
+ * @author Coyote
+ */
+public final class EtatSolveur {
+
+
+	/**
+	 * Codes encore possibles, jamais modifiés par l'instantané.
+	 */
+	private final EnsembleCandidats candidats;
+	/**
+	 * Code de la dernière tentative.
+	 */
+	private final int codeTentative;
+	/**
+	 * Nombre de réponses appliquées depuis le début de la partie.
+	 */
+	private final int nbrTentatives;
+	/**
+	 * État de la stratégie.
+	 * 
+	 * @see StrategieIA#sauvegarderEtat()
+	 */
+	private final long etatStrategie;
+
+
+	/**
+	 * Constructeur de <i>EtatSolveur</i>.
+	 * 
+	 * @param candidats <code>:EnsembleCandidats</code> Copie des codes encore possibles.
+	 * @param codeTentative <code>:int</code> Code de la dernière tentative.
+	 * @param nbrTentatives <code>:int</code> Nombre de réponses appliquées.
+	 * @param etatStrategie <code>:long</code> État de la stratégie.
+	 */
+	EtatSolveur(EnsembleCandidats candidats, int codeTentative, int nbrTentatives, long etatStrategie) {
+
+		this.candidats = candidats;
+		this.codeTentative = codeTentative;
+		this.nbrTentatives = nbrTentatives;
+		this.etatStrategie = etatStrategie;
+	}
+
+	/**
+	 * Récupère une copie des codes encore possibles, modifiable sans toucher à l'instantané.
+	 * 
+	 * @return La copie, en temps constant : <code>EnsembleCandidats</code>
+	 */
+	public EnsembleCandidats getCandidats() {
+
+		return candidats.copie();
+	}
+
+	/**
+	 * Récupère le nombre de codes encore possibles.
+	 * 
+	 * @return int : nombre de candidats.
+	 */
+	public int getNbrCandidats() {
+
+		return candidats.cardinal();
+	}
+
+	/**
+	 * Récupère le code de la dernière tentative.
+	 * 
+	 * @return int : code de la tentative.
+	 */
+	public int getCodeTentative() {
+
+		return codeTentative;
+	}
+
+	/**
+	 * Récupère le nombre de réponses appliquées depuis le début de la partie.
+	 * Les essais restants sont le nombre d'essais de la partie moins cette valeur.
+	 * 
+	 * @return int : nombre de tentatives jouées.
+	 */
+	public int getNbrTentatives() {
+
+		return nbrTentatives;
+	}
+
+	/**
+	 * Récupère l'état de la stratégie.
+	 * 
+	 * @return long : état de la stratégie.
+	 */
+	long getEtatStrategie() {
+
+		return etatStrategie;
+	}
+
+	/**
+	 * Récupère les codes encore possibles, à ne pas modifier.
+	 * 
+	 * @return EnsembleCandidats : candidats de l'instantané.
+	 */
+	EnsembleCandidats candidats() {
+
+		return candidats;
+	}
+
+}
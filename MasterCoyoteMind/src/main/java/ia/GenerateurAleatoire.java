@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+/**
+ * Générateur de nombres aléatoires utilisé par les parties et par l'IA.
+ * 
+ * <p>Les tirages ne dépendent que de la graine du générateur : la même graine rejoue
+ * les mêmes combinaisons et les mêmes choix de l'IA. <code>split()</code> donne un flux
+ * indépendant, lui aussi reproductible, pour une autre partie ou un autre thread.</p>
+ * 
+ * <p>Un générateur ne doit servir qu'à un seul thread à la fois.</p>
+ * 
+ * @see GenerateurSplittable
+ * 
+ * @author Coyote
+ */
+public interface GenerateurAleatoire {
+
+
+	/**
+	 * Tire un entier au hasard.
+	 * 
+	 * @param borne : borne exclue, strictement positive.
+	 * 
+	 * @return Un entier de <code>0</code> à <code>borne - 1</code> : <code>int</code>
+	 */
+	int nextInt(int borne);
+
+	/**
+	 * Tire un entier long au hasard, sur toutes les valeurs possibles.
+	 * 
+	 * @return L'entier tiré : <code>long</code>
+	 */
+	long nextLong();
+
+	/**
+	 * Crée un nouveau générateur, indépendant de celui-ci, dont la graine est tirée par celui-ci.
+	 * 
+	 * @return Le nouveau générateur : <code>GenerateurAleatoire</code>
+	 */
+	GenerateurAleatoire split();
+
+}
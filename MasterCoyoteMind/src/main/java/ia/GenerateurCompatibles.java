@@ -0,0 +1,334 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+import java.util.Arrays;
+
+/**
+ * Générateur des codes compatibles avec les réponses reçues, par retour sur trace.
+ * 
+ * <p>Les cases sont remplies une à une, et une branche est coupée dès qu'une réponse reçue
+ * ne peut plus être obtenue, quelle que soit la suite :</p>
+ * <ul>
+ * <li>par case : trop de bien placés, ou plus assez de cases libres pour les atteindre.</li>
+ * <li>par nombre de couleurs : trop de chiffres en commun avec la tentative,
+ * ou plus assez de cases libres pour les atteindre.</li>
+ * </ul>
+ * <p>Seuls les codes compatibles sont donc construits en entier, et la mémoire utilisée
+ * ne dépend que du nombre de cases et de réponses, jamais de la taille de l'espace.</p>
+ * 
+ * <p>Chaque case parcourt les couleurs dans un ordre tiré au hasard en début de partie.
+ * Un code rejeté ne pouvant plus redevenir compatible, le parcours reprend
+ * après le dernier code renvoyé.</p>
+ * 
+ * @author Coyote
+ */
+public class GenerateurCompatibles implements SourceCandidats {
+
+
+	/**
+	 * Espace parcouru.
+	 */
+	private final EspaceCodesEtendu espaceCodes;
+	/**
+	 * Nombre de cases du plateau de jeu.
+	 */
+	private final int nbrDeCases;
+	/**
+	 * Nombre de couleurs possibles.
+	 */
+	private final int nbrDeCouleurs;
+	/**
+	 * Ordre de parcours des couleurs de chaque case.
+	 */
+	private final int[][] ordreCouleurs;
+	/**
+	 * Rang dans <code>ordreCouleurs</code> de la couleur placée dans chaque case, <code>-1</code> si la case est libre.
+	 */
+	private final int[] choix;
+	/**
+	 * Nombre d'occurrences de chaque couleur dans les cases remplies.
+	 */
+	private final int[] compteur;
+	/**
+	 * Nombre d'occurrences de chaque couleur dans les premières cases, pour recalculer les comptes partiels
+	 * d'une nouvelle réponse.
+	 */
+	private final int[] compteurPrefixe;
+	/**
+	 * Chiffres de chaque tentative jouée, <code>[reponse][case]</code>.
+	 */
+	private int[][] chiffresTentatives;
+	/**
+	 * Histogramme de chaque tentative jouée, <code>[reponse][couleur]</code>.
+	 */
+	private int[][] histoTentatives;
+	/**
+	 * Nombre de bien placés de chaque réponse reçue.
+	 */
+	private int[] bienPlaces;
+	/**
+	 * Nombre de chiffres en commun (bien placés et présents) de chaque réponse reçue.
+	 */
+	private int[] communs;
+	/**
+	 * Bien placés de chaque réponse avec les <code>k</code> premières cases remplies, <code>[k][reponse]</code>.
+	 */
+	private int[][] bienPlacesPartiels;
+	/**
+	 * Chiffres en commun de chaque réponse avec les <code>k</code> premières cases remplies, <code>[k][reponse]</code>.
+	 */
+	private int[][] communsPartiels;
+	/**
+	 * Nombre de réponses reçues depuis le début de la partie.
+	 */
+	private int nbrReponses;
+	/**
+	 * Vaut <code>true</code> avant le premier code de la partie.
+	 */
+	private boolean premier;
+	/**
+	 * Vaut <code>true</code> quand plus aucun code n'est compatible.
+	 */
+	private boolean epuise;
+	/**
+	 * Nombre de couleurs essayées depuis le début de la partie.
+	 */
+	private long parcourus;
+
+
+	/**
+	 * Constructeur de <i>GenerateurCompatibles</i>.
+	 * 
+	 * @param espaceCodes <code>:EspaceCodesEtendu</code> Espace à parcourir.
+	 */
+	public GenerateurCompatibles(EspaceCodesEtendu espaceCodes) {
+
+		this.espaceCodes = espaceCodes;
+		nbrDeCases = espaceCodes.getNbrDeCases();
+		nbrDeCouleurs = espaceCodes.getNbrDeCouleurs();
+		ordreCouleurs = new int[nbrDeCases][nbrDeCouleurs];
+		choix = new int[nbrDeCases];
+		compteur = new int[nbrDeCouleurs];
+		compteurPrefixe = new int[nbrDeCouleurs];
+
+		for (int k = 0; k < nbrDeCases; k++) {
+			for (int c = 0; c < nbrDeCouleurs; c++) {
+				ordreCouleurs[k][c] = c;
+			}
+		}
+
+		allouerReponses(16);
+		Arrays.fill(choix, -1);
+		premier = true;
+		epuise = false;
+	}
+
+	@Override
+	public void reinitialiser(GenerateurAleatoire rand) {
+
+		// Mélange de Fisher-Yates de l'ordre des couleurs de chaque case.
+		for (int k = 0; k < nbrDeCases; k++) {
+
+			int[] ordre = ordreCouleurs[k];
+
+			for (int i = nbrDeCouleurs - 1; i > 0; i--) {
+
+				int j = rand.nextInt(i + 1);
+				int echange = ordre[i];
+				ordre[i] = ordre[j];
+				ordre[j] = echange;
+			}
+		}
+
+		Arrays.fill(choix, -1);
+		Arrays.fill(compteur, 0);
+		nbrReponses = 0;
+		premier = true;
+		epuise = false;
+		parcourus = 0;
+	}
+
+	@Override
+	public void ajouterReponse(long chiffresTentative, int reponse) {
+
+		if (nbrReponses == bienPlaces.length) {
+			allouerReponses(2 * bienPlaces.length);
+		}
+
+		int r = nbrReponses++;
+		int[] chiffres = chiffresTentatives[r];
+		int[] histo = histoTentatives[r];
+
+		Arrays.fill(histo, 0);
+		for (int k = 0; k < nbrDeCases; k++) {
+			chiffres[k] = (int)(chiffresTentative >>> (4 * k)) & 0xF;
+			histo[chiffres[k]]++;
+		}
+
+		bienPlaces[r] = espaceCodes.bienPlace(reponse);
+		communs[r] = bienPlaces[r] + espaceCodes.present(reponse);
+
+		// Recalcule les comptes partiels de cette réponse pour les cases déjà remplies.
+		Arrays.fill(compteurPrefixe, 0);
+		bienPlacesPartiels[0][r] = 0;
+		communsPartiels[0][r] = 0;
+
+		for (int k = 0; k < nbrDeCases && choix[k] >= 0; k++) {
+
+			int couleur = ordreCouleurs[k][choix[k]];
+			bienPlacesPartiels[k + 1][r] = bienPlacesPartiels[k][r] + (chiffres[k] == couleur ? 1 : 0);
+			communsPartiels[k + 1][r] = communsPartiels[k][r] + (compteurPrefixe[couleur] < histo[couleur] ? 1 : 0);
+			compteurPrefixe[couleur]++;
+		}
+	}
+
+	@Override
+	public long suivant() {
+
+		if (epuise) {
+			return -1;
+		}
+
+		int k;
+
+		if (premier) {
+			premier = false;
+			k = 0;
+		} else {
+			// Reprend après le dernier code renvoyé.
+			k = nbrDeCases - 1;
+		}
+
+		while (k >= 0) {
+
+			if (choix[k] >= 0) {
+				compteur[ordreCouleurs[k][choix[k]]]--;
+			}
+
+			choix[k]++;
+
+			if (choix[k] == nbrDeCouleurs) {
+				choix[k] = -1;
+				k--;
+				continue;
+			}
+
+			parcourus++;
+
+			if (placer(k, ordreCouleurs[k][choix[k]])) {
+
+				if (k == nbrDeCases - 1) {
+					return chiffresCourants();
+				}
+				k++;
+			}
+		}
+
+		epuise = true;
+		return -1;
+	}
+
+	/**
+	 * Place une couleur dans une case et vérifie que chaque réponse reçue peut encore être obtenue.
+	 * 
+	 * @param k : index de la case, les cases précédentes étant remplies.
+	 * @param couleur : couleur placée.
+	 * 
+	 * @return <code>true</code> si la branche peut encore mener à un code compatible.
+	 */
+	private boolean placer(int k, int couleur) {
+
+		int casesLibres = nbrDeCases - k - 1;
+		int occurrences = compteur[couleur]++;
+		int[] bienPlacesAvant = bienPlacesPartiels[k];
+		int[] bienPlacesApres = bienPlacesPartiels[k + 1];
+		int[] communsAvant = communsPartiels[k];
+		int[] communsApres = communsPartiels[k + 1];
+
+		for (int r = 0; r < nbrReponses; r++) {
+
+			int bienPlace = bienPlacesAvant[r] + (chiffresTentatives[r][k] == couleur ? 1 : 0);
+			int commun = communsAvant[r] + (occurrences < histoTentatives[r][couleur] ? 1 : 0);
+
+			if (bienPlace > bienPlaces[r] || bienPlace + casesLibres < bienPlaces[r]
+					|| commun > communs[r] || commun + casesLibres < communs[r]) {
+				return false;
+			}
+
+			bienPlacesApres[r] = bienPlace;
+			communsApres[r] = commun;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Compacte les chiffres des cases remplies.
+	 * 
+	 * @return Les chiffres compactés : <code>long</code>
+	 */
+	private long chiffresCourants() {
+
+		long chiffres = 0;
+
+		for (int k = 0; k < nbrDeCases; k++) {
+			chiffres |= (long)ordreCouleurs[k][choix[k]] << (4 * k);
+		}
+
+		return chiffres;
+	}
+
+	/**
+	 * (Re)Alloue les tableaux des réponses en gardant celles déjà reçues.
+	 * 
+	 * @param capacite : nombre de réponses pouvant être gardées.
+	 */
+	private void allouerReponses(int capacite) {
+
+		int[][] anciensChiffres = chiffresTentatives;
+		int[][] anciensHisto = histoTentatives;
+
+		chiffresTentatives = new int[capacite][nbrDeCases];
+		histoTentatives = new int[capacite][nbrDeCouleurs];
+		bienPlaces = bienPlaces == null ? new int[capacite] : Arrays.copyOf(bienPlaces, capacite);
+		communs = communs == null ? new int[capacite] : Arrays.copyOf(communs, capacite);
+
+		int[][] anciensBienPlaces = bienPlacesPartiels;
+		int[][] anciensCommuns = communsPartiels;
+		bienPlacesPartiels = new int[nbrDeCases + 1][capacite];
+		communsPartiels = new int[nbrDeCases + 1][capacite];
+
+		for (int r = 0; r < nbrReponses; r++) {
+
+			chiffresTentatives[r] = anciensChiffres[r];
+			histoTentatives[r] = anciensHisto[r];
+
+			for (int k = 0; k <= nbrDeCases; k++) {
+				bienPlacesPartiels[k][r] = anciensBienPlaces[k][r];
+				communsPartiels[k][r] = anciensCommuns[k][r];
+			}
+		}
+	}
+
+	@Override
+	public long getNbrParcourus() {
+
+		return parcourus;
+	}
+
+}
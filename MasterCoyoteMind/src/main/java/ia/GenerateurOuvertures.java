@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Calcule les livres d'ouvertures de l'IA du <i>MasterMind</i>.
+ * 
+ * <p>Les premiers tours sont joués avec une stratégie pour chaque suite de réponses possible,
+ * et les tentatives choisies sont écrites dans le fichier lu par {@link LivreOuvertures}.
+ * Le générateur de nombres aléatoires est initialisé à une valeur fixe :
+ * un même appel donne toujours le même livre.</p>
+ * 
+ * <p>Utilisation : <code>java ia.GenerateurOuvertures nbrDeCases nbrDeCouleurs profondeur [fichier]</code></p>
+ * 
+ * @author Coyote
+ */
+public final class GenerateurOuvertures {
+
+
+	/**
+	 * Classe utilitaire, pas d'instance.
+	 */
+	private GenerateurOuvertures() {
+	}
+
+	/**
+	 * Calcule et écrit un livre d'ouvertures.
+	 * 
+	 * @param args : nombre de cases, nombre de couleurs, nombre de tours,
+	 * et éventuellement le chemin du fichier (par défaut à côté du fichier de configuration).
+	 * 
+	 * @throws IOException si le fichier ne peut pas être écrit.
+	 */
+	public static void main(String[] args) throws IOException {
+
+		if (args.length < 3) {
+			System.err.println("Usage : GenerateurOuvertures nbrDeCases nbrDeCouleurs profondeur [fichier]");
+			return;
+		}
+
+		int nbrDeCases = Integer.parseInt(args[0]);
+		int nbrDeCouleurs = Integer.parseInt(args[1]);
+		int profondeur = Integer.parseInt(args[2]);
+		Path chemin = args.length > 3 ? Paths.get(args[3]) : LivreOuvertures.chemin(nbrDeCases, nbrDeCouleurs);
+
+		int[] tentatives = construire(new EspaceCodes(nbrDeCases, nbrDeCouleurs), profondeur, new StrategieMinimax());
+		ecrire(chemin, nbrDeCases, nbrDeCouleurs, profondeur, tentatives);
+
+		System.out.println("Livre d'ouvertures écrit : " + chemin);
+	}
+
+	/**
+	 * Joue les premiers tours pour chaque suite de réponses possible.
+	 * 
+	 * @param espaceCodes : espace de toutes les combinaisons possibles.
+	 * @param profondeur : nombre de tours à calculer, au moins 1.
+	 * @param strategie : stratégie qui choisit les tentatives.
+	 * 
+	 * @return La tentative de chaque nœud de l'arbre, <code>-1</code> pour un nœud vide : <code>int[]</code>
+	 */
+	public static int[] construire(EspaceCodes espaceCodes, int profondeur, StrategieIA strategie) {
+
+		int nbrNoeuds = LivreOuvertures.nbrNoeuds(espaceCodes.getNbrReponses(), profondeur);
+
+		if (profondeur < 1 || nbrNoeuds < 0) {
+			throw new IllegalArgumentException("Profondeur de livre invalide : " + profondeur);
+		}
+
+		int[] tentatives = new int[nbrNoeuds];
+		Arrays.fill(tentatives, -1);
+
+		EnsembleCandidats candidats = new EnsembleCandidats(espaceCodes.getTaille());
+		candidats.remplir();
+
+		explorer(espaceCodes, strategie, new GenerateurSplittable(0), tentatives, 0, candidats, 1, profondeur);
+
+		return tentatives;
+	}
+
+	/**
+	 * Choisit la tentative d'un nœud puis explore chaque réponse qu'elle peut recevoir.
+	 * 
+	 * @param espaceCodes : espace de toutes les combinaisons possibles.
+	 * @param strategie : stratégie qui choisit les tentatives.
+	 * @param rand : générateur de nombres aléatoires.
+	 * @param tentatives : tentative de chaque nœud.
+	 * @param noeud : index du nœud.
+	 * @param candidats : codes compatibles avec les réponses menant à ce nœud.
+	 * @param niveau : numéro du tour de ce nœud, à partir de 1.
+	 * @param profondeur : nombre de tours à calculer.
+	 */
+	private static void explorer(EspaceCodes espaceCodes, StrategieIA strategie, GenerateurAleatoire rand,
+			int[] tentatives, int noeud, EnsembleCandidats candidats, int niveau, int profondeur) {
+
+		strategie.reinitialiser();
+		int tentative = strategie.choisirTentative(espaceCodes, candidats, rand);
+		tentatives[noeud] = tentative;
+
+		if (niveau == profondeur) {
+			return;
+		}
+
+		int nbrReponses = espaceCodes.getNbrReponses();
+
+		for (int reponse = 0; reponse < nbrReponses; reponse++) {
+
+			if (reponse == espaceCodes.getReponseVictoire()) {
+				continue;
+			}
+
+			int reponseAttendue = reponse;
+			EnsembleCandidats suivants = new EnsembleCandidats(espaceCodes.getTaille());
+			suivants.remplir();
+			suivants.filtrer(code -> candidats.contient(code) && espaceCodes.reponse(code, tentative) == reponseAttendue);
+
+			if (!suivants.estVide()) {
+				explorer(espaceCodes, strategie, rand, tentatives, noeud * nbrReponses + reponse + 1,
+						suivants, niveau + 1, profondeur);
+			}
+		}
+	}
+
+	/**
+	 * Écrit un livre d'ouvertures au format lu par {@link LivreOuvertures}.
+	 * 
+	 * @param chemin : chemin du fichier.
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs possibles.
+	 * @param profondeur : nombre de tours couverts.
+	 * @param tentatives : tentative de chaque nœud.
+	 * 
+	 * @throws IOException si le fichier ne peut pas être écrit.
+	 */
+	public static void ecrire(Path chemin, int nbrDeCases, int nbrDeCouleurs, int profondeur,
+			int[] tentatives) throws IOException {
+
+		try (DataOutputStream sortie = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(chemin)))) {
+
+			sortie.writeInt(LivreOuvertures.MAGIQUE);
+			sortie.writeInt(nbrDeCases);
+			sortie.writeInt(nbrDeCouleurs);
+			sortie.writeInt(profondeur);
+			sortie.writeInt(tentatives.length);
+
+			for (int tentative : tentatives) {
+				sortie.writeInt(tentative);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+import java.util.SplittableRandom;
+
+/**
+ * Générateur par défaut : un <code>SplittableRandom</code> créé à partir d'une graine.
+ * 
+ * <p>Ses tirages sont rapides, sans accès à l'entropie du système, et <code>split()</code>
+ * donne des flux indépendants aux simulations en parallèle.</p>
+ * 
+ * @author Coyote
+ */
+public class GenerateurSplittable implements GenerateurAleatoire {
+
+
+	/**
+	 * Générateur de nombres aléatoires sous-jacent.
+	 */
+	private final SplittableRandom rand;
+
+
+	/**
+	 * Constructeur à partir d'une graine.
+	 * 
+	 * @param graine <code>:long</code> Graine du générateur.
+	 */
+	public GenerateurSplittable(long graine) {
+
+		this(new SplittableRandom(graine));
+	}
+
+	/**
+	 * Constructeur à partir d'un générateur déjà créé.
+	 * 
+	 * @param rand <code>:SplittableRandom</code> Générateur sous-jacent.
+	 */
+	private GenerateurSplittable(SplittableRandom rand) {
+
+		this.rand = rand;
+	}
+
+	/**
+	 * Tire une graine au hasard, sans attendre l'entropie du système.
+	 * 
+	 * @return La graine : <code>long</code>
+	 */
+	public static long nouvelleGraine() {
+
+		return new SplittableRandom().nextLong();
+	}
+
+	@Override
+	public int nextInt(int borne) {
+
+		return rand.nextInt(borne);
+	}
+
+	@Override
+	public long nextLong() {
+
+		return rand.nextLong();
+	}
+
+	@Override
+	public GenerateurAleatoire split() {
+
+		return new GenerateurSplittable(rand.split());
+	}
+
+}
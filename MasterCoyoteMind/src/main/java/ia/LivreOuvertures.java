@@ -0,0 +1,363 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Livre d'ouvertures de l'IA du <i>MasterMind</i> : les meilleures tentatives des premiers tours,
+ * calculées à l'avance par {@link GenerateurOuvertures} et projetées en mémoire depuis un fichier.
+ * 
+ * <p>Les tentatives sont rangées dans un arbre complet dont chaque nœud a une branche
+ * par réponse codée possible. La racine est le nœud <code>0</code>, et la réponse <code>r</code>
+ * obtenue au nœud <code>n</code> mène au nœud <code>n * nbrReponses + r + 1</code>.</p>
+ * 
+ * <p>Format du fichier (entiers de 4 octets, poids fort en premier) :</p>
+ * <ul>
+ * <li>en-tête : <code>MAGIQUE</code>, nombre de cases, nombre de couleurs, profondeur, nombre de nœuds.</li>
+ * <li>puis, pour chaque nœud, le code de la tentative, ou <code>-1</code> si le nœud est vide.</li>
+ * </ul>
+ * 
+ * <p>Le livre est cherché dans le dossier de la propriété système <code>PROPRIETE_DOSSIER</code>
+ * (par défaut <code>./src/main/resources</code>), puis à la racine du classpath, ce qui permet
+ * de le livrer dans un jar. Chaque configuration n'est cherchée qu'une fois par JVM,
+ * même quand elle n'a pas de livre.</p>
+ * 
+ * @see StrategieLivre
+ * 
+ * @author Coyote
+ */
+public final class LivreOuvertures implements ArbreTentatives {
+
+
+	/**
+	 * Premier entier de tout livre d'ouvertures.
+	 */
+	public static final int MAGIQUE = 0x4D434F31;
+	/**
+	 * Taille de l'en-tête en octets.
+	 */
+	static final int TAILLE_ENTETE = 5 * Integer.BYTES;
+	/**
+	 * Propriété système qui donne le dossier des livres d'ouvertures et des arbres de décision.
+	 */
+	public static final String PROPRIETE_DOSSIER = "mastercoyotemind.ressources";
+	/**
+	 * Dossier des livres d'ouvertures, résolu une fois au chargement de la classe.
+	 */
+	private static final Path DOSSIER = Paths.get(System.getProperty(PROPRIETE_DOSSIER, "./src/main/resources"));
+	/**
+	 * Livres déjà cherchés, par nom de fichier : vide si la configuration n'a pas de livre.
+	 */
+	private static final Map<String, Optional<LivreOuvertures>> LIVRES = new ConcurrentHashMap<>();
+	/**
+	 * Fichier projeté en mémoire.
+	 */
+	private final ByteBuffer table;
+	/**
+	 * Nombre de cases du plateau de jeu.
+	 */
+	private final int nbrDeCases;
+	/**
+	 * Nombre de couleurs possibles.
+	 */
+	private final int nbrDeCouleurs;
+	/**
+	 * Nombre de tours couverts par le livre.
+	 */
+	private final int profondeur;
+	/**
+	 * Nombre de nœuds de l'arbre.
+	 */
+	private final int nbrNoeuds;
+	/**
+	 * Nombre de branches de chaque nœud : <code>(nbrDeCases + 1)²</code>.
+	 */
+	private final int nbrReponses;
+
+
+	/**
+	 * Construit le livre à partir du fichier projeté en mémoire.
+	 * 
+	 * @param table : contenu du fichier.
+	 * 
+	 * @throws IOException si le contenu n'est pas un livre d'ouvertures valide.
+	 */
+	private LivreOuvertures(ByteBuffer table) throws IOException {
+
+		if (table.capacity() < TAILLE_ENTETE || table.getInt(0) != MAGIQUE) {
+			throw new IOException("Livre d'ouvertures invalide");
+		}
+
+		this.table = table;
+		nbrDeCases = table.getInt(4);
+		nbrDeCouleurs = table.getInt(8);
+		profondeur = table.getInt(12);
+		nbrNoeuds = table.getInt(16);
+		nbrReponses = (nbrDeCases + 1) * (nbrDeCases + 1);
+
+		if (nbrNoeuds < 0 || table.capacity() != TAILLE_ENTETE + (long)nbrNoeuds * Integer.BYTES) {
+			throw new IOException("Livre d'ouvertures tronqué");
+		}
+	}
+
+	/**
+	 * Récupère le chemin du livre d'ouvertures d'une configuration.
+	 * 
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs possibles.
+	 * 
+	 * @return Le chemin du fichier, qui n'existe pas forcément : <code>Path</code>
+	 */
+	public static Path chemin(int nbrDeCases, int nbrDeCouleurs) {
+
+		return DOSSIER.resolve(nom(nbrDeCases, nbrDeCouleurs));
+	}
+
+	/**
+	 * Récupère le nom du fichier du livre d'ouvertures d'une configuration.
+	 * 
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs possibles.
+	 * 
+	 * @return Le nom du fichier : <code>String</code>
+	 */
+	private static String nom(int nbrDeCases, int nbrDeCouleurs) {
+
+		return "ouvertures-" + nbrDeCases + "x" + nbrDeCouleurs + ".bin";
+	}
+
+	/**
+	 * Ouvre le livre d'ouvertures d'une configuration, en le cherchant la première fois seulement.
+	 * 
+	 * <p>Un livre illisible n'est signalé qu'une fois : la configuration est ensuite jouée sans livre.</p>
+	 * 
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs possibles.
+	 * 
+	 * @return Le livre, ou <code>null</code> s'il n'y en a pas pour cette configuration.
+	 * 
+	 * @throws IOException si le fichier existe mais ne peut pas être lu.
+	 */
+	public static LivreOuvertures charger(int nbrDeCases, int nbrDeCouleurs) throws IOException {
+
+		String nom = nom(nbrDeCases, nbrDeCouleurs);
+
+		try {
+			// Les autres solveurs de la même configuration attendent la fin de la lecture.
+			return LIVRES.computeIfAbsent(nom, n -> chercher(n, nbrDeCases, nbrDeCouleurs)).orElse(null);
+
+		} catch (UncheckedIOException e) {
+			LIVRES.putIfAbsent(nom, Optional.empty());
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Lit le livre d'ouvertures d'une configuration.
+	 * 
+	 * @param nom : nom du fichier.
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs possibles.
+	 * 
+	 * @return Le livre, vide s'il n'y en a pas pour cette configuration : <code>Optional</code>
+	 * 
+	 * @throws UncheckedIOException si le fichier existe mais ne peut pas être lu.
+	 */
+	private static Optional<LivreOuvertures> chercher(String nom, int nbrDeCases, int nbrDeCouleurs) {
+
+		try {
+			ByteBuffer table = lireRessource(nom);
+			if (table == null) {
+				return Optional.empty();
+			}
+
+			LivreOuvertures livre = new LivreOuvertures(table);
+			if (livre.nbrDeCases != nbrDeCases || livre.nbrDeCouleurs != nbrDeCouleurs) {
+				throw new IOException("Livre d'ouvertures d'une autre configuration : " + nom);
+			}
+			return Optional.of(livre);
+
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Projette un livre d'ouvertures en mémoire.
+	 * 
+	 * @param chemin : chemin du fichier.
+	 * 
+	 * @return Le livre : <code>LivreOuvertures</code>
+	 * 
+	 * @throws IOException si le fichier ne peut pas être lu ou n'est pas un livre valide.
+	 */
+	public static LivreOuvertures ouvrir(Path chemin) throws IOException {
+
+		return new LivreOuvertures(projeter(chemin));
+	}
+
+	/**
+	 * Lit un fichier précalculé de l'IA : dans <code>DOSSIER</code> s'il y est,
+	 * sinon à la racine du classpath.
+	 * 
+	 * <p>Un fichier est projeté en mémoire, une ressource d'un jar est copiée dans un tableau.</p>
+	 * 
+	 * @param nom : nom du fichier.
+	 * 
+	 * @return Le contenu du fichier, ou <code>null</code> s'il n'existe nulle part : <code>ByteBuffer</code>
+	 * 
+	 * @throws IOException si le fichier existe mais ne peut pas être lu.
+	 */
+	static ByteBuffer lireRessource(String nom) throws IOException {
+
+		Path chemin = DOSSIER.resolve(nom);
+
+		if (Files.isRegularFile(chemin)) {
+			return projeter(chemin);
+		}
+
+		URL url = LivreOuvertures.class.getResource("/" + nom);
+
+		if (url == null) {
+			return null;
+		}
+
+		if ("file".equals(url.getProtocol())) {
+			try {
+				return projeter(Paths.get(url.toURI()));
+			} catch (URISyntaxException e) {
+				throw new IOException("Ressource introuvable : " + url, e);
+			}
+		}
+
+		try (InputStream entree = url.openStream()) {
+			return ByteBuffer.wrap(entree.readAllBytes());
+		}
+	}
+
+	/**
+	 * Projette un fichier en mémoire, en lecture seule.
+	 * 
+	 * @param chemin : chemin du fichier.
+	 * 
+	 * @return Le contenu du fichier : <code>MappedByteBuffer</code>
+	 * 
+	 * @throws IOException si le fichier ne peut pas être lu.
+	 */
+	static MappedByteBuffer projeter(Path chemin) throws IOException {
+
+		// La projection reste valide après la fermeture du canal.
+		try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ)) {
+
+			return canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+		}
+	}
+
+	@Override
+	public int tentative(int noeud) {
+
+		if (noeud < 0 || noeud >= nbrNoeuds) {
+			return -1;
+		}
+
+		return table.getInt(TAILLE_ENTETE + noeud * Integer.BYTES);
+	}
+
+	@Override
+	public int enfant(int noeud, int reponse) {
+
+		if (noeud < 0) {
+			return -1;
+		}
+
+		long enfant = (long)noeud * nbrReponses + reponse + 1;
+
+		return enfant < nbrNoeuds ? (int)enfant : -1;
+	}
+
+	/**
+	 * Calcule le nombre de nœuds d'un arbre complet.
+	 * 
+	 * @param nbrReponses : nombre de branches de chaque nœud.
+	 * @param profondeur : nombre de niveaux de l'arbre.
+	 * 
+	 * @return Le nombre de nœuds, ou <code>-1</code> s'il ne tient pas dans un <code>int</code>.
+	 */
+	static int nbrNoeuds(int nbrReponses, int profondeur) {
+
+		long total = 0;
+		long niveau = 1;
+
+		for (int i = 0; i < profondeur; i++) {
+
+			total += niveau;
+			niveau *= nbrReponses;
+
+			if (total > Integer.MAX_VALUE / Integer.BYTES) {
+				return -1;
+			}
+		}
+
+		return (int)total;
+	}
+
+	/**
+	 * Récupère le nombre de cases.
+	 * 
+	 * @return int : nombre de cases.
+	 */
+	public int getNbrDeCases() {
+
+		return nbrDeCases;
+	}
+
+	/**
+	 * Récupère le nombre de couleurs.
+	 * 
+	 * @return int : nombre de couleurs.
+	 */
+	public int getNbrDeCouleurs() {
+
+		return nbrDeCouleurs;
+	}
+
+	/**
+	 * Récupère le nombre de tours couverts par le livre.
+	 * 
+	 * @return int : profondeur de l'arbre.
+	 */
+	public int getProfondeur() {
+
+		return profondeur;
+	}
+
+}
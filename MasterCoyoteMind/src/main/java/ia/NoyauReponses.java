@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Calcule d'un coup les réponses d'un bloc de codes consécutifs à une même tentative,
+ * pour filtrer rapidement un {@link EnsembleCandidats}.
+ * 
+ * <p>Les codes sont rangés par colonnes : pour chaque case (et chaque couleur de l'histogramme),
+ * un <code>long</code> regroupe le chiffre (ou le compteur) de 16 codes consécutifs, un par quartet.
+ * Chaque opération sur un <code>long</code> traite donc 16 codes à la fois :</p>
+ * <ul>
+ * <li>bien placés : quartets nuls du <i>ou exclusif</i> avec le chiffre de la tentative
+ * répété 16 fois, additionnés case par case.</li>
+ * <li>chiffres en commun : minimum quartet par quartet avec le compteur de la tentative,
+ * additionné couleur par couleur.</li>
+ * </ul>
+ * <p>Un noyau garde la tentative en cours dans ses propres tableaux :
+ * il ne doit servir qu'à un seul thread à la fois. Les colonnes, elles, ne changent plus :
+ * <code>partage()</code> les calcule une seule fois par espace partagé.</p>
+ * 
+ * <p>Le minimum sur 16 quartets n'est exact que si les compteurs tiennent sur 3 bits :
+ * au-delà de 7 cases, le noyau repasse au calcul code par code de {@link EspaceCodes#reponse(int, int)},
+ * qui donne toujours les mêmes réponses.</p>
+ * 
+ * @author Coyote
+ */
+public class NoyauReponses {
+
+
+	/**
+	 * Nombre maximum de cases pour le calcul par colonnes.
+	 */
+	public static final int MAX_CASES_COLONNES = 7;
+	/**
+	 * Nombre de codes d'un mot de l'ensemble des candidats.
+	 */
+	private static final int CODES_PAR_MOT = 64;
+	/**
+	 * Nombre de codes regroupés dans un <code>long</code> de colonne.
+	 */
+	private static final int CODES_PAR_GROUPE = 16;
+	/**
+	 * En dessous de ce nombre de candidats dans un mot, le calcul code par code est plus rapide.
+	 */
+	private static final int SEUIL_DENSITE = 8;
+	/**
+	 * Bit de poids faible de chaque quartet.
+	 */
+	private static final long QUARTETS_UN = 0x1111111111111111L;
+	/**
+	 * Bit de poids fort de chaque quartet.
+	 */
+	private static final long QUARTETS_HAUTS = 0x8888888888888888L;
+	/**
+	 * Noyaux dont les colonnes servent à tous les noyaux d'un même espace partagé.
+	 */
+	private static final Map<EspaceCodes, NoyauReponses> MODELES = new ConcurrentHashMap<>();
+	/**
+	 * Espace des codes filtrés.
+	 */
+	private final EspaceCodes espaceCodes;
+	/**
+	 * Chiffres par colonnes, <code>[case][groupe]</code>, <code>null</code> sans calcul par colonnes.
+	 */
+	private final long[][] colonnesChiffres;
+	/**
+	 * Histogrammes par colonnes, <code>[couleur][groupe]</code>, <code>null</code> sans calcul par colonnes.
+	 */
+	private final long[][] colonnesHisto;
+	/**
+	 * Chiffre de chaque case de la tentative filtrée, répété dans les 16 quartets.
+	 */
+	private final long[] chiffresTentative;
+	/**
+	 * Compteur de chaque couleur de la tentative filtrée, répété dans les 16 quartets.
+	 */
+	private final long[] histoTentative;
+
+
+	/**
+	 * Construit le noyau et range les codes de l'espace par colonnes si le nombre de cases le permet.
+	 * 
+	 * @param espaceCodes <code>:EspaceCodes</code> Espace des codes filtrés.
+	 */
+	public NoyauReponses(EspaceCodes espaceCodes) {
+
+		this.espaceCodes = espaceCodes;
+
+		int nbrDeCases = espaceCodes.getNbrDeCases();
+		int nbrDeCouleurs = espaceCodes.getNbrDeCouleurs();
+		chiffresTentative = new long[nbrDeCases];
+		histoTentative = new long[nbrDeCouleurs];
+
+		if (nbrDeCases > MAX_CASES_COLONNES) {
+			colonnesChiffres = null;
+			colonnesHisto = null;
+			return;
+		}
+
+		int taille = espaceCodes.getTaille();
+		int nbrGroupes = (taille + CODES_PAR_MOT - 1) / CODES_PAR_MOT * (CODES_PAR_MOT / CODES_PAR_GROUPE);
+		colonnesChiffres = new long[nbrDeCases][nbrGroupes];
+		colonnesHisto = new long[nbrDeCouleurs][nbrGroupes];
+
+		for (int code = 0; code < taille; code++) {
+
+			int groupe = code / CODES_PAR_GROUPE;
+			int decalage = 4 * (code % CODES_PAR_GROUPE);
+			long chiffres = espaceCodes.chiffres(code);
+			long histo = espaceCodes.histogramme(code);
+
+			for (int i = 0; i < nbrDeCases; i++) {
+				colonnesChiffres[i][groupe] |= ((chiffres >>> (4 * i)) & 0xF) << decalage;
+			}
+			for (int c = 0; c < nbrDeCouleurs; c++) {
+				colonnesHisto[c][groupe] |= ((histo >>> (4 * c)) & 0xF) << decalage;
+			}
+		}
+	}
+
+	/**
+	 * Construit un noyau qui partage les colonnes d'un autre, avec ses propres tableaux de tentative.
+	 * 
+	 * @param modele <code>:NoyauReponses</code> Noyau dont les colonnes sont reprises.
+	 */
+	private NoyauReponses(NoyauReponses modele) {
+
+		espaceCodes = modele.espaceCodes;
+		colonnesChiffres = modele.colonnesChiffres;
+		colonnesHisto = modele.colonnesHisto;
+		chiffresTentative = new long[modele.chiffresTentative.length];
+		histoTentative = new long[modele.histoTentative.length];
+	}
+
+	/**
+	 * Estime la mémoire des colonnes d'un espace, en octets.
+	 * 
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs differentes.
+	 * @param taille : nombre de codes de l'espace.
+	 * 
+	 * @return <code>long</code> : <code>0</code> sans calcul par colonnes.
+	 */
+	static long estimerMemoire(int nbrDeCases, int nbrDeCouleurs, long taille) {
+
+		if (nbrDeCases > MAX_CASES_COLONNES) {
+			return 0;
+		}
+
+		long nbrGroupes = (taille + CODES_PAR_MOT - 1) / CODES_PAR_MOT * (CODES_PAR_MOT / CODES_PAR_GROUPE);
+
+		return (long)(nbrDeCases + nbrDeCouleurs) * nbrGroupes * Long.BYTES;
+	}
+
+	/**
+	 * Crée un noyau pour un espace. Sur un espace partagé, ses colonnes sont celles
+	 * de tous les autres noyaux du même espace, calculées à la première demande.
+	 * 
+	 * @param espaceCodes : espace des codes filtrés.
+	 * 
+	 * @return Le noyau : <code>NoyauReponses</code>
+	 * 
+	 * @see EspaceCodes#partage(int, int)
+	 */
+	public static NoyauReponses partage(EspaceCodes espaceCodes) {
+
+		// Un espace non partagé ne reste pas dans le cache.
+		if (!espaceCodes.estPartage()) {
+			return new NoyauReponses(espaceCodes);
+		}
+
+		return new NoyauReponses(MODELES.computeIfAbsent(espaceCodes, NoyauReponses::new));
+	}
+
+	/**
+	 * Garde uniquement les candidats qui renverraient <code>reponse</code> à <code>tentative</code>.
+	 * Donne le même résultat que <code>candidats.filtrer(code -> espaceCodes.reponse(code, tentative) == reponse)</code>.
+	 * 
+	 * @param candidats : ensemble filtré, sur le même espace.
+	 * @param tentative : code de la tentative jouée.
+	 * @param reponse : réponse codée obtenue.
+	 */
+	public void filtrer(EnsembleCandidats candidats, int tentative, int reponse) {
+
+		// Sans colonnes, tous les mots passent par le filtre code par code.
+		boolean parColonnes = colonnesChiffres != null;
+
+		if (parColonnes) {
+			repeterTentative(tentative);
+		}
+
+		int bienPlace = espaceCodes.bienPlace(reponse);
+		long bienPlacesAttendus = bienPlace * QUARTETS_UN;
+		long communsAttendus = (bienPlace + espaceCodes.present(reponse)) * QUARTETS_UN;
+
+		int nbrMots = candidats.nbrMots();
+
+		for (int m = 0; m < nbrMots; m++) {
+
+			long mot = candidats.mot(m);
+
+			if (mot == 0) {
+				continue;
+			}
+
+			long garder;
+
+			if (!parColonnes || Long.bitCount(mot) < SEUIL_DENSITE) {
+
+				garder = 0;
+				for (long reste = mot; reste != 0; reste &= reste - 1) {
+
+					int code = m * CODES_PAR_MOT + Long.numberOfTrailingZeros(reste);
+					if (espaceCodes.reponse(code, tentative) == reponse) {
+						garder |= reste & -reste;
+					}
+				}
+
+			} else {
+
+				int premierGroupe = m * (CODES_PAR_MOT / CODES_PAR_GROUPE);
+				garder = 0;
+
+				for (int g = 0; g < CODES_PAR_MOT / CODES_PAR_GROUPE; g++) {
+
+					long egaux = comparerGroupe(premierGroupe + g, bienPlacesAttendus, communsAttendus);
+					garder |= egaux << (CODES_PAR_GROUPE * g);
+				}
+			}
+
+			candidats.garderMot(m, garder);
+		}
+	}
+
+	/**
+	 * Répète les chiffres et compteurs de la tentative dans les 16 quartets
+	 * de <code>chiffresTentative</code> et <code>histoTentative</code>.
+	 * 
+	 * @param tentative : code de la tentative jouée.
+	 */
+	private void repeterTentative(int tentative) {
+
+		long chiffres = espaceCodes.chiffres(tentative);
+		long histo = espaceCodes.histogramme(tentative);
+
+		for (int i = 0; i < chiffresTentative.length; i++) {
+			chiffresTentative[i] = ((chiffres >>> (4 * i)) & 0xF) * QUARTETS_UN;
+		}
+		for (int c = 0; c < histoTentative.length; c++) {
+			histoTentative[c] = ((histo >>> (4 * c)) & 0xF) * QUARTETS_UN;
+		}
+	}
+
+	/**
+	 * Compare les réponses des 16 codes d'un groupe à la réponse attendue.
+	 * 
+	 * @param groupe : index du groupe de 16 codes.
+	 * @param bienPlacesAttendus : nombre de bien placés attendu, répété dans les 16 quartets.
+	 * @param communsAttendus : nombre de chiffres en commun attendu, répété dans les 16 quartets.
+	 * 
+	 * @return Un bit par code du groupe, à 1 si le code renvoie la réponse attendue : <code>long</code>
+	 */
+	private long comparerGroupe(int groupe, long bienPlacesAttendus, long communsAttendus) {
+
+		long bienPlaces = 0;
+
+		for (int i = 0; i < chiffresTentative.length; i++) {
+
+			long difference = colonnesChiffres[i][groupe] ^ chiffresTentative[i];
+			difference = (difference | (difference >>> 1) | (difference >>> 2) | (difference >>> 3)) & QUARTETS_UN;
+			bienPlaces += difference ^ QUARTETS_UN;
+		}
+
+		long communs = 0;
+
+		for (int c = 0; c < histoTentative.length; c++) {
+
+			long compteurs = colonnesHisto[c][groupe];
+			long superieur = ((compteurs | QUARTETS_HAUTS) - histoTentative[c]) & QUARTETS_HAUTS;
+			long masque = (superieur >>> 3) * 0xF;
+			communs += (histoTentative[c] & masque) | (compteurs & ~masque);
+		}
+
+		// Quartet nul quand les deux comptes sont ceux attendus.
+		long ecart = (bienPlaces ^ bienPlacesAttendus) | (communs ^ communsAttendus);
+		long egaux = ((ecart | (ecart >>> 1) | (ecart >>> 2) | (ecart >>> 3)) & QUARTETS_UN) ^ QUARTETS_UN;
+
+		// Rassemble le bit de poids faible des 16 quartets dans les 16 bits de poids faible.
+		egaux = (egaux | (egaux >>> 3)) & 0x0303030303030303L;
+		egaux = (egaux | (egaux >>> 6)) & 0x000F000F000F000FL;
+		egaux = (egaux | (egaux >>> 12)) & 0x000000FF000000FFL;
+		egaux = (egaux | (egaux >>> 24)) & 0xFFFFL;
+
+		return egaux;
+	}
+
+}
@@ -0,0 +1,970 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Calcule hors ligne la stratégie optimale du <i>MasterMind</i> pour un plateau donné,
+ * et l'écrit sous forme d'{@link ArbreDecision} que l'IA suit ensuite tour après tour.
+ * 
+ * <p>Deux objectifs sont possibles : le nombre moyen de tentatives le plus petit
+ * (somme des tentatives sur toutes les combinaisons), ou le pire cas le plus petit.
+ * La recherche est un <i>séparation et évaluation</i> exact sur toutes les tentatives :</p>
+ * <ul>
+ * <li>bornes inférieures : un ensemble de <code>n</code> candidats ne se résout pas plus vite
+ * qu'un arbre où chaque nœud a autant d'enfants que de réponses possibles.
+ * La borne d'une tentative se calcule à partir des seules tailles de sa partition.</li>
+ * <li>les tentatives sont essayées de la meilleure borne à la moins bonne,
+ * et chaque sous-arbre reçoit le budget qui reste pour battre la meilleure tentative connue.</li>
+ * <li>les couleurs jamais jouées sont interchangeables : une seule tentative
+ * par classe de symétrie est essayée, et une par forme de combinaison au premier tour.</li>
+ * <li>la valeur de chaque ensemble de candidats déjà résolu, ou sa borne s'il a été abandonné,
+ * est gardée dans une table indexée par l'ensemble lui-même, partagée par tous les threads.</li>
+ * <li>les tentatives du premier tour sont réparties sur tous les cœurs, avec une meilleure valeur commune.</li>
+ * <li>les tampons de chaque profondeur (parties, effectifs, tri des tentatives) sont alloués une fois
+ * par thread et réutilisés par tous les nœuds de cette profondeur.</li>
+ * </ul>
+ * 
+ * <p>Limites mesurées sur un seul cœur : le plateau 4x6 demande environ 6 s au pire cas
+ * et 60 à 70 s en moyenne, presque entièrement dans l'évaluation des bornes des petits ensembles.
+ * Le plateau 5x6 n'est pas résolu en 20 minutes au pire cas ni en 30 minutes en moyenne :
+ * au-delà de 4x6, les arbres doivent être calculés sur une machine à plusieurs cœurs et sans limite de temps,
+ * ou la partie jouée avec une stratégie heuristique.</p>
+ * 
+ * <p>Utilisation : <code>java ia.OptimiseurArbre nbrDeCases nbrDeCouleurs [moyenne|pire] [fichier]</code></p>
+ * 
+ * @see ArbreDecision
+ * @see StrategieLivre
+ * 
+ * @author Coyote
+ */
+public final class OptimiseurArbre {
+
+
+	/**
+	 * Valeur plus grande que toute valeur d'arbre, sans risque de dépassement en l'additionnant.
+	 */
+	private static final int INFINI = Integer.MAX_VALUE / 4;
+	/**
+	 * Nombre maximum de réponses précalculées (un octet chacune).
+	 */
+	private static final long TAILLE_MAX_REPONSES = 1L << 28;
+	/**
+	 * Nombre maximum d'ensembles gardés dans la table des valeurs.
+	 */
+	private static final int TAILLE_MAX_MEMO = 1 << 22;
+	/**
+	 * Espace de toutes les combinaisons.
+	 */
+	private final EspaceCodes espaceCodes;
+	/**
+	 * Nombre de combinaisons de l'espace.
+	 */
+	private final int taille;
+	/**
+	 * Nombre de réponses codées différentes.
+	 */
+	private final int nbrReponses;
+	/**
+	 * Réponse codée d'une combinaison trouvée.
+	 */
+	private final int victoire;
+	/**
+	 * <code>true</code> pour minimiser le pire cas, <code>false</code> pour la moyenne.
+	 */
+	private final boolean pireCas;
+	/**
+	 * Réponse de chaque couple, à l'index <code>tentative * taille + combinaison</code>,
+	 * <code>null</code> si la table serait trop grande.
+	 */
+	private final byte[] reponses;
+	/**
+	 * Couleurs de chaque code, un bit par couleur.
+	 */
+	private final int[] couleurs;
+	/**
+	 * Nombre maximum d'enfants d'un nœud : réponses possibles autres que la victoire.
+	 */
+	private final int enfantsMax;
+	/**
+	 * Borne inférieure de la valeur d'un ensemble, selon son nombre de candidats.
+	 */
+	private final int[] bornes;
+	/**
+	 * Tentatives à essayer selon les couleurs déjà jouées, calculées à la demande.
+	 */
+	private final int[][] tentativesParCouleurs;
+	/**
+	 * Valeur, ou borne inférieure, des ensembles de candidats déjà évalués.
+	 */
+	private final ConcurrentHashMap<Ensemble, Valeur> memo;
+	/**
+	 * Nombre d'ensembles évalués, pour le bilan.
+	 */
+	private final AtomicLong nbrEvaluations;
+
+
+	/**
+	 * Constructeur de <i>OptimiseurArbre</i> : précalcule les réponses et les bornes.
+	 * 
+	 * @param espaceCodes <code>:EspaceCodes</code> Espace de toutes les combinaisons.
+	 * @param pireCas <code>:boolean</code> <code>true</code> pour minimiser le pire cas, sinon la moyenne.
+	 */
+	public OptimiseurArbre(EspaceCodes espaceCodes, boolean pireCas) {
+
+		this.espaceCodes = espaceCodes;
+		this.pireCas = pireCas;
+		taille = espaceCodes.getTaille();
+		nbrReponses = espaceCodes.getNbrReponses();
+		victoire = espaceCodes.getReponseVictoire();
+
+		if ((long)taille * taille <= TAILLE_MAX_REPONSES) {
+			reponses = new byte[taille * taille];
+			for (int t = 0; t < taille; t++) {
+				for (int c = 0; c < taille; c++) {
+					reponses[t * taille + c] = (byte)espaceCodes.reponse(c, t);
+				}
+			}
+		} else {
+			reponses = null;
+		}
+
+		// Réponses possibles hors victoire : bien placés + présents <= cases, sans (cases - 1, 1).
+		int nbrDeCases = espaceCodes.getNbrDeCases();
+		enfantsMax = (nbrDeCases + 1) * (nbrDeCases + 2) / 2 - 2;
+
+		couleurs = new int[taille];
+		for (int code = 0; code < taille; code++) {
+			for (int i = 0; i < nbrDeCases; i++) {
+				couleurs[code] |= 1 << espaceCodes.chiffre(code, i);
+			}
+		}
+
+		bornes = calculerBornes();
+		tentativesParCouleurs = new int[1 << espaceCodes.getNbrDeCouleurs()][];
+		memo = new ConcurrentHashMap<>();
+		nbrEvaluations = new AtomicLong();
+	}
+
+	/**
+	 * Calcule la stratégie optimale et écrit son arbre de décision.
+	 * 
+	 * @param args : nombre de cases, nombre de couleurs, objectif (<code>moyenne</code> par défaut, ou <code>pire</code>),
+	 * et éventuellement le chemin du fichier (par défaut à côté des livres d'ouvertures).
+	 * 
+	 * @throws IOException si le fichier ne peut pas être écrit.
+	 */
+	public static void main(String[] args) throws IOException {
+
+		if (args.length < 2) {
+			System.err.println("Usage : OptimiseurArbre nbrDeCases nbrDeCouleurs [moyenne|pire] [fichier]");
+			return;
+		}
+
+		int nbrDeCases = Integer.parseInt(args[0]);
+		int nbrDeCouleurs = Integer.parseInt(args[1]);
+		boolean pireCas = args.length > 2 && "pire".equals(args[2]);
+		Path chemin = args.length > 3 ? Paths.get(args[3]) : ArbreDecision.chemin(nbrDeCases, nbrDeCouleurs);
+
+		EspaceCodes espaceCodes = new EspaceCodes(nbrDeCases, nbrDeCouleurs);
+		OptimiseurArbre optimiseur = new OptimiseurArbre(espaceCodes, pireCas);
+
+		long debut = System.nanoTime();
+		ArbreDecision arbre = optimiseur.calculer(ForkJoinPool.commonPool());
+		double duree = (System.nanoTime() - debut) / 1e9;
+
+		int[] bilan = optimiseur.mesurer(arbre);
+		arbre.ecrire(chemin);
+
+		System.out.println(String.format(Locale.ROOT,
+				"%dx%d : %d tentatives au total, moyenne %.4f, pire cas %d, %d nœuds, %d ensembles évalués, %.1f s",
+				nbrDeCases, nbrDeCouleurs, bilan[0], (double)bilan[0] / espaceCodes.getTaille(), bilan[1],
+				arbre.getNbrNoeuds(), optimiseur.nbrEvaluations.get(), duree));
+		System.out.println("Arbre de décision écrit : " + chemin);
+	}
+
+	/**
+	 * Cherche la stratégie optimale, en répartissant les tentatives du premier tour sur un pool.
+	 * 
+	 * @param pool : pool qui évalue les tentatives du premier tour.
+	 * 
+	 * @return L'arbre de décision de la stratégie optimale : <code>ArbreDecision</code>
+	 */
+	public ArbreDecision calculer(ForkJoinPool pool) {
+
+		int[] tous = new int[taille];
+		for (int code = 0; code < taille; code++) {
+			tous[code] = code;
+		}
+
+		// Premier tour : une tentative par forme, de la meilleure borne à la moins bonne.
+		Niveau depart = new Niveau();
+		int nbrPremieres = trierParBorne(tous, taille, formes(), Integer.MAX_VALUE, depart);
+		long[] premieres = Arrays.copyOf(depart.triees, nbrPremieres);
+
+		AtomicInteger meilleure = new AtomicInteger(INFINI);
+		AtomicInteger meilleureTentative = new AtomicInteger(-1);
+		List<Callable<Void>> taches = new ArrayList<>();
+
+		for (long premiere : premieres) {
+
+			int borne = (int)(premiere >>> 32);
+			int tentative = (int)premiere;
+
+			taches.add(() -> {
+				// Une valeur inférieure à la borne lue au départ est exacte, même si un autre thread a fait mieux depuis.
+				int valeurABattre = meilleure.get();
+				if (borne < valeurABattre) {
+					// Chaque tâche a ses propres tableaux de travail.
+					Niveau racine = new Niveau();
+					System.arraycopy(tous, 0, racine.ensemble, 0, taille);
+					int valeur = evaluerTentative(racine, taille, 0, tentative, valeurABattre);
+					synchronized (meilleure) {
+						if (valeur < meilleure.get()) {
+							meilleure.set(valeur);
+							meilleureTentative.set(tentative);
+						}
+					}
+				}
+				return null;
+			});
+		}
+
+		pool.invokeAll(taches);
+
+		return construireArbre(tous, meilleureTentative.get());
+	}
+
+	/**
+	 * Évalue la valeur d'un ensemble de candidats, en s'arrêtant dès qu'elle atteint une borne.
+	 * 
+	 * @param niveau : tableaux de travail du niveau, dont les <code>n</code> premiers candidats triés.
+	 * @param n : nombre de candidats.
+	 * @param couleursJouees : couleurs déjà jouées, un bit par couleur.
+	 * @param borne : valeur à battre.
+	 * @param choix : reçoit en case 0 la meilleure tentative, si elle bat la borne ; peut être <code>null</code>.
+	 * 
+	 * @return La valeur exacte si elle est inférieure à <code>borne</code>, sinon une valeur au moins égale : <code>int</code>
+	 */
+	private int evaluer(Niveau niveau, int n, int couleursJouees, int borne, int[] choix) {
+
+		int[] ensemble = niveau.ensemble;
+
+		// Un candidat se joue directement ; pour deux, on en joue un puis l'autre.
+		if (n <= 2) {
+			if (choix != null) {
+				choix[0] = ensemble[0];
+			}
+			return n == 1 ? 1 : (pireCas ? 2 : 3);
+		}
+
+		if (bornes[n] >= borne) {
+			return bornes[n];
+		}
+
+		// La clé lit les candidats du niveau sans les copier : seule une clé gardée dans la table est copiée.
+		Ensemble cle = new Ensemble(ensemble, n);
+		Valeur connue = memo.get(cle);
+
+		if (connue != null && connue.exacte) {
+			if (choix != null) {
+				choix[0] = connue.tentative;
+			}
+			return connue.valeur;
+		}
+		if (connue != null && connue.valeur >= borne) {
+			return connue.valeur;
+		}
+
+		nbrEvaluations.incrementAndGet();
+
+		int parfaite = tentativeParfaite(ensemble, n, niveau.effectifs);
+
+		if (parfaite >= 0) {
+			if (memo.size() < TAILLE_MAX_MEMO) {
+				memo.put(cle.copier(), new Valeur(bornes[n], true, parfaite));
+			}
+			if (choix != null) {
+				choix[0] = parfaite;
+			}
+			return bornes[n];
+		}
+
+		// Sans tentative parfaite, un petit ensemble ne peut pas résoudre tous ses candidats dès le tour suivant.
+		// Au pire cas, une tentative hors de l'ensemble qui sépare tous les candidats atteint la borne : pas de raccourci.
+		if (!pireCas && n <= enfantsMax + 1 && bornes[n] + 1 >= borne) {
+			return bornes[n] + 1;
+		}
+
+		int nbrCandidates = trierParBorne(ensemble, n, tentatives(couleursJouees), borne, niveau);
+		long[] candidates = niveau.triees;
+		int meilleure = borne;
+		int meilleureTentative = -1;
+
+		for (int k = 0; k < nbrCandidates; k++) {
+
+			long candidate = candidates[k];
+
+			// Les tentatives suivantes ont une borne au moins aussi grande.
+			if ((int)(candidate >>> 32) >= meilleure) {
+				break;
+			}
+
+			int tentative = (int)candidate;
+			int valeur = evaluerTentative(niveau, n, couleursJouees, tentative, meilleure);
+
+			if (valeur < meilleure) {
+				meilleure = valeur;
+				meilleureTentative = tentative;
+
+				if (meilleure == bornes[n]) {
+					break;
+				}
+			}
+		}
+
+		if (memo.size() < TAILLE_MAX_MEMO) {
+			if (meilleureTentative >= 0) {
+				memo.put(cle.copier(), new Valeur(meilleure, true, meilleureTentative));
+			} else if (connue == null || connue.valeur < borne) {
+				memo.put(cle.copier(), new Valeur(borne, false, -1));
+			}
+		}
+
+		if (choix != null && meilleureTentative >= 0) {
+			choix[0] = meilleureTentative;
+		}
+
+		return meilleure;
+	}
+
+	/**
+	 * Évalue une tentative sur un ensemble de candidats : partitionne l'ensemble
+	 * et évalue chaque sous-ensemble avec le budget qui reste, dans les tableaux du niveau suivant.
+	 * 
+	 * @param niveau : tableaux de travail du niveau, dont les <code>n</code> premiers candidats triés.
+	 * @param n : nombre de candidats.
+	 * @param couleursJouees : couleurs déjà jouées, un bit par couleur.
+	 * @param tentative : code de la tentative.
+	 * @param borne : valeur à battre.
+	 * 
+	 * @return La valeur exacte de la tentative si elle est inférieure à <code>borne</code>, sinon une valeur au moins égale.
+	 */
+	private int evaluerTentative(Niveau niveau, int n, int couleursJouees, int tentative, int borne) {
+
+		int[] ensemble = niveau.ensemble;
+		byte[] reponsesEnsemble = niveau.reponsesEnsemble;
+		int[] effectifs = niveau.effectifsParties;
+		Arrays.fill(effectifs, 0);
+
+		for (int i = 0; i < n; i++) {
+			int reponse = reponse(ensemble[i], tentative);
+			reponsesEnsemble[i] = (byte)reponse;
+			effectifs[reponse + 1]++;
+		}
+
+		// Rangement par réponse : chaque sous-ensemble reste trié.
+		int[] debuts = niveau.debuts;
+		for (int r = 0; r < nbrReponses; r++) {
+			debuts[r + 1] = debuts[r] + effectifs[r + 1];
+		}
+		int[] ranges = niveau.ranges;
+		int[] positions = niveau.positions;
+		System.arraycopy(debuts, 0, positions, 0, nbrReponses);
+		for (int i = 0; i < n; i++) {
+			ranges[positions[reponsesEnsemble[i]]++] = ensemble[i];
+		}
+
+		// Sous-ensembles du plus grand au plus petit, pour dépasser la borne au plus tôt.
+		long[] parTaille = niveau.parTaille;
+		int nbrParties = 0;
+		int resteBornes = 0;
+
+		for (int r = 0; r < nbrReponses; r++) {
+			int effectif = effectifs[r + 1];
+			if (r != victoire && effectif > 0) {
+				parTaille[nbrParties++] = ((long)(n - effectif) << 32) | r;
+				resteBornes = pireCas ? Math.max(resteBornes, bornes[effectif]) : resteBornes + bornes[effectif];
+			}
+		}
+		Arrays.sort(parTaille, 0, nbrParties);
+
+		int couleursSuivantes = couleursJouees | couleurs[tentative];
+		int valeur = pireCas ? 1 : n;
+		Niveau suivant = niveau.suivant();
+
+		for (int p = 0; p < nbrParties; p++) {
+
+			int r = (int)parTaille[p];
+			int effectif = effectifs[r + 1];
+			System.arraycopy(ranges, debuts[r], suivant.ensemble, 0, effectif);
+
+			if (pireCas) {
+				int sousValeur = evaluer(suivant, effectif, couleursSuivantes, borne - 1, null);
+				valeur = Math.max(valeur, 1 + sousValeur);
+			} else {
+				resteBornes -= bornes[effectif];
+				int sousValeur = evaluer(suivant, effectif, couleursSuivantes, borne - valeur - resteBornes, null);
+				valeur += sousValeur;
+			}
+
+			if (valeur + (pireCas ? 0 : resteBornes) >= borne) {
+				return Math.max(valeur, borne);
+			}
+		}
+
+		return valeur;
+	}
+
+	/**
+	 * Calcule la borne de chaque tentative et les trie de la meilleure à la moins bonne,
+	 * en écartant celles qui n'apprennent rien ou ne peuvent pas battre <code>borne</code>.
+	 * 
+	 * @param ensemble : candidats, seuls les <code>n</code> premiers comptent.
+	 * @param n : nombre de candidats.
+	 * @param tentatives : tentatives à essayer.
+	 * @param borne : valeur à battre.
+	 * @param niveau : tableaux de travail, dont <code>triees</code> reçoit les tentatives gardées,
+	 * borne dans les 32 bits de poids fort et code dans ceux de poids faible.
+	 * 
+	 * @return Le nombre de tentatives gardées : <code>int</code>
+	 */
+	private int trierParBorne(int[] ensemble, int n, int[] tentatives, int borne, Niveau niveau) {
+
+		long[] triees = niveau.triees;
+		int nbrTriees = 0;
+		int[] effectifs = niveau.effectifs;
+
+		for (int tentative : tentatives) {
+
+			int valeur = bornePartition(ensemble, n, tentative, effectifs);
+
+			if (valeur < borne) {
+				triees[nbrTriees++] = ((long)valeur << 32) | tentative;
+			}
+		}
+
+		Arrays.sort(triees, 0, nbrTriees);
+
+		return nbrTriees;
+	}
+
+	/**
+	 * Calcule la borne inférieure de la valeur d'une tentative à partir des tailles de sa partition.
+	 * 
+	 * @param ensemble : candidats, seuls les <code>n</code> premiers comptent.
+	 * @param n : nombre de candidats.
+	 * @param tentative : code de la tentative.
+	 * @param effectifs : tableau de travail de taille <code>nbrReponses</code>, qui reçoit la taille de chaque partie.
+	 * 
+	 * @return La borne, ou <code>INFINI</code> si la tentative n'apprend rien : <code>int</code>
+	 */
+	private int bornePartition(int[] ensemble, int n, int tentative, int[] effectifs) {
+
+		Arrays.fill(effectifs, 0);
+		for (int i = 0; i < n; i++) {
+			effectifs[reponse(ensemble[i], tentative)]++;
+		}
+
+		int valeur = pireCas ? 1 : n;
+
+		for (int r = 0; r < nbrReponses; r++) {
+			int effectif = effectifs[r];
+			if (r != victoire && effectif > 0) {
+				if (effectif == n) {
+					return INFINI;
+				}
+				valeur = pireCas ? Math.max(valeur, 1 + bornes[effectif]) : valeur + bornes[effectif];
+			}
+		}
+
+		return valeur;
+	}
+
+	/**
+	 * Cherche parmi les candidats une tentative qui atteint la borne de l'ensemble
+	 * en ne laissant que des parties d'au plus deux candidats, dont la valeur est connue :
+	 * elle est alors optimale sans autre calcul.
+	 * 
+	 * @param ensemble : candidats, seuls les <code>n</code> premiers comptent.
+	 * @param n : nombre de candidats.
+	 * @param effectifs : tableau de travail de taille <code>nbrReponses</code>.
+	 * 
+	 * @return La tentative, ou <code>-1</code> s'il n'y en a pas : <code>int</code>
+	 */
+	private int tentativeParfaite(int[] ensemble, int n, int[] effectifs) {
+
+		for (int i = 0; i < n; i++) {
+
+			if (bornePartition(ensemble, n, ensemble[i], effectifs) != bornes[n]) {
+				continue;
+			}
+
+			boolean petites = true;
+			for (int r = 0; r < nbrReponses && petites; r++) {
+				petites = effectifs[r] <= 2;
+			}
+
+			if (petites) {
+				return ensemble[i];
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Récupère les tentatives à essayer : une par classe de symétrie des couleurs jamais jouées.
+	 * Les couleurs nouvelles d'une tentative doivent être les plus petites non jouées,
+	 * et apparaître dans l'ordre croissant.
+	 * 
+	 * @param couleursJouees : couleurs déjà jouées, un bit par couleur.
+	 * 
+	 * @return Les codes des tentatives : <code>int[]</code>
+	 */
+	private int[] tentatives(int couleursJouees) {
+
+		int[] tentatives = tentativesParCouleurs[couleursJouees];
+
+		// Calcul sans verrou : deux threads au pire calculent le même tableau.
+		if (tentatives == null) {
+
+			int nbrDeCases = espaceCodes.getNbrDeCases();
+			int nbrDeCouleurs = espaceCodes.getNbrDeCouleurs();
+			int[] liste = new int[taille];
+			int nbr = 0;
+
+			for (int code = 0; code < taille; code++) {
+
+				int nouvelles = couleursJouees;
+				boolean canonique = true;
+
+				for (int i = 0; i < nbrDeCases && canonique; i++) {
+
+					int couleur = espaceCodes.chiffre(code, i);
+
+					if ((nouvelles & (1 << couleur)) == 0) {
+						// Première couleur non jouée et pas encore vue : la plus petite possible.
+						int attendue = Integer.numberOfTrailingZeros(~nouvelles);
+						canonique = couleur == attendue && attendue < nbrDeCouleurs;
+						nouvelles |= 1 << couleur;
+					}
+				}
+
+				if (canonique) {
+					liste[nbr++] = code;
+				}
+			}
+
+			tentatives = Arrays.copyOf(liste, nbr);
+			tentativesParCouleurs[couleursJouees] = tentatives;
+		}
+
+		return tentatives;
+	}
+
+	/**
+	 * Récupère une tentative par forme de combinaison pour le premier tour : toutes les cases
+	 * et couleurs sont interchangeables, seul compte le nombre de cases de chaque couleur.
+	 * 
+	 * @return Les codes des tentatives, couleur 0 la plus fréquente : <code>int[]</code>
+	 */
+	private int[] formes() {
+
+		List<Integer> formes = new ArrayList<>();
+		ajouterFormes(espaceCodes.getNbrDeCases(), espaceCodes.getNbrDeCases(), 0, 0, formes);
+
+		return formes.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * Ajoute récursivement les formes de combinaison : partitions du nombre de cases
+	 * en effectifs décroissants, une couleur par effectif.
+	 * 
+	 * @param reste : nombre de cases à remplir.
+	 * @param maximum : effectif maximum de la couleur suivante.
+	 * @param couleur : couleur suivante.
+	 * @param code : code des cases déjà remplies.
+	 * @param formes : liste qui reçoit les codes.
+	 */
+	private void ajouterFormes(int reste, int maximum, int couleur, int code, List<Integer> formes) {
+
+		if (reste == 0) {
+			formes.add(code);
+			return;
+		}
+		if (couleur >= espaceCodes.getNbrDeCouleurs()) {
+			return;
+		}
+
+		for (int effectif = Math.min(reste, maximum); effectif >= 1; effectif--) {
+
+			int suite = code;
+			for (int i = 0; i < effectif; i++) {
+				suite = suite * espaceCodes.getNbrDeCouleurs() + couleur;
+			}
+			ajouterFormes(reste - effectif, effectif, couleur + 1, suite, formes);
+		}
+	}
+
+	/**
+	 * Calcule la borne inférieure de la valeur d'un ensemble pour chaque nombre de candidats :
+	 * un nœud résout au plus un candidat, et a au plus un enfant par réponse autre que la victoire.
+	 * 
+	 * @return Les bornes, indexées par le nombre de candidats : <code>int[]</code>
+	 */
+	private int[] calculerBornes() {
+
+		int[] tableBornes = new int[taille + 1];
+
+		for (int n = 1; n <= taille; n++) {
+
+			int reste = n;
+			long niveau = 1;
+			int profondeur = 0;
+			long somme = 0;
+
+			while (reste > 0) {
+				profondeur++;
+				int resolus = (int)Math.min(reste, niveau);
+				somme += (long)resolus * profondeur;
+				reste -= resolus;
+				niveau = Math.min(niveau * enfantsMax, taille);
+			}
+
+			tableBornes[n] = pireCas ? profondeur : (int)somme;
+		}
+
+		return tableBornes;
+	}
+
+	/**
+	 * Construit l'arbre de décision de la stratégie optimale, nœud par nœud depuis la racine.
+	 * 
+	 * @param tous : tous les codes.
+	 * @param premiere : meilleure tentative du premier tour.
+	 * 
+	 * @return L'arbre de décision : <code>ArbreDecision</code>
+	 */
+	private ArbreDecision construireArbre(int[] tous, int premiere) {
+
+		List<int[]> ensembles = new ArrayList<>();
+		int[] tentatives = new int[16];
+		int[] jouees = new int[16];
+		int[] enfants = new int[16 * nbrReponses];
+		int[] choix = new int[1];
+		Niveau niveau = new Niveau();
+
+		ensembles.add(tous);
+		tentatives[0] = premiere;
+
+		for (int noeud = 0; noeud < ensembles.size(); noeud++) {
+
+			int[] ensemble = ensembles.get(noeud);
+			int tentative = tentatives[noeud];
+			int[][] parties = partitionner(ensemble, tentative);
+			int couleursSuivantes = jouees[noeud] | couleurs[tentative];
+
+			for (int r = 0; r < nbrReponses; r++) {
+
+				int enfant = -1;
+
+				if (r != victoire && parties[r] != null) {
+
+					enfant = ensembles.size();
+					if (enfant == tentatives.length) {
+						tentatives = Arrays.copyOf(tentatives, 2 * enfant);
+						jouees = Arrays.copyOf(jouees, 2 * enfant);
+						enfants = Arrays.copyOf(enfants, 2 * enfant * nbrReponses);
+					}
+
+					System.arraycopy(parties[r], 0, niveau.ensemble, 0, parties[r].length);
+					evaluer(niveau, parties[r].length, couleursSuivantes, INFINI, choix);
+					ensembles.add(parties[r]);
+					tentatives[enfant] = choix[0];
+					jouees[enfant] = couleursSuivantes;
+				}
+
+				enfants[noeud * nbrReponses + r] = enfant;
+			}
+		}
+
+		int nbrNoeuds = ensembles.size();
+
+		return new ArbreDecision(espaceCodes.getNbrDeCases(), espaceCodes.getNbrDeCouleurs(),
+				Arrays.copyOf(tentatives, nbrNoeuds), Arrays.copyOf(enfants, nbrNoeuds * nbrReponses));
+	}
+
+	/**
+	 * Partitionne un ensemble de candidats selon leur réponse à une tentative.
+	 * 
+	 * @param ensemble : candidats triés.
+	 * @param tentative : code de la tentative.
+	 * 
+	 * @return Les candidats triés de chaque réponse codée, <code>null</code> si aucun : <code>int[][]</code>
+	 */
+	private int[][] partitionner(int[] ensemble, int tentative) {
+
+		int[] effectifs = new int[nbrReponses];
+		for (int code : ensemble) {
+			effectifs[reponse(code, tentative)]++;
+		}
+
+		int[][] parties = new int[nbrReponses][];
+		for (int r = 0; r < nbrReponses; r++) {
+			if (effectifs[r] > 0) {
+				parties[r] = new int[effectifs[r]];
+				effectifs[r] = 0;
+			}
+		}
+		for (int code : ensemble) {
+			int r = reponse(code, tentative);
+			parties[r][effectifs[r]++] = code;
+		}
+
+		return parties;
+	}
+
+	/**
+	 * Joue l'arbre contre chaque combinaison pour vérifier qu'il la trouve, et mesure sa valeur.
+	 * 
+	 * @param arbre : arbre de décision à mesurer.
+	 * 
+	 * @return Le nombre total de tentatives et le pire cas : <code>int[]</code>
+	 * 
+	 * @throws IllegalStateException si l'arbre ne trouve pas une combinaison.
+	 */
+	public int[] mesurer(ArbreDecision arbre) {
+
+		int total = 0;
+		int pire = 0;
+
+		for (int code = 0; code < taille; code++) {
+
+			int noeud = 0;
+			int tours = 0;
+			int reponse;
+
+			do {
+				int tentative = arbre.tentative(noeud);
+				if (tentative < 0) {
+					throw new IllegalStateException("Combinaison non couverte par l'arbre : " + code);
+				}
+				reponse = reponse(code, tentative);
+				noeud = arbre.enfant(noeud, reponse);
+				tours++;
+			} while (reponse != victoire);
+
+			total += tours;
+			pire = Math.max(pire, tours);
+		}
+
+		return new int[] { total, pire };
+	}
+
+	/**
+	 * Récupère la réponse d'une combinaison à une tentative, depuis la table si elle existe.
+	 * 
+	 * @param combinaison : code de la combinaison.
+	 * @param tentative : code de la tentative.
+	 * 
+	 * @return La réponse codée : <code>int</code>
+	 */
+	private int reponse(int combinaison, int tentative) {
+
+		if (reponses != null) {
+			return reponses[tentative * taille + combinaison];
+		}
+
+		return espaceCodes.reponse(combinaison, tentative);
+	}
+
+	/**
+	 * Ensemble de candidats trié, clé de la table des valeurs :
+	 * deux ensembles égaux ont la même valeur, quel que soit le chemin qui y mène.
+	 */
+	private static final class Ensemble {
+
+		/**
+		 * Codes triés des candidats, seuls les <code>n</code> premiers comptent.
+		 */
+		private final int[] codes;
+		/**
+		 * Nombre de candidats.
+		 */
+		private final int n;
+		/**
+		 * Empreinte des codes, calculée une fois.
+		 */
+		private final int empreinte;
+
+		/**
+		 * Constructeur de <i>Ensemble</i>.
+		 * 
+		 * @param codes <code>:int[]</code> Codes triés, non copiés.
+		 * @param n <code>:int</code> Nombre de candidats.
+		 */
+		private Ensemble(int[] codes, int n) {
+
+			this.codes = codes;
+			this.n = n;
+
+			int hash = 1;
+			for (int i = 0; i < n; i++) {
+				hash = 31 * hash + codes[i];
+			}
+			this.empreinte = hash;
+		}
+
+		/**
+		 * Copie les codes, pour garder l'ensemble dans la table alors que le niveau qui les contient sera réutilisé.
+		 * 
+		 * @return Un ensemble égal, propriétaire de ses codes : <code>Ensemble</code>
+		 */
+		private Ensemble copier() {
+
+			return new Ensemble(Arrays.copyOf(codes, n), n);
+		}
+
+		@Override
+		public int hashCode() {
+
+			return empreinte;
+		}
+
+		@Override
+		public boolean equals(Object autre) {
+
+			if (!(autre instanceof Ensemble)) {
+				return false;
+			}
+
+			Ensemble ensemble = (Ensemble)autre;
+
+			return n == ensemble.n && Arrays.equals(codes, 0, n, ensemble.codes, 0, n);
+		}
+	}
+
+	/**
+	 * Tableaux de travail d'un niveau de la recherche, réutilisés par tous les ensembles de ce niveau :
+	 * une tâche n'alloue qu'une fois par niveau, au lieu de copier chaque ensemble évalué.
+	 */
+	private final class Niveau {
+
+		/**
+		 * Candidats triés de l'ensemble évalué à ce niveau.
+		 */
+		private final int[] ensemble = new int[taille];
+		/**
+		 * Candidats rangés par réponse à la tentative en cours.
+		 */
+		private final int[] ranges = new int[taille];
+		/**
+		 * Réponse de chaque candidat à la tentative en cours.
+		 */
+		private final byte[] reponsesEnsemble = new byte[taille];
+		/**
+		 * Tentatives gardées par <code>trierParBorne()</code>, avec leur borne.
+		 */
+		private final long[] triees = new long[taille];
+		/**
+		 * Taille de chaque partie, pour les bornes.
+		 */
+		private final int[] effectifs = new int[nbrReponses];
+		/**
+		 * Taille de chaque partie décalée d'une case, pour le rangement.
+		 */
+		private final int[] effectifsParties = new int[nbrReponses + 1];
+		/**
+		 * Début de chaque partie dans <code>ranges</code>.
+		 */
+		private final int[] debuts = new int[nbrReponses + 1];
+		/**
+		 * Prochaine place de chaque partie dans <code>ranges</code>.
+		 */
+		private final int[] positions = new int[nbrReponses];
+		/**
+		 * Parties triées de la plus grande à la plus petite.
+		 */
+		private final long[] parTaille = new long[nbrReponses];
+		/**
+		 * Niveau suivant, créé au premier besoin.
+		 */
+		private Niveau suivant;
+
+		/**
+		 * Récupère le niveau suivant, en le créant la première fois.
+		 * 
+		 * @return Le niveau suivant : <code>Niveau</code>
+		 */
+		private Niveau suivant() {
+
+			if (suivant == null) {
+				suivant = new Niveau();
+			}
+
+			return suivant;
+		}
+	}
+
+	/**
+	 * Valeur d'un ensemble de candidats : exacte avec sa meilleure tentative,
+	 * ou seulement une borne inférieure si la recherche a été abandonnée.
+	 */
+	private static final class Valeur {
+
+		/**
+		 * Valeur exacte, ou borne inférieure.
+		 */
+		private final int valeur;
+		/**
+		 * <code>true</code> si la valeur est exacte.
+		 */
+		private final boolean exacte;
+		/**
+		 * Meilleure tentative si la valeur est exacte, sinon <code>-1</code>.
+		 */
+		private final int tentative;
+
+		/**
+		 * Constructeur de <i>Valeur</i>.
+		 * 
+		 * @param valeur <code>:int</code> Valeur exacte, ou borne inférieure.
+		 * @param exacte <code>:boolean</code> <code>true</code> si la valeur est exacte.
+		 * @param tentative <code>:int</code> Meilleure tentative, ou <code>-1</code>.
+		 */
+		private Valeur(int valeur, boolean exacte, int tentative) {
+
+			this.valeur = valeur;
+			this.exacte = exacte;
+			this.tentative = tentative;
+		}
+	}
+
+}
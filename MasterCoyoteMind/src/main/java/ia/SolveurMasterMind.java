@@ -0,0 +1,490 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+import java.io.IOException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Moteur de l'IA qui cherche la combinaison d'une partie de type <i>MasterMind</i>,
+ * partagé par les modes <i>Defenseur</i> et <i>Duel</i>.
+ * 
+ * <p>Une partie se joue en trois appels :</p>
+ * <ul>
+ * <li><code>reinitialiser()</code> en début de partie.</li>
+ * <li><code>prochaineTentative(int[])</code> pour obtenir la tentative de l'IA.</li>
+ * <li><code>appliquerReponse(int)</code> avec la réponse obtenue par cette tentative.</li>
+ * </ul>
+ * 
+ * <p>Quand l'espace tient en mémoire, <code>sauvegarder()</code> et <code>restaurer(EtatSolveur)</code>
+ * permettent à une recherche d'explorer plusieurs suites de la partie sans recopier les candidats,
+ * et <code>cleChoix()</code> reconnaît les solveurs qui joueraient la même tentative.</p>
+ * 
+ * <p>Si l'espace des combinaisons tient en mémoire, les candidats sont gardés dans un
+ * {@link EnsembleCandidats} et la tentative est choisie par une {@link StrategieIA}.
+ * Sinon l'IA joue le prochain code compatible donné par un {@link GenerateurCompatibles}.</p>
+ * 
+ * <p>Tous les tableaux sont alloués à la construction ou au premier tour :
+ * un tour de jeu n'alloue ensuite plus rien, sauf avec une stratégie qui note en parallèle.</p>
+ * 
+ * @author Coyote
+ */
+public class SolveurMasterMind {
+
+
+	/**
+	 * Espace de toutes les combinaisons possibles, avec les chiffres et histogrammes en cache.
+	 * Vaut <code>null</code> si l'espace est trop grand pour être mis en cache.
+	 */
+	private final EspaceCodes espaceCodes;
+	/**
+	 * Ensemble des codes encore possibles pour les tentatives de l'IA.
+	 */
+	private final EnsembleCandidats choixRestantIA;
+	/**
+	 * Noyau qui filtre <code>choixRestantIA</code> par blocs de codes.
+	 */
+	private final NoyauReponses noyauIA;
+	/**
+	 * Espace de toutes les combinaisons possibles quand il est trop grand pour <code>espaceCodes</code>,
+	 * <code>null</code> sinon.
+	 */
+	private final EspaceCodesEtendu espaceCodesEtendu;
+	/**
+	 * Source des codes encore possibles pour l'IA quand l'espace est trop grand.
+	 * 
+	 * @see GenerateurCompatibles
+	 */
+	private final SourceCandidats sourceCandidatsIA;
+	/**
+	 * Espace utilisé pour calculer les réponses, mis en cache ou non.
+	 */
+	private final AbstractEspaceCodes espace;
+	/**
+	 * Générateur de nombres aléatoires de l'IA.
+	 */
+	private final GenerateurAleatoire rand;
+	/**
+	 * Stratégie qui choisit les tentatives de l'IA.
+	 * 
+	 * @see StrategieMinimax
+	 * @see StrategieLivre
+	 * @see ArbreDecision
+	 */
+	private StrategieIA strategieIA;
+	/**
+	 * Code de la dernière tentative de l'IA.
+	 */
+	private int codeTentativeIA;
+	/**
+	 * Chiffres compactés de la dernière tentative de l'IA.
+	 */
+	private long chiffresTentativeIA;
+	/**
+	 * Nombre de réponses appliquées depuis le début de la partie.
+	 */
+	private int nbrTentativesIA;
+	/**
+	 * Estimation de la mémoire d'un solveur hors des tableaux qui dépendent du nombre de codes.
+	 */
+	private static final long OCTETS_SOLVEUR = 1024;
+	/**
+	 * Création de l'objet Logger permettant la gestion des logs de l'application.
+	 */
+	private static final Logger LOG = LogManager.getLogger();
+
+
+	/**
+	 * Constructeur de <i>SolveurMasterMind</i> avec la stratégie minimax,
+	 * précédée de l'arbre de décision ou du livre d'ouvertures de la configuration s'il existe.
+	 * 
+	 * @param nbrDeCases <code>:int</code> Nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs <code>:int</code> Nombre de couleurs differentes.
+	 */
+	public SolveurMasterMind(int nbrDeCases, int nbrDeCouleurs) {
+
+		this(nbrDeCases, nbrDeCouleurs, new GenerateurSplittable(GenerateurSplittable.nouvelleGraine()));
+	}
+
+	/**
+	 * Constructeur de <i>SolveurMasterMind</i> dont les choix aléatoires
+	 * viennent d'un générateur donné, pour rejouer une partie à partir de sa graine.
+	 * 
+	 * @param nbrDeCases <code>:int</code> Nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs <code>:int</code> Nombre de couleurs differentes.
+	 * @param rand <code>:GenerateurAleatoire</code> Générateur de nombres aléatoires de l'IA.
+	 */
+	public SolveurMasterMind(int nbrDeCases, int nbrDeCouleurs, GenerateurAleatoire rand) {
+
+		if (EspaceCodes.estTabulable(nbrDeCases, nbrDeCouleurs)) {
+			// Caches de l'espace et colonnes du noyau communs à toutes les parties de la configuration,
+			// tant que le plafond des espaces partagés le permet.
+			espaceCodes = EspaceCodes.partage(nbrDeCases, nbrDeCouleurs);
+			choixRestantIA = new EnsembleCandidats(espaceCodes.getTaille());
+			noyauIA = NoyauReponses.partage(espaceCodes);
+			espaceCodesEtendu = null;
+			sourceCandidatsIA = null;
+			espace = espaceCodes;
+		} else {
+			espaceCodes = null;
+			choixRestantIA = null;
+			noyauIA = null;
+			espaceCodesEtendu = new EspaceCodesEtendu(nbrDeCases, nbrDeCouleurs);
+			sourceCandidatsIA = new GenerateurCompatibles(espaceCodesEtendu);
+			espace = espaceCodesEtendu;
+		}
+
+		this.rand = rand;
+		strategieIA = new StrategieMinimax();
+
+		// L'arbre de décision optimal, s'il existe, remplace le livre d'ouvertures.
+		try {
+			ArbreDecision arbre = ArbreDecision.charger(nbrDeCases, nbrDeCouleurs);
+			if (arbre != null) {
+				strategieIA = new StrategieLivre(arbre, strategieIA);
+				return;
+			}
+		} catch (IOException e) {
+			LOG.error("Arbre de décision illisible :", e);
+		}
+
+		// Les premiers tours sont lus dans le livre d'ouvertures s'il existe.
+		try {
+			LivreOuvertures livre = LivreOuvertures.charger(nbrDeCases, nbrDeCouleurs);
+			if (livre != null) {
+				strategieIA = new StrategieLivre(livre, strategieIA);
+			}
+		} catch (IOException e) {
+			LOG.error("Livre d'ouvertures illisible :", e);
+		}
+	}
+
+	/**
+	 * (Re)Initialise les choix de l'IA en début de partie.
+	 */
+	public void reinitialiser() {
+
+		if (espaceCodes == null) {
+			sourceCandidatsIA.reinitialiser(rand);
+		} else {
+			choixRestantIA.remplir();
+		}
+		nbrTentativesIA = 0;
+		strategieIA.reinitialiser();
+	}
+
+	/**
+	 * Choisit la prochaine tentative de l'IA.
+	 * 
+	 * @param tentative : tableau de taille <code>nbrDeCases</code> qui reçoit les chiffres de la tentative.
+	 */
+	public void prochaineTentative(int[] tentative) {
+
+		if (espaceCodes == null) {
+
+			// Espace trop grand : l'IA joue le prochain code compatible.
+			chiffresTentativeIA = sourceCandidatsIA.suivant();
+
+		} else {
+
+			// Choix de l'IA délégué à sa stratégie parmis sa liste de choix.
+			codeTentativeIA = strategieIA.choisirTentative(espaceCodes, choixRestantIA, rand);
+			chiffresTentativeIA = espaceCodes.chiffres(codeTentativeIA);
+		}
+
+		espace.decompacter(chiffresTentativeIA, tentative);
+	}
+
+	/**
+	 * Calcule la réponse que la dernière tentative obtient contre une combinaison.
+	 * 
+	 * @param combinaison : chiffres de la combinaison à trouver.
+	 * 
+	 * @return La réponse codée, à lire avec <code>bienPlace()</code> et <code>present()</code>.
+	 */
+	public int repondre(int[] combinaison) {
+
+		return espace.reponseChiffres(espace.compacter(combinaison), chiffresTentativeIA);
+	}
+
+	/**
+	 * Enlève des choix de l'IA toutes combinaisons qui ne renverraient pas
+	 * la même réponse à la dernière tentative si elle étaient la solution.
+	 * 
+	 * <p>Sur un espace trop grand, la réponse est seulement gardée
+	 * pour rejeter les codes au fur et à mesure du parcours.</p>
+	 * 
+	 * @param reponse : réponse codée obtenue par la dernière tentative.
+	 * 
+	 * @see NoyauReponses#filtrer(EnsembleCandidats, int, int)
+	 * @see SourceCandidats#ajouterReponse(long, int)
+	 */
+	public void appliquerReponse(int reponse) {
+
+		nbrTentativesIA++;
+
+		if (espaceCodes == null) {
+			sourceCandidatsIA.ajouterReponse(chiffresTentativeIA, reponse);
+			return;
+		}
+
+		// Même résultat que estCompatible() sur chaque code, 16 codes à la fois.
+		noyauIA.filtrer(choixRestantIA, codeTentativeIA, reponse);
+		strategieIA.reponseRecue(codeTentativeIA, reponse);
+	}
+
+	/**
+	 * Joue une tentative choisie en dehors de la stratégie et applique sa réponse,
+	 * pour explorer une suite de la partie.
+	 * 
+	 * @param code : code de la tentative.
+	 * @param reponse : réponse codée obtenue par cette tentative.
+	 * 
+	 * @throws IllegalStateException si l'espace des combinaisons est trop grand pour être mis en cache.
+	 */
+	public void jouerTentative(int code, int reponse) {
+
+		verifierEspaceCodes();
+
+		codeTentativeIA = code;
+		chiffresTentativeIA = espaceCodes.chiffres(code);
+		appliquerReponse(reponse);
+	}
+
+	/**
+	 * Impose la prochaine tentative de l'IA au lieu de la faire choisir par la stratégie,
+	 * pour rejouer une partie dont les tentatives sont connues.
+	 * La réponse se calcule et s'applique ensuite comme après <code>prochaineTentative()</code>.
+	 * 
+	 * @param tentative : chiffres de la tentative.
+	 */
+	public void imposerTentative(int[] tentative) {
+
+		chiffresTentativeIA = espace.compacter(tentative);
+
+		if (espaceCodes != null) {
+			codeTentativeIA = espaceCodes.encoder(tentative);
+		}
+	}
+
+	/**
+	 * Estime la mémoire propre au solveur, en octets : candidats et tampons de la stratégie,
+	 * qui grandissent avec le nombre de codes. L'espace des codes et les colonnes du noyau
+	 * ne sont comptés que s'ils ne sont pas partagés par toutes les parties de la configuration.
+	 * 
+	 * @return <code>long</code>
+	 */
+	public long estimerMemoire() {
+
+		if (espaceCodes == null) {
+			return estimerMemoire(espace.getNbrDeCases(), espace.getNbrDeCouleurs());
+		}
+
+		return estimerMemoire(espace.getNbrDeCases(), espace.getNbrDeCouleurs(), espaceCodes.estPartage());
+	}
+
+	/**
+	 * Estime la mémoire propre d'un solveur, en octets, avant de le construire.
+	 * L'espace des codes est compté s'il ne pourrait pas être partagé.
+	 * 
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs differentes.
+	 * 
+	 * @return <code>long</code>
+	 * 
+	 * @see SolveurMasterMind#estimerMemoire()
+	 * @see EspaceCodes#estPartageable(int, int)
+	 */
+	public static long estimerMemoire(int nbrDeCases, int nbrDeCouleurs) {
+
+		if (!EspaceCodes.estTabulable(nbrDeCases, nbrDeCouleurs)) {
+			// Parcours des codes compatibles : quelques tableaux par case et par couleur.
+			return OCTETS_SOLVEUR + 64L * nbrDeCases * nbrDeCouleurs;
+		}
+
+		return estimerMemoire(nbrDeCases, nbrDeCouleurs, EspaceCodes.estPartageable(nbrDeCases, nbrDeCouleurs));
+	}
+
+	/**
+	 * Estime la mémoire propre d'un solveur dont l'espace des codes est mis en cache.
+	 * 
+	 * @param nbrDeCases : nombre de cases du plateau de jeu.
+	 * @param nbrDeCouleurs : nombre de couleurs differentes.
+	 * @param partage : <code>true</code> si l'espace des codes est partagé.
+	 * 
+	 * @return <code>long</code>
+	 */
+	private static long estimerMemoire(int nbrDeCases, int nbrDeCouleurs, boolean partage) {
+
+		long taille = (long)Math.pow(nbrDeCouleurs, nbrDeCases);
+
+		// Candidats, puis candidats et tentatives de la stratégie.
+		long octets = OCTETS_SOLVEUR + taille / Byte.SIZE + 2 * Integer.BYTES * taille;
+
+		return partage ? octets : octets + EspaceCodes.estimerMemoire(nbrDeCases, nbrDeCouleurs, false);
+	}
+
+	/**
+	 * Prend un instantané de l'état du solveur, sans recopier les candidats.
+	 * 
+	 * @return L'instantané : <code>EtatSolveur</code>
+	 * 
+	 * @throws IllegalStateException si l'espace des combinaisons est trop grand pour être mis en cache.
+	 */
+	public EtatSolveur sauvegarder() {
+
+		verifierEspaceCodes();
+
+		return new EtatSolveur(choixRestantIA.copie(), codeTentativeIA, nbrTentativesIA, strategieIA.sauvegarderEtat());
+	}
+
+	/**
+	 * Donne la clé de tout ce dont dépend la prochaine tentative de l'IA, en temps proportionnel
+	 * au nombre de mots des candidats. Deux solveurs de clés égales peuvent jouer la même tentative.
+	 * La clé lit les candidats du solveur sans les copier : elle ne vaut que jusqu'à la prochaine
+	 * modification du solveur.
+	 * 
+	 * @return La clé, ou <code>null</code> si l'espace des combinaisons est trop grand pour être mis en cache : <code>CleChoixIA</code>
+	 */
+	public CleChoixIA cleChoix() {
+
+		if (espaceCodes == null) {
+			return null;
+		}
+
+		return new CleChoixIA(espaceCodes, strategieIA, nbrTentativesIA, choixRestantIA);
+	}
+
+	/**
+	 * Remet le solveur dans l'état d'un instantané, en temps constant.
+	 * L'instantané peut venir d'un autre solveur de la même configuration.
+	 * 
+	 * @param etat : instantané pris par <code>sauvegarder()</code>.
+	 * 
+	 * @throws IllegalStateException si l'espace des combinaisons est trop grand pour être mis en cache.
+	 * @throws IllegalArgumentException si l'instantané vient d'une autre configuration.
+	 */
+	public void restaurer(EtatSolveur etat) {
+
+		verifierEspaceCodes();
+
+		choixRestantIA.restaurer(etat.candidats());
+		codeTentativeIA = etat.getCodeTentative();
+		chiffresTentativeIA = espaceCodes.chiffres(codeTentativeIA);
+		nbrTentativesIA = etat.getNbrTentatives();
+		strategieIA.restaurerEtat(etat.getEtatStrategie());
+	}
+
+	/**
+	 * Vérifie que les candidats sont gardés en mémoire, seul cas où l'état du solveur peut être copié.
+	 * 
+	 * @throws IllegalStateException si l'espace des combinaisons est trop grand pour être mis en cache.
+	 */
+	private void verifierEspaceCodes() {
+
+		if (espaceCodes == null) {
+			throw new IllegalStateException("Espace de " + espace.getNbrDeCases() + " cases trop grand pour copier l'état de l'IA");
+		}
+	}
+
+	/**
+	 * Récupère le nombre de réponses appliquées depuis le début de la partie.
+	 * 
+	 * @return int : nombre de tentatives de l'IA.
+	 */
+	public int getNbrTentatives() {
+
+		return nbrTentativesIA;
+	}
+
+	/**
+	 * Permet de tester si un code renverrait la même réponse à la dernière tentative
+	 * s'il était la solution.
+	 * 
+	 * @param code : code d'un élément des choix de l'IA.
+	 * @param reponse : réponse codée obtenue par la dernière tentative.
+	 * 
+	 * @return true si le code est encore possible.
+	 */
+	public boolean estCompatible(int code, int reponse) {
+
+		return espaceCodes.reponse(code, codeTentativeIA) == reponse;
+	}
+
+	/**
+	 * Lit le nombre de bien placés d'une réponse codée.
+	 * 
+	 * @param reponse : la réponse codée.
+	 * 
+	 * @return Le nombre de chiffres bien placés : <code>int</code>
+	 */
+	public int bienPlace(int reponse) {
+
+		return espace.bienPlace(reponse);
+	}
+
+	/**
+	 * Lit le nombre de présents d'une réponse codée.
+	 * 
+	 * @param reponse : la réponse codée.
+	 * 
+	 * @return Le nombre de chiffres présents : <code>int</code>
+	 */
+	public int present(int reponse) {
+
+		return espace.present(reponse);
+	}
+
+	/**
+	 * Décrit les choix restants de l'IA pour le mode développeur.
+	 * 
+	 * @return Le nombre de candidats, ou le parcours effectué sur un espace trop grand : <code>String</code>
+	 */
+	public String decrireChoixRestants() {
+
+		if (espaceCodes == null) {
+			return "Parcours IA :" + sourceCandidatsIA.getNbrParcourus();
+		}
+		return "ListeChoix IA :" + choixRestantIA.cardinal();
+	}
+
+	/**
+	 * Remplace la stratégie qui choisit les tentatives de l'IA.
+	 * Elle n'est utilisée que si l'espace des combinaisons est mis en cache.
+	 * 
+	 * @param strategieIA : la nouvelle stratégie.
+	 * 
+	 * @see StrategieIA
+	 */
+	public void setStrategieIA(StrategieIA strategieIA) {
+
+		this.strategieIA = strategieIA;
+	}
+
+	/**
+	 * Récupère la stratégie qui choisit les tentatives de l'IA.
+	 * 
+	 * @return La stratégie : <code>StrategieIA</code>
+	 */
+	public StrategieIA getStrategieIA() {
+
+		return strategieIA;
+	}
+
+}
@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Moteur de l'IA qui cherche la combinaison d'une partie de type <i>Recherche</i>,
+ * partagé par les modes <i>Defenseur</i> et <i>Duel</i>.
+ * 
+ * <p>Une partie se joue en trois appels :</p>
+ * <ul>
+ * <li><code>reinitialiser()</code> en début de partie.</li>
+ * <li><code>prochaineTentative(int[])</code> pour obtenir la tentative de l'IA.</li>
+ * <li><code>appliquerReponse(int[])</code> avec l'indice obtenu pour chaque case.</li>
+ * </ul>
+ * 
+ * <p>Les chiffres encore possibles de chaque case, de 0 à <code>CHIFFRE_MAX</code>, forment toujours
+ * un intervalle <code>[minimum, maximum]</code>, gardé dans deux tableaux d'<code>int</code>.
+ * L'IA propose le milieu de chaque intervalle : c'est une recherche dichotomique,
+ * qui trouve chaque case en au plus 4 tentatives.
+ * Un tour coûte O(cases) et n'alloue rien : les tableaux sont parcourus d'un bloc, sans objet par case.</p>
+ * 
+ * @author Coyote
+ */
+public class SolveurRecherche {
+
+
+	/**
+	 * Indice d'une case dont le chiffre de la combinaison est plus grand que celui de la tentative (<code>+</code>).
+	 */
+	public static final int SUPERIEUR = 1;
+	/**
+	 * Indice d'une case dont le chiffre de la combinaison est égal à celui de la tentative (<code>=</code>).
+	 */
+	public static final int EGAL = 0;
+	/**
+	 * Indice d'une case dont le chiffre de la combinaison est plus petit que celui de la tentative (<code>-</code>).
+	 */
+	public static final int INFERIEUR = -1;
+	/**
+	 * Plus grand chiffre d'une case.
+	 */
+	public static final int CHIFFRE_MAX = 9;
+	/**
+	 * Nombre de caractères écrits d'un coup par <code>ecrireReponse()</code>.
+	 */
+	private static final int TAILLE_TAMPON = 8192;
+	/**
+	 * Plus petit chiffre encore possible de chaque case.
+	 */
+	private final int[] minimumIA;
+	/**
+	 * Plus grand chiffre encore possible de chaque case.
+	 */
+	private final int[] maximumIA;
+	/**
+	 * Dernière tentative de l'IA.
+	 */
+	private final int[] tentativeIA;
+
+
+	/**
+	 * Constructeur de <i>SolveurRecherche</i>, des chiffres de 0 à <code>CHIFFRE_MAX</code> dans chaque case.
+	 * 
+	 * @param nbrDeCases <code>:int</code> Nombre de cases du plateau de jeu.
+	 */
+	public SolveurRecherche(int nbrDeCases) {
+
+		minimumIA = new int[nbrDeCases];
+		maximumIA = new int[nbrDeCases];
+		tentativeIA = new int[nbrDeCases];
+	}
+
+	/**
+	 * (Re)Initialise les choix de l'IA en début de partie : tous les chiffres de chaque case.
+	 */
+	public void reinitialiser() {
+
+		Arrays.fill(minimumIA, 0);
+		Arrays.fill(maximumIA, CHIFFRE_MAX);
+	}
+
+	/**
+	 * Choisit la prochaine tentative de l'IA : le milieu de l'intervalle de chaque case.
+	 * 
+	 * @param tentative : tableau de taille <code>nbrDeCases</code> qui reçoit les chiffres de la tentative.
+	 */
+	public void prochaineTentative(int[] tentative) {
+
+		for (int i = 0; i < tentativeIA.length; i++) {
+			tentativeIA[i] = (minimumIA[i] + maximumIA[i]) >>> 1;
+		}
+
+		System.arraycopy(tentativeIA, 0, tentative, 0, tentativeIA.length);
+	}
+
+	/**
+	 * Calcule l'indice de chaque case de la dernière tentative contre une combinaison de chiffres.
+	 * 
+	 * @param combinaison : chiffres de la combinaison à trouver.
+	 * @param reponse : tableau de taille <code>nbrDeCases</code> qui reçoit
+	 * <code>SUPERIEUR</code>, <code>EGAL</code> ou <code>INFERIEUR</code> pour chaque case.
+	 */
+	public void repondre(int[] combinaison, int[] reponse) {
+
+		comparer(combinaison, tentativeIA, reponse);
+	}
+
+	/**
+	 * Resserre l'intervalle de chaque case d'après l'indice obtenu par la dernière tentative.
+	 * 
+	 * @param reponse : <code>SUPERIEUR</code>, <code>EGAL</code> ou <code>INFERIEUR</code> pour chaque case.
+	 */
+	public void appliquerReponse(int[] reponse) {
+
+		for (int i = 0; i < tentativeIA.length; i++) {
+
+			int valeur = tentativeIA[i];
+
+			if (reponse[i] == EGAL) {
+				minimumIA[i] = valeur;
+				maximumIA[i] = valeur;
+			} else if (reponse[i] == SUPERIEUR) {
+				minimumIA[i] = valeur + 1;
+			} else {
+				maximumIA[i] = valeur - 1;
+			}
+		}
+	}
+
+	/**
+	 * Calcule l'indice de chaque case d'une tentative de chiffres contre une combinaison de chiffres.
+	 * 
+	 * @param combinaison : chiffres de la combinaison à trouver.
+	 * @param tentative : chiffres de la tentative comparée.
+	 * @param reponse : tableau qui reçoit <code>SUPERIEUR</code>, <code>EGAL</code>
+	 * ou <code>INFERIEUR</code> pour chaque case.
+	 */
+	public static void comparer(int[] combinaison, int[] tentative, int[] reponse) {
+
+		for (int i = 0; i < reponse.length; i++) {
+			reponse[i] = Integer.compare(combinaison[i], tentative[i]);
+		}
+	}
+
+	/**
+	 * Teste si toutes les cases d'une réponse sont trouvées.
+	 * 
+	 * @param reponse : indice de chaque case.
+	 * 
+	 * @return <code>true</code> si toutes les cases valent <code>EGAL</code>.
+	 */
+	public static boolean estTrouvee(int[] reponse) {
+
+		for (int i = 0; i < reponse.length; i++) {
+			if (reponse[i] != EGAL) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Écrit une réponse sur une ligne, un caractère <code>+</code>, <code>=</code> ou <code>-</code> par case.
+	 * 
+	 * <p>Les caractères passent par un tampon de taille fixe, vidé au fur et à mesure,
+	 * sans construire de chaîne.</p>
+	 * 
+	 * @param reponse : indice de chaque case.
+	 * @param sortie : flux d'écriture, par exemple <code>System.out</code>.
+	 */
+	public static void ecrireReponse(int[] reponse, PrintStream sortie) {
+
+		byte[] tampon = new byte[Math.min(reponse.length, TAILLE_TAMPON)];
+		int rempli = 0;
+
+		for (int i = 0; i < reponse.length; i++) {
+
+			if (rempli == tampon.length) {
+				sortie.write(tampon, 0, rempli);
+				rempli = 0;
+			}
+
+			if (reponse[i] == EGAL) {
+				tampon[rempli++] = '=';
+			} else if (reponse[i] == SUPERIEUR) {
+				tampon[rempli++] = '+';
+			} else {
+				tampon[rempli++] = '-';
+			}
+		}
+
+		sortie.write(tampon, 0, rempli);
+		sortie.println();
+	}
+
+	/**
+	 * Décrit les choix restants de l'IA pour le mode développeur.
+	 * 
+	 * @return L'intervalle des valeurs encore possibles de chaque case : <code>String</code>
+	 */
+	public String decrireChoixRestants() {
+
+		StringBuilder description = new StringBuilder("ListeChoix IA :[");
+
+		for (int i = 0; i < minimumIA.length; i++) {
+
+			description.append(i == 0 ? "[" : ", [")
+					.append(minimumIA[i]).append(", ").append(maximumIA[i]).append(']');
+		}
+
+		return description.append(']').toString();
+	}
+
+	/**
+	 * Récupère le nombre de cases du plateau.
+	 * 
+	 * @return Le nombre de cases : <code>int</code>
+	 */
+	public int getNbrDeCases() {
+
+		return tentativeIA.length;
+	}
+
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+
+/**
+ * Source des codes encore possibles pour l'IA quand l'espace est trop grand
+ * pour être gardé en entier dans un {@link EnsembleCandidats}.
+ * 
+ * <p>Seules les réponses reçues sont gardées : la source renvoie à la demande
+ * le prochain code compatible avec toutes ces réponses.</p>
+ * 
+ * @see GenerateurCompatibles
+ * 
+ * @author Coyote
+ */
+public interface SourceCandidats {
+
+	/**
+	 * Oublie les réponses reçues et prépare un nouvel ordre de parcours au hasard.
+	 * 
+	 * @param rand : générateur de nombres aléatoires de la partie.
+	 */
+	void reinitialiser(GenerateurAleatoire rand);
+
+	/**
+	 * Garde la réponse obtenue par une tentative pour rejeter les codes qui ne la renverraient pas.
+	 * 
+	 * @param chiffresTentative : chiffres compactés de la tentative jouée.
+	 * @param reponse : réponse codée obtenue.
+	 */
+	void ajouterReponse(long chiffresTentative, int reponse);
+
+	/**
+	 * Cherche le prochain code compatible avec toutes les réponses reçues.
+	 * 
+	 * @return Les chiffres compactés du code trouvé, ou <code>-1</code> si aucun code n'est compatible.
+	 */
+	long suivant();
+
+	/**
+	 * Récupère le nombre de codes (ou de cases) examinés depuis le début de la partie.
+	 * 
+	 * @return long : nombre d'éléments parcourus.
+	 */
+	long getNbrParcourus();
+
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Stratégie qui choisit la tentative apportant le plus d'information en moyenne,
+ * c'est-à-dire celle dont la partition des candidats a la plus grande entropie.
+ * 
+ * <p>Chaque tentative doit être comparée à tous les candidats : la notation est donc
+ * répartie par défaut sur tous les cœurs du <code>ForkJoinPool</code> commun,
+ * avec un budget par tour multiplié d'autant.</p>
+ * 
+ * @author Coyote
+ */
+public class StrategieEntropie extends AbstractStrategiePartition {
+
+
+	/**
+	 * Constructeur qui utilise le <code>ForkJoinPool</code> commun,
+	 * avec le budget par défaut pour chacun de ses threads.
+	 * 
+	 * @see AbstractStrategiePartition#BUDGET_PAR_DEFAUT
+	 */
+	public StrategieEntropie() {
+
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructeur qui utilise le pool donné,
+	 * avec le budget par défaut pour chacun de ses threads.
+	 * 
+	 * @param pool <code>:ForkJoinPool</code> Pool utilisé pour noter les tentatives.
+	 */
+	public StrategieEntropie(ForkJoinPool pool) {
+
+		this((int)Math.min(Integer.MAX_VALUE, (long)BUDGET_PAR_DEFAUT * pool.getParallelism()), pool);
+	}
+
+	/**
+	 * Constructeur qui fixe le budget de calcul par tour et le pool utilisé.
+	 * 
+	 * @param budget <code>:int</code> Nombre de calculs de réponses autorisés par tour.
+	 * @param pool <code>:ForkJoinPool</code> Pool utilisé pour noter les tentatives, ou <code>null</code>.
+	 */
+	public StrategieEntropie(int budget, ForkJoinPool pool) {
+
+		super(budget, pool);
+	}
+
+	/**
+	 * Renvoie l'opposé de l'entropie de la partition (en nats),
+	 * pour que le meilleur score reste le plus petit.
+	 */
+	@Override
+	protected double evaluer(int[] partition, int nbrReponses, int nbrCandidats) {
+
+		// -H = somme(n * ln n) / N - ln N
+		double somme = 0;
+
+		for (int r = 0; r < nbrReponses; r++) {
+
+			int effectif = partition[r];
+
+			if (effectif > 1) {
+				somme += effectif * Math.log(effectif);
+			}
+		}
+
+		return somme / nbrCandidats - Math.log(nbrCandidats);
+	}
+
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+
+/**
+ * Stratégie utilisée par l'IA pour choisir sa prochaine tentative
+ * dans une partie de type <i>MasterMind</i>.
+ * 
+ * <p>Les modes <i>Defenseur</i> et <i>Duel</i> délèguent leur <code>tourIA()</code>
+ * à une stratégie, ce qui permet d'en changer sans toucher au déroulement de la partie.</p>
+ * 
+ * @see StrategieAleatoire
+ * @see StrategieMinimax
+ * @see StrategieEntropie
+ * 
+ * @author Coyote
+ */
+public interface StrategieIA {
+
+	/**
+	 * Choisit la prochaine tentative de l'IA.
+	 * 
+	 * @param espaceCodes : espace de toutes les combinaisons possibles.
+	 * @param candidats : codes encore compatibles avec les réponses déjà reçues, jamais vide.
+	 * @param rand : générateur de nombres aléatoires de la partie.
+	 * 
+	 * @return Le code de la tentative : <code>int</code>
+	 */
+	int choisirTentative(EspaceCodes espaceCodes, EnsembleCandidats candidats, GenerateurAleatoire rand);
+
+	/**
+	 * Prévient la stratégie du début d'une nouvelle partie.
+	 */
+	default void reinitialiser() {
+		// Aucun état à remettre à zéro par défaut.
+	}
+
+	/**
+	 * Prévient la stratégie de la réponse obtenue par la dernière tentative.
+	 * 
+	 * @param tentative : code de la tentative jouée.
+	 * @param reponse : réponse codée obtenue.
+	 */
+	default void reponseRecue(int tentative, int reponse) {
+		// Aucun historique à garder par défaut.
+	}
+
+	/**
+	 * Résume l'état de la stratégie dans la partie en cours, pour un instantané du solveur.
+	 * 
+	 * @return L'état de la stratégie : <code>long</code>
+	 * 
+	 * @see EtatSolveur
+	 */
+	default long sauvegarderEtat() {
+		return 0L;
+	}
+
+	/**
+	 * Remet la stratégie dans un état donné par <code>sauvegarderEtat()</code>.
+	 * 
+	 * @param etat : état de la stratégie.
+	 */
+	default void restaurerEtat(long etat) {
+		// Aucun état à restaurer par défaut.
+	}
+
+}
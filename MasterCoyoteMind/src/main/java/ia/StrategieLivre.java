@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+
+/**
+ * Stratégie qui joue les tentatives d'un livre d'ouvertures tant que la partie y est couverte,
+ * puis laisse une autre stratégie choisir.
+ * 
+ * <p>Les premiers tours, les plus coûteux à calculer, se résument alors à une lecture en mémoire.
+ * Un arbre de décision complet se suit de la même façon, jusqu'à la victoire.</p>
+ * 
+ * @see LivreOuvertures
+ * @see ArbreDecision
+ * 
+ * @author Coyote
+ */
+public class StrategieLivre implements StrategieIA {
+
+
+	/**
+	 * Livre d'ouvertures, ou arbre de décision, consulté.
+	 */
+	private final ArbreTentatives livre;
+	/**
+	 * Stratégie utilisée en dehors du livre.
+	 */
+	private final StrategieIA strategie;
+	/**
+	 * Nœud du livre correspondant à la partie en cours, <code>-1</code> en dehors du livre.
+	 */
+	private int noeud;
+
+
+	/**
+	 * Constructeur de <i>StrategieLivre</i>.
+	 * 
+	 * @param livre <code>:ArbreTentatives</code> Livre d'ouvertures, ou arbre de décision, de la configuration jouée.
+	 * @param strategie <code>:StrategieIA</code> Stratégie utilisée en dehors du livre.
+	 */
+	public StrategieLivre(ArbreTentatives livre, StrategieIA strategie) {
+
+		this.livre = livre;
+		this.strategie = strategie;
+		noeud = 0;
+	}
+
+	@Override
+	public int choisirTentative(EspaceCodes espaceCodes, EnsembleCandidats candidats, GenerateurAleatoire rand) {
+
+		int tentative = livre.tentative(noeud);
+
+		if (tentative >= 0 && tentative < espaceCodes.getTaille()) {
+			return tentative;
+		}
+
+		noeud = -1;
+		return strategie.choisirTentative(espaceCodes, candidats, rand);
+	}
+
+	@Override
+	public void reinitialiser() {
+
+		noeud = 0;
+		strategie.reinitialiser();
+	}
+
+	@Override
+	public void reponseRecue(int tentative, int reponse) {
+
+		// Une tentative jouée hors du livre fait sortir du livre pour le reste de la partie.
+		if (livre.tentative(noeud) == tentative) {
+			noeud = livre.enfant(noeud, reponse);
+		} else {
+			noeud = -1;
+		}
+
+		strategie.reponseRecue(tentative, reponse);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * L'état est le nœud du livre : la stratégie utilisée en dehors du livre ne doit pas en avoir.
+	 */
+	@Override
+	public long sauvegarderEtat() {
+
+		return noeud;
+	}
+
+	@Override
+	public void restaurerEtat(long etat) {
+
+		noeud = (int) etat;
+	}
+
+}
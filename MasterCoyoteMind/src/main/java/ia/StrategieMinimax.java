@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+/**
+ * Stratégie <i>minimax</i> de Knuth : choisit la tentative dont la plus grande case
+ * de la partition des candidats est la plus petite possible.
+ * 
+ * <p>Sur un plateau de 4 cases et 6 couleurs, elle trouve toujours la combinaison
+ * en 5 tentatives ou moins.</p>
+ * 
+ * @author Coyote
+ */
+public class StrategieMinimax extends AbstractStrategiePartition {
+
+
+	/**
+	 * Constructeur avec le budget de calcul par défaut.
+	 * 
+	 * @see AbstractStrategiePartition#BUDGET_PAR_DEFAUT
+	 */
+	public StrategieMinimax() {
+
+		super(BUDGET_PAR_DEFAUT);
+	}
+
+	/**
+	 * Constructeur qui fixe le budget de calcul par tour.
+	 * 
+	 * @param budget <code>:int</code> Nombre de calculs de réponses autorisés par tour.
+	 */
+	public StrategieMinimax(int budget) {
+
+		super(budget);
+	}
+
+	@Override
+	protected double evaluer(int[] partition, int nbrReponses, int nbrCandidats) {
+
+		int plusGrande = 0;
+
+		for (int r = 0; r < nbrReponses; r++) {
+			plusGrande = Math.max(plusGrande, partition[r]);
+		}
+
+		return plusGrande;
+	}
+
+	@Override
+	protected boolean abandonner(int effectif, double meilleurScore) {
+
+		return effectif > meilleurScore;
+	}
+
+}
@@ -0,0 +1,643 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package ia;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Stratégie de recherche arborescente Monte-Carlo (<i>MCTS</i>), pour le mode <i>Duel</i>
+ * où l'IA doit trouver la combinaison avant le joueur.
+ * 
+ * <p>Chaque simulation tire au hasard une combinaison parmi les candidats, descend l'arbre
+ * en choisissant les tentatives par <i>UCT</i>, ajoute un nœud, puis finit la partie
+ * en jouant des candidats tirés au hasard. Une simulation rapporte d'autant plus
+ * que la combinaison est trouvée tôt, et rien au-delà des essais restants :
+ * la stratégie cherche donc à gagner la course, pas seulement à réduire les candidats.</p>
+ * 
+ * <p>Les simulations se font sur des tableaux de codes alloués une fois par tour,
+ * avec les réponses de {@link EspaceCodes#reponse(int, int)} : seul l'ajout d'un nœud alloue.
+ * Arbres et tableaux sont libérés à la fin du tour, si bien qu'entre deux tours
+ * la stratégie ne garde rien qui grandisse avec les candidats.
+ * Avec un <code>ForkJoinPool</code>, chaque thread du pool construit son propre arbre
+ * et les visites de la racine sont additionnées.</p>
+ * 
+ * <p>Tant qu'il reste plus de <code>MAX_CANDIDATS</code> candidats, les tentatives sont
+ * choisies par une autre stratégie, qui reste prévenue de chaque réponse.
+ * Avec un nombre de simulations limité et sans pool, le choix ne dépend que du générateur de la partie :
+ * c'est le budget par défaut, une limite de temps ou un pool rendent le choix dépendant de la machine.</p>
+ * 
+ * @author Coyote
+ */
+public class StrategieMonteCarlo implements StrategieIA {
+
+
+	/**
+	 * Nombre maximum de candidats pour lancer la recherche.
+	 */
+	public static final int MAX_CANDIDATS = 2048;
+	/**
+	 * Nombre de simulations par tour par défaut, environ 25 ms pour un plateau 4x6 sur un cœur.
+	 */
+	public static final int SIMULATIONS_PAR_DEFAUT = 4000;
+	/**
+	 * Nombre maximum de tentatives essayées à la racine.
+	 */
+	private static final int MAX_ACTIONS_RACINE = 32;
+	/**
+	 * Coefficient d'exploration de <i>UCT</i>, pour des gains entre 0 et 1.
+	 */
+	private static final double EXPLORATION = 0.7;
+	/**
+	 * Nombre maximum de nœuds d'un arbre, au-delà les simulations n'en ajoutent plus.
+	 */
+	private static final int MAX_NOEUDS = 200_000;
+	/**
+	 * Nombre de simulations entre deux lectures de l'horloge.
+	 */
+	private static final int SIMULATIONS_PAR_CONTROLE = 16;
+	/**
+	 * Nombre d'essais de la partie.
+	 */
+	private final int nbrEssais;
+	/**
+	 * Temps de recherche par tour, en nanosecondes.
+	 */
+	private final long dureeNanos;
+	/**
+	 * Nombre maximum de simulations par arbre et par tour, <code>0</code> pour ne limiter que le temps.
+	 */
+	private final int maxSimulations;
+	/**
+	 * Pool qui construit un arbre par thread, <code>null</code> pour chercher dans le thread de l'appelant.
+	 */
+	private final ForkJoinPool pool;
+	/**
+	 * Stratégie utilisée tant qu'il y a trop de candidats.
+	 */
+	private final StrategieIA strategie;
+	/**
+	 * Nombre de tentatives déjà jouées dans la partie.
+	 */
+	private int nbrTentatives;
+
+
+	/**
+	 * Constructeur avec le nombre de simulations par défaut, dans le thread de l'appelant.
+	 * 
+	 * @param nbrEssais <code>:int</code> Nombre d'essais de la partie.
+	 * @param strategie <code>:StrategieIA</code> Stratégie utilisée tant qu'il y a trop de candidats.
+	 * 
+	 * @see StrategieMonteCarlo#SIMULATIONS_PAR_DEFAUT
+	 */
+	public StrategieMonteCarlo(int nbrEssais, StrategieIA strategie) {
+
+		this(nbrEssais, 0, SIMULATIONS_PAR_DEFAUT, null, strategie);
+	}
+
+	/**
+	 * Constructeur qui fixe le budget de recherche par tour.
+	 * 
+	 * @param nbrEssais <code>:int</code> Nombre d'essais de la partie.
+	 * @param dureeMillis <code>:long</code> Temps de recherche par tour, en millisecondes.
+	 * @param maxSimulations <code>:int</code> Nombre maximum de simulations par arbre et par tour, <code>0</code> sans limite.
+	 * @param pool <code>:ForkJoinPool</code> Pool qui construit un arbre par thread, ou <code>null</code>.
+	 * @param strategie <code>:StrategieIA</code> Stratégie utilisée tant qu'il y a trop de candidats.
+	 */
+	public StrategieMonteCarlo(int nbrEssais, long dureeMillis, int maxSimulations, ForkJoinPool pool, StrategieIA strategie) {
+
+		if (nbrEssais < 1 || dureeMillis < 0 || maxSimulations < 0 || (dureeMillis == 0 && maxSimulations == 0)) {
+			throw new IllegalArgumentException("Budget de recherche invalide : " + nbrEssais + " essais, "
+					+ dureeMillis + " ms, " + maxSimulations + " simulations");
+		}
+
+		this.nbrEssais = nbrEssais;
+		this.dureeNanos = dureeMillis == 0 ? Long.MAX_VALUE : dureeMillis * 1_000_000;
+		this.maxSimulations = maxSimulations == 0 ? Integer.MAX_VALUE : maxSimulations;
+		this.pool = pool;
+		this.strategie = strategie;
+	}
+
+	@Override
+	public int choisirTentative(EspaceCodes espaceCodes, EnsembleCandidats candidats, GenerateurAleatoire rand) {
+
+		int nbrCandidats = candidats.cardinal();
+
+		if (nbrCandidats <= 2) {
+			return candidats.suivant(0);
+		}
+		if (nbrCandidats > MAX_CANDIDATS) {
+			return strategie.choisirTentative(espaceCodes, candidats, rand);
+		}
+
+		// Racine : les candidats, plus la tentative de l'autre stratégie qui peut mieux les séparer.
+		int[] actions = new int[nbrCandidats + 1];
+		int nbrActions = candidats.copierVers(actions);
+		int[] codesCandidats = Arrays.copyOf(actions, nbrCandidats);
+		int suggestion = strategie.choisirTentative(espaceCodes, candidats, rand);
+		if (!candidats.contient(suggestion)) {
+			actions[nbrActions++] = suggestion;
+		}
+
+		nbrActions = garderMeilleures(espaceCodes, actions, nbrActions, nbrCandidats);
+
+		int essaisRestants = Math.max(1, nbrEssais - nbrTentatives);
+		long fin = System.nanoTime() + Math.min(dureeNanos, Long.MAX_VALUE / 2);
+
+		// Une recherche par arbre, oubliée à la fin du tour.
+		Recherche[] recherches = new Recherche[pool == null ? 1 : pool.getParallelism()];
+
+		for (int t = 0; t < recherches.length; t++) {
+			recherches[t] = new Recherche(espaceCodes, maxSimulations, actions, nbrActions,
+					codesCandidats, nbrCandidats, essaisRestants, rand.split(), fin);
+		}
+
+		long[] visites = new long[nbrActions];
+
+		for (long[] visitesArbre : simuler(recherches)) {
+			for (int a = 0; a < nbrActions; a++) {
+				visites[a] += visitesArbre[a];
+			}
+		}
+
+		// La tentative la plus visitée est la plus sûre.
+		int meilleure = 0;
+		for (int a = 1; a < nbrActions; a++) {
+			if (visites[a] > visites[meilleure]) {
+				meilleure = a;
+			}
+		}
+
+		return actions[meilleure];
+	}
+
+	/**
+	 * Garde à la racine les tentatives qui séparent les candidats en le plus de réponses différentes,
+	 * pour concentrer les simulations. À égalité, un candidat passe devant.
+	 * 
+	 * @param espaceCodes : espace des codes de la partie.
+	 * @param actions : tentatives de la racine, les candidats en premier, réordonnées sur place.
+	 * @param nbrActions : nombre de tentatives de la racine.
+	 * @param nbrCandidats : nombre de candidats, au début de <code>actions</code>.
+	 * 
+	 * @return Le nombre de tentatives gardées, au début de <code>actions</code> : <code>int</code>
+	 */
+	private static int garderMeilleures(EspaceCodes espaceCodes, int[] actions, int nbrActions, int nbrCandidats) {
+
+		if (nbrActions <= MAX_ACTIONS_RACINE) {
+			return nbrActions;
+		}
+
+		boolean[] vues = new boolean[espaceCodes.getNbrReponses()];
+		long[] notes = new long[nbrActions];
+
+		for (int a = 0; a < nbrActions; a++) {
+
+			int nbrParts = 0;
+			Arrays.fill(vues, false);
+
+			for (int c = 0; c < nbrCandidats; c++) {
+				int reponse = espaceCodes.reponse(actions[c], actions[a]);
+				if (!vues[reponse]) {
+					vues[reponse] = true;
+					nbrParts++;
+				}
+			}
+
+			// Note décroissante avec la qualité, puis l'index pour retrouver la tentative.
+			notes[a] = ((long) (2 * (espaceCodes.getNbrReponses() - nbrParts) + (a < nbrCandidats ? 0 : 1)) << 32) | a;
+		}
+
+		Arrays.sort(notes);
+
+		int[] gardees = new int[MAX_ACTIONS_RACINE];
+		for (int i = 0; i < MAX_ACTIONS_RACINE; i++) {
+			gardees[i] = actions[(int) notes[i]];
+		}
+		System.arraycopy(gardees, 0, actions, 0, MAX_ACTIONS_RACINE);
+
+		return MAX_ACTIONS_RACINE;
+	}
+
+	/**
+	 * Lance les recherches, dans le thread de l'appelant ou sur le pool.
+	 * 
+	 * @param recherches : une recherche par arbre.
+	 * 
+	 * @return Les visites de chaque tentative de la racine, par arbre : <code>List&lt;long[]&gt;</code>
+	 */
+	private List<long[]> simuler(Recherche[] recherches) {
+
+		List<long[]> resultats = new ArrayList<>(recherches.length);
+
+		if (pool == null) {
+			resultats.add(recherches[0].call());
+			return resultats;
+		}
+
+		List<Callable<long[]>> taches = new ArrayList<>(recherches.length);
+		for (Recherche recherche : recherches) {
+			taches.add(recherche);
+		}
+
+		try {
+			for (Future<long[]> resultat : pool.invokeAll(taches)) {
+				resultats.add(resultat.get());
+			}
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Recherche de l'IA interrompue", e);
+
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Recherche de l'IA en échec", e.getCause());
+		}
+
+		return resultats;
+	}
+
+	@Override
+	public void reinitialiser() {
+
+		nbrTentatives = 0;
+		strategie.reinitialiser();
+	}
+
+	@Override
+	public void reponseRecue(int tentative, int reponse) {
+
+		nbrTentatives++;
+		strategie.reponseRecue(tentative, reponse);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * Le nombre de tentatives jouées occupe les 32 bits de poids fort,
+	 * l'état de l'autre stratégie, qui doit tenir dans un <code>int</code>, ceux de poids faible.
+	 */
+	@Override
+	public long sauvegarderEtat() {
+
+		return ((long) nbrTentatives << 32) | (strategie.sauvegarderEtat() & 0xFFFFFFFFL);
+	}
+
+	@Override
+	public void restaurerEtat(long etat) {
+
+		nbrTentatives = (int) (etat >>> 32);
+		strategie.restaurerEtat((int) etat);
+	}
+
+
+	/**
+	 * Nœud de l'arbre : une position de la partie, avec une tentative possible par candidat.
+	 */
+	private static final class Noeud {
+
+		/**
+		 * Tentatives possibles, mélangées sauf à la racine pour que les premières essayées le soient au hasard.
+		 */
+		final int[] actions;
+		/**
+		 * Nombre de simulations passées par chaque tentative.
+		 */
+		final int[] visites;
+		/**
+		 * Somme des gains des simulations passées par chaque tentative.
+		 */
+		final double[] gains;
+		/**
+		 * Nœuds atteints par chaque tentative, indexés par réponse, alloués à la première visite.
+		 */
+		final Noeud[][] enfants;
+		/**
+		 * Nombre de tentatives déjà essayées : les premières du tableau.
+		 */
+		int nbrEssayees;
+		/**
+		 * Nombre total de simulations passées par le nœud.
+		 */
+		int total;
+
+		/**
+		 * Crée un nœud à partir des candidats de la position.
+		 * 
+		 * @param codes : tableau des tentatives possibles.
+		 * @param nbrCodes : nombre de tentatives possibles.
+		 * @param rand : générateur utilisé pour mélanger les tentatives, <code>null</code> pour les garder dans l'ordre.
+		 */
+		Noeud(int[] codes, int nbrCodes, GenerateurAleatoire rand) {
+
+			actions = new int[nbrCodes];
+			System.arraycopy(codes, 0, actions, 0, nbrCodes);
+
+			for (int i = nbrCodes - 1; i > 0 && rand != null; i--) {
+				int j = rand.nextInt(i + 1);
+				int code = actions[i];
+				actions[i] = actions[j];
+				actions[j] = code;
+			}
+
+			visites = new int[nbrCodes];
+			gains = new double[nbrCodes];
+			enfants = new Noeud[nbrCodes][];
+		}
+
+		/**
+		 * Choisit la tentative à suivre : une tentative jamais essayée, sinon la meilleure selon <i>UCT</i>.
+		 * 
+		 * @return L'index de la tentative : <code>int</code>
+		 */
+		int selectionner() {
+
+			if (nbrEssayees < actions.length) {
+				return nbrEssayees++;
+			}
+
+			double logTotal = Math.log(total);
+			int meilleure = 0;
+			double meilleurScore = Double.NEGATIVE_INFINITY;
+
+			for (int a = 0; a < actions.length; a++) {
+
+				double score = gains[a] / visites[a] + EXPLORATION * Math.sqrt(logTotal / visites[a]);
+
+				if (score > meilleurScore) {
+					meilleurScore = score;
+					meilleure = a;
+				}
+			}
+
+			return meilleure;
+		}
+	}
+
+
+	/**
+	 * Recherche d'un thread pendant un tour : un arbre et les tableaux réutilisés par ses simulations.
+	 */
+	private static final class Recherche implements Callable<long[]> {
+
+		/**
+		 * Espace des codes de la partie.
+		 */
+		private final EspaceCodes espaceCodes;
+		/**
+		 * Candidats restants à chaque profondeur de la simulation en cours.
+		 */
+		private final int[][] niveaux;
+		/**
+		 * Nœuds traversés par la simulation en cours.
+		 */
+		private final Noeud[] cheminNoeuds;
+		/**
+		 * Tentatives choisies dans les nœuds traversés.
+		 */
+		private final int[] cheminActions;
+		/**
+		 * Candidats de la racine, lus par tous les arbres du tour.
+		 */
+		private final int[] racine;
+		/**
+		 * Tentatives de la racine.
+		 */
+		private final int[] actionsRacine;
+		/**
+		 * Nombre de tentatives de la racine.
+		 */
+		private final int nbrActionsRacine;
+		/**
+		 * Nombre de candidats de la racine.
+		 */
+		private final int nbrCandidats;
+		/**
+		 * Nombre d'essais restants pour trouver la combinaison.
+		 */
+		private final int essaisRestants;
+		/**
+		 * Générateur de cet arbre.
+		 */
+		private final GenerateurAleatoire rand;
+		/**
+		 * Fin de la recherche, selon <code>System.nanoTime()</code>.
+		 */
+		private final long fin;
+		/**
+		 * Nombre maximum de simulations par tour.
+		 */
+		private final int maxSimulations;
+		/**
+		 * Nombre de nœuds de l'arbre.
+		 */
+		private int nbrNoeuds;
+
+		/**
+		 * Prépare la recherche d'un tour.
+		 * 
+		 * @param espaceCodes : espace des codes de la partie.
+		 * @param maxSimulations : nombre maximum de simulations par tour.
+		 * @param actions : tentatives de la racine.
+		 * @param nbrActions : nombre de tentatives de la racine.
+		 * @param candidats : candidats de la racine, jamais modifiés.
+		 * @param nbrCandidats : nombre de candidats.
+		 * @param essaisRestants : nombre d'essais restants.
+		 * @param rand : générateur de cet arbre.
+		 * @param fin : fin de la recherche, selon <code>System.nanoTime()</code>.
+		 */
+		Recherche(EspaceCodes espaceCodes, int maxSimulations, int[] actions, int nbrActions,
+				int[] candidats, int nbrCandidats, int essaisRestants, GenerateurAleatoire rand, long fin) {
+
+			this.espaceCodes = espaceCodes;
+			this.maxSimulations = maxSimulations;
+			this.niveaux = new int[essaisRestants + 1][nbrCandidats];
+			this.cheminNoeuds = new Noeud[essaisRestants + 1];
+			this.cheminActions = new int[essaisRestants + 1];
+			this.racine = candidats;
+			this.actionsRacine = actions;
+			this.nbrActionsRacine = nbrActions;
+			this.nbrCandidats = nbrCandidats;
+			this.essaisRestants = essaisRestants;
+			this.rand = rand;
+			this.fin = fin;
+		}
+
+		/**
+		 * Construit l'arbre jusqu'à la fin du temps ou du nombre de simulations.
+		 * 
+		 * @return Le nombre de visites de chaque tentative de la racine : <code>long[]</code>
+		 */
+		@Override
+		public long[] call() {
+
+			// Toutes les tentatives de la racine sont essayées : inutile de les mélanger.
+			Noeud arbre = new Noeud(actionsRacine, nbrActionsRacine, null);
+			nbrNoeuds = 1;
+
+			for (int s = 0; s < maxSimulations; s++) {
+
+				if (s % SIMULATIONS_PAR_CONTROLE == 0 && System.nanoTime() - fin >= 0) {
+					break;
+				}
+				simuler(arbre);
+			}
+
+			long[] visites = new long[nbrActionsRacine];
+			for (int a = 0; a < nbrActionsRacine; a++) {
+				visites[a] = arbre.visites[a];
+			}
+
+			return visites;
+		}
+
+		/**
+		 * Joue une simulation : descente dans l'arbre, ajout d'un nœud, fin de partie au hasard,
+		 * puis report du gain sur les nœuds traversés.
+		 * 
+		 * @param arbre : racine de l'arbre.
+		 */
+		private void simuler(Noeud arbre) {
+
+			int combinaison = racine[rand.nextInt(nbrCandidats)];
+			int[] candidats = racine;
+			int nbrRestants = nbrCandidats;
+			Noeud noeud = arbre;
+			int profondeur = 0;
+			double gain = 0;
+
+			while (noeud != null) {
+
+				int a = noeud.selectionner();
+				int tentative = noeud.actions[a];
+				cheminNoeuds[profondeur] = noeud;
+				cheminActions[profondeur] = a;
+				profondeur++;
+
+				if (tentative == combinaison) {
+					gain = gain(profondeur);
+					break;
+				}
+				if (profondeur >= essaisRestants) {
+					break;
+				}
+
+				int reponse = espaceCodes.reponse(combinaison, tentative);
+				int[] suivants = niveaux[profondeur];
+				nbrRestants = filtrer(candidats, nbrRestants, tentative, reponse, suivants);
+				candidats = suivants;
+
+				if (noeud.enfants[a] == null) {
+					noeud.enfants[a] = new Noeud[espaceCodes.getNbrReponses()];
+				}
+
+				Noeud enfant = noeud.enfants[a][reponse];
+
+				if (enfant == null) {
+					if (nbrNoeuds < MAX_NOEUDS) {
+						noeud.enfants[a][reponse] = new Noeud(candidats, nbrRestants, rand);
+						nbrNoeuds++;
+					}
+					gain = finirAuHasard(candidats, nbrRestants, combinaison, profondeur);
+				}
+
+				noeud = enfant;
+			}
+
+			for (int p = 0; p < profondeur; p++) {
+				Noeud n = cheminNoeuds[p];
+				int a = cheminActions[p];
+				n.visites[a]++;
+				n.gains[a] += gain;
+				n.total++;
+			}
+		}
+
+		/**
+		 * Finit la partie en jouant des candidats tirés au hasard, sans rien allouer.
+		 * 
+		 * @param candidats : candidats restants, modifiés sur place.
+		 * @param nbrRestants : nombre de candidats restants.
+		 * @param combinaison : combinaison à trouver.
+		 * @param profondeur : nombre de tentatives déjà jouées dans la simulation.
+		 * 
+		 * @return Le gain de la simulation : <code>double</code>
+		 */
+		private double finirAuHasard(int[] candidats, int nbrRestants, int combinaison, int profondeur) {
+
+			int restants = nbrRestants;
+			int coups = profondeur;
+
+			while (coups < essaisRestants) {
+
+				int tentative = candidats[rand.nextInt(restants)];
+				coups++;
+
+				if (tentative == combinaison) {
+					return gain(coups);
+				}
+
+				restants = filtrer(candidats, restants, tentative, espaceCodes.reponse(combinaison, tentative), candidats);
+			}
+
+			return 0;
+		}
+
+		/**
+		 * Garde les candidats qui renverraient la même réponse à la tentative.
+		 * La destination peut être le tableau source.
+		 * 
+		 * @param source : candidats à filtrer.
+		 * @param nbrSource : nombre de candidats à filtrer.
+		 * @param tentative : code de la tentative.
+		 * @param reponse : réponse obtenue par la tentative.
+		 * @param destination : tableau qui reçoit les candidats gardés.
+		 * 
+		 * @return Le nombre de candidats gardés : <code>int</code>
+		 */
+		private int filtrer(int[] source, int nbrSource, int tentative, int reponse, int[] destination) {
+
+			int n = 0;
+
+			for (int i = 0; i < nbrSource; i++) {
+				int code = source[i];
+				if (espaceCodes.reponse(code, tentative) == reponse) {
+					destination[n++] = code;
+				}
+			}
+
+			return n;
+		}
+
+		/**
+		 * Calcule le gain d'une combinaison trouvée : 1 au premier essai,
+		 * de moins en moins ensuite, jusqu'au dernier essai restant.
+		 * 
+		 * @param coups : nombre de tentatives jouées pour trouver la combinaison.
+		 * 
+		 * @return Le gain, entre 0 et 1 : <code>double</code>
+		 */
+		private double gain(int coups) {
+
+			return (double) (essaisRestants - coups + 1) / essaisRestants;
+		}
+	}
+
+}
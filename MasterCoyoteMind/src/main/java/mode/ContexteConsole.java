@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package mode;
+
+import java.util.Scanner;
+
+import ia.GenerateurAleatoire;
+
+/**
+ * Contexte d'une session de jeu en console : l'entrée clavier, le mode developpeur
+ * et le générateur dont chaque partie tire sa graine.
+ * 
+ * <p>Il est créé par l'application et transmis aux jeux puis aux modes qu'ils lancent :
+ * aucune partie ne lit d'état global, et plusieurs sessions peuvent tourner dans la même JVM,
+ * chacune avec son propre contexte.</p>
+ * 
+ * @see AbstractMode
+ * 
+ * @author Coyote
+ */
+public final class ContexteConsole {
+
+	
+	/**
+	 * Objet de la classe Scanner permettant de lire les entrées clavier de l'utilisateur.
+	 */
+	private final Scanner scan;
+	/**
+	 * Définit si le jeu est en mode developpeur pour le déboggage.
+	 */
+	private final boolean dev;
+	/**
+	 * Générateur de nombres aléatoires de la session : chaque partie y tire sa graine.
+	 */
+	private final GenerateurAleatoire generateur;
+	
+	
+	/**
+	 * Constructeur de <i>ContexteConsole</i>.
+	 * 
+	 * @param scan <code>:Scanner</code> Entrée clavier de la session.
+	 * @param dev <code>:boolean</code> Mode developpeur.
+	 * @param generateur <code>:GenerateurAleatoire</code> Générateur de la session.
+	 */
+	public ContexteConsole(Scanner scan, boolean dev, GenerateurAleatoire generateur) {
+		
+		if (scan == null || generateur == null) {
+			throw new IllegalArgumentException("Contexte de console incomplet");
+		}
+		
+		this.scan = scan;
+		this.dev = dev;
+		this.generateur = generateur;
+	}
+	
+	/**
+	 * Récupère l'objet Scanner de la session.
+	 * 
+	 * @return L'objet <code>Scanner</code>
+	 */
+	public Scanner getScanner() {
+		return scan;
+	}
+	
+	/**
+	 * Récupère le générateur de nombres aléatoires de la session.
+	 * 
+	 * @return Le générateur : <code>GenerateurAleatoire</code>
+	 */
+	public GenerateurAleatoire getGenerateur() {
+		return generateur;
+	}
+	
+	/**
+	 * Récupère la variable dev du mode de deboggage developpeur.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public boolean isDev() {
+		return dev;
+	}
+	
+}
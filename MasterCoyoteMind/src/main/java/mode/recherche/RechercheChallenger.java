@@ -1,174 +1,130 @@
-/*******************************************************************************
- * Copyright (C) 2018 Richard ANDRIAN
- * 
- * This program is free software: you can redistribute it and/or modify
- * it under the terms of the GNU General Public License as published by
- * the Free Software Foundation, either version 3 of the License, or
- * (at your option) any later version.
- * 
- * This program is distributed in the hope that it will be useful,
- * but WITHOUT ANY WARRANTY; without even the implied warranty of
- * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
- * GNU General Public License for more details.
- * 
- * You should have received a copy of the GNU General Public License
- * along with this program.  If not, see <http://www.gnu.org/licenses/>.
- ******************************************************************************/
-package mode.recherche;
-
-import java.security.SecureRandom;
-
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
-import main.Main;
-import mode.AbstractMode;
-import mode.AbstractModeChallenger;
-
-/**
- * Classe qui gère une partie de type <i>Recherche</i> en mode <i>Challenger</i> 
- * et se charge du déroulement de la partie dans les détails.
- * 
- * @see AbstractMode
- * @see AbstractModeChallenger
- * 
- * @author Coyote
- */
-public class RechercheChallenger extends AbstractModeChallenger {
-
-	/**
-	 * Création de l'objet Logger permettant la gestion des logs de l'application.
-	 */
-	private static final Logger LOG = LogManager.getLogger();
-	/**
-	 * String de constante pour les erreurs d'entrées clavier de l'utilisateur.
-	 */
-	private static final String ERRORUSER = "Erreur entrée clavier utilisateur";
-	
-	
-	/**
-	 * Constructeur qui fait suivre les valeurs de configuration.
-	 * 
-	 * @param nbrDeCases : <code>int</code>
-	 * @param nbrEssais : <code>int</code>
-	 * 
-	 * @see Main#nbrDeCases
-	 * @see Main#nbrEssais
-	 * @see AbstractMode#AbstractMode(int, int)
-	 * @see AbstractModeChallenger#AbstractModeChallenger(int, int)
-	 */
-	public RechercheChallenger(int nbrDeCases, int nbrEssais) {
-		
-		super(nbrDeCases, nbrEssais);
-	}
-
-	/**
-	 * Lance l'initialisation de la <i>partie</i>.
-	 * En créant les combinaisons à trouver et lance la fonction <code>partie()</code>.
-	 * 
-	 * @see AbstractModeChallenger#partie()
-	 */
-	@Override
-	public void init() {
-
-		// Création de la liste de combinaison du jeu.
-		
-		SecureRandom rand = new SecureRandom();
-		
-		for (int i = 0; i < nbrDeCases; i++) {
-			tableauCombinaison[i] = rand.nextInt(10);
-		}
-
-		partie();
-	}
-
-	/**
-	 * Récupération dans un tableau de la tentative du joueur.
-	 * 
-	 * @see AbstractModeChallenger#tableauTentative
-	 */
-	@Override
-	public void tentative() {
-
-		// Récupération de la réponse :
-
-		String scanTentative = null;
-
-		boolean loopTour = true;
-
-		do {
-			System.out.println("Veuillez rentrer " + nbrDeCases + " chiffres de 0 à 9 :");
-
-			try {
-				scanTentative = scan.next();
-
-				// Vérification du nombre de charactères
-				if (scanTentative.length() > nbrDeCases) {
-					throw new Exception();
-				}
-
-				for (int i = 0; i < tableauTentative.length; i++) {
-
-					//convertion char => chiffre int
-					tableauTentative[i] = Character.getNumericValue(scanTentative.charAt(i));
-
-					// Vérification que se sont des chiffres de 0 à 9
-					if (tableauTentative[i] < 0 || tableauTentative[i] > 9) {
-						throw new Exception();
-					}
-				}
-				
-				loopTour = false;
-				
-			} catch (Exception e) {
-				System.err.println("\nErreur : Veuillez rentrer un nombre de " + nbrDeCases + " chiffres de 0 à 9 !\n");				
-				LOG.error(ERRORUSER, e);
-				
-			} finally {
-				scan.nextLine();
-			}
-
-		} while (loopTour);
-	}
-	
-	/**
-	 * Compare la tentative avec la combinaison et affiche le résultat.
-	 */
-	@Override
-	public void testCombi() {
-
-		String resultat = "";
-
-		for (int i = 0; i < tableauTentative.length; i++) {
-
-			if (tableauTentative[i] == tableauCombinaison[i]) {
-
-				tableauVictoire[i] = true;
-				resultat += "=";
-
-
-			} else if (tableauTentative[i] < tableauCombinaison[i]) {
-
-				tableauVictoire[i] = false;
-				resultat += "+";		
-
-			} else if (tableauTentative[i] > tableauCombinaison[i]) {
-
-				tableauVictoire[i] = false;
-				resultat += "-";					
-			}
-		}
-
-		System.out.println(resultat);
-
-		// Test pour savoir si tout le tableauVictoire est à true.
-		victoire = true;
-
-		for (int i = 0; i < tableauVictoire.length; i++) {
-			if (!tableauVictoire[i]) {
-				victoire = false;
-			}
-		}
-	}
-
-}
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package mode.recherche;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import ia.SolveurRecherche;
+import main.Main;
+import mode.AbstractMode;
+import mode.AbstractModeChallenger;
+import mode.ContexteConsole;
+import moteur.ModeJeu;
+import moteur.TypeJeu;
+
+/**
+ * Classe qui gère une partie de type <i>Recherche</i> en mode <i>Challenger</i> 
+ * et se charge du déroulement de la partie dans les détails.
+ * 
+ * @see AbstractMode
+ * @see AbstractModeChallenger
+ * 
+ * @author Coyote
+ */
+public class RechercheChallenger extends AbstractModeChallenger {
+
+	/**
+	 * Création de l'objet Logger permettant la gestion des logs de l'application.
+	 */
+	private static final Logger LOG = LogManager.getLogger();
+	/**
+	 * String de constante pour les erreurs d'entrées clavier de l'utilisateur.
+	 */
+	private static final String ERRORUSER = "Erreur entrée clavier utilisateur";
+	
+	
+	/**
+	 * Constructeur qui fait suivre les valeurs de configuration.
+	 * 
+	 * @param console : <code>ContexteConsole</code>
+	 * @param nbrDeCases : <code>int</code>
+	 * @param nbrEssais : <code>int</code>
+	 * 
+	 * @see Main#nbrDeCases
+	 * @see Main#nbrEssais
+	 * @see AbstractMode#AbstractMode(ContexteConsole, int, int)
+	 * @see AbstractModeChallenger#AbstractModeChallenger(ContexteConsole, int, int)
+	 */
+	public RechercheChallenger(ContexteConsole console, int nbrDeCases, int nbrEssais) {
+		
+		super(console, nbrDeCases, nbrEssais);
+		
+		creerPartie(TypeJeu.RECHERCHE, ModeJeu.CHALLENGER, SolveurRecherche.CHIFFRE_MAX + 1);
+	}
+
+	/**
+	 * Récupération dans un tableau de la tentative du joueur.
+	 * 
+	 * @see AbstractModeChallenger#tableauTentative
+	 */
+	@Override
+	public void tentative() {
+
+		// Récupération de la réponse :
+
+		String scanTentative = null;
+
+		boolean loopTour = true;
+
+		do {
+			System.out.println("Veuillez rentrer " + nbrDeCases + " chiffres de 0 à " + SolveurRecherche.CHIFFRE_MAX + " :");
+
+			try {
+				scanTentative = scan.next();
+
+				// Vérification du nombre de charactères
+				if (scanTentative.length() > nbrDeCases) {
+					throw new Exception();
+				}
+
+				for (int i = 0; i < tableauTentative.length; i++) {
+
+					//convertion char => chiffre int
+					tableauTentative[i] = Character.getNumericValue(scanTentative.charAt(i));
+
+					// Vérification que se sont des chiffres de 0 à 9
+					if (tableauTentative[i] < 0 || tableauTentative[i] > SolveurRecherche.CHIFFRE_MAX) {
+						throw new Exception();
+					}
+				}
+				
+				loopTour = false;
+				
+			} catch (Exception e) {
+				System.err.println("\nErreur : Veuillez rentrer un nombre de " + nbrDeCases + " chiffres de 0 à " + SolveurRecherche.CHIFFRE_MAX + " !\n");				
+				LOG.error(ERRORUSER, e);
+				
+			} finally {
+				scan.nextLine();
+			}
+
+		} while (loopTour);
+	}
+	
+	/**
+	 * Compare la tentative avec la combinaison et affiche le résultat.
+	 */
+	@Override
+	public void testCombi() {
+
+		int[] indices = partie.proposer(tableauTentative).getIndices();
+
+		SolveurRecherche.ecrireReponse(indices, System.out);
+	}
+
+}
@@ -0,0 +1,307 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package moteur;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import ia.AbstractStrategiePartition;
+import ia.GenerateurAleatoire;
+import ia.GenerateurSplittable;
+import ia.SolveurMasterMind;
+import ia.SolveurRecherche;
+import ia.StrategieEntropie;
+import ia.StrategieIA;
+import ia.StrategieMinimax;
+
+/**
+ * Fait jouer l'IA contre elle-même sur une série de parties, réparties sur tous les cœurs,
+ * pour comparer les stratégies sans passer par la console.
+ * 
+ * <p>Chaque partie tire une combinaison au hasard et la fait trouver par l'IA du mode <i>Defenseur</i>.
+ * Chaque thread a son propre moteur d'IA, son propre générateur et son propre {@link BilanAutoJeu} :
+ * les threads ne partagent rien jusqu'à la fusion des bilans, sans aucun verrou.
+ * Une même graine et un même nombre de threads rejouent la même série.</p>
+ * 
+ * <p>Utilisation : <code>java moteur.AutoJeu type nbrDeCases nbrDeCouleurs nbrParties [nbrThreads] [graine] [strategie]</code>,
+ * avec <code>type</code> le numéro du menu (1 : Recherche, 2 : MasterMind)
+ * et <code>strategie</code> l'une des {@link Strategie} du <i>MasterMind</i>, par défaut <code>LIVRE</code>.</p>
+ * 
+ * @see SolveurMasterMind
+ * @see SolveurRecherche
+ * 
+ * @author Coyote
+ */
+public final class AutoJeu {
+
+
+	/**
+	 * Nombre d'essais autorisés, au-delà duquel une partie compte comme perdue.
+	 */
+	private static final int NBR_ESSAIS = 10;
+
+
+	/**
+	 * Stratégie de l'IA du <i>MasterMind</i>, pour comparer les stratégies entre elles.
+	 */
+	public enum Strategie {
+
+		/**
+		 * Stratégie par défaut du solveur : arbre de décision ou livre d'ouvertures s'il existe, puis minimax.
+		 */
+		LIVRE,
+		/**
+		 * Minimax de Knuth à chaque tour, sans livre.
+		 * 
+		 * @see StrategieMinimax
+		 */
+		MINIMAX,
+		/**
+		 * Plus grande entropie de la partition à chaque tour, sans livre.
+		 * 
+		 * @see StrategieEntropie
+		 */
+		ENTROPIE;
+
+		/**
+		 * Crée la stratégie d'un solveur. L'entropie répartit sa notation sur le pool de la série,
+		 * les autres stratégies notent dans le thread du solveur.
+		 * 
+		 * @param pool : pool de la série, partagé par tous ses solveurs.
+		 * 
+		 * @return La stratégie, ou <code>null</code> pour garder celle du solveur : <code>StrategieIA</code>
+		 */
+		StrategieIA creer(ForkJoinPool pool) {
+
+			switch (this) {
+
+				case MINIMAX:
+					return new StrategieMinimax();
+
+				case ENTROPIE:
+					return new StrategieEntropie(AbstractStrategiePartition.BUDGET_PAR_DEFAUT, pool);
+
+				default:
+					return null;
+			}
+		}
+	}
+
+
+	/**
+	 * Classe utilitaire, pas d'instance.
+	 */
+	private AutoJeu() {
+	}
+
+	/**
+	 * Joue une série de parties et affiche son bilan.
+	 * 
+	 * @param args : type de jeu, nombre de cases, nombre de couleurs, nombre de parties,
+	 * et éventuellement le nombre de threads (par défaut un par cœur), la graine et la stratégie.
+	 * 
+	 * @throws InterruptedException si le thread principal est interrompu pendant la série.
+	 */
+	public static void main(String[] args) throws InterruptedException {
+
+		if (args.length < 4) {
+			System.err.println("Usage : AutoJeu type nbrDeCases nbrDeCouleurs nbrParties [nbrThreads] [graine] [LIVRE|MINIMAX|ENTROPIE]");
+			return;
+		}
+
+		TypeJeu type = TypeJeu.depuisNumero(Integer.parseInt(args[0]));
+		int nbrDeCases = Integer.parseInt(args[1]);
+		int nbrDeCouleurs = Integer.parseInt(args[2]);
+		long nbrParties = Long.parseLong(args[3]);
+		int nbrThreads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+		long graine = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+		Strategie strategie = args.length > 6 ? Strategie.valueOf(args[6].toUpperCase(Locale.ROOT)) : Strategie.LIVRE;
+
+		ConfigPartie config = new ConfigPartie(type, ModeJeu.DEFENSEUR, nbrDeCases, NBR_ESSAIS, nbrDeCouleurs);
+
+		System.out.println(config + ", " + nbrThreads + " thread(s), graine " + graine + ", stratégie " + strategie);
+		System.out.print(jouer(config, nbrParties, nbrThreads, graine, strategie));
+	}
+
+	/**
+	 * Joue une série de parties IA contre IA sur plusieurs threads.
+	 * 
+	 * @param config : configuration des parties, seuls le type et le plateau comptent.
+	 * @param nbrParties : nombre de parties à jouer.
+	 * @param nbrThreads : nombre de threads, au moins 1.
+	 * @param graine : graine des générateurs de nombres aléatoires.
+	 * 
+	 * @return Le bilan de la série : <code>BilanAutoJeu</code>
+	 * 
+	 * @throws InterruptedException si le thread appelant est interrompu pendant la série.
+	 */
+	public static BilanAutoJeu jouer(ConfigPartie config, long nbrParties, int nbrThreads, long graine)
+			throws InterruptedException {
+
+		return jouer(config, nbrParties, nbrThreads, graine, Strategie.LIVRE);
+	}
+
+	/**
+	 * Joue une série de parties IA contre IA sur plusieurs threads, avec une stratégie donnée au <i>MasterMind</i>.
+	 * 
+	 * @param config : configuration des parties, seuls le type et le plateau comptent.
+	 * @param nbrParties : nombre de parties à jouer.
+	 * @param nbrThreads : nombre de threads, au moins 1.
+	 * @param graine : graine des générateurs de nombres aléatoires.
+	 * @param strategie : stratégie de l'IA, sans effet en <i>Recherche</i>.
+	 * 
+	 * @return Le bilan de la série : <code>BilanAutoJeu</code>
+	 * 
+	 * @throws InterruptedException si le thread appelant est interrompu pendant la série.
+	 */
+	public static BilanAutoJeu jouer(ConfigPartie config, long nbrParties, int nbrThreads, long graine,
+			Strategie strategie) throws InterruptedException {
+
+		if (nbrParties < 0 || nbrThreads < 1) {
+			throw new IllegalArgumentException("Série invalide : " + nbrParties + " parties, " + nbrThreads + " threads");
+		}
+
+		GenerateurAleatoire graines = new GenerateurSplittable(graine);
+		ExecutorService executeur = Executors.newFixedThreadPool(nbrThreads);
+		// Le budget reste celui d'un seul cœur : avec ou sans pool, l'IA fait les mêmes choix.
+		ForkJoinPool pool = new ForkJoinPool(nbrThreads);
+		List<Future<BilanAutoJeu>> resultats = new ArrayList<>(nbrThreads);
+
+		long debut = System.nanoTime();
+
+		try {
+			for (int t = 0; t < nbrThreads; t++) {
+
+				// Parties réparties au plus juste : les premiers threads en jouent une de plus.
+				long part = nbrParties / nbrThreads + (t < nbrParties % nbrThreads ? 1 : 0);
+				GenerateurAleatoire randThread = graines.split();
+
+				resultats.add(executeur.submit(() -> jouerSerie(config, part, randThread, strategie, pool)));
+			}
+
+			BilanAutoJeu bilan = new BilanAutoJeu();
+
+			for (Future<BilanAutoJeu> resultat : resultats) {
+				bilan.fusionner(resultat.get());
+			}
+
+			bilan.setDureeNanos(System.nanoTime() - debut);
+
+			return bilan;
+
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Partie IA contre IA interrompue", e.getCause());
+
+		} finally {
+			executeur.shutdownNow();
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Joue les parties d'un thread avec un seul moteur d'IA, réinitialisé à chaque partie.
+	 * 
+	 * @param config : configuration des parties.
+	 * @param nbrParties : nombre de parties à jouer.
+	 * @param rand : générateur du thread, pour les combinaisons et les choix de l'IA.
+	 * @param strategie : stratégie de l'IA au <i>MasterMind</i>.
+	 * @param pool : pool de la série, qui se partage la notation des tentatives.
+	 * 
+	 * @return Le bilan du thread : <code>BilanAutoJeu</code>
+	 */
+	private static BilanAutoJeu jouerSerie(ConfigPartie config, long nbrParties, GenerateurAleatoire rand,
+			Strategie strategie, ForkJoinPool pool) {
+
+		BilanAutoJeu bilan = new BilanAutoJeu();
+		int nbrDeCases = config.getNbrDeCases();
+		int[] combinaison = new int[nbrDeCases];
+		int[] tentative = new int[nbrDeCases];
+
+		if (config.getType() == TypeJeu.MASTERMIND) {
+
+			SolveurMasterMind solveur = new SolveurMasterMind(nbrDeCases, config.getNbrDeCouleurs(), rand);
+			StrategieIA strategieIA = strategie.creer(pool);
+
+			if (strategieIA != null) {
+				solveur.setStrategieIA(strategieIA);
+			}
+
+			for (long p = 0; p < nbrParties; p++) {
+
+				tirerCombinaison(rand, config.getNbrDeCouleurs(), combinaison);
+				solveur.reinitialiser();
+
+				int tentatives = 0;
+				int reponse;
+
+				do {
+					solveur.prochaineTentative(tentative);
+					reponse = solveur.repondre(combinaison);
+					solveur.appliquerReponse(reponse);
+					tentatives++;
+				} while (solveur.bienPlace(reponse) != nbrDeCases);
+
+				bilan.ajouterPartie(tentatives, config.getNbrEssais());
+			}
+
+		} else {
+
+			SolveurRecherche solveur = new SolveurRecherche(nbrDeCases);
+			int[] reponse = new int[nbrDeCases];
+
+			for (long p = 0; p < nbrParties; p++) {
+
+				tirerCombinaison(rand, SolveurRecherche.CHIFFRE_MAX + 1, combinaison);
+				solveur.reinitialiser();
+
+				int tentatives = 0;
+
+				do {
+					solveur.prochaineTentative(tentative);
+					solveur.repondre(combinaison, reponse);
+					solveur.appliquerReponse(reponse);
+					tentatives++;
+				} while (!SolveurRecherche.estTrouvee(reponse));
+
+				bilan.ajouterPartie(tentatives, config.getNbrEssais());
+			}
+		}
+
+		return bilan;
+	}
+
+	/**
+	 * Tire une combinaison au hasard.
+	 * 
+	 * @param rand : générateur du thread.
+	 * @param nbrDeCouleurs : nombre de chiffres possibles par case.
+	 * @param combinaison : tableau qui reçoit la combinaison.
+	 */
+	private static void tirerCombinaison(GenerateurAleatoire rand, int nbrDeCouleurs, int[] combinaison) {
+
+		for (int i = 0; i < combinaison.length; i++) {
+			combinaison[i] = rand.nextInt(nbrDeCouleurs);
+		}
+	}
+
+}
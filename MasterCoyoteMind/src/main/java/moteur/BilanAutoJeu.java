@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package moteur;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Bilan d'une série de parties jouées par {@link AutoJeu} :
+ * nombre de parties, durée, et répartition du nombre de tentatives de l'IA.
+ * 
+ * <p>Chaque thread remplit son propre bilan, fusionné avec les autres à la fin de la série :
+ * un bilan ne doit servir qu'à un seul thread à la fois.</p>
+ * 
+ * @author Coyote
+ */
+public class BilanAutoJeu {
+
+
+	/**
+	 * Taille initiale de la répartition, agrandie au besoin.
+	 */
+	private static final int TAILLE_REPARTITION = 16;
+	/**
+	 * Nombre de parties gagnées en <code>n</code> tentatives, à l'index <code>n</code>.
+	 */
+	private long[] repartition;
+	/**
+	 * Nombre de parties jouées.
+	 */
+	private long nbrParties;
+	/**
+	 * Nombre total de tentatives de toutes les parties.
+	 */
+	private long nbrTentatives;
+	/**
+	 * Nombre de parties qui ont demandé plus de tentatives que la configuration n'en autorise.
+	 */
+	private long nbrPerdues;
+	/**
+	 * Durée de la série en nanosecondes.
+	 */
+	private long dureeNanos;
+
+
+	/**
+	 * Constructeur d'un bilan vide.
+	 */
+	public BilanAutoJeu() {
+
+		repartition = new long[TAILLE_REPARTITION];
+	}
+
+	/**
+	 * Compte une partie.
+	 * 
+	 * @param tentatives : nombre de tentatives de l'IA pour trouver la combinaison.
+	 * @param nbrEssais : nombre d'essais autorisés par la configuration.
+	 */
+	void ajouterPartie(int tentatives, int nbrEssais) {
+
+		if (tentatives >= repartition.length) {
+			repartition = Arrays.copyOf(repartition, Math.max(tentatives + 1, 2 * repartition.length));
+		}
+
+		repartition[tentatives]++;
+		nbrParties++;
+		nbrTentatives += tentatives;
+
+		if (tentatives > nbrEssais) {
+			nbrPerdues++;
+		}
+	}
+
+	/**
+	 * Ajoute les parties d'un autre bilan à celui-ci.
+	 * 
+	 * @param autre : bilan d'un autre thread.
+	 */
+	void fusionner(BilanAutoJeu autre) {
+
+		if (autre.repartition.length > repartition.length) {
+			repartition = Arrays.copyOf(repartition, autre.repartition.length);
+		}
+
+		for (int n = 0; n < autre.repartition.length; n++) {
+			repartition[n] += autre.repartition[n];
+		}
+
+		nbrParties += autre.nbrParties;
+		nbrTentatives += autre.nbrTentatives;
+		nbrPerdues += autre.nbrPerdues;
+	}
+
+	/**
+	 * Fixe la durée de la série.
+	 * 
+	 * @param dureeNanos : durée en nanosecondes.
+	 */
+	void setDureeNanos(long dureeNanos) {
+
+		this.dureeNanos = dureeNanos;
+	}
+
+	/**
+	 * Récupère le nombre de parties jouées.
+	 * 
+	 * @return <code>long</code>
+	 */
+	public long getNbrParties() {
+
+		return nbrParties;
+	}
+
+	/**
+	 * Récupère le nombre de parties qui ont demandé plus de tentatives que la configuration n'en autorise.
+	 * 
+	 * @return <code>long</code>
+	 */
+	public long getNbrPerdues() {
+
+		return nbrPerdues;
+	}
+
+	/**
+	 * Récupère le nombre moyen de tentatives par partie.
+	 * 
+	 * @return <code>double</code>
+	 */
+	public double getMoyenne() {
+
+		return nbrParties == 0 ? 0 : (double) nbrTentatives / nbrParties;
+	}
+
+	/**
+	 * Récupère le plus grand nombre de tentatives d'une partie.
+	 * 
+	 * @return <code>int</code>
+	 */
+	public int getPire() {
+
+		for (int n = repartition.length - 1; n > 0; n--) {
+			if (repartition[n] != 0) {
+				return n;
+			}
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Récupère le nombre de parties gagnées en <code>tentatives</code> tentatives.
+	 * 
+	 * @param tentatives : nombre de tentatives.
+	 * 
+	 * @return <code>long</code>
+	 */
+	public long getNbrParties(int tentatives) {
+
+		return tentatives < repartition.length ? repartition[tentatives] : 0;
+	}
+
+	/**
+	 * Récupère la durée de la série en secondes.
+	 * 
+	 * @return <code>double</code>
+	 */
+	public double getDureeSecondes() {
+
+		return dureeNanos / 1e9;
+	}
+
+	/**
+	 * Récupère le débit de la série en parties par seconde.
+	 * 
+	 * @return <code>double</code>
+	 */
+	public double getPartiesParSeconde() {
+
+		return dureeNanos == 0 ? 0 : nbrParties * 1e9 / dureeNanos;
+	}
+
+	@Override
+	public String toString() {
+
+		StringBuilder sb = new StringBuilder();
+
+		sb.append(String.format(Locale.ROOT, "Parties : %d en %.3f s (%.0f parties/s)%n",
+				nbrParties, getDureeSecondes(), getPartiesParSeconde()));
+		sb.append(String.format(Locale.ROOT, "Tentatives : moyenne %.4f, pire %d, %d partie(s) hors limite%n",
+				getMoyenne(), getPire(), nbrPerdues));
+		sb.append(String.format("Répartition :%n"));
+
+		for (int n = 1; n <= getPire(); n++) {
+			if (repartition[n] != 0) {
+				sb.append(String.format(Locale.ROOT, "%4d : %d (%.2f %%)%n",
+						n, repartition[n], 100.0 * repartition[n] / nbrParties));
+			}
+		}
+
+		return sb.toString();
+	}
+
+}
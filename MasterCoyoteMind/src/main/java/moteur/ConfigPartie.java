@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package moteur;
+
+import ia.AbstractEspaceCodes;
+import ia.SolveurRecherche;
+import ia.StrategieMonteCarlo;
+
+/**
+ * Configuration d'une partie sans console : type et mode de jeu,
+ * taille du plateau, nombre d'essais et budget de l'IA du <i>Duel</i>.
+ * 
+ * <p>Toutes les valeurs sont bornées dès la construction, avant que la partie
+ * ne réserve quoi que ce soit : une configuration reçue d'un client ne peut pas
+ * demander un plateau que le serveur n'a pas la mémoire de construire.</p>
+ * 
+ * @see Partie#nouvellePartie(ConfigPartie, long)
+ * 
+ * @author Coyote
+ */
+public class ConfigPartie {
+
+
+	/**
+	 * Nombre maximum de cases d'une partie de type <i>Recherche</i>,
+	 * pour qu'une combinaison tienne sur une ligne du protocole des serveurs.
+	 */
+	public static final int MAX_CASES_RECHERCHE = 100;
+	/**
+	 * Nombre maximum d'essais d'une partie.
+	 */
+	public static final int MAX_ESSAIS = 100;
+	/**
+	 * Nombre maximum de simulations par tour de l'IA du <i>Duel</i>.
+	 */
+	public static final int MAX_SIMULATIONS_IA = 100_000;
+	/**
+	 * Type de jeu de la partie.
+	 */
+	private final TypeJeu type;
+	/**
+	 * Mode de jeu de la partie.
+	 */
+	private final ModeJeu mode;
+	/**
+	 * Nombre de cases du plateau de jeu.
+	 */
+	private final int nbrDeCases;
+	/**
+	 * Nombre d'essais autorisés pour découvrir la combinaison adverse.
+	 */
+	private final int nbrEssais;
+	/**
+	 * Nombre de couleurs différentes : les chiffres vont de <code>0</code> à <code>nbrDeCouleurs - 1</code>.
+	 */
+	private final int nbrDeCouleurs;
+	/**
+	 * Nombre de simulations par tour de l'IA du <i>Duel</i>, inutilisé dans les autres modes.
+	 */
+	private final int nbrSimulationsIA;
+
+
+	/**
+	 * Constructeur de <i>ConfigPartie</i>, avec le budget par défaut de l'IA du <i>Duel</i>.
+	 * 
+	 * @param type <code>:TypeJeu</code> Type de jeu.
+	 * @param mode <code>:ModeJeu</code> Mode de jeu.
+	 * @param nbrDeCases <code>:int</code> Nombre de cases du plateau de jeu.
+	 * @param nbrEssais <code>:int</code> Nombre d'essais de la partie.
+	 * @param nbrDeCouleurs <code>:int</code> Nombre de couleurs differentes.
+	 * 
+	 * @throws IllegalArgumentException si une valeur est hors des limites du jeu.
+	 * 
+	 * @see StrategieMonteCarlo#SIMULATIONS_PAR_DEFAUT
+	 */
+	public ConfigPartie(TypeJeu type, ModeJeu mode, int nbrDeCases, int nbrEssais, int nbrDeCouleurs) {
+
+		this(type, mode, nbrDeCases, nbrEssais, nbrDeCouleurs, StrategieMonteCarlo.SIMULATIONS_PAR_DEFAUT);
+	}
+
+	/**
+	 * Constructeur de <i>ConfigPartie</i>.
+	 * Une partie de type <i>Recherche</i> a toujours des chiffres de 0 à 9,
+	 * <code>nbrDeCouleurs</code> n'y est pas utilisé.
+	 * 
+	 * @param type <code>:TypeJeu</code> Type de jeu.
+	 * @param mode <code>:ModeJeu</code> Mode de jeu.
+	 * @param nbrDeCases <code>:int</code> Nombre de cases du plateau de jeu.
+	 * @param nbrEssais <code>:int</code> Nombre d'essais de la partie.
+	 * @param nbrDeCouleurs <code>:int</code> Nombre de couleurs differentes.
+	 * @param nbrSimulationsIA <code>:int</code> Nombre de simulations par tour de l'IA du <i>Duel</i>.
+	 * 
+	 * @throws IllegalArgumentException si une valeur est hors des limites du jeu.
+	 */
+	public ConfigPartie(TypeJeu type, ModeJeu mode, int nbrDeCases, int nbrEssais, int nbrDeCouleurs, int nbrSimulationsIA) {
+
+		if (type == null || mode == null) {
+			throw new IllegalArgumentException("Type et mode de jeu obligatoires");
+		}
+		if (nbrDeCases < 1 || nbrEssais < 1 || nbrEssais > MAX_ESSAIS
+				|| (type == TypeJeu.RECHERCHE && nbrDeCases > MAX_CASES_RECHERCHE)) {
+			throw new IllegalArgumentException("Plateau invalide : " + nbrDeCases + " cases, " + nbrEssais + " essais");
+		}
+		if (type == TypeJeu.MASTERMIND && (nbrDeCases > AbstractEspaceCodes.MAX_CASES
+				|| nbrDeCouleurs < 2 || nbrDeCouleurs > AbstractEspaceCodes.MAX_COULEURS)) {
+			throw new IllegalArgumentException("Plateau MasterMind invalide : " + nbrDeCases + "x" + nbrDeCouleurs);
+		}
+		if (nbrSimulationsIA < 1 || nbrSimulationsIA > MAX_SIMULATIONS_IA) {
+			throw new IllegalArgumentException("Budget de l'IA invalide : " + nbrSimulationsIA + " simulations");
+		}
+
+		this.type = type;
+		this.mode = mode;
+		this.nbrDeCases = nbrDeCases;
+		this.nbrEssais = nbrEssais;
+		this.nbrDeCouleurs = type == TypeJeu.MASTERMIND ? nbrDeCouleurs : SolveurRecherche.CHIFFRE_MAX + 1;
+		this.nbrSimulationsIA = nbrSimulationsIA;
+	}
+
+	/**
+	 * Récupère le type de jeu.
+	 * 
+	 * @return <code>TypeJeu</code>
+	 */
+	public TypeJeu getType() {
+
+		return type;
+	}
+
+	/**
+	 * Récupère le mode de jeu.
+	 * 
+	 * @return <code>ModeJeu</code>
+	 */
+	public ModeJeu getMode() {
+
+		return mode;
+	}
+
+	/**
+	 * Récupère le nombre de cases du plateau de jeu.
+	 * 
+	 * @return <code>int</code>
+	 */
+	public int getNbrDeCases() {
+
+		return nbrDeCases;
+	}
+
+	/**
+	 * Récupère le nombre d'essais de la partie.
+	 * 
+	 * @return <code>int</code>
+	 */
+	public int getNbrEssais() {
+
+		return nbrEssais;
+	}
+
+	/**
+	 * Récupère le nombre de couleurs, c'est à dire le nombre de chiffres utilisables.
+	 * 
+	 * @return <code>int</code> : 10 pour le type <i>Recherche</i>.
+	 */
+	public int getNbrDeCouleurs() {
+
+		return nbrDeCouleurs;
+	}
+
+	/**
+	 * Récupère le nombre de simulations par tour de l'IA du <i>Duel</i>.
+	 * 
+	 * @return <code>int</code>
+	 */
+	public int getNbrSimulationsIA() {
+
+		return nbrSimulationsIA;
+	}
+
+	@Override
+	public String toString() {
+
+		return type + " " + mode + " " + nbrDeCases + "x" + nbrDeCouleurs + " en " + nbrEssais + " essais";
+	}
+
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package moteur;
+
+/**
+ * <i>Mode</i> de jeu d'une partie : qui cherche la combinaison de qui.
+ * 
+ * @author Coyote
+ */
+public enum ModeJeu {
+
+	/**
+	 * Le joueur cherche la combinaison de l'ordinateur.
+	 */
+	CHALLENGER(true, false),
+	/**
+	 * L'ordinateur cherche la combinaison du joueur.
+	 */
+	DEFENSEUR(false, true),
+	/**
+	 * Le joueur et l'ordinateur cherchent chacun la combinaison de l'autre, chacun son tour.
+	 */
+	DUEL(true, true);
+
+
+	/**
+	 * Vaut <code>true</code> si le joueur propose des tentatives.
+	 */
+	private final boolean joueurCherche;
+	/**
+	 * Vaut <code>true</code> si l'IA propose des tentatives.
+	 */
+	private final boolean iaCherche;
+
+
+	/**
+	 * Constructeur de <i>ModeJeu</i>.
+	 * 
+	 * @param joueurCherche <code>:boolean</code> Le joueur propose des tentatives.
+	 * @param iaCherche <code>:boolean</code> L'IA propose des tentatives.
+	 */
+	ModeJeu(boolean joueurCherche, boolean iaCherche) {
+
+		this.joueurCherche = joueurCherche;
+		this.iaCherche = iaCherche;
+	}
+
+	/**
+	 * Retrouve le mode de jeu à partir de son numéro dans le menu.
+	 * 
+	 * @param numero : <code>1</code> Challenger, <code>2</code> Defenseur, <code>3</code> Duel.
+	 * 
+	 * @return Le mode de jeu : <code>ModeJeu</code>
+	 * 
+	 * @throws IllegalArgumentException si le numéro ne correspond à aucun mode.
+	 */
+	public static ModeJeu depuisNumero(int numero) {
+
+		if (numero < 1 || numero > values().length) {
+			throw new IllegalArgumentException("Mode de jeu inconnu : " + numero);
+		}
+
+		return values()[numero - 1];
+	}
+
+	/**
+	 * Indique si le joueur propose des tentatives dans ce mode.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public boolean isJoueurCherche() {
+
+		return joueurCherche;
+	}
+
+	/**
+	 * Indique si l'IA propose des tentatives dans ce mode.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public boolean isIaCherche() {
+
+		return iaCherche;
+	}
+
+}
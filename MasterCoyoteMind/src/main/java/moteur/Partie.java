@@ -0,0 +1,531 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package moteur;
+
+import java.util.Arrays;
+
+import ia.CleChoixIA;
+import ia.GenerateurAleatoire;
+import ia.GenerateurSplittable;
+import ia.SolveurMasterMind;
+
+
+/**
+ * Partie de l'un des six modes de jeu, sans aucune lecture ni écriture sur la console.
+ * 
+ * <p>Une partie se crée avec <code>nouvellePartie(config, graine)</code> puis se joue par appels :</p>
+ * <ul>
+ * <li><code>proposer(int[])</code> : tentative du joueur, en <i>Challenger</i> et en <i>Duel</i>.</li>
+ * <li><code>definirCombinaisonIA(int[])</code> puis <code>jouerIA(int[])</code> :
+ * combinaison que l'IA doit trouver et tentatives de l'IA, en <i>Defenseur</i> et en <i>Duel</i>.</li>
+ * <li><code>estTerminee()</code> et <code>getResultat()</code> pour savoir où en est la partie.</li>
+ * </ul>
+ * <p>En <i>Duel</i>, le joueur et l'IA jouent chacun leur tour, le joueur en premier.
+ * La combinaison du joueur et les choix de l'IA ne dépendent que de la graine :
+ * la même graine et les mêmes tentatives rejouent la même partie.</p>
+ * 
+ * <p>Une partie ne doit servir qu'à un seul thread à la fois.</p>
+ * 
+ * @see PartieMasterMind
+ * @see PartieRecherche
+ * 
+ * @author Coyote
+ */
+public abstract class Partie {
+
+
+	/**
+	 * Estimation de la mémoire d'une partie sans l'IA : objets et tableaux de taille fixe.
+	 */
+	private static final long OCTETS_PARTIE = 256;
+	/**
+	 * Configuration de la partie.
+	 */
+	protected final ConfigPartie config;
+	/**
+	 * Nombre de cases du plateau de jeu.
+	 */
+	protected final int nbrDeCases;
+	/**
+	 * Générateur de nombres aléatoires de la partie.
+	 */
+	protected final GenerateurAleatoire rand;
+	/**
+	 * Combinaison que le joueur doit trouver.
+	 */
+	private final int[] combinaison;
+	/**
+	 * Combinaison que l'IA doit trouver.
+	 */
+	private final int[] combinaisonIA;
+	/**
+	 * Vaut <code>true</code> une fois la combinaison de l'IA définie.
+	 */
+	private boolean combinaisonIADefinie;
+	/**
+	 * Nombre de tentatives du joueur.
+	 */
+	private int nbrTentatives;
+	/**
+	 * Nombre de tentatives de l'IA.
+	 */
+	private int nbrTentativesIA;
+	/**
+	 * Vaut <code>true</code> quand le joueur a trouvé la combinaison.
+	 */
+	private boolean victoire;
+	/**
+	 * Vaut <code>true</code> quand l'IA a trouvé la combinaison.
+	 */
+	private boolean victoireIA;
+
+
+	/**
+	 * Constructeur de <i>Partie</i> : tire la combinaison du joueur si le mode en a une.
+	 * 
+	 * @param config <code>:ConfigPartie</code> Configuration de la partie.
+	 * @param rand <code>:GenerateurAleatoire</code> Générateur de nombres aléatoires de la partie.
+	 */
+	protected Partie(ConfigPartie config, GenerateurAleatoire rand) {
+
+		this.config = config;
+		this.nbrDeCases = config.getNbrDeCases();
+		this.rand = rand;
+
+		combinaison = config.getMode().isJoueurCherche() ? tirerCombinaison(config, rand) : new int[nbrDeCases];
+		combinaisonIA = new int[nbrDeCases];
+	}
+
+	/**
+	 * Donne la combinaison que le joueur doit trouver dans la partie créée par
+	 * <code>nouvellePartie(config, graine)</code>, sans construire la partie ni son IA.
+	 * 
+	 * @param config : configuration de la partie.
+	 * @param graine : graine du générateur de nombres aléatoires de la partie.
+	 * 
+	 * @return Les chiffres de la combinaison : <code>int[]</code>
+	 * 
+	 * @throws IllegalArgumentException si le joueur ne cherche pas de combinaison dans ce mode.
+	 */
+	public static int[] tirerCombinaison(ConfigPartie config, long graine) {
+
+		if (!config.getMode().isJoueurCherche()) {
+			throw new IllegalArgumentException("Pas de combinaison à trouver pour le joueur : " + config);
+		}
+
+		return tirerCombinaison(config, new GenerateurSplittable(graine));
+	}
+
+	/**
+	 * Tire la combinaison du joueur : ce sont les premiers tirages du générateur de la partie.
+	 * 
+	 * @param config : configuration de la partie.
+	 * @param rand : générateur de nombres aléatoires de la partie, pas encore utilisé.
+	 * 
+	 * @return Les chiffres de la combinaison : <code>int[]</code>
+	 */
+	private static int[] tirerCombinaison(ConfigPartie config, GenerateurAleatoire rand) {
+
+		int[] chiffres = new int[config.getNbrDeCases()];
+
+		for (int i = 0; i < chiffres.length; i++) {
+			chiffres[i] = rand.nextInt(config.getNbrDeCouleurs());
+		}
+
+		return chiffres;
+	}
+
+	/**
+	 * Crée une partie du type de jeu de la configuration.
+	 * 
+	 * @param config : configuration de la partie.
+	 * @param graine : graine du générateur de nombres aléatoires de la partie.
+	 * 
+	 * @return La nouvelle partie : <code>Partie</code>
+	 * 
+	 * @see GenerateurSplittable
+	 */
+	public static Partie nouvellePartie(ConfigPartie config, long graine) {
+
+		return nouvellePartie(config, new GenerateurSplittable(graine));
+	}
+
+	/**
+	 * Crée une partie du type de jeu de la configuration, avec un générateur donné.
+	 * La partie garde ce générateur : elle ne doit pas le partager avec un autre thread.
+	 * 
+	 * @param config : configuration de la partie.
+	 * @param rand : générateur de nombres aléatoires de la partie.
+	 * 
+	 * @return La nouvelle partie : <code>Partie</code>
+	 */
+	public static Partie nouvellePartie(ConfigPartie config, GenerateurAleatoire rand) {
+
+		if (config.getType() == TypeJeu.MASTERMIND) {
+			return new PartieMasterMind(config, rand);
+		}
+
+		return new PartieRecherche(config, rand);
+	}
+
+	/**
+	 * Joue une tentative du joueur.
+	 * 
+	 * @param tentative : chiffres de la tentative, de 0 à <code>nbrDeCouleurs - 1</code>.
+	 * 
+	 * @return La réponse à la tentative : <code>Reponse</code>
+	 * 
+	 * @throws IllegalStateException si ce n'est pas au joueur de jouer.
+	 * @throws IllegalArgumentException si la tentative n'est pas une combinaison du plateau.
+	 */
+	public Reponse proposer(int[] tentative) {
+
+		if (!isTourJoueur()) {
+			throw new IllegalStateException("Pas de tentative du joueur attendue : " + config.getMode() + ", " + getResultat());
+		}
+
+		verifier(tentative);
+
+		Reponse reponse = comparer(combinaison, tentative);
+		nbrTentatives++;
+		victoire = reponse.estTrouvee();
+
+		return reponse;
+	}
+
+	/**
+	 * Définit la combinaison que l'IA doit trouver et réinitialise l'IA.
+	 * 
+	 * @param combinaison : chiffres de la combinaison, de 0 à <code>nbrDeCouleurs - 1</code>.
+	 * 
+	 * @throws IllegalStateException si l'IA ne cherche pas dans ce mode ou a déjà joué.
+	 * @throws IllegalArgumentException si la combinaison n'est pas une combinaison du plateau.
+	 */
+	public void definirCombinaisonIA(int[] combinaison) {
+
+		if (!config.getMode().isIaCherche() || nbrTentativesIA > 0) {
+			throw new IllegalStateException("Combinaison de l'IA non modifiable : " + config.getMode());
+		}
+
+		verifier(combinaison);
+
+		System.arraycopy(combinaison, 0, combinaisonIA, 0, nbrDeCases);
+		combinaisonIADefinie = true;
+		reinitialiserIA();
+	}
+
+	/**
+	 * Joue une tentative de l'IA.
+	 * 
+	 * @param tentative : tableau de taille <code>nbrDeCases</code> qui reçoit la tentative de l'IA.
+	 * 
+	 * @return La réponse à la tentative de l'IA : <code>Reponse</code>
+	 * 
+	 * @throws IllegalStateException si ce n'est pas à l'IA de jouer.
+	 */
+	public Reponse jouerIA(int[] tentative) {
+
+		if (!isTourIA()) {
+			throw new IllegalStateException("Pas de tentative de l'IA attendue : " + config.getMode() + ", " + getResultat());
+		}
+
+		Reponse reponse = tourIA(combinaisonIA, tentative);
+		nbrTentativesIA++;
+		victoireIA = reponse.estTrouvee();
+
+		return reponse;
+	}
+
+	/**
+	 * Rejoue une tentative de l'IA déjà jouée, lue par exemple dans un journal de la partie,
+	 * au lieu de la laisser choisir : l'IA tient compte de sa réponse comme après <code>jouerIA()</code>.
+	 * 
+	 * @param tentative : chiffres de la tentative de l'IA.
+	 * 
+	 * @return La réponse à la tentative : <code>Reponse</code>
+	 * 
+	 * @throws IllegalStateException si ce n'est pas à l'IA de jouer, ou si l'IA ne peut pas jouer cette tentative.
+	 * @throws IllegalArgumentException si la tentative n'est pas une combinaison du plateau.
+	 */
+	public Reponse rejouerIA(int[] tentative) {
+
+		if (!isTourIA()) {
+			throw new IllegalStateException("Pas de tentative de l'IA attendue : " + config.getMode() + ", " + getResultat());
+		}
+
+		verifier(tentative);
+
+		Reponse reponse = tourIAImpose(combinaisonIA, tentative);
+		nbrTentativesIA++;
+		victoireIA = reponse.estTrouvee();
+
+		return reponse;
+	}
+
+	/**
+	 * Indique si la partie attend une tentative du joueur.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public boolean isTourJoueur() {
+
+		return config.getMode().isJoueurCherche() && !estTerminee()
+				&& (config.getMode() != ModeJeu.DUEL || nbrTentatives == nbrTentativesIA);
+	}
+
+	/**
+	 * Indique si la partie attend une tentative de l'IA.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public boolean isTourIA() {
+
+		return config.getMode().isIaCherche() && combinaisonIADefinie && !estTerminee()
+				&& (config.getMode() != ModeJeu.DUEL || nbrTentatives > nbrTentativesIA);
+	}
+
+	/**
+	 * Indique si la partie est terminée.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public boolean estTerminee() {
+
+		return getResultat() != Resultat.EN_COURS;
+	}
+
+	/**
+	 * Récupère l'état de la partie.
+	 * 
+	 * @return <code>Resultat</code>
+	 */
+	public Resultat getResultat() {
+
+		int nbrEssais = config.getNbrEssais();
+
+		switch (config.getMode()) {
+
+			case CHALLENGER:
+				if (victoire) {
+					return Resultat.VICTOIRE_JOUEUR;
+				}
+				return nbrTentatives >= nbrEssais ? Resultat.VICTOIRE_IA : Resultat.EN_COURS;
+
+			case DEFENSEUR:
+				if (victoireIA) {
+					return Resultat.VICTOIRE_IA;
+				}
+				return nbrTentativesIA >= nbrEssais ? Resultat.VICTOIRE_JOUEUR : Resultat.EN_COURS;
+
+			default:
+				if (victoire) {
+					return Resultat.VICTOIRE_JOUEUR;
+				}
+				if (victoireIA) {
+					return Resultat.VICTOIRE_IA;
+				}
+				return nbrTentativesIA >= nbrEssais ? Resultat.EGALITE : Resultat.EN_COURS;
+		}
+	}
+
+	/**
+	 * Récupère le nombre d'essais restants : ceux du joueur en <i>Challenger</i>,
+	 * ceux de l'IA, c'est à dire les manches restantes, sinon.
+	 * 
+	 * @return <code>int</code>
+	 */
+	public int getNbrEssaisRestants() {
+
+		int nbrJoues = config.getMode() == ModeJeu.CHALLENGER ? nbrTentatives : nbrTentativesIA;
+
+		return config.getNbrEssais() - nbrJoues;
+	}
+
+	/**
+	 * Récupère une copie de la combinaison que le joueur doit trouver.
+	 * 
+	 * @return <code>int[]</code>
+	 */
+	public int[] getCombinaison() {
+
+		return combinaison.clone();
+	}
+
+	/**
+	 * Récupère une copie de la combinaison que l'IA doit trouver.
+	 * 
+	 * @return <code>int[]</code>
+	 */
+	public int[] getCombinaisonIA() {
+
+		return combinaisonIA.clone();
+	}
+
+	/**
+	 * Récupère le nombre de tentatives jouées par le joueur.
+	 * 
+	 * @return <code>int</code>
+	 */
+	public int getNbrTentatives() {
+
+		return nbrTentatives;
+	}
+
+	/**
+	 * Récupère le nombre de tentatives jouées par l'IA.
+	 * 
+	 * @return <code>int</code>
+	 */
+	public int getNbrTentativesIA() {
+
+		return nbrTentativesIA;
+	}
+
+	/**
+	 * Récupère la configuration de la partie.
+	 * 
+	 * @return <code>ConfigPartie</code>
+	 */
+	public ConfigPartie getConfig() {
+
+		return config;
+	}
+
+	/**
+	 * Vérifie qu'un tableau est une combinaison du plateau.
+	 * 
+	 * @param chiffres : tableau à vérifier.
+	 * 
+	 * @throws IllegalArgumentException si la taille ou un chiffre ne convient pas.
+	 */
+	private void verifier(int[] chiffres) {
+
+		if (chiffres.length != nbrDeCases) {
+			throw new IllegalArgumentException("Combinaison de " + chiffres.length + " cases au lieu de " + nbrDeCases);
+		}
+
+		for (int i = 0; i < nbrDeCases; i++) {
+			if (chiffres[i] < 0 || chiffres[i] >= config.getNbrDeCouleurs()) {
+				throw new IllegalArgumentException("Chiffre hors plateau en case " + i + " : " + chiffres[i]);
+			}
+		}
+	}
+
+	/**
+	 * Estime la mémoire occupée par la partie et son IA, en octets.
+	 * L'estimation ne dépend que de la configuration.
+	 * 
+	 * @return <code>long</code>
+	 */
+	public long estimerMemoire() {
+
+		return OCTETS_PARTIE + 8L * nbrDeCases;
+	}
+
+	/**
+	 * Estime la mémoire qu'occupera une partie et son IA, en octets, avant de la construire.
+	 * 
+	 * @param config : configuration de la partie.
+	 * 
+	 * @return <code>long</code>
+	 * 
+	 * @see Partie#estimerMemoire()
+	 */
+	public static long estimerMemoire(ConfigPartie config) {
+
+		long octets = OCTETS_PARTIE + 8L * config.getNbrDeCases();
+
+		if (config.getType() == TypeJeu.MASTERMIND && config.getMode().isIaCherche()) {
+			octets += SolveurMasterMind.estimerMemoire(config.getNbrDeCases(), config.getNbrDeCouleurs());
+		}
+
+		return octets;
+	}
+
+	/**
+	 * Donne la clé du prochain choix de l'IA : deux parties de même configuration et de clés égales
+	 * peuvent jouer la même tentative, choisie par l'une puis imposée aux autres par <code>rejouerIA()</code>.
+	 * La clé ne vaut que tant qu'aucun coup n'est joué dans la partie.
+	 * 
+	 * @return La clé, ou <code>null</code> si l'IA de la partie ne se prête pas au partage : <code>CleChoixIA</code>
+	 * 
+	 * @see ia.SolveurMasterMind#cleChoix()
+	 */
+	public CleChoixIA cleTourIA() {
+
+		return null;
+	}
+
+	/**
+	 * Décrit les choix restants de l'IA pour le mode développeur.
+	 * 
+	 * @return <code>String</code>
+	 */
+	public abstract String decrireChoixRestantsIA();
+
+	/**
+	 * Calcule la réponse à une tentative.
+	 * 
+	 * @param combinaison : combinaison à trouver.
+	 * @param tentative : tentative proposée.
+	 * 
+	 * @return La réponse : <code>Reponse</code>
+	 */
+	protected abstract Reponse comparer(int[] combinaison, int[] tentative);
+
+	/**
+	 * (Re)Initialise les choix de l'IA en début de partie.
+	 */
+	protected abstract void reinitialiserIA();
+
+	/**
+	 * Choisit la tentative de l'IA, calcule sa réponse et en tient compte pour la suite.
+	 * 
+	 * @param combinaisonIA : combinaison que l'IA doit trouver.
+	 * @param tentative : tableau qui reçoit la tentative de l'IA.
+	 * 
+	 * @return La réponse à la tentative : <code>Reponse</code>
+	 */
+	protected abstract Reponse tourIA(int[] combinaisonIA, int[] tentative);
+
+	/**
+	 * Joue une tentative imposée à l'IA, calcule sa réponse et en tient compte pour la suite.
+	 * 
+	 * <p>Par défaut, l'IA choisit elle-même sa tentative, qui doit être celle imposée :
+	 * cela suffit quand ses choix ne dépendent que des réponses déjà obtenues.</p>
+	 * 
+	 * @param combinaisonIA : combinaison que l'IA doit trouver.
+	 * @param tentative : tentative imposée.
+	 * 
+	 * @return La réponse à la tentative : <code>Reponse</code>
+	 * 
+	 * @throws IllegalStateException si l'IA choisit une autre tentative.
+	 */
+	protected Reponse tourIAImpose(int[] combinaisonIA, int[] tentative) {
+
+		int[] choisie = new int[nbrDeCases];
+		Reponse reponse = tourIA(combinaisonIA, choisie);
+
+		if (!Arrays.equals(choisie, tentative)) {
+			throw new IllegalStateException("Tentative de l'IA différente : " + Arrays.toString(choisie)
+					+ " au lieu de " + Arrays.toString(tentative));
+		}
+
+		return reponse;
+	}
+
+}
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package moteur;
+
+import ia.CleChoixIA;
+import ia.ComparateurCombinaisons;
+import ia.GenerateurAleatoire;
+import ia.SolveurMasterMind;
+import ia.StrategieMonteCarlo;
+import ia.StrategieIA;
+
+/**
+ * Partie de type <i>MasterMind</i> sans console.
+ * 
+ * <p>En <i>Duel</i>, l'IA fait la course avec le joueur : une fois les candidats assez peu nombreux,
+ * ses tentatives sont choisies par une {@link StrategieMonteCarlo} qui vise à trouver le plus tôt possible.
+ * Elle fait <code>config.getNbrSimulationsIA()</code> simulations par tour dans le thread de l'appelant,
+ * si bien que la partie ne dépend que de sa graine.</p>
+ * 
+ * @see Partie
+ * @see SolveurMasterMind
+ * 
+ * @author Coyote
+ */
+public class PartieMasterMind extends Partie {
+
+
+	/**
+	 * Calcule la réponse aux tentatives du joueur.
+	 */
+	private final ComparateurCombinaisons comparateur;
+	/**
+	 * Moteur de l'IA, <code>null</code> si l'IA ne cherche pas dans ce mode.
+	 */
+	private final SolveurMasterMind solveurIA;
+
+
+	/**
+	 * Constructeur de <i>PartieMasterMind</i>.
+	 * 
+	 * @param config <code>:ConfigPartie</code> Configuration d'une partie de type <i>MasterMind</i>.
+	 * @param rand <code>:GenerateurAleatoire</code> Générateur de nombres aléatoires de la partie.
+	 * 
+	 * @throws IllegalArgumentException si la configuration n'est pas de type <i>MasterMind</i>.
+	 */
+	public PartieMasterMind(ConfigPartie config, GenerateurAleatoire rand) {
+
+		super(verifierType(config), rand);
+
+		comparateur = new ComparateurCombinaisons(nbrDeCases, config.getNbrDeCouleurs());
+		solveurIA = config.getMode().isIaCherche()
+				? new SolveurMasterMind(nbrDeCases, config.getNbrDeCouleurs(), rand.split()) : null;
+
+		if (config.getMode() == ModeJeu.DUEL) {
+			solveurIA.setStrategieIA(new StrategieMonteCarlo(config.getNbrEssais(), 0, config.getNbrSimulationsIA(),
+					null, solveurIA.getStrategieIA()));
+		}
+	}
+
+	/**
+	 * Vérifie le type de jeu d'une configuration avant la construction.
+	 * 
+	 * @param config : configuration de la partie.
+	 * 
+	 * @return La configuration : <code>ConfigPartie</code>
+	 */
+	private static ConfigPartie verifierType(ConfigPartie config) {
+
+		if (config.getType() != TypeJeu.MASTERMIND) {
+			throw new IllegalArgumentException("Configuration d'un autre type de jeu : " + config);
+		}
+
+		return config;
+	}
+
+	/**
+	 * Remplace la stratégie qui choisit les tentatives de l'IA.
+	 * 
+	 * @param strategieIA : la nouvelle stratégie.
+	 * 
+	 * @see SolveurMasterMind#setStrategieIA(StrategieIA)
+	 */
+	public void setStrategieIA(StrategieIA strategieIA) {
+
+		if (solveurIA != null) {
+			solveurIA.setStrategieIA(strategieIA);
+		}
+	}
+
+	@Override
+	public long estimerMemoire() {
+
+		return super.estimerMemoire() + (solveurIA == null ? 0 : solveurIA.estimerMemoire());
+	}
+
+	@Override
+	public CleChoixIA cleTourIA() {
+
+		return solveurIA == null ? null : solveurIA.cleChoix();
+	}
+
+	@Override
+	public String decrireChoixRestantsIA() {
+
+		return solveurIA == null ? "" : solveurIA.decrireChoixRestants();
+	}
+
+	@Override
+	protected Reponse comparer(int[] combinaison, int[] tentative) {
+
+		int reponse = comparateur.comparer(combinaison, tentative);
+
+		return Reponse.masterMind(comparateur.bienPlace(reponse), comparateur.present(reponse), nbrDeCases);
+	}
+
+	@Override
+	protected void reinitialiserIA() {
+
+		solveurIA.reinitialiser();
+	}
+
+	@Override
+	protected Reponse tourIA(int[] combinaisonIA, int[] tentative) {
+
+		solveurIA.prochaineTentative(tentative);
+
+		int reponse = solveurIA.repondre(combinaisonIA);
+		solveurIA.appliquerReponse(reponse);
+
+		return Reponse.masterMind(solveurIA.bienPlace(reponse), solveurIA.present(reponse), nbrDeCases);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * Les choix de l'IA dépendent aussi du hasard et du temps de calcul : la tentative est imposée au solveur.
+	 */
+	@Override
+	protected Reponse tourIAImpose(int[] combinaisonIA, int[] tentative) {
+
+		solveurIA.imposerTentative(tentative);
+
+		int reponse = solveurIA.repondre(combinaisonIA);
+		solveurIA.appliquerReponse(reponse);
+
+		return Reponse.masterMind(solveurIA.bienPlace(reponse), solveurIA.present(reponse), nbrDeCases);
+	}
+
+}
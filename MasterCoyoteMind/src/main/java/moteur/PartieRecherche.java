@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package moteur;
+
+import ia.GenerateurAleatoire;
+import ia.SolveurRecherche;
+
+/**
+ * Partie de type <i>Recherche</i> sans console.
+ * 
+ * @see Partie
+ * @see SolveurRecherche
+ * 
+ * @author Coyote
+ */
+public class PartieRecherche extends Partie {
+
+
+	/**
+	 * Moteur de l'IA, <code>null</code> si l'IA ne cherche pas dans ce mode.
+	 */
+	private final SolveurRecherche solveurIA;
+	/**
+	 * Indice de chaque case de la dernière tentative comparée.
+	 */
+	private final int[] indices;
+
+
+	/**
+	 * Constructeur de <i>PartieRecherche</i>.
+	 * 
+	 * @param config <code>:ConfigPartie</code> Configuration d'une partie de type <i>Recherche</i>.
+	 * @param rand <code>:GenerateurAleatoire</code> Générateur de nombres aléatoires de la partie.
+	 * 
+	 * @throws IllegalArgumentException si la configuration n'est pas de type <i>Recherche</i>.
+	 */
+	public PartieRecherche(ConfigPartie config, GenerateurAleatoire rand) {
+
+		super(verifierType(config), rand);
+
+		indices = new int[nbrDeCases];
+		solveurIA = config.getMode().isIaCherche() ? new SolveurRecherche(nbrDeCases) : null;
+	}
+
+	/**
+	 * Vérifie le type de jeu d'une configuration avant la construction.
+	 * 
+	 * @param config : configuration de la partie.
+	 * 
+	 * @return La configuration : <code>ConfigPartie</code>
+	 */
+	private static ConfigPartie verifierType(ConfigPartie config) {
+
+		if (config.getType() != TypeJeu.RECHERCHE) {
+			throw new IllegalArgumentException("Configuration d'un autre type de jeu : " + config);
+		}
+
+		return config;
+	}
+
+	@Override
+	public String decrireChoixRestantsIA() {
+
+		return solveurIA == null ? "" : solveurIA.decrireChoixRestants();
+	}
+
+	@Override
+	protected Reponse comparer(int[] combinaison, int[] tentative) {
+
+		SolveurRecherche.comparer(combinaison, tentative, indices);
+
+		return Reponse.recherche(indices);
+	}
+
+	@Override
+	protected void reinitialiserIA() {
+
+		solveurIA.reinitialiser();
+	}
+
+	@Override
+	protected Reponse tourIA(int[] combinaisonIA, int[] tentative) {
+
+		solveurIA.prochaineTentative(tentative);
+		solveurIA.repondre(combinaisonIA, indices);
+		solveurIA.appliquerReponse(indices);
+
+		return Reponse.recherche(indices);
+	}
+
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package moteur;
+
+import java.util.Arrays;
+
+import ia.SolveurRecherche;
+
+/**
+ * Réponse à une tentative, pour les deux types de jeu :
+ * <ul>
+ * <li><i>MasterMind</i> : nombre de chiffres bien placés et présents.</li>
+ * <li><i>Recherche</i> : indice <code>+</code>, <code>=</code> ou <code>-</code> de chaque case,
+ * avec les valeurs de {@link SolveurRecherche}.</li>
+ * </ul>
+ * 
+ * @author Coyote
+ */
+public final class Reponse {
+
+
+	/**
+	 * Nombre de chiffres bien placés, ou de cases égales en <i>Recherche</i>.
+	 */
+	private final int bienPlace;
+	/**
+	 * Nombre de chiffres présents mais mal placés, toujours 0 en <i>Recherche</i>.
+	 */
+	private final int present;
+	/**
+	 * Indice de chaque case en <i>Recherche</i>, <code>null</code> en <i>MasterMind</i>.
+	 */
+	private final int[] indices;
+	/**
+	 * Vaut <code>true</code> si la tentative est la combinaison.
+	 */
+	private final boolean trouvee;
+
+
+	/**
+	 * Constructeur de <i>Reponse</i>.
+	 * 
+	 * @param bienPlace <code>:int</code> Nombre de chiffres bien placés.
+	 * @param present <code>:int</code> Nombre de chiffres présents.
+	 * @param indices <code>:int[]</code> Indice de chaque case, ou <code>null</code>.
+	 * @param trouvee <code>:boolean</code> La tentative est la combinaison.
+	 */
+	private Reponse(int bienPlace, int present, int[] indices, boolean trouvee) {
+
+		this.bienPlace = bienPlace;
+		this.present = present;
+		this.indices = indices;
+		this.trouvee = trouvee;
+	}
+
+	/**
+	 * Crée la réponse d'une tentative de type <i>MasterMind</i>.
+	 * 
+	 * @param bienPlace : nombre de chiffres bien placés.
+	 * @param present : nombre de chiffres présents.
+	 * @param nbrDeCases : nombre de cases du plateau.
+	 * 
+	 * @return La réponse : <code>Reponse</code>
+	 */
+	public static Reponse masterMind(int bienPlace, int present, int nbrDeCases) {
+
+		return new Reponse(bienPlace, present, null, bienPlace == nbrDeCases);
+	}
+
+	/**
+	 * Crée la réponse d'une tentative de type <i>Recherche</i>.
+	 * 
+	 * @param indices : indice de chaque case, copié.
+	 * 
+	 * @return La réponse : <code>Reponse</code>
+	 */
+	public static Reponse recherche(int[] indices) {
+
+		int egales = 0;
+
+		for (int i = 0; i < indices.length; i++) {
+			if (indices[i] == SolveurRecherche.EGAL) {
+				egales++;
+			}
+		}
+
+		return new Reponse(egales, 0, indices.clone(), egales == indices.length);
+	}
+
+	/**
+	 * Récupère le nombre de chiffres bien placés, ou de cases égales en <i>Recherche</i>.
+	 * 
+	 * @return <code>int</code>
+	 */
+	public int getBienPlace() {
+
+		return bienPlace;
+	}
+
+	/**
+	 * Récupère le nombre de chiffres présents mais mal placés.
+	 * 
+	 * @return <code>int</code> : toujours 0 en <i>Recherche</i>.
+	 */
+	public int getPresent() {
+
+		return present;
+	}
+
+	/**
+	 * Récupère l'indice de chaque case d'une réponse de type <i>Recherche</i>.
+	 * 
+	 * @return Une copie des indices, <code>null</code> en <i>MasterMind</i> : <code>int[]</code>
+	 */
+	public int[] getIndices() {
+
+		return indices == null ? null : indices.clone();
+	}
+
+	/**
+	 * Indique si la tentative était la combinaison.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public boolean estTrouvee() {
+
+		return trouvee;
+	}
+
+	@Override
+	public String toString() {
+
+		if (indices == null) {
+			return bienPlace + " bien placé(s), " + present + " présent(s)";
+		}
+
+		StringBuilder description = new StringBuilder(indices.length);
+
+		for (int i = 0; i < indices.length; i++) {
+			description.append(indices[i] == SolveurRecherche.EGAL ? '='
+					: indices[i] == SolveurRecherche.SUPERIEUR ? '+' : '-');
+		}
+
+		return description.toString();
+	}
+
+	@Override
+	public boolean equals(Object autre) {
+
+		if (!(autre instanceof Reponse)) {
+			return false;
+		}
+
+		Reponse reponse = (Reponse)autre;
+
+		return bienPlace == reponse.bienPlace && present == reponse.present
+				&& Arrays.equals(indices, reponse.indices);
+	}
+
+	@Override
+	public int hashCode() {
+
+		return 31 * (31 * bienPlace + present) + Arrays.hashCode(indices);
+	}
+
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package moteur;
+
+/**
+ * État d'une partie vue par le joueur.
+ * 
+ * @author Coyote
+ */
+public enum Resultat {
+
+	/**
+	 * La partie n'est pas terminée.
+	 */
+	EN_COURS,
+	/**
+	 * Le joueur a gagné : il a trouvé la combinaison, ou l'IA n'a pas trouvé la sienne.
+	 */
+	VICTOIRE_JOUEUR,
+	/**
+	 * L'IA a gagné : elle a trouvé la combinaison, ou le joueur n'a pas trouvé la sienne.
+	 */
+	VICTOIRE_IA,
+	/**
+	 * En <i>Duel</i>, personne n'a trouvé de combinaison avant la fin des essais.
+	 */
+	EGALITE
+
+}
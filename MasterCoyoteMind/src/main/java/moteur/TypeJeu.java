@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package moteur;
+
+/**
+ * <i>Type</i> de jeu d'une partie.
+ * 
+ * @author Coyote
+ */
+public enum TypeJeu {
+
+	/**
+	 * Chaque case est indiquée plus grande, égale ou plus petite que la combinaison.
+	 */
+	RECHERCHE,
+	/**
+	 * Chaque tentative reçoit le nombre de chiffres bien placés et présents.
+	 */
+	MASTERMIND;
+
+
+	/**
+	 * Retrouve le type de jeu à partir de son numéro dans le menu.
+	 * 
+	 * @param numero : <code>1</code> pour Recherche, <code>2</code> pour MasterMind.
+	 * 
+	 * @return Le type de jeu : <code>TypeJeu</code>
+	 * 
+	 * @throws IllegalArgumentException si le numéro ne correspond à aucun type.
+	 */
+	public static TypeJeu depuisNumero(int numero) {
+
+		if (numero < 1 || numero > values().length) {
+			throw new IllegalArgumentException("Type de jeu inconnu : " + numero);
+		}
+
+		return values()[numero - 1];
+	}
+
+}
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+/**
+ * Moteur de jeu sans console : les six modes de jeu se jouent par appels de méthodes,
+ * pour les parties en lot, les serveurs et les mesures de performance.
+ * 
+ * @see moteur.Partie
+ * @see moteur.ConfigPartie
+ * @see moteur.Reponse
+ * @see moteur.AutoJeu
+ * 
+ * @author Coyote
+ */
+
+package moteur;
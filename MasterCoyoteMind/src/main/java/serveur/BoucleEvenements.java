@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package serveur;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import ia.GenerateurAleatoire;
+
+/**
+ * Boucle d'événements : un thread et un <code>Selector</code> qui gèrent toutes les connexions
+ * qui lui sont confiées, sans jamais bloquer sur l'une d'elles.
+ * 
+ * <p>Les autres threads ne touchent pas aux connexions : ils confient leurs tâches
+ * à la boucle avec <code>executer(Runnable)</code>, qui la réveille.</p>
+ * 
+ * @see ServeurJeu
+ * @see SessionJeu
+ * 
+ * @author Coyote
+ */
+final class BoucleEvenements implements Runnable {
+
+
+	/**
+	 * Création de l'objet Logger permettant la gestion des logs de l'application.
+	 */
+	private static final Logger LOG = LogManager.getLogger();
+	/**
+	 * Serveur de la boucle.
+	 */
+	private final ServeurJeu serveur;
+	/**
+	 * Sélecteur des connexions de la boucle.
+	 */
+	private final Selector selecteur;
+	/**
+	 * Tâches confiées par les autres threads.
+	 */
+	private final Queue<Runnable> taches;
+	/**
+	 * Pool qui joue les créations de parties.
+	 */
+	private final ExecutorService executeurCalculs;
+	/**
+	 * Regroupe et joue les tours de l'IA.
+	 */
+	private final OrdonnanceurIA ordonnanceurIA;
+	/**
+	 * Générateur des graines de parties des sessions de la boucle.
+	 */
+	private final GenerateurAleatoire graines;
+	/**
+	 * Passe à <code>true</code> pour arrêter la boucle.
+	 */
+	private volatile boolean arret;
+
+
+	/**
+	 * Constructeur de <i>BoucleEvenements</i>.
+	 * 
+	 * @param serveur <code>:ServeurJeu</code> Serveur de la boucle.
+	 * @param executeurCalculs <code>:ExecutorService</code> Pool qui joue les créations de parties.
+	 * @param ordonnanceurIA <code>:OrdonnanceurIA</code> Regroupe et joue les tours de l'IA.
+	 * @param graines <code>:GenerateurAleatoire</code> Générateur des graines de parties, confié à la boucle.
+	 * 
+	 * @throws IOException si le sélecteur ne peut pas être ouvert.
+	 */
+	BoucleEvenements(ServeurJeu serveur, ExecutorService executeurCalculs, OrdonnanceurIA ordonnanceurIA,
+			GenerateurAleatoire graines) throws IOException {
+
+		this.serveur = serveur;
+		this.selecteur = Selector.open();
+		this.taches = new ConcurrentLinkedQueue<>();
+		this.executeurCalculs = executeurCalculs;
+		this.ordonnanceurIA = ordonnanceurIA;
+		this.graines = graines;
+	}
+
+	/**
+	 * Récupère le sélecteur de la boucle.
+	 * 
+	 * @return Selector : le sélecteur.
+	 */
+	Selector getSelecteur() {
+
+		return selecteur;
+	}
+
+	/**
+	 * Confie une nouvelle connexion à la boucle.
+	 * 
+	 * @param canal : connexion acceptée, non bloquante.
+	 */
+	void ajouter(SocketChannel canal) {
+
+		executer(() -> {
+			try {
+				SessionJeu session = new SessionJeu(this, canal, new ProtocoleJeu(graines.split()));
+				session.demarrer(canal.register(selecteur, 0, session));
+
+			} catch (IOException e) {
+				LOG.error("Connexion refusée :", e);
+				sessionFermee();
+			}
+		});
+	}
+
+	/**
+	 * Confie une tâche au thread de la boucle.
+	 * 
+	 * @param tache : tâche à exécuter dans la boucle.
+	 */
+	void executer(Runnable tache) {
+
+		taches.add(tache);
+		selecteur.wakeup();
+	}
+
+	/**
+	 * Confie un calcul long au pool des calculs.
+	 * 
+	 * @param calcul : calcul qui rend la main à la boucle par <code>executer(Runnable)</code>.
+	 */
+	void executerCalcul(Runnable calcul) {
+
+		try {
+			executeurCalculs.execute(calcul);
+		} catch (RejectedExecutionException e) {
+			// Serveur en cours d'arrêt : la session sera fermée avec la boucle.
+			LOG.debug("Calcul refusé : " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Récupère l'ordonnanceur qui joue les tours de l'IA.
+	 * 
+	 * @return OrdonnanceurIA : l'ordonnanceur.
+	 */
+	OrdonnanceurIA getOrdonnanceurIA() {
+
+		return ordonnanceurIA;
+	}
+
+	/**
+	 * Prévient le serveur de la fermeture d'une session.
+	 */
+	void sessionFermee() {
+
+		serveur.sessionFermee();
+	}
+
+	/**
+	 * Demande l'arrêt de la boucle, qui ferme alors toutes ses connexions.
+	 */
+	void arreter() {
+
+		arret = true;
+		selecteur.wakeup();
+	}
+
+	/**
+	 * Déroulement de la boucle : attend les événements, exécute les tâches confiées,
+	 * puis sert les connexions prêtes.
+	 */
+	@Override
+	public void run() {
+
+		try {
+			while (!arret) {
+
+				selecteur.select();
+
+				Runnable tache;
+				while ((tache = taches.poll()) != null) {
+					tache.run();
+				}
+
+				Iterator<SelectionKey> prets = selecteur.selectedKeys().iterator();
+
+				while (prets.hasNext()) {
+
+					SelectionKey cle = prets.next();
+					prets.remove();
+
+					if (!cle.isValid()) {
+						continue;
+					}
+					if (cle.isAcceptable()) {
+						serveur.accepter();
+						continue;
+					}
+
+					SessionJeu session = (SessionJeu) cle.attachment();
+
+					if (cle.isWritable()) {
+						session.ecrire();
+					}
+					if (cle.isValid() && cle.isReadable()) {
+						session.lire();
+					}
+				}
+			}
+
+		} catch (IOException e) {
+			LOG.error("Boucle d'événements arrêtée :", e);
+
+		} finally {
+			fermerTout();
+		}
+	}
+
+	/**
+	 * Ferme toutes les connexions et le sélecteur de la boucle.
+	 */
+	private void fermerTout() {
+
+		for (SelectionKey cle : selecteur.keys()) {
+			if (cle.attachment() instanceof SessionJeu) {
+				((SessionJeu) cle.attachment()).fermer();
+			}
+		}
+
+		try {
+			selecteur.close();
+		} catch (IOException e) {
+			LOG.error("Fermeture du sélecteur :", e);
+		}
+	}
+
+}
@@ -0,0 +1,483 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package serveur;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import ia.CleChoixIA;
+import moteur.ConfigPartie;
+import moteur.Partie;
+import moteur.Reponse;
+
+/**
+ * Ordonnanceur des tours de l'IA d'un serveur : rassemble les tours demandés au même moment
+ * par plusieurs parties et ne calcule qu'une fois ceux qui donneraient la même tentative.
+ * 
+ * <p>Un thread collecteur attend la première demande, puis ramasse celles qui arrivent pendant
+ * une courte <i>fenêtre</i>, dans la limite de {@link #LOT_MAX} demandes. Le lot est découpé en groupes
+ * de même configuration et de même clé de choix ({@link Partie#cleTourIA()}) : la première partie
+ * d'un groupe choisit sa tentative, les suivantes la rejouent sans noter une seule tentative.
+ * Une partie dont l'IA ne donne pas de clé forme un groupe à elle seule.</p>
+ * 
+ * <p>Les groupes sont joués par un nombre fixe de travailleurs. Quand tous sont occupés, le collecteur
+ * attend : les demandes s'accumulent dans une file bornée, et se regroupent d'autant mieux.
+ * Une fois la file pleine, les nouvelles demandes sont refusées et le serveur répond qu'il est occupé,
+ * au lieu d'empiler des threads qui attendent.</p>
+ * 
+ * <p>Une partie confiée à l'ordonnanceur ne doit plus être touchée jusqu'à la fin de son tour,
+ * signalée à sa suite sur le thread du travailleur. Dans un groupe, le hasard de la stratégie
+ * n'est tiré que par la première partie : une partie rejouée avec sa graine peut donc choisir
+ * d'autres tentatives, son journal garde celles qui ont été jouées.</p>
+ * 
+ * @author Coyote
+ */
+final class OrdonnanceurIA {
+
+
+	/**
+	 * Durée de collecte d'un lot par défaut, en nanosecondes.
+	 */
+	static final long FENETRE_PAR_DEFAUT = TimeUnit.MICROSECONDS.toNanos(200);
+	/**
+	 * Nombre de demandes en attente par défaut au-delà duquel les demandes sont refusées.
+	 */
+	static final int CAPACITE_PAR_DEFAUT = 4096;
+	/**
+	 * Nombre maximum de demandes d'un lot.
+	 */
+	static final int LOT_MAX = 512;
+	/**
+	 * Création de l'objet Logger permettant la gestion des logs de l'application.
+	 */
+	private static final Logger LOG = LogManager.getLogger();
+	/**
+	 * Demandes pas encore ramassées par le collecteur.
+	 */
+	private final BlockingQueue<Demande> attente;
+	/**
+	 * Travailleurs qui jouent les groupes.
+	 */
+	private final ExecutorService travailleurs;
+	/**
+	 * Un jeton par travailleur libre : le collecteur en prend un avant de ramasser chaque lot.
+	 */
+	private final Semaphore travailleursLibres;
+	/**
+	 * Groupes des lots pas encore pris par un travailleur.
+	 */
+	private final Queue<List<Demande>> groupesPrets;
+	/**
+	 * Thread qui ramasse les lots et les découpe en groupes.
+	 */
+	private final Thread collecteur;
+	/**
+	 * Durée de collecte d'un lot, en nanosecondes.
+	 */
+	private final long fenetre;
+	/**
+	 * Nombre de tours joués, calculés ou rejoués.
+	 */
+	private final AtomicLong nbrTours;
+	/**
+	 * Nombre de tours rejoués à partir de la tentative d'une autre partie.
+	 */
+	private final AtomicLong nbrRejoues;
+	/**
+	 * Nombre de lots ramassés.
+	 */
+	private final AtomicLong nbrLots;
+	/**
+	 * Nombre de demandes refusées, file pleine ou ordonnanceur arrêté.
+	 */
+	private final AtomicLong nbrRefus;
+	/**
+	 * Vaut <code>true</code> une fois l'ordonnanceur arrêté.
+	 */
+	private volatile boolean arrete;
+
+
+	/**
+	 * Constructeur de <i>OrdonnanceurIA</i>, qui démarre le collecteur.
+	 * 
+	 * @param nbrTravailleurs <code>:int</code> Nombre de threads qui jouent les tours, au moins 1.
+	 * @param fenetre <code>:long</code> Durée de collecte d'un lot en nanosecondes, <code>0</code> pour ne pas attendre.
+	 * @param capacite <code>:int</code> Nombre de demandes en attente au-delà duquel les demandes sont refusées.
+	 */
+	OrdonnanceurIA(int nbrTravailleurs, long fenetre, int capacite) {
+
+		if (nbrTravailleurs < 1 || fenetre < 0 || capacite < 1) {
+			throw new IllegalArgumentException("Ordonnanceur invalide : " + nbrTravailleurs + " travailleurs, fenêtre de "
+					+ fenetre + " ns, " + capacite + " demandes");
+		}
+
+		this.fenetre = fenetre;
+		attente = new ArrayBlockingQueue<>(capacite);
+		travailleurs = Executors.newFixedThreadPool(nbrTravailleurs, ServeurJeu.nommer("ia-jeu-"));
+		travailleursLibres = new Semaphore(nbrTravailleurs);
+		groupesPrets = new ConcurrentLinkedQueue<>();
+		nbrTours = new AtomicLong();
+		nbrRejoues = new AtomicLong();
+		nbrLots = new AtomicLong();
+		nbrRefus = new AtomicLong();
+
+		collecteur = ServeurJeu.nommer("collecteur-ia-").newThread(this::collecter);
+		collecteur.start();
+	}
+
+	/**
+	 * Confie un tour de l'IA à l'ordonnanceur.
+	 * 
+	 * @param partie : partie dont c'est le tour de l'IA, à ne plus toucher jusqu'à l'appel de <code>suite</code>.
+	 * @param tentative : tableau de taille <code>nbrDeCases</code> qui reçoit la tentative de l'IA.
+	 * @param suite : reçoit la réponse, ou l'exception levée par le tour, sur le thread qui l'a joué.
+	 * 
+	 * @throws RejectedExecutionException si la file d'attente est pleine ou l'ordonnanceur arrêté.
+	 */
+	void soumettre(Partie partie, int[] tentative, BiConsumer<Reponse, RuntimeException> suite) {
+
+		// La clé est calculée tant que la partie appartient encore à l'appelant.
+		Demande demande = new Demande(partie, tentative, suite);
+
+		if (arrete || !attente.offer(demande)) {
+			nbrRefus.incrementAndGet();
+			throw new RejectedExecutionException(arrete ? "Serveur arrêté" : "Serveur occupé, tour de l'IA refusé");
+		}
+
+		// Un arrêt pendant l'ajout : le collecteur ne ramassera plus la demande.
+		if (arrete && attente.remove(demande)) {
+			nbrRefus.incrementAndGet();
+			throw new RejectedExecutionException("Serveur arrêté");
+		}
+	}
+
+	/**
+	 * Confie un tour de l'IA à l'ordonnanceur et attend sa fin.
+	 * 
+	 * @param partie : partie dont c'est le tour de l'IA.
+	 * @param tentative : tableau de taille <code>nbrDeCases</code> qui reçoit la tentative de l'IA.
+	 * 
+	 * @return La réponse à la tentative de l'IA : <code>Reponse</code>
+	 * 
+	 * @throws RejectedExecutionException si la file d'attente est pleine ou l'ordonnanceur arrêté.
+	 * @throws IllegalStateException si ce n'est pas à l'IA de jouer.
+	 * 
+	 * @see Partie#jouerIA(int[])
+	 */
+	Reponse jouer(Partie partie, int[] tentative) {
+
+		CompletableFuture<Reponse> tour = new CompletableFuture<>();
+
+		soumettre(partie, tentative, (reponse, erreur) -> {
+			if (erreur == null) {
+				tour.complete(reponse);
+			} else {
+				tour.completeExceptionally(erreur);
+			}
+		});
+
+		// Attente sans interruption : la partie ne doit pas être rendue pendant son tour.
+		try {
+			return tour.join();
+		} catch (CompletionException e) {
+			throw (RuntimeException) e.getCause();
+		}
+	}
+
+	/**
+	 * Arrête l'ordonnanceur : les groupes déjà confiés sont joués jusqu'au bout,
+	 * les demandes encore en attente sont refusées.
+	 */
+	void arreter() {
+
+		arrete = true;
+		collecteur.interrupt();
+		travailleurs.shutdown();
+	}
+
+	/**
+	 * Ramasse les lots de demandes et confie leurs groupes aux travailleurs, jusqu'à l'arrêt.
+	 */
+	private void collecter() {
+
+		List<Demande> lot = new ArrayList<>();
+
+		try {
+			while (!arrete) {
+
+				lot.add(attente.take());
+
+				// Attend un travailleur libre : pendant ce temps les demandes s'accumulent dans la file.
+				travailleursLibres.acquire();
+
+				long limite = System.nanoTime() + fenetre;
+				long reste = fenetre;
+
+				while (lot.size() < LOT_MAX && reste > 0) {
+
+					Demande demande = attente.poll(reste, TimeUnit.NANOSECONDS);
+					if (demande == null) {
+						break;
+					}
+					lot.add(demande);
+					reste = limite - System.nanoTime();
+				}
+				attente.drainTo(lot, LOT_MAX - lot.size());
+
+				nbrLots.incrementAndGet();
+				distribuer(lot);
+			}
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+
+		} finally {
+			// Demandes ramassées, groupes pas encore joués, puis demandes arrivées avant l'arrêt.
+			for (List<Demande> groupe = groupesPrets.poll(); groupe != null; groupe = groupesPrets.poll()) {
+				lot.addAll(groupe);
+			}
+			attente.drainTo(lot);
+			for (Demande demande : lot) {
+				refuser(demande);
+			}
+
+			LOG.info("Ordonnanceur de l'IA arrêté : " + nbrTours.get() + " tours dont " + nbrRejoues.get()
+					+ " rejoués, " + nbrLots.get() + " lots, " + nbrRefus.get() + " refus");
+		}
+	}
+
+	/**
+	 * Découpe un lot en groupes de même clé, les range dans la file des groupes
+	 * et réveille autant de travailleurs libres qu'il y a de groupes.
+	 * Un jeton de travailleur libre est déjà pris par le collecteur.
+	 * 
+	 * @param lot : demandes ramassées, vidé une fois découpé.
+	 */
+	private void distribuer(List<Demande> lot) {
+
+		Map<Object, List<Demande>> parCle = new LinkedHashMap<>();
+
+		for (Demande demande : lot) {
+			parCle.computeIfAbsent(demande.cle, cle -> new ArrayList<>(1)).add(demande);
+		}
+
+		groupesPrets.addAll(parCle.values());
+		lot.clear();
+
+		// Le jeton déjà pris, plus ceux des autres travailleurs libres, dans la limite d'un par groupe.
+		int nbrTaches = 1 + travailleursLibres.drainPermits();
+		int enTrop = Math.max(0, nbrTaches - parCle.size());
+		travailleursLibres.release(enTrop);
+		nbrTaches -= enTrop;
+
+		for (int t = 0; t < nbrTaches; t++) {
+			try {
+				travailleurs.execute(this::viderGroupes);
+			} catch (RejectedExecutionException e) {
+				// Travailleurs arrêtés : les groupes restants sont refusés par le collecteur.
+				travailleursLibres.release(nbrTaches - t);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Joue les groupes prêts jusqu'à vider leur file, puis libère le travailleur.
+	 */
+	private void viderGroupes() {
+
+		try {
+			for (List<Demande> groupe = groupesPrets.poll(); groupe != null; groupe = groupesPrets.poll()) {
+				jouerGroupe(groupe);
+			}
+		} finally {
+			travailleursLibres.release();
+		}
+	}
+
+	/**
+	 * Joue les tours d'un groupe : la première partie qui y arrive choisit la tentative,
+	 * les autres la rejouent.
+	 * 
+	 * @param groupe : demandes de même clé.
+	 */
+	private void jouerGroupe(List<Demande> groupe) {
+
+		int[] choisie = null;
+
+		for (Demande demande : groupe) {
+
+			Reponse reponse;
+
+			try {
+				if (choisie == null) {
+					reponse = demande.partie.jouerIA(demande.tentative);
+					// Copie : le tableau de la demande est rendu à sa session avec la suite.
+					choisie = demande.tentative.clone();
+				} else {
+					System.arraycopy(choisie, 0, demande.tentative, 0, choisie.length);
+					reponse = demande.partie.rejouerIA(demande.tentative);
+					nbrRejoues.incrementAndGet();
+				}
+
+			} catch (IllegalArgumentException | IllegalStateException e) {
+				terminer(demande, null, e);
+				continue;
+
+			} catch (RuntimeException e) {
+				LOG.error("Tour de l'IA en échec :", e);
+				terminer(demande, null, e);
+				continue;
+			}
+
+			nbrTours.incrementAndGet();
+			terminer(demande, reponse, null);
+		}
+	}
+
+	/**
+	 * Refuse une demande qui ne sera pas jouée.
+	 * 
+	 * @param demande : la demande.
+	 */
+	private void refuser(Demande demande) {
+
+		nbrRefus.incrementAndGet();
+		terminer(demande, null, new RejectedExecutionException("Serveur arrêté"));
+	}
+
+	/**
+	 * Appelle la suite d'une demande, sans laisser une suite en échec interrompre le groupe.
+	 * 
+	 * @param demande : la demande.
+	 * @param reponse : réponse au tour, ou <code>null</code> en cas d'erreur.
+	 * @param erreur : exception levée par le tour, ou <code>null</code>.
+	 */
+	private static void terminer(Demande demande, Reponse reponse, RuntimeException erreur) {
+
+		try {
+			demande.suite.accept(reponse, erreur);
+		} catch (RuntimeException e) {
+			LOG.error("Suite d'un tour de l'IA en échec :", e);
+		}
+	}
+
+	/**
+	 * Récupère le nombre de tours joués, calculés ou rejoués.
+	 * 
+	 * @return long : nombre de tours.
+	 */
+	long getNbrTours() {
+
+		return nbrTours.get();
+	}
+
+	/**
+	 * Récupère le nombre de tours rejoués à partir de la tentative d'une autre partie du même lot.
+	 * 
+	 * @return long : nombre de tours rejoués.
+	 */
+	long getNbrRejoues() {
+
+		return nbrRejoues.get();
+	}
+
+	/**
+	 * Récupère le nombre de lots ramassés.
+	 * 
+	 * @return long : nombre de lots.
+	 */
+	long getNbrLots() {
+
+		return nbrLots.get();
+	}
+
+	/**
+	 * Récupère le nombre de demandes refusées.
+	 * 
+	 * @return long : nombre de refus.
+	 */
+	long getNbrRefus() {
+
+		return nbrRefus.get();
+	}
+
+
+	/**
+	 * Tour de l'IA en attente, avec la clé de son groupe.
+	 */
+	private static final class Demande {
+
+		/**
+		 * Partie dont c'est le tour de l'IA.
+		 */
+		private final Partie partie;
+		/**
+		 * Reçoit la tentative de l'IA.
+		 */
+		private final int[] tentative;
+		/**
+		 * Reçoit la réponse ou l'erreur.
+		 */
+		private final BiConsumer<Reponse, RuntimeException> suite;
+		/**
+		 * Clé du groupe : configuration et clé du choix de l'IA, ou la demande elle-même sans clé de choix.
+		 */
+		private final Object cle;
+
+		/**
+		 * Constructeur de <i>Demande</i>, qui calcule la clé du groupe.
+		 * 
+		 * @param partie <code>:Partie</code> Partie dont c'est le tour de l'IA.
+		 * @param tentative <code>:int[]</code> Reçoit la tentative de l'IA.
+		 * @param suite <code>:BiConsumer</code> Reçoit la réponse ou l'erreur.
+		 */
+		Demande(Partie partie, int[] tentative, BiConsumer<Reponse, RuntimeException> suite) {
+
+			this.partie = partie;
+			this.tentative = tentative;
+			this.suite = suite;
+
+			// La partie ne bouge plus avant son tour : la clé reste valable jusqu'au découpage du lot.
+			CleChoixIA choix = partie.isTourIA() ? partie.cleTourIA() : null;
+			ConfigPartie config = partie.getConfig();
+
+			// Le mode, le nombre d'essais et le budget comptent aussi : la stratégie du Duel en dépend.
+			cle = choix == null ? this : List.of(config.getType(), config.getMode(), config.getNbrEssais(),
+					config.getNbrSimulationsIA(), choix);
+		}
+	}
+
+}
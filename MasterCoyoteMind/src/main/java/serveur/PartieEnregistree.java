@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package serveur;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import moteur.ConfigPartie;
+import moteur.ModeJeu;
+import moteur.Partie;
+import moteur.Reponse;
+import moteur.TypeJeu;
+
+/**
+ * Partie d'un {@link RegistreParties}, avec le journal des coups joués.
+ * 
+ * <p>La configuration, la graine et le journal suffisent à reconstruire la partie :
+ * <code>archiver()</code> les écrit en quelques dizaines d'octets, et <code>reprendre()</code>
+ * recrée la partie puis rejoue ses coups. Les tentatives de l'IA sont rejouées telles quelles,
+ * sans être choisies de nouveau.</p>
+ * 
+ * <p>Les coups se jouent sous le verrou de l'objet, pris par l'appelant.</p>
+ * 
+ * @author Coyote
+ */
+final class PartieEnregistree {
+
+
+	/**
+	 * Coup du journal : combinaison de l'IA.
+	 */
+	private static final byte SECRET = 'S';
+	/**
+	 * Coup du journal : tentative du joueur.
+	 */
+	private static final byte ESSAI = 'E';
+	/**
+	 * Coup du journal : tentative de l'IA.
+	 */
+	private static final byte IA = 'I';
+	/**
+	 * Taille de l'en-tête d'une archive : type, mode, cases, essais, couleurs, simulations de l'IA et graine.
+	 */
+	private static final int TAILLE_ENTETE = 2 + 4 * Integer.BYTES + Long.BYTES;
+	/**
+	 * Identifiant de la partie dans le registre.
+	 */
+	private final long id;
+	/**
+	 * Graine de la partie.
+	 */
+	private final long graine;
+	/**
+	 * La partie.
+	 */
+	private final Partie partie;
+	/**
+	 * Mémoire estimée de la partie.
+	 */
+	private final long octets;
+	/**
+	 * Coups joués : un octet de type puis un octet par chiffre.
+	 */
+	private byte[] journal;
+	/**
+	 * Nombre d'octets utilisés dans <code>journal</code>.
+	 */
+	private int tailleJournal;
+	/**
+	 * Nombre de requêtes en train d'utiliser la partie, sous le verrou de sa tranche du registre.
+	 */
+	int utilisations;
+	/**
+	 * Date de la dernière utilisation, en nanosecondes, sous le verrou de sa tranche du registre.
+	 */
+	long derniereUtilisation;
+
+
+	/**
+	 * Constructeur de <i>PartieEnregistree</i> pour une nouvelle partie.
+	 * 
+	 * @param id <code>:long</code> Identifiant de la partie.
+	 * @param graine <code>:long</code> Graine de la partie.
+	 * @param partie <code>:Partie</code> Partie créée avec cette graine, pas encore jouée.
+	 */
+	PartieEnregistree(long id, long graine, Partie partie) {
+
+		this.id = id;
+		this.graine = graine;
+		this.partie = partie;
+		this.octets = partie.estimerMemoire();
+		this.journal = new byte[4 * (partie.getConfig().getNbrDeCases() + 1)];
+	}
+
+	/**
+	 * Reconstruit une partie archivée en rejouant son journal.
+	 * 
+	 * @param id : identifiant de la partie.
+	 * @param archive : archive écrite par <code>archiver()</code>.
+	 * 
+	 * @return La partie : <code>PartieEnregistree</code>
+	 * 
+	 * @throws IllegalStateException si l'archive est illisible.
+	 */
+	static PartieEnregistree reprendre(long id, byte[] archive) {
+
+		ByteBuffer lecture = ByteBuffer.wrap(archive);
+
+		try {
+			TypeJeu type = TypeJeu.values()[lecture.get()];
+			ModeJeu mode = ModeJeu.values()[lecture.get()];
+			ConfigPartie config = new ConfigPartie(type, mode, lecture.getInt(), lecture.getInt(), lecture.getInt(),
+					lecture.getInt());
+			long graine = lecture.getLong();
+
+			PartieEnregistree enregistree = new PartieEnregistree(id, graine, Partie.nouvellePartie(config, graine));
+			int[] chiffres = new int[config.getNbrDeCases()];
+
+			while (lecture.hasRemaining()) {
+
+				byte coup = lecture.get();
+				for (int i = 0; i < chiffres.length; i++) {
+					chiffres[i] = lecture.get();
+				}
+
+				if (coup == SECRET) {
+					enregistree.definirCombinaisonIA(chiffres);
+				} else if (coup == ESSAI) {
+					enregistree.proposer(chiffres);
+				} else if (coup == IA) {
+					enregistree.rejouerIA(chiffres);
+				} else {
+					throw new IllegalStateException("Coup inconnu : " + coup);
+				}
+			}
+
+			return enregistree;
+
+		} catch (BufferUnderflowException | ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+			throw new IllegalStateException("Archive de la partie " + id + " illisible", e);
+		}
+	}
+
+	/**
+	 * Écrit la configuration, la graine et le journal de la partie.
+	 * 
+	 * @return L'archive : <code>byte[]</code>
+	 */
+	byte[] archiver() {
+
+		ConfigPartie config = partie.getConfig();
+		ByteBuffer archive = ByteBuffer.allocate(TAILLE_ENTETE + tailleJournal);
+
+		archive.put((byte) config.getType().ordinal()).put((byte) config.getMode().ordinal())
+		.putInt(config.getNbrDeCases()).putInt(config.getNbrEssais()).putInt(config.getNbrDeCouleurs())
+		.putInt(config.getNbrSimulationsIA()).putLong(graine).put(journal, 0, tailleJournal);
+
+		return archive.array();
+	}
+
+	/**
+	 * Joue une tentative du joueur et l'inscrit au journal.
+	 * 
+	 * @param tentative : chiffres de la tentative.
+	 * 
+	 * @return La réponse : <code>Reponse</code>
+	 * 
+	 * @see Partie#proposer(int[])
+	 */
+	Reponse proposer(int[] tentative) {
+
+		Reponse reponse = partie.proposer(tentative);
+		noter(ESSAI, tentative);
+
+		return reponse;
+	}
+
+	/**
+	 * Définit la combinaison que l'IA doit trouver et l'inscrit au journal.
+	 * 
+	 * @param combinaison : chiffres de la combinaison.
+	 * 
+	 * @see Partie#definirCombinaisonIA(int[])
+	 */
+	void definirCombinaisonIA(int[] combinaison) {
+
+		partie.definirCombinaisonIA(combinaison);
+		noter(SECRET, combinaison);
+	}
+
+	/**
+	 * Fait jouer un tour de l'IA par un ordonnanceur, attend sa fin et inscrit sa tentative au journal.
+	 * 
+	 * @param tentative : tableau qui reçoit la tentative de l'IA.
+	 * @param ordonnanceur : ordonnanceur qui joue le tour.
+	 * 
+	 * @return La réponse : <code>Reponse</code>
+	 * 
+	 * @throws java.util.concurrent.RejectedExecutionException si l'ordonnanceur refuse le tour.
+	 * 
+	 * @see OrdonnanceurIA#jouer(Partie, int[])
+	 */
+	Reponse jouerIA(int[] tentative, OrdonnanceurIA ordonnanceur) {
+
+		Reponse reponse = ordonnanceur.jouer(partie, tentative);
+		noter(IA, tentative);
+
+		return reponse;
+	}
+
+	/**
+	 * Rejoue une tentative de l'IA lue dans une archive.
+	 * 
+	 * @param tentative : chiffres de la tentative.
+	 * 
+	 * @see Partie#rejouerIA(int[])
+	 */
+	private void rejouerIA(int[] tentative) {
+
+		partie.rejouerIA(tentative);
+		noter(IA, tentative);
+	}
+
+	/**
+	 * Ajoute un coup au journal.
+	 * 
+	 * @param coup : type du coup.
+	 * @param chiffres : chiffres joués.
+	 */
+	private void noter(byte coup, int[] chiffres) {
+
+		if (tailleJournal + chiffres.length + 1 > journal.length) {
+			journal = Arrays.copyOf(journal, 2 * journal.length);
+		}
+
+		journal[tailleJournal++] = coup;
+		for (int chiffre : chiffres) {
+			journal[tailleJournal++] = (byte) chiffre;
+		}
+	}
+
+	/**
+	 * Récupère l'identifiant de la partie.
+	 * 
+	 * @return <code>long</code>
+	 */
+	long getId() {
+
+		return id;
+	}
+
+	/**
+	 * Récupère la graine de la partie.
+	 * 
+	 * @return <code>long</code>
+	 */
+	long getGraine() {
+
+		return graine;
+	}
+
+	/**
+	 * Récupère la partie, pour lire son état. Les coups se jouent par cet objet, pour le journal.
+	 * 
+	 * @return <code>Partie</code>
+	 */
+	Partie getPartie() {
+
+		return partie;
+	}
+
+	/**
+	 * Récupère la mémoire estimée de la partie et de son journal.
+	 * 
+	 * @return <code>long</code>
+	 */
+	long getOctets() {
+
+		return octets + journal.length;
+	}
+
+}
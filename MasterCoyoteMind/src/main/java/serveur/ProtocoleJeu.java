@@ -0,0 +1,401 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package serveur;
+
+import java.util.function.Consumer;
+
+import ia.AbstractEspaceCodes;
+import ia.GenerateurAleatoire;
+import ia.SolveurRecherche;
+import moteur.ConfigPartie;
+import moteur.ModeJeu;
+import moteur.Partie;
+import moteur.Reponse;
+import moteur.TypeJeu;
+
+/**
+ * Interprète les commandes texte d'un client pour une {@link Partie}, sans aucune lecture
+ * ni écriture réseau : chaque commande ajoute ses lignes de réponse à un <code>StringBuilder</code>.
+ * 
+ * <p>Commandes, une par ligne, mots séparés par des espaces :</p>
+ * <ul>
+ * <li><code>NOUVELLE &lt;MASTERMIND|RECHERCHE&gt; &lt;CHALLENGER|DEFENSEUR|DUEL&gt; [cases essais [couleurs [graine]]]</code>
+ * : <code>OK type mode cases essais couleurs graine</code></li>
+ * <li><code>SECRET &lt;chiffres&gt;</code> : combinaison que l'IA doit trouver, en <i>Defenseur</i> et en <i>Duel</i>.
+ * Les chiffres s'écrivent sans séparateur, les couleurs 10 à 15 de <code>a</code> à <code>f</code>.</li>
+ * <li><code>ESSAI &lt;chiffres&gt;</code> : <code>REPONSE bienPlaces presents</code> au <i>MasterMind</i>,
+ * <code>REPONSE +-=...</code> en <i>Recherche</i>.</li>
+ * <li><code>ETAT</code> : <code>ETAT resultat essaisRestants</code>.</li>
+ * <li><code>QUITTER</code> : <code>AU REVOIR</code>, puis la connexion est fermée.</li>
+ * </ul>
+ * <p>Chaque tour de l'IA envoie <code>IA chiffres reponse</code>, et la fin de partie
+ * <code>FIN resultat [combinaison]</code>. En <i>Duel</i>, l'IA joue après chaque essai du joueur,
+ * une fois son secret connu. Une commande refusée renvoie <code>ERREUR message</code>.
+ * Une partie dont la mémoire estimée dépasse <code>MEMOIRE_MAX_PARTIE</code> est refusée
+ * avant d'être construite.</p>
+ * 
+ * <p>Les tours de l'IA peuvent être longs : ils ne sont pas joués par <code>executer()</code>
+ * mais par <code>jouerIA()</code>, que le serveur appelle hors de la boucle réseau
+ * tant que <code>isTourIA()</code> vaut <code>true</code>, ou confie à son {@link OrdonnanceurIA}.
+ * Un serveur saturé répond <code>ERREUR Serveur occupé...</code> : le tour est retenté
+ * après la commande suivante, par exemple <code>ETAT</code>. Il en va de même des commandes
+ * pour lesquelles <code>estLongue()</code> vaut <code>true</code>.
+ * Un protocole ne doit servir qu'à un seul thread à la fois.</p>
+ * 
+ * @see ServeurJeu
+ * 
+ * @author Coyote
+ */
+public class ProtocoleJeu {
+
+
+	/**
+	 * Ligne envoyée à l'ouverture de la connexion.
+	 */
+	public static final String BIENVENUE = "BIENVENUE MasterCoyoteMind";
+	/**
+	 * Base des chiffres d'une combinaison : une couleur s'écrit sur un seul caractère,
+	 * de <code>0</code> à <code>9</code> puis de <code>a</code> à <code>f</code>.
+	 */
+	public static final int BASE_CHIFFRES = AbstractEspaceCodes.MAX_COULEURS;
+	/**
+	 * Mémoire estimée maximum d'une partie, en octets : le serveur n'a pas de registre
+	 * qui borne le total, seulement une partie par session.
+	 */
+	public static final long MEMOIRE_MAX_PARTIE = 16L << 20;
+	/**
+	 * Nombre de cases par défaut.
+	 */
+	private static final int CASES_PAR_DEFAUT = 4;
+	/**
+	 * Nombre d'essais par défaut.
+	 */
+	private static final int ESSAIS_PAR_DEFAUT = 10;
+	/**
+	 * Nombre de couleurs par défaut au <i>MasterMind</i>.
+	 */
+	private static final int COULEURS_PAR_DEFAUT = 6;
+	/**
+	 * Générateur qui tire la graine des parties sans graine donnée.
+	 */
+	private final GenerateurAleatoire graines;
+	/**
+	 * Partie en cours, <code>null</code> avant la première commande <code>NOUVELLE</code>.
+	 */
+	private Partie partie;
+	/**
+	 * Tentative de l'IA, réutilisée d'un tour à l'autre.
+	 */
+	private int[] tentativeIA;
+
+
+	/**
+	 * Constructeur de <i>ProtocoleJeu</i>.
+	 * 
+	 * @param graines <code>:GenerateurAleatoire</code> Générateur des graines de parties, confiné au thread du protocole.
+	 */
+	public ProtocoleJeu(GenerateurAleatoire graines) {
+
+		this.graines = graines;
+	}
+
+	/**
+	 * Exécute une commande du client.
+	 * 
+	 * @param ligne : la commande, sans fin de ligne.
+	 * @param sortie : reçoit les lignes de réponse, chacune terminée par <code>\n</code>.
+	 * 
+	 * @return <code>true</code> si la connexion doit être fermée.
+	 */
+	public boolean executer(String ligne, StringBuilder sortie) {
+
+		String[] mots = ligne.trim().split("\\s+");
+
+		try {
+			switch (mots[0].toUpperCase()) {
+
+				case "NOUVELLE":
+					nouvellePartie(mots, sortie);
+					break;
+
+				case "SECRET":
+					verifierPartie();
+					partie.definirCombinaisonIA(lireChiffres(mots));
+					sortie.append("OK\n");
+					break;
+
+				case "ESSAI":
+					essai(mots, sortie);
+					break;
+
+				case "ETAT":
+					verifierPartie();
+					sortie.append("ETAT ").append(partie.getResultat()).append(' ')
+					.append(partie.getNbrEssaisRestants()).append('\n');
+					break;
+
+				case "QUITTER":
+					sortie.append("AU REVOIR\n");
+					return true;
+
+				case "":
+					break;
+
+				default:
+					throw new IllegalArgumentException("Commande inconnue : " + mots[0]);
+			}
+
+		} catch (IllegalArgumentException | IllegalStateException e) {
+			sortie.append("ERREUR ").append(e.getMessage()).append('\n');
+		}
+
+		return false;
+	}
+
+	/**
+	 * Indique si une commande peut être longue à exécuter : la création d'une partie,
+	 * qui construit l'espace des codes et l'IA. Elle doit alors être exécutée hors de la boucle réseau.
+	 * 
+	 * @param ligne : la commande.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public static boolean estLongue(String ligne) {
+
+		return ligne.trim().regionMatches(true, 0, "NOUVELLE", 0, "NOUVELLE".length());
+	}
+
+	/**
+	 * Indique si un tour de l'IA doit être joué avant la prochaine commande.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	public boolean isTourIA() {
+
+		return partie != null && partie.isTourIA();
+	}
+
+	/**
+	 * Joue un tour de l'IA, à appeler quand <code>isTourIA()</code> vaut <code>true</code>.
+	 * 
+	 * @param sortie : reçoit la tentative de l'IA et la fin de partie éventuelle.
+	 */
+	public void jouerIA(StringBuilder sortie) {
+
+		decrireTourIA(partie.jouerIA(tentativeIA), sortie);
+	}
+
+	/**
+	 * Confie un tour de l'IA à un ordonnanceur, à appeler quand <code>isTourIA()</code> vaut <code>true</code>.
+	 * Le protocole ne doit plus servir jusqu'à l'appel de <code>suite</code>.
+	 * 
+	 * @param ordonnanceur : ordonnanceur qui joue le tour.
+	 * @param suite : reçoit les lignes du tour, ou l'erreur, sur le thread qui l'a joué.
+	 * 
+	 * @throws java.util.concurrent.RejectedExecutionException si l'ordonnanceur refuse le tour.
+	 */
+	void jouerIA(OrdonnanceurIA ordonnanceur, Consumer<StringBuilder> suite) {
+
+		ordonnanceur.soumettre(partie, tentativeIA, (reponse, erreur) -> {
+
+			StringBuilder sortie = new StringBuilder();
+
+			if (erreur == null) {
+				decrireTourIA(reponse, sortie);
+			} else {
+				sortie.append("ERREUR ").append(erreur.getMessage()).append('\n');
+			}
+
+			suite.accept(sortie);
+		});
+	}
+
+	/**
+	 * Écrit la tentative de l'IA, sa réponse et la fin de partie éventuelle.
+	 * 
+	 * @param reponse : réponse à la tentative de l'IA.
+	 * @param sortie : reçoit les lignes.
+	 */
+	private void decrireTourIA(Reponse reponse, StringBuilder sortie) {
+
+		sortie.append("IA ");
+		ajouterChiffres(tentativeIA, sortie);
+		sortie.append(' ');
+		ajouterReponse(reponse, sortie);
+		sortie.append('\n');
+
+		ajouterFin(sortie);
+	}
+
+	/**
+	 * Commande <code>NOUVELLE</code> : crée une partie.
+	 * 
+	 * @param mots : mots de la commande.
+	 * @param sortie : reçoit la réponse.
+	 */
+	private void nouvellePartie(String[] mots, StringBuilder sortie) {
+
+		if (mots.length < 3) {
+			throw new IllegalArgumentException("NOUVELLE <MASTERMIND|RECHERCHE> <CHALLENGER|DEFENSEUR|DUEL> [cases essais [couleurs [graine]]]");
+		}
+
+		TypeJeu type = TypeJeu.valueOf(mots[1].toUpperCase());
+		ModeJeu mode = ModeJeu.valueOf(mots[2].toUpperCase());
+		int nbrDeCases = mots.length > 3 ? Integer.parseInt(mots[3]) : CASES_PAR_DEFAUT;
+		int nbrEssais = mots.length > 4 ? Integer.parseInt(mots[4]) : ESSAIS_PAR_DEFAUT;
+		int nbrDeCouleurs = type == TypeJeu.RECHERCHE ? SolveurRecherche.CHIFFRE_MAX + 1
+				: mots.length > 5 ? Integer.parseInt(mots[5]) : COULEURS_PAR_DEFAUT;
+		long graine = mots.length > 6 ? Long.parseLong(mots[6]) : graines.nextLong();
+
+		ConfigPartie config = new ConfigPartie(type, mode, nbrDeCases, nbrEssais, nbrDeCouleurs);
+
+		if (Partie.estimerMemoire(config) > MEMOIRE_MAX_PARTIE) {
+			throw new IllegalArgumentException("Partie trop grande pour le serveur : " + config);
+		}
+
+		partie = Partie.nouvellePartie(config, graine);
+		tentativeIA = new int[nbrDeCases];
+
+		sortie.append("OK ").append(type).append(' ').append(mode).append(' ').append(nbrDeCases).append(' ')
+		.append(nbrEssais).append(' ').append(nbrDeCouleurs).append(' ').append(graine).append('\n');
+	}
+
+	/**
+	 * Commande <code>ESSAI</code> : tentative du joueur.
+	 * 
+	 * @param mots : mots de la commande.
+	 * @param sortie : reçoit la réponse.
+	 */
+	private void essai(String[] mots, StringBuilder sortie) {
+
+		verifierPartie();
+
+		Reponse reponse = partie.proposer(lireChiffres(mots));
+
+		sortie.append("REPONSE ");
+		ajouterReponse(reponse, sortie);
+		sortie.append('\n');
+
+		ajouterFin(sortie);
+	}
+
+	/**
+	 * Vérifie qu'une partie a été créée.
+	 * 
+	 * @throws IllegalStateException s'il n'y a pas de partie.
+	 */
+	private void verifierPartie() {
+
+		if (partie == null) {
+			throw new IllegalStateException("Aucune partie : NOUVELLE attendu");
+		}
+	}
+
+	/**
+	 * Lit les chiffres d'une combinaison, deuxième mot de la commande.
+	 * 
+	 * @param mots : mots de la commande.
+	 * 
+	 * @return Les chiffres : <code>int[]</code>
+	 * 
+	 * @throws IllegalArgumentException si les chiffres manquent ou n'en sont pas.
+	 */
+	private static int[] lireChiffres(String[] mots) {
+
+		if (mots.length < 2) {
+			throw new IllegalArgumentException("Chiffres attendus");
+		}
+
+		return lireChiffres(mots[1]);
+	}
+
+	/**
+	 * Lit les chiffres d'une combinaison écrite sans séparateur, par exemple <code>0123</code>
+	 * ou <code>9a0f</code> au-delà de 10 couleurs, majuscules acceptées.
+	 * 
+	 * @param texte : les chiffres.
+	 * 
+	 * @return Les chiffres : <code>int[]</code>
+	 * 
+	 * @throws IllegalArgumentException si un caractère n'est pas un chiffre.
+	 * 
+	 * @see ProtocoleJeu#BASE_CHIFFRES
+	 */
+	public static int[] lireChiffres(String texte) {
+
+		int[] chiffres = new int[texte.length()];
+
+		for (int i = 0; i < chiffres.length; i++) {
+
+			chiffres[i] = Character.digit(texte.charAt(i), BASE_CHIFFRES);
+
+			if (chiffres[i] < 0) {
+				throw new IllegalArgumentException("Chiffre invalide : " + texte.charAt(i));
+			}
+		}
+
+		return chiffres;
+	}
+
+	/**
+	 * Ajoute les chiffres d'une combinaison, sans séparateur, en minuscules au-delà de 10 couleurs.
+	 * 
+	 * @param chiffres : chiffres de la combinaison.
+	 * @param sortie : reçoit les chiffres.
+	 * 
+	 * @see ProtocoleJeu#BASE_CHIFFRES
+	 */
+	public static void ajouterChiffres(int[] chiffres, StringBuilder sortie) {
+
+		for (int chiffre : chiffres) {
+			sortie.append(Character.forDigit(chiffre, BASE_CHIFFRES));
+		}
+	}
+
+	/**
+	 * Ajoute une réponse : <code>bienPlaces presents</code> au <i>MasterMind</i>, <code>+-=...</code> en <i>Recherche</i>.
+	 * 
+	 * @param reponse : la réponse.
+	 * @param sortie : reçoit la réponse.
+	 */
+	private void ajouterReponse(Reponse reponse, StringBuilder sortie) {
+
+		if (partie.getConfig().getType() == TypeJeu.MASTERMIND) {
+			sortie.append(reponse.getBienPlace()).append(' ').append(reponse.getPresent());
+		} else {
+			sortie.append(reponse);
+		}
+	}
+
+	/**
+	 * Ajoute la ligne de fin si la partie est terminée, avec la combinaison que le joueur cherchait.
+	 * 
+	 * @param sortie : reçoit la ligne de fin.
+	 */
+	private void ajouterFin(StringBuilder sortie) {
+
+		if (partie.estTerminee()) {
+			sortie.append("FIN ").append(partie.getResultat());
+			if (partie.getConfig().getMode().isJoueurCherche()) {
+				sortie.append(' ');
+				ajouterChiffres(partie.getCombinaison(), sortie);
+			}
+			sortie.append('\n');
+		}
+	}
+
+}
@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package serveur;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import moteur.ConfigPartie;
+import moteur.Partie;
+
+/**
+ * Registre des parties d'un serveur, par identifiant, dont la mémoire ne dépasse jamais un plafond
+ * quel que soit le nombre de joueurs qui abandonnent leur partie en cours de route.
+ * 
+ * <p>Les parties sont réparties en tranches selon leur identifiant : chaque {@link TrancheParties}
+ * a son propre verrou, sa part du plafond et sa part des archives. Les requêtes sur des parties
+ * de tranches différentes ne s'attendent jamais, même quand l'une d'elles reconstruit une partie archivée
+ * ou évince les parties inactives : le débit suit le nombre de cœurs au lieu de buter sur un verrou unique.</p>
+ * 
+ * <p>Une partie se prend avec <code>prendre()</code> et se rend avec <code>rendre()</code> :
+ * une partie prise n'est jamais évincée. Ses coups se jouent entre les deux, sous son propre verrou.</p>
+ * 
+ * @see TrancheParties
+ * @see PartieEnregistree
+ * 
+ * @author Coyote
+ */
+final class RegistreParties {
+
+
+	/**
+	 * Part minimum du plafond de mémoire par tranche : un petit registre a moins de tranches
+	 * pour garder de la place à chaque partie.
+	 */
+	static final long MEMOIRE_MIN_TRANCHE = 16L << 20;
+	/**
+	 * Création de l'objet Logger permettant la gestion des logs de l'application.
+	 */
+	private static final Logger LOG = LogManager.getLogger();
+	/**
+	 * Tranches du registre : la partie <code>id</code> est dans la tranche <code>id % tranches.length</code>.
+	 */
+	private final TrancheParties[] tranches;
+	/**
+	 * Identifiant de la prochaine partie. Les identifiants successifs tombent dans des tranches successives.
+	 */
+	private final AtomicLong prochainId;
+
+
+	/**
+	 * Constructeur de <i>RegistreParties</i>.
+	 * Le nombre de tranches est réduit si chacune n'aurait pas <code>MEMOIRE_MIN_TRANCHE</code> octets.
+	 * 
+	 * @param memoireMax <code>:long</code> Plafond de la mémoire estimée, en octets.
+	 * @param inactiviteMax <code>:long</code> Durée d'inactivité avant éviction, en millisecondes.
+	 * @param archivesMax <code>:int</code> Nombre maximum d'archives, <code>0</code> pour ne rien archiver.
+	 * @param nbrTranches <code>:int</code> Nombre de tranches souhaité, au moins <code>1</code>.
+	 * 
+	 * @see RegistreParties#MEMOIRE_MIN_TRANCHE
+	 */
+	RegistreParties(long memoireMax, long inactiviteMax, int archivesMax, int nbrTranches) {
+
+		if (memoireMax <= 0 || inactiviteMax <= 0 || archivesMax < 0 || nbrTranches < 1) {
+			throw new IllegalArgumentException("Registre invalide : " + memoireMax + " octets, "
+					+ inactiviteMax + " ms, " + archivesMax + " archives, " + nbrTranches + " tranches");
+		}
+
+		int nbr = (int) Math.max(1, Math.min(nbrTranches, memoireMax / MEMOIRE_MIN_TRANCHE));
+
+		this.tranches = new TrancheParties[nbr];
+		this.prochainId = new AtomicLong(1);
+
+		for (int i = 0; i < nbr; i++) {
+			// Les restes de la division vont aux premières tranches, et chaque tranche garde au moins une archive.
+			long memoire = memoireMax / nbr + (i < memoireMax % nbr ? 1 : 0);
+			int archives = archivesMax / nbr + (i < archivesMax % nbr ? 1 : 0);
+			tranches[i] = new TrancheParties(memoire, inactiviteMax, archivesMax > 0 ? Math.max(1, archives) : 0);
+		}
+	}
+
+	/**
+	 * Crée une nouvelle partie, l'enregistre et la prend pour l'appelant, qui doit la rendre.
+	 * Sa mémoire est estimée d'après la configuration avant la construction :
+	 * une partie trop grande est refusée sans avoir rien alloué.
+	 * 
+	 * @param graine : graine de la partie.
+	 * @param config : configuration de la partie.
+	 * 
+	 * @return La partie enregistrée : <code>PartieEnregistree</code>
+	 * 
+	 * @throws IllegalArgumentException si la partie seule dépasse la part du plafond d'une tranche.
+	 * 
+	 * @see Partie#estimerMemoire(ConfigPartie)
+	 */
+	PartieEnregistree ajouter(long graine, ConfigPartie config) {
+
+		long id = prochainId.getAndIncrement();
+		TrancheParties tranche = tranche(id);
+
+		tranche.verifierTaille(Partie.estimerMemoire(config), config);
+
+		// La partie est construite hors du verrou de la tranche.
+		PartieEnregistree enregistree = new PartieEnregistree(id, graine, Partie.nouvellePartie(config, graine));
+		tranche.ajouter(enregistree);
+
+		return enregistree;
+	}
+
+	/**
+	 * Prend une partie pour jouer, en la reconstruisant si elle était archivée.
+	 * L'appelant doit la rendre. La reconstruction ne bloque que la tranche de la partie.
+	 * 
+	 * @param id : identifiant de la partie.
+	 * 
+	 * @return La partie, ou <code>null</code> si elle n'existe pas ou plus : <code>PartieEnregistree</code>
+	 */
+	PartieEnregistree prendre(long id) {
+
+		return tranche(id).prendre(id);
+	}
+
+	/**
+	 * Rend une partie prise : elle redevient évinçable, et sa mémoire est recomptée.
+	 * 
+	 * @param enregistree : la partie prise.
+	 */
+	void rendre(PartieEnregistree enregistree) {
+
+		tranche(enregistree.getId()).rendre(enregistree);
+	}
+
+	/**
+	 * Oublie une partie, en mémoire ou archivée.
+	 * 
+	 * @param id : identifiant de la partie.
+	 * 
+	 * @return <code>true</code> si la partie existait.
+	 */
+	boolean retirer(long id) {
+
+		return tranche(id).retirer(id);
+	}
+
+	/**
+	 * Évince les parties inactives depuis plus de <code>inactiviteMax</code>, une tranche après l'autre :
+	 * les autres tranches restent disponibles pendant ce temps.
+	 * 
+	 * @return Le nombre de parties évincées : <code>int</code>
+	 */
+	int expirer() {
+
+		int nbrExpirees = 0;
+
+		for (TrancheParties tranche : tranches) {
+			nbrExpirees += tranche.expirer();
+		}
+
+		if (nbrExpirees > 0) {
+			LOG.info(nbrExpirees + " partie(s) inactive(s) évincée(s), " + getNbrParties() + " en mémoire, "
+					+ getNbrArchives() + " archivée(s)");
+		}
+
+		return nbrExpirees;
+	}
+
+	/**
+	 * Trouve la tranche d'une partie.
+	 * 
+	 * @param id : identifiant de la partie.
+	 * 
+	 * @return La tranche : <code>TrancheParties</code>
+	 */
+	private TrancheParties tranche(long id) {
+
+		return tranches[(int) Math.floorMod(id, (long) tranches.length)];
+	}
+
+	/**
+	 * Récupère le nombre de tranches du registre.
+	 * 
+	 * @return <code>int</code>
+	 */
+	int getNbrTranches() {
+
+		return tranches.length;
+	}
+
+	/**
+	 * Récupère le nombre de parties en mémoire.
+	 * 
+	 * @return <code>int</code>
+	 */
+	int getNbrParties() {
+
+		int nbr = 0;
+
+		for (TrancheParties tranche : tranches) {
+			nbr += tranche.getNbrParties();
+		}
+
+		return nbr;
+	}
+
+	/**
+	 * Récupère le nombre de parties archivées.
+	 * 
+	 * @return <code>int</code>
+	 */
+	int getNbrArchives() {
+
+		int nbr = 0;
+
+		for (TrancheParties tranche : tranches) {
+			nbr += tranche.getNbrArchives();
+		}
+
+		return nbr;
+	}
+
+	/**
+	 * Récupère la mémoire estimée des parties et des archives.
+	 * 
+	 * @return <code>long</code> : en octets.
+	 */
+	long getMemoire() {
+
+		long memoire = 0;
+
+		for (TrancheParties tranche : tranches) {
+			memoire += tranche.getMemoire();
+		}
+
+		return memoire;
+	}
+
+	/**
+	 * Récupère le nombre de parties évincées depuis la création du registre.
+	 * 
+	 * @return <code>long</code>
+	 */
+	long getNbrEvictions() {
+
+		long nbr = 0;
+
+		for (TrancheParties tranche : tranches) {
+			nbr += tranche.getNbrEvictions();
+		}
+
+		return nbr;
+	}
+
+}
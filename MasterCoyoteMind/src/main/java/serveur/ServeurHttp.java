@@ -0,0 +1,799 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package serveur;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import config.ImportConfig;
+import ia.GenerateurAleatoire;
+import ia.GenerateurSplittable;
+import ia.StrategieMonteCarlo;
+import moteur.ConfigPartie;
+import moteur.ModeJeu;
+import moteur.Partie;
+import moteur.Reponse;
+import moteur.TypeJeu;
+
+/**
+ * API HTTP qui répond en JSON, sur le serveur HTTP du JDK : chaque requête joue
+ * un coup d'une partie dans le style bloquant du reste du jeu.
+ * 
+ * <p>Les requêtes sont exécutées sur un thread virtuel chacune quand la JVM en propose,
+ * sinon sur un pool de threads classiques qui grandit à la demande.</p>
+ * 
+ * <p>Les tours de l'IA sont regroupés par un {@link OrdonnanceurIA} sur un nombre fixe de threads :
+ * quand il est saturé, la requête reçoit le code 503 au lieu d'attendre.</p>
+ * 
+ * <p>Les parties sont gardées par un {@link RegistreParties} : une partie abandonnée est archivée
+ * après une durée d'inactivité, ou plus tôt si la mémoire des parties atteint son plafond,
+ * puis reconstruite si le joueur revient. Le registre est réparti en tranches sous des verrous distincts,
+ * plusieurs par processeur, pour que les requêtes de parties différentes ne s'attendent pas.</p>
+ * 
+ * <p>Routes :</p>
+ * <ul>
+ * <li><code>POST /parties</code> : crée une partie. Paramètres <code>type</code> et <code>mode</code>
+ * (noms ou numéros du menu de la console), <code>cases</code>, <code>essais</code>, <code>couleurs</code>,
+ * <code>simulations</code> (par tour de l'IA du <i>Duel</i>) et <code>graine</code> facultatifs :
+ * la taille par défaut est celle du fichier de configuration.</li>
+ * <li><code>GET /parties/{id}</code> : état de la partie.</li>
+ * <li><code>POST /parties/{id}/secret</code> : combinaison <code>code</code> que l'IA doit trouver.</li>
+ * <li><code>POST /parties/{id}/essai</code> : tentative <code>code</code> du joueur.</li>
+ * <li><code>POST /parties/{id}/ia</code> : fait jouer l'IA.</li>
+ * <li><code>DELETE /parties/{id}</code> : abandonne la partie.</li>
+ * </ul>
+ * <p>Les paramètres sont lus dans l'URL, dans un corps de formulaire
+ * ou dans un objet JSON plat (<code>{"type":"MASTERMIND","cases":4}</code>).
+ * Une combinaison s'écrit sans séparateur, comme dans {@link ProtocoleJeu} : <code>"0123"</code>, ou <code>"9a0f"</code>
+ * au-delà de 10 couleurs. Une erreur renvoie
+ * <code>{"erreur":"..."}</code> avec le code 400 (requête invalide), 404 (partie inconnue)
+ * ou 409 (coup joué hors de son tour), ou 503 (serveur occupé).</p>
+ * 
+ * @see ServeurJeu
+ * 
+ * @author Coyote
+ */
+public class ServeurHttp {
+
+
+	/**
+	 * Port d'écoute par défaut.
+	 */
+	public static final int PORT_PAR_DEFAUT = 8080;
+	/**
+	 * Chemin des parties.
+	 */
+	private static final String PARTIES = "/parties";
+	/**
+	 * Taille maximum du corps d'une requête.
+	 */
+	private static final int MAX_CORPS = 4096;
+	/**
+	 * Durée d'inactivité par défaut avant l'archivage d'une partie, en millisecondes.
+	 */
+	public static final long INACTIVITE_PAR_DEFAUT = TimeUnit.MINUTES.toMillis(30);
+	/**
+	 * Nombre maximum d'archives par défaut.
+	 */
+	public static final int ARCHIVES_PAR_DEFAUT = 100_000;
+	/**
+	 * Nombre de tranches du registre des parties par processeur.
+	 */
+	public static final int TRANCHES_PAR_PROCESSEUR = 4;
+	/**
+	 * Paire <code>"nom": valeur</code> d'un objet JSON plat, valeur texte ou nombre.
+	 */
+	private static final Pattern PAIRE_JSON = Pattern.compile("\"(\\w+)\"\\s*:\\s*(?:\"([^\"\\\\]*)\"|(-?\\d+))");
+	/**
+	 * Création de l'objet Logger permettant la gestion des logs de l'application.
+	 */
+	private static final Logger LOG = LogManager.getLogger();
+	/**
+	 * Port demandé, <code>0</code> pour un port libre.
+	 */
+	private final int port;
+	/**
+	 * Nombre de cases par défaut.
+	 */
+	private final int nbrDeCases;
+	/**
+	 * Nombre d'essais par défaut.
+	 */
+	private final int nbrEssais;
+	/**
+	 * Nombre de couleurs par défaut au <i>MasterMind</i>.
+	 */
+	private final int nbrDeCouleurs;
+	/**
+	 * Tire la graine des parties créées sans graine. Partagé : utilisé sous verrou.
+	 */
+	private final GenerateurAleatoire graines;
+	/**
+	 * Parties en cours, par identifiant, en tranches. Chaque partie est jouée sous son propre verrou.
+	 */
+	private final RegistreParties registre;
+	/**
+	 * Intervalle entre deux recherches de parties inactives, en millisecondes.
+	 */
+	private final long periodeMenage;
+	/**
+	 * Serveur HTTP, ouvert par <code>demarrer()</code>.
+	 */
+	private HttpServer http;
+	/**
+	 * Exécute les requêtes.
+	 */
+	private ExecutorService executeur;
+	/**
+	 * Évince régulièrement les parties inactives.
+	 */
+	private ScheduledExecutorService menage;
+	/**
+	 * Regroupe et joue les tours de l'IA.
+	 */
+	private OrdonnanceurIA ordonnanceurIA;
+
+
+	/**
+	 * Constructeur de <i>ServeurHttp</i> : les parties occupent au plus la moitié de la mémoire de la JVM.
+	 * 
+	 * @param port <code>:int</code> Port d'écoute, <code>0</code> pour un port libre.
+	 * @param nbrDeCases <code>:int</code> Nombre de cases par défaut.
+	 * @param nbrEssais <code>:int</code> Nombre d'essais par défaut.
+	 * @param nbrDeCouleurs <code>:int</code> Nombre de couleurs par défaut.
+	 * @param graine <code>:long</code> Graine des parties créées sans graine.
+	 */
+	public ServeurHttp(int port, int nbrDeCases, int nbrEssais, int nbrDeCouleurs, long graine) {
+
+		this(port, nbrDeCases, nbrEssais, nbrDeCouleurs, graine,
+				Runtime.getRuntime().maxMemory() / 2, INACTIVITE_PAR_DEFAUT, ARCHIVES_PAR_DEFAUT);
+	}
+
+	/**
+	 * Constructeur de <i>ServeurHttp</i> qui fixe les limites du registre des parties.
+	 * 
+	 * @param port <code>:int</code> Port d'écoute, <code>0</code> pour un port libre.
+	 * @param nbrDeCases <code>:int</code> Nombre de cases par défaut.
+	 * @param nbrEssais <code>:int</code> Nombre d'essais par défaut.
+	 * @param nbrDeCouleurs <code>:int</code> Nombre de couleurs par défaut.
+	 * @param graine <code>:long</code> Graine des parties créées sans graine.
+	 * @param memoireMax <code>:long</code> Plafond de la mémoire estimée des parties, en octets.
+	 * @param inactiviteMax <code>:long</code> Durée d'inactivité avant l'archivage d'une partie, en millisecondes.
+	 * @param archivesMax <code>:int</code> Nombre maximum d'archives, <code>0</code> pour oublier les parties évincées.
+	 */
+	public ServeurHttp(int port, int nbrDeCases, int nbrEssais, int nbrDeCouleurs, long graine,
+			long memoireMax, long inactiviteMax, int archivesMax) {
+
+		this.port = port;
+		this.nbrDeCases = nbrDeCases;
+		this.nbrEssais = nbrEssais;
+		this.nbrDeCouleurs = nbrDeCouleurs;
+		this.graines = new GenerateurSplittable(graine);
+		this.registre = new RegistreParties(memoireMax, inactiviteMax, archivesMax,
+				TRANCHES_PAR_PROCESSEUR * Runtime.getRuntime().availableProcessors());
+		this.periodeMenage = Math.max(1, inactiviteMax / 4);
+	}
+
+	/**
+	 * Lance le serveur avec les paramètres de la ligne de commande :
+	 * <code>[port [graine [memoireMo [inactiviteSecondes]]]]</code>.
+	 * La taille des parties par défaut vient du fichier de configuration, comme pour la console.
+	 * 
+	 * @param args paramètres du serveur.
+	 * 
+	 * @throws IOException si le port ne peut pas être ouvert.
+	 */
+	public static void main(String[] args) throws IOException {
+
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : PORT_PAR_DEFAUT;
+		long graine = args.length > 1 ? Long.parseLong(args[1]) : GenerateurSplittable.nouvelleGraine();
+		long memoireMax = args.length > 2 ? Long.parseLong(args[2]) << 20 : Runtime.getRuntime().maxMemory() / 2;
+		long inactiviteMax = args.length > 3 ? TimeUnit.SECONDS.toMillis(Long.parseLong(args[3])) : INACTIVITE_PAR_DEFAUT;
+
+		ImportConfig impConf = new ImportConfig();
+		impConf.init();
+
+		ServeurHttp serveur = new ServeurHttp(port, impConf.getNbrDeCases(), impConf.getNbrEssais(),
+				impConf.getNbrDeCouleurs(), graine, memoireMax, inactiviteMax, ARCHIVES_PAR_DEFAUT);
+		serveur.demarrer();
+
+		System.out.println("API MasterCoyoteMind à l'écoute sur http://localhost:" + serveur.getPort() + PARTIES
+				+ " (graine " + graine + ", " + (memoireMax >> 20) + " Mo de parties)");
+	}
+
+	/**
+	 * Ouvre le port d'écoute et démarre le serveur HTTP.
+	 * 
+	 * @throws IOException si le port ne peut pas être ouvert.
+	 */
+	public void demarrer() throws IOException {
+
+		executeur = executeurRequetes();
+		ordonnanceurIA = new OrdonnanceurIA(Runtime.getRuntime().availableProcessors(),
+				OrdonnanceurIA.FENETRE_PAR_DEFAUT, OrdonnanceurIA.CAPACITE_PAR_DEFAUT);
+
+		http = HttpServer.create(new InetSocketAddress(port), 0);
+		http.createContext(PARTIES, this::traiter);
+		http.setExecutor(executeur);
+		http.start();
+
+		menage = Executors.newSingleThreadScheduledExecutor(ServeurJeu.nommer("menage-parties-"));
+		menage.scheduleWithFixedDelay(registre::expirer, periodeMenage, periodeMenage, TimeUnit.MILLISECONDS);
+
+		LOG.info("API HTTP démarrée sur le port " + getPort());
+	}
+
+	/**
+	 * Arrête le serveur sans attendre les requêtes en cours.
+	 */
+	public void arreter() {
+
+		http.stop(0);
+		executeur.shutdownNow();
+		menage.shutdownNow();
+		ordonnanceurIA.arreter();
+	}
+
+	/**
+	 * Récupère le port d'écoute effectif, utile quand le port demandé est <code>0</code>.
+	 * 
+	 * @return int : le port d'écoute.
+	 */
+	public int getPort() {
+
+		return http.getAddress().getPort();
+	}
+
+	/**
+	 * Crée l'exécuteur des requêtes : un thread virtuel par requête si la JVM le permet,
+	 * sinon un pool de threads démons qui grandit à la demande.
+	 * 
+	 * @return L'exécuteur : <code>ExecutorService</code>
+	 */
+	static ExecutorService executeurRequetes() {
+
+		try {
+			// Méthode absente avant Java 21 : cherchée par réflexion pour compiler et tourner sur Java 10.
+			Method fabrique = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			ExecutorService virtuels = (ExecutorService) fabrique.invoke(null);
+			LOG.info("Requêtes HTTP sur threads virtuels");
+			return virtuels;
+
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			LOG.info("Threads virtuels indisponibles : requêtes HTTP sur un pool de threads");
+			return Executors.newCachedThreadPool(ServeurJeu.nommer("http-jeu-"));
+		}
+	}
+
+	/**
+	 * Traite une requête sur les parties et envoie sa réponse JSON.
+	 * 
+	 * @param echange : la requête HTTP.
+	 * 
+	 * @throws IOException si la réponse ne peut pas être envoyée.
+	 */
+	private void traiter(HttpExchange echange) throws IOException {
+
+		int statut = 200;
+		StringBuilder json = new StringBuilder();
+
+		try {
+			statut = router(echange, json);
+
+		} catch (PartieInconnueException e) {
+			statut = 404;
+			erreur(e.getMessage(), json);
+
+		} catch (IllegalStateException e) {
+			statut = 409;
+			erreur(e.getMessage(), json);
+
+		} catch (IllegalArgumentException e) {
+			statut = 400;
+			erreur(e.getMessage(), json);
+
+		} catch (RejectedExecutionException e) {
+			statut = 503;
+			erreur(e.getMessage(), json);
+
+		} catch (RuntimeException e) {
+			LOG.error("Requête " + echange.getRequestMethod() + " " + echange.getRequestURI() + " :", e);
+			statut = 500;
+			erreur("Erreur interne", json);
+		}
+
+		byte[] corps = json.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+
+		echange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		echange.sendResponseHeaders(statut, corps.length);
+
+		try (OutputStream sortie = echange.getResponseBody()) {
+			sortie.write(corps);
+		}
+	}
+
+	/**
+	 * Choisit l'action de la requête selon sa méthode et son chemin.
+	 * 
+	 * @param echange : la requête HTTP.
+	 * @param json : reçoit la réponse.
+	 * 
+	 * @return Le code de statut HTTP : <code>int</code>
+	 * 
+	 * @throws IOException si le corps de la requête ne peut pas être lu.
+	 */
+	private int router(HttpExchange echange, StringBuilder json) throws IOException {
+
+		String methode = echange.getRequestMethod();
+		String[] chemin = echange.getRequestURI().getPath().substring(PARTIES.length()).split("/");
+
+		// "/parties" ou "/parties/" : chemin vide, sinon "", id [, action].
+		if (chemin.length <= 1) {
+			verifierMethode(methode, "POST");
+			creerPartie(lireParametres(echange), json);
+			return 201;
+		}
+
+		if (!chemin[0].isEmpty() || chemin.length > 3) {
+			throw new PartieInconnueException(echange.getRequestURI().getPath());
+		}
+
+		long id = lireId(chemin[1]);
+		String action = chemin.length == 3 ? chemin[2] : "";
+
+		if (action.isEmpty() && "DELETE".equals(methode)) {
+			if (!registre.retirer(id)) {
+				throw new PartieInconnueException("Partie inconnue : " + id);
+			}
+			json.append("{\"id\":").append(id).append('}');
+			return 200;
+		}
+
+		if (!action.isEmpty() && !"secret".equals(action) && !"essai".equals(action) && !"ia".equals(action)) {
+			throw new PartieInconnueException(echange.getRequestURI().getPath());
+		}
+
+		verifierMethode(methode, action.isEmpty() ? "GET" : "POST");
+		// Le corps est lu avant de prendre la partie, qui reste évinçable pendant la lecture.
+		Map<String, String> parametres = lireParametres(echange);
+		PartieEnregistree enregistree = trouverPartie(id);
+
+		try {
+			synchronized (enregistree) {
+				jouer(action, parametres, enregistree, json);
+			}
+		} finally {
+			registre.rendre(enregistree);
+		}
+
+		return 200;
+	}
+
+	/**
+	 * Joue le coup d'une requête sur une partie prise, sous son verrou.
+	 * 
+	 * @param action : <code>secret</code>, <code>essai</code>, <code>ia</code>, ou vide pour lire l'état.
+	 * @param parametres : paramètres de la requête.
+	 * @param enregistree : la partie.
+	 * @param json : reçoit la réponse.
+	 */
+	private void jouer(String action, Map<String, String> parametres, PartieEnregistree enregistree, StringBuilder json) {
+
+		Partie partie = enregistree.getPartie();
+
+		switch (action) {
+
+			case "secret":
+				enregistree.definirCombinaisonIA(ProtocoleJeu.lireChiffres(obligatoire(parametres, "code")));
+				decrireEtat(enregistree.getId(), partie, json);
+				break;
+
+			case "essai":
+				int[] tentative = ProtocoleJeu.lireChiffres(obligatoire(parametres, "code"));
+				decrireCoup(tentative, enregistree.proposer(tentative), partie, json);
+				break;
+
+			case "ia":
+				int[] tentativeIA = new int[partie.getConfig().getNbrDeCases()];
+				Reponse reponse = enregistree.jouerIA(tentativeIA, ordonnanceurIA);
+				decrireCoup(tentativeIA, reponse, partie, json);
+				break;
+
+			default:
+				decrireEtat(enregistree.getId(), partie, json);
+		}
+	}
+
+	/**
+	 * Crée une partie et l'enregistre.
+	 * 
+	 * @param parametres : paramètres de la requête.
+	 * @param json : reçoit l'état de la partie.
+	 */
+	private void creerPartie(Map<String, String> parametres, StringBuilder json) {
+
+		TypeJeu type = lireEnum(TypeJeu.class, obligatoire(parametres, "type"));
+		ModeJeu mode = lireEnum(ModeJeu.class, obligatoire(parametres, "mode"));
+
+		ConfigPartie config = new ConfigPartie(type, mode,
+				lireEntier(parametres, "cases", nbrDeCases),
+				lireEntier(parametres, "essais", nbrEssais),
+				lireEntier(parametres, "couleurs", nbrDeCouleurs),
+				lireEntier(parametres, "simulations", StrategieMonteCarlo.SIMULATIONS_PAR_DEFAUT));
+
+		long graine;
+		if (parametres.containsKey("graine")) {
+			graine = Long.parseLong(parametres.get("graine"));
+		} else {
+			synchronized (graines) {
+				graine = graines.nextLong();
+			}
+		}
+
+		PartieEnregistree enregistree = registre.ajouter(graine, config);
+
+		LOG.info("Partie HTTP " + enregistree.getId() + " : " + config + ", graine " + graine);
+
+		try {
+			synchronized (enregistree) {
+				decrireEtat(enregistree.getId(), enregistree.getPartie(), json);
+			}
+		} finally {
+			registre.rendre(enregistree);
+		}
+		// Ajoute la graine à l'objet pour rejouer la partie.
+		json.setLength(json.length() - 1);
+		json.append(",\"graine\":").append(graine).append('}');
+	}
+
+	/**
+	 * Écrit l'état d'une partie.
+	 * 
+	 * @param id : identifiant de la partie.
+	 * @param partie : la partie.
+	 * @param json : reçoit l'objet JSON.
+	 */
+	private static void decrireEtat(long id, Partie partie, StringBuilder json) {
+
+		ConfigPartie config = partie.getConfig();
+
+		json.append("{\"id\":").append(id)
+		.append(",\"type\":\"").append(config.getType())
+		.append("\",\"mode\":\"").append(config.getMode())
+		.append("\",\"cases\":").append(config.getNbrDeCases())
+		.append(",\"essais\":").append(config.getNbrEssais())
+		.append(",\"couleurs\":").append(config.getNbrDeCouleurs());
+
+		if (config.getMode() == ModeJeu.DUEL) {
+			json.append(",\"simulations\":").append(config.getNbrSimulationsIA());
+		}
+
+		decrireSuite(partie, json);
+		json.append('}');
+	}
+
+	/**
+	 * Écrit un coup joué et l'état de la partie qui en résulte.
+	 * 
+	 * @param tentative : chiffres joués.
+	 * @param reponse : réponse obtenue.
+	 * @param partie : la partie.
+	 * @param json : reçoit l'objet JSON.
+	 */
+	private static void decrireCoup(int[] tentative, Reponse reponse, Partie partie, StringBuilder json) {
+
+		json.append("{\"tentative\":\"");
+		ProtocoleJeu.ajouterChiffres(tentative, json);
+		json.append("\",\"reponse\":");
+
+		if (partie.getConfig().getType() == TypeJeu.MASTERMIND) {
+			json.append("{\"bienPlaces\":").append(reponse.getBienPlace())
+			.append(",\"presents\":").append(reponse.getPresent()).append('}');
+		} else {
+			json.append('"').append(reponse).append('"');
+		}
+
+		decrireSuite(partie, json);
+		json.append('}');
+	}
+
+	/**
+	 * Écrit ce qui reste à jouer : résultat, essais restants, prochain tour,
+	 * et la combinaison que le joueur cherchait une fois la partie terminée.
+	 * 
+	 * @param partie : la partie.
+	 * @param json : reçoit les champs, précédés d'une virgule.
+	 */
+	private static void decrireSuite(Partie partie, StringBuilder json) {
+
+		json.append(",\"resultat\":\"").append(partie.getResultat())
+		.append("\",\"essaisRestants\":").append(partie.getNbrEssaisRestants())
+		.append(",\"tourJoueur\":").append(partie.isTourJoueur())
+		.append(",\"tourIA\":").append(partie.isTourIA());
+
+		if (partie.estTerminee() && partie.getConfig().getMode().isJoueurCherche()) {
+			json.append(",\"combinaison\":\"");
+			ProtocoleJeu.ajouterChiffres(partie.getCombinaison(), json);
+			json.append('"');
+		}
+	}
+
+	/**
+	 * Écrit un objet d'erreur.
+	 * 
+	 * @param message : message de l'erreur.
+	 * @param json : reçoit l'objet JSON.
+	 */
+	private static void erreur(String message, StringBuilder json) {
+
+		json.setLength(0);
+		json.append("{\"erreur\":\"");
+
+		for (int i = 0; message != null && i < message.length(); i++) {
+
+			char c = message.charAt(i);
+
+			if (c == '"' || c == '\\') {
+				json.append('\\').append(c);
+			} else if (c < ' ') {
+				json.append(String.format("\\u%04x", (int) c));
+			} else {
+				json.append(c);
+			}
+		}
+
+		json.append("\"}");
+	}
+
+	/**
+	 * Prend une partie du registre, à rendre après usage.
+	 * 
+	 * @param id : identifiant de la partie.
+	 * 
+	 * @return La partie : <code>PartieEnregistree</code>
+	 * 
+	 * @throws PartieInconnueException si la partie n'existe pas ou plus.
+	 */
+	private PartieEnregistree trouverPartie(long id) {
+
+		PartieEnregistree enregistree = registre.prendre(id);
+
+		if (enregistree == null) {
+			throw new PartieInconnueException("Partie inconnue : " + id);
+		}
+
+		return enregistree;
+	}
+
+	/**
+	 * Vérifie la méthode HTTP d'une requête.
+	 * 
+	 * @param methode : méthode reçue.
+	 * @param attendue : méthode de la route.
+	 * 
+	 * @throws IllegalArgumentException si elles diffèrent.
+	 */
+	private static void verifierMethode(String methode, String attendue) {
+
+		if (!attendue.equals(methode)) {
+			throw new IllegalArgumentException("Méthode " + methode + " au lieu de " + attendue);
+		}
+	}
+
+	/**
+	 * Lit les paramètres de l'URL, puis ceux du corps : formulaire ou objet JSON plat.
+	 * 
+	 * @param echange : la requête HTTP.
+	 * 
+	 * @return Les paramètres par nom : <code>Map</code>
+	 * 
+	 * @throws IOException si le corps ne peut pas être lu.
+	 */
+	private static Map<String, String> lireParametres(HttpExchange echange) throws IOException {
+
+		Map<String, String> parametres = new HashMap<>();
+
+		lireFormulaire(echange.getRequestURI().getRawQuery(), parametres);
+
+		String corps = lireCorps(echange).trim();
+
+		if (corps.startsWith("{")) {
+			Matcher paire = PAIRE_JSON.matcher(corps);
+			while (paire.find()) {
+				parametres.put(paire.group(1), paire.group(2) != null ? paire.group(2) : paire.group(3));
+			}
+		} else {
+			lireFormulaire(corps, parametres);
+		}
+
+		return parametres;
+	}
+
+	/**
+	 * Lit des paramètres <code>nom=valeur&amp;...</code> encodés pour une URL.
+	 * 
+	 * @param texte : paramètres encodés, ou <code>null</code>.
+	 * @param parametres : reçoit les paramètres.
+	 */
+	private static void lireFormulaire(String texte, Map<String, String> parametres) {
+
+		if (texte == null || texte.isEmpty()) {
+			return;
+		}
+
+		for (String paire : texte.split("&")) {
+
+			int egal = paire.indexOf('=');
+
+			if (egal > 0) {
+				parametres.put(URLDecoder.decode(paire.substring(0, egal), StandardCharsets.UTF_8),
+						URLDecoder.decode(paire.substring(egal + 1), StandardCharsets.UTF_8));
+			}
+		}
+	}
+
+	/**
+	 * Lit le corps d'une requête, limité à <code>MAX_CORPS</code> octets.
+	 * 
+	 * @param echange : la requête HTTP.
+	 * 
+	 * @return Le corps : <code>String</code>
+	 * 
+	 * @throws IOException si le corps ne peut pas être lu.
+	 */
+	private static String lireCorps(HttpExchange echange) throws IOException {
+
+		ByteArrayOutputStream corps = new ByteArrayOutputStream();
+		byte[] tampon = new byte[512];
+
+		try (InputStream entree = echange.getRequestBody()) {
+
+			int lus;
+			while ((lus = entree.read(tampon)) > 0) {
+
+				if (corps.size() + lus > MAX_CORPS) {
+					throw new IllegalArgumentException("Corps de requête trop long");
+				}
+				corps.write(tampon, 0, lus);
+			}
+		}
+
+		return new String(corps.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Récupère un paramètre obligatoire.
+	 * 
+	 * @param parametres : paramètres de la requête.
+	 * @param nom : nom du paramètre.
+	 * 
+	 * @return La valeur : <code>String</code>
+	 * 
+	 * @throws IllegalArgumentException si le paramètre manque.
+	 */
+	private static String obligatoire(Map<String, String> parametres, String nom) {
+
+		String valeur = parametres.get(nom);
+
+		if (valeur == null || valeur.isEmpty()) {
+			throw new IllegalArgumentException("Paramètre manquant : " + nom);
+		}
+
+		return valeur;
+	}
+
+	/**
+	 * Lit un paramètre entier facultatif.
+	 * 
+	 * @param parametres : paramètres de la requête.
+	 * @param nom : nom du paramètre.
+	 * @param parDefaut : valeur si le paramètre manque.
+	 * 
+	 * @return La valeur : <code>int</code>
+	 * 
+	 * @throws IllegalArgumentException si le paramètre n'est pas un entier.
+	 */
+	private static int lireEntier(Map<String, String> parametres, String nom, int parDefaut) {
+
+		String valeur = parametres.get(nom);
+
+		return valeur == null ? parDefaut : Integer.parseInt(valeur);
+	}
+
+	/**
+	 * Lit un type ou un mode de jeu, par son nom ou par son numéro dans le menu de la console.
+	 * 
+	 * @param classe : <code>TypeJeu</code> ou <code>ModeJeu</code>.
+	 * @param valeur : nom ou numéro.
+	 * 
+	 * @return La constante : <code>E</code>
+	 * 
+	 * @throws IllegalArgumentException si la valeur ne correspond à aucune constante.
+	 */
+	private static <E extends Enum<E>> E lireEnum(Class<E> classe, String valeur) {
+
+		if (!valeur.isEmpty() && Character.isDigit(valeur.charAt(0))) {
+
+			int numero = Integer.parseInt(valeur);
+			Object constante = classe == TypeJeu.class ? TypeJeu.depuisNumero(numero) : ModeJeu.depuisNumero(numero);
+			return classe.cast(constante);
+		}
+
+		return Enum.valueOf(classe, valeur.toUpperCase());
+	}
+
+	/**
+	 * Identifiant lu dans le chemin.
+	 * 
+	 * @param texte : identifiant.
+	 * 
+	 * @return L'identifiant : <code>long</code>
+	 * 
+	 * @throws PartieInconnueException si ce n'est pas un nombre.
+	 */
+	private static long lireId(String texte) {
+
+		try {
+			return Long.parseLong(texte);
+		} catch (NumberFormatException e) {
+			throw new PartieInconnueException("Partie inconnue : " + texte);
+		}
+	}
+
+	/**
+	 * Partie ou route absente : réponse 404.
+	 */
+	private static final class PartieInconnueException extends IllegalArgumentException {
+
+		/**
+		 * Numéro de série.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Constructeur de <i>PartieInconnueException</i>.
+		 * 
+		 * @param message : description de la ressource absente.
+		 */
+		PartieInconnueException(String message) {
+
+			super(message);
+		}
+	}
+
+}
@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package serveur;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import ia.GenerateurAleatoire;
+import ia.GenerateurSplittable;
+
+/**
+ * Serveur TCP non bloquant : chaque connexion joue une partie de <i>MasterMind</i>
+ * ou de <i>Recherche</i> avec le protocole texte de {@link ProtocoleJeu}.
+ * 
+ * <p>Quelques boucles d'événements, un thread chacune, se partagent toutes les connexions :
+ * une connexion inactive ne coûte qu'un socket et quelques centaines d'octets.
+ * Les réponses aux essais du joueur sont calculées directement dans la boucle ;
+ * les créations de parties sont jouées sur un pool séparé, et les tours de l'IA
+ * sont regroupés par un {@link OrdonnanceurIA} qui refuse les tours en trop quand il est saturé.</p>
+ * 
+ * <p>Lancement : <code>java serveur.ServeurJeu [port [boucles [threadsIA [graine]]]]</code>,
+ * puis par exemple <code>nc localhost 7777</code>.</p>
+ * 
+ * @see ProtocoleJeu
+ * 
+ * @author Coyote
+ */
+public class ServeurJeu {
+
+
+	/**
+	 * Port d'écoute par défaut.
+	 */
+	public static final int PORT_PAR_DEFAUT = 7777;
+	/**
+	 * Nombre maximum de connexions en attente d'acceptation.
+	 */
+	private static final int FILE_ATTENTE = 1024;
+	/**
+	 * Création de l'objet Logger permettant la gestion des logs de l'application.
+	 */
+	private static final Logger LOG = LogManager.getLogger();
+	/**
+	 * Port demandé, <code>0</code> pour un port libre.
+	 */
+	private final int port;
+	/**
+	 * Boucles d'événements.
+	 */
+	private final BoucleEvenements[] boucles;
+	/**
+	 * Threads des boucles.
+	 */
+	private final Thread[] threads;
+	/**
+	 * Pool qui joue les créations de parties.
+	 */
+	private final ExecutorService executeurCalculs;
+	/**
+	 * Regroupe et joue les tours de l'IA.
+	 */
+	private final OrdonnanceurIA ordonnanceurIA;
+	/**
+	 * Nombre de connexions ouvertes.
+	 */
+	private final AtomicInteger nbrSessions;
+	/**
+	 * Socket d'écoute, ouvert par <code>demarrer()</code>.
+	 */
+	private ServerSocketChannel ecoute;
+	/**
+	 * Index de la boucle qui recevra la prochaine connexion.
+	 */
+	private int prochaineBoucle;
+
+
+	/**
+	 * Constructeur de <i>ServeurJeu</i>.
+	 * 
+	 * @param port <code>:int</code> Port d'écoute, <code>0</code> pour un port libre.
+	 * @param nbrBoucles <code>:int</code> Nombre de boucles d'événements, au moins 1.
+	 * @param nbrThreadsIA <code>:int</code> Nombre de threads qui jouent l'IA, au moins 1.
+	 * @param graine <code>:long</code> Graine des parties créées sans graine.
+	 * 
+	 * @throws IOException si un sélecteur ne peut pas être ouvert.
+	 */
+	public ServeurJeu(int port, int nbrBoucles, int nbrThreadsIA, long graine) throws IOException {
+
+		if (nbrBoucles < 1 || nbrThreadsIA < 1) {
+			throw new IllegalArgumentException("Serveur invalide : " + nbrBoucles + " boucles, " + nbrThreadsIA + " threads IA");
+		}
+
+		this.port = port;
+		this.nbrSessions = new AtomicInteger();
+		this.executeurCalculs = Executors.newFixedThreadPool(nbrThreadsIA, nommer("calcul-jeu-"));
+		this.ordonnanceurIA = new OrdonnanceurIA(nbrThreadsIA, OrdonnanceurIA.FENETRE_PAR_DEFAUT, OrdonnanceurIA.CAPACITE_PAR_DEFAUT);
+
+		GenerateurAleatoire graines = new GenerateurSplittable(graine);
+		boucles = new BoucleEvenements[nbrBoucles];
+		threads = new Thread[nbrBoucles];
+
+		for (int b = 0; b < nbrBoucles; b++) {
+			boucles[b] = new BoucleEvenements(this, executeurCalculs, ordonnanceurIA, graines.split());
+			threads[b] = new Thread(boucles[b], "boucle-jeu-" + b);
+		}
+	}
+
+	/**
+	 * Lance le serveur avec les paramètres de la ligne de commande :
+	 * <code>[port [boucles [threadsIA [graine]]]]</code>.
+	 * 
+	 * @param args paramètres du serveur.
+	 * 
+	 * @throws IOException si le port ne peut pas être ouvert.
+	 */
+	public static void main(String[] args) throws IOException {
+
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : PORT_PAR_DEFAUT;
+		int nbrBoucles = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		int nbrThreadsIA = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		long graine = args.length > 3 ? Long.parseLong(args[3]) : GenerateurSplittable.nouvelleGraine();
+
+		ServeurJeu serveur = new ServeurJeu(port, nbrBoucles, nbrThreadsIA, graine);
+		serveur.demarrer();
+
+		System.out.println("Serveur MasterCoyoteMind à l'écoute sur le port " + serveur.getPort()
+				+ " (" + nbrBoucles + " boucle(s), " + nbrThreadsIA + " thread(s) IA, graine " + graine + ")");
+	}
+
+	/**
+	 * Ouvre le port d'écoute et démarre les boucles d'événements.
+	 * 
+	 * @throws IOException si le port ne peut pas être ouvert.
+	 */
+	public void demarrer() throws IOException {
+
+		ecoute = ServerSocketChannel.open();
+		ecoute.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+		ecoute.bind(new InetSocketAddress(port), FILE_ATTENTE);
+		ecoute.configureBlocking(false);
+
+		// La première boucle accepte les connexions et les répartit entre toutes.
+		BoucleEvenements premiere = boucles[0];
+		premiere.executer(() -> {
+			try {
+				ecoute.register(premiere.getSelecteur(), SelectionKey.OP_ACCEPT, this);
+			} catch (IOException e) {
+				LOG.error("Écoute impossible :", e);
+			}
+		});
+
+		for (Thread thread : threads) {
+			thread.start();
+		}
+
+		LOG.info("Serveur démarré sur le port " + getPort());
+	}
+
+	/**
+	 * Accepte les connexions en attente, dans le thread de la première boucle.
+	 */
+	void accepter() {
+
+		try {
+			SocketChannel canal;
+
+			while ((canal = ecoute.accept()) != null) {
+
+				canal.configureBlocking(false);
+				canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+				nbrSessions.incrementAndGet();
+
+				boucles[prochaineBoucle].ajouter(canal);
+				prochaineBoucle = (prochaineBoucle + 1) % boucles.length;
+			}
+
+		} catch (IOException e) {
+			LOG.error("Acceptation de connexion :", e);
+		}
+	}
+
+	/**
+	 * Compte la fermeture d'une connexion.
+	 */
+	void sessionFermee() {
+
+		nbrSessions.decrementAndGet();
+	}
+
+	/**
+	 * Arrête le serveur : ferme le port d'écoute, toutes les connexions, le pool des calculs et l'ordonnanceur de l'IA.
+	 * 
+	 * @throws InterruptedException si le thread appelant est interrompu pendant l'arrêt des boucles.
+	 */
+	public void arreter() throws InterruptedException {
+
+		for (BoucleEvenements boucle : boucles) {
+			boucle.arreter();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		executeurCalculs.shutdownNow();
+		ordonnanceurIA.arreter();
+
+		try {
+			if (ecoute != null) {
+				ecoute.close();
+			}
+		} catch (IOException e) {
+			LOG.error("Fermeture du port d'écoute :", e);
+		}
+	}
+
+	/**
+	 * Récupère le port d'écoute effectif, utile quand le port demandé est <code>0</code>.
+	 * 
+	 * @return int : le port d'écoute.
+	 */
+	public int getPort() {
+
+		return ecoute.socket().getLocalPort();
+	}
+
+	/**
+	 * Récupère le nombre de connexions ouvertes.
+	 * 
+	 * @return int : nombre de sessions.
+	 */
+	public int getNbrSessions() {
+
+		return nbrSessions.get();
+	}
+
+	/**
+	 * Crée une fabrique de threads démons numérotés.
+	 * 
+	 * @param prefixe : début du nom des threads.
+	 * 
+	 * @return La fabrique : <code>ThreadFactory</code>
+	 */
+	static ThreadFactory nommer(String prefixe) {
+
+		AtomicInteger numero = new AtomicInteger();
+
+		return tache -> {
+			Thread thread = new Thread(tache, prefixe + numero.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+}
@@ -0,0 +1,356 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package serveur;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Connexion d'un client : découpe les octets reçus en lignes, les fait exécuter
+ * par son {@link ProtocoleJeu} et renvoie les réponses, sans jamais bloquer la boucle.
+ * 
+ * <p>Les créations de parties, qui peuvent être longues, sont jouées sur le pool des calculs,
+ * et les tours de l'IA par l'{@link OrdonnanceurIA} du serveur. Pendant ce temps la session ne lit plus rien : les commandes suivantes attendent dans le tampon
+ * de lecture, puis dans le socket. Elle arrête aussi de lire quand le client ne lit pas ses réponses.</p>
+ * 
+ * <p>En dehors de ces calculs, une session n'est utilisée que par le thread de sa boucle.</p>
+ * 
+ * @author Coyote
+ */
+final class SessionJeu {
+
+
+	/**
+	 * Longueur maximum d'une ligne reçue.
+	 */
+	static final int MAX_LIGNE = 256;
+	/**
+	 * Taille des réponses en attente au-delà de laquelle la session arrête de lire.
+	 */
+	private static final int MAX_SORTIE = 64 * 1024;
+	/**
+	 * Taille du tampon de lecture.
+	 */
+	private static final int TAILLE_LECTURE = 512;
+	/**
+	 * Création de l'objet Logger permettant la gestion des logs de l'application.
+	 */
+	private static final Logger LOG = LogManager.getLogger();
+	/**
+	 * Boucle qui gère la connexion.
+	 */
+	private final BoucleEvenements boucle;
+	/**
+	 * Connexion du client.
+	 */
+	private final SocketChannel canal;
+	/**
+	 * Interprète des commandes.
+	 */
+	private final ProtocoleJeu protocole;
+	/**
+	 * Octets reçus et pas encore traités, prêts à être lus.
+	 */
+	private final ByteBuffer lecture;
+	/**
+	 * Ligne en cours de réception.
+	 */
+	private final StringBuilder ligne;
+	/**
+	 * Réponses produites et pas encore encodées.
+	 */
+	private final StringBuilder reponses;
+	/**
+	 * Octets à envoyer, prêts à être lus.
+	 */
+	private ByteBuffer sortie;
+	/**
+	 * Clé de la connexion dans le sélecteur de la boucle.
+	 */
+	private SelectionKey cle;
+	/**
+	 * Vaut <code>true</code> pendant un calcul ou un tour de l'IA hors de la boucle.
+	 */
+	private boolean calculEnCours;
+	/**
+	 * Vaut <code>true</code> quand la connexion doit être fermée une fois les réponses envoyées.
+	 */
+	private boolean aFermer;
+	/**
+	 * Vaut <code>true</code> une fois la connexion fermée.
+	 */
+	private boolean fermee;
+
+
+	/**
+	 * Constructeur de <i>SessionJeu</i>.
+	 * 
+	 * @param boucle <code>:BoucleEvenements</code> Boucle qui gère la connexion.
+	 * @param canal <code>:SocketChannel</code> Connexion du client, non bloquante.
+	 * @param protocole <code>:ProtocoleJeu</code> Interprète des commandes.
+	 */
+	SessionJeu(BoucleEvenements boucle, SocketChannel canal, ProtocoleJeu protocole) {
+
+		this.boucle = boucle;
+		this.canal = canal;
+		this.protocole = protocole;
+		lecture = ByteBuffer.allocate(TAILLE_LECTURE);
+		lecture.flip();
+		ligne = new StringBuilder();
+		reponses = new StringBuilder();
+		sortie = ByteBuffer.allocate(0);
+	}
+
+	/**
+	 * Démarre la session une fois enregistrée dans le sélecteur : envoie la ligne de bienvenue.
+	 * 
+	 * @param cle : clé de la connexion.
+	 */
+	void demarrer(SelectionKey cle) {
+
+		this.cle = cle;
+		reponses.append(ProtocoleJeu.BIENVENUE).append('\n');
+		envoyer();
+	}
+
+	/**
+	 * Lit les octets disponibles et exécute les lignes complètes.
+	 */
+	void lire() {
+
+		try {
+			lecture.compact();
+			int lus = canal.read(lecture);
+			lecture.flip();
+
+			if (lus < 0) {
+				fermer();
+				return;
+			}
+
+		} catch (IOException e) {
+			LOG.debug("Lecture interrompue : " + e.getMessage());
+			fermer();
+			return;
+		}
+
+		traiter();
+	}
+
+	/**
+	 * Exécute les lignes complètes du tampon de lecture, jusqu'à un tour de l'IA.
+	 */
+	private void traiter() {
+
+		while (!calculEnCours && !aFermer && lecture.hasRemaining()) {
+
+			char c = (char) (lecture.get() & 0xFF);
+
+			if (c == '\n') {
+
+				int longueur = ligne.length();
+				if (longueur > 0 && ligne.charAt(longueur - 1) == '\r') {
+					ligne.setLength(longueur - 1);
+				}
+
+				String commande = ligne.toString();
+				ligne.setLength(0);
+
+				if (ProtocoleJeu.estLongue(commande)) {
+					lancerCalcul(tour -> protocole.executer(commande, tour));
+				} else {
+					aFermer = protocole.executer(commande, reponses);
+					lancerIASiBesoin();
+				}
+
+			} else if (ligne.length() < MAX_LIGNE) {
+				ligne.append(c);
+
+			} else {
+				reponses.append("ERREUR Ligne de plus de ").append(MAX_LIGNE).append(" caractères\n");
+				aFermer = true;
+			}
+		}
+
+		envoyer();
+	}
+
+	/**
+	 * Confie le tour de l'IA à l'ordonnanceur si la partie l'attend, la session ne lisant plus rien d'ici là.
+	 * Un serveur saturé refuse le tour : il sera retenté après la commande suivante.
+	 */
+	private void lancerIASiBesoin() {
+
+		if (aFermer || !protocole.isTourIA()) {
+			return;
+		}
+
+		calculEnCours = true;
+
+		try {
+			protocole.jouerIA(boucle.getOrdonnanceurIA(), tour -> boucle.executer(() -> finirCalcul(tour)));
+
+		} catch (RejectedExecutionException e) {
+			calculEnCours = false;
+			reponses.append("ERREUR ").append(e.getMessage()).append('\n');
+		}
+	}
+
+	/**
+	 * Confie un calcul au pool des calculs, la session ne lisant plus rien d'ici là.
+	 * La main est toujours rendue à la boucle, même si le calcul échoue sur une erreur.
+	 * 
+	 * @param calcul : calcul qui ajoute ses lignes de réponse au <code>StringBuilder</code> reçu.
+	 */
+	private void lancerCalcul(Consumer<StringBuilder> calcul) {
+
+		calculEnCours = true;
+
+		boucle.executerCalcul(() -> {
+
+			StringBuilder tour = new StringBuilder();
+
+			try {
+				calcul.accept(tour);
+
+			} catch (RuntimeException e) {
+				LOG.error("Calcul de session en échec :", e);
+				tour.append("ERREUR ").append(e.getMessage()).append('\n');
+
+			} catch (Error e) {
+				LOG.error("Calcul de session interrompu :", e);
+				tour.append("ERREUR Calcul interrompu : ").append(e).append('\n');
+				throw e;
+
+			} finally {
+				boucle.executer(() -> finirCalcul(tour));
+			}
+		});
+	}
+
+	/**
+	 * Reprend la session dans sa boucle après un calcul.
+	 * 
+	 * @param tour : lignes produites par le calcul.
+	 */
+	private void finirCalcul(StringBuilder tour) {
+
+		calculEnCours = false;
+
+		if (fermee) {
+			return;
+		}
+
+		reponses.append(tour);
+		lancerIASiBesoin();
+
+		// Reprend les commandes en attente, ou envoie le tour en attendant le suivant.
+		if (calculEnCours) {
+			envoyer();
+		} else {
+			traiter();
+		}
+	}
+
+	/**
+	 * Encode les réponses produites, essaie de les envoyer tout de suite
+	 * et met à jour les opérations attendues du sélecteur.
+	 */
+	private void envoyer() {
+
+		if (fermee) {
+			return;
+		}
+
+		if (reponses.length() > 0) {
+
+			byte[] octets = reponses.toString().getBytes(StandardCharsets.UTF_8);
+			reponses.setLength(0);
+
+			if (sortie.hasRemaining()) {
+				ByteBuffer tampon = ByteBuffer.allocate(sortie.remaining() + octets.length);
+				tampon.put(sortie).put(octets).flip();
+				sortie = tampon;
+			} else {
+				sortie = ByteBuffer.wrap(octets);
+			}
+		}
+
+		ecrire();
+	}
+
+	/**
+	 * Envoie ce que le socket accepte des octets en attente.
+	 */
+	void ecrire() {
+
+		try {
+			if (sortie.hasRemaining()) {
+				canal.write(sortie);
+			}
+
+		} catch (IOException e) {
+			LOG.debug("Écriture interrompue : " + e.getMessage());
+			fermer();
+			return;
+		}
+
+		if (aFermer && !sortie.hasRemaining()) {
+			fermer();
+			return;
+		}
+
+		int operations = 0;
+		if (!calculEnCours && !aFermer && sortie.remaining() < MAX_SORTIE) {
+			operations |= SelectionKey.OP_READ;
+		}
+		if (sortie.hasRemaining()) {
+			operations |= SelectionKey.OP_WRITE;
+		}
+		cle.interestOps(operations);
+	}
+
+	/**
+	 * Ferme la connexion, une seule fois.
+	 */
+	void fermer() {
+
+		if (fermee) {
+			return;
+		}
+
+		fermee = true;
+		cle.cancel();
+
+		try {
+			canal.close();
+		} catch (IOException e) {
+			LOG.debug("Fermeture de connexion : " + e.getMessage());
+		}
+
+		boucle.sessionFermee();
+	}
+
+}
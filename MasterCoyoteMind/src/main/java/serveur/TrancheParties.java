@@ -0,0 +1,348 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+package serveur;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import moteur.ConfigPartie;
+import moteur.Partie;
+
+/**
+ * Tranche d'un {@link RegistreParties} : une part des parties, sous son propre verrou,
+ * dont la mémoire ne dépasse jamais sa part du plafond.
+ * 
+ * <p>Chaque partie compte pour la mémoire estimée de sa configuration ({@link Partie#estimerMemoire()}).
+ * Quand le total dépasse le plafond, ou quand une partie n'a pas servi depuis <code>inactiviteMax</code>,
+ * les parties les moins récemment utilisées de la tranche sont évincées : archivées en quelques dizaines
+ * d'octets si la tranche garde des archives, oubliées sinon. Une partie archivée est reconstruite
+ * à sa prochaine utilisation. Les archives comptent aussi pour le plafond : les plus anciennes
+ * sont oubliées en premier.</p>
+ * 
+ * <p>Une partie se prend avec <code>prendre()</code> et se rend avec <code>rendre()</code> :
+ * une partie prise n'est jamais évincée. Ses coups se jouent entre les deux, sous son propre verrou.</p>
+ * 
+ * @see PartieEnregistree
+ * 
+ * @author Coyote
+ */
+final class TrancheParties {
+
+
+	/**
+	 * Estimation de la mémoire d'une entrée de la tranche, hors de la partie.
+	 */
+	private static final long OCTETS_ENTREE = 128;
+	/**
+	 * Plafond de la mémoire estimée des parties et des archives.
+	 */
+	private final long memoireMax;
+	/**
+	 * Durée d'inactivité au-delà de laquelle une partie est évincée, en nanosecondes.
+	 */
+	private final long inactiviteMax;
+	/**
+	 * Nombre maximum d'archives, <code>0</code> pour ne rien archiver.
+	 */
+	private final int archivesMax;
+	/**
+	 * Parties en mémoire, de la moins récemment utilisée à la plus récente.
+	 */
+	private final LinkedHashMap<Long, PartieEnregistree> parties;
+	/**
+	 * Mémoire comptée pour chaque partie en mémoire, mise à jour à chaque <code>rendre()</code>.
+	 */
+	private final Map<Long, Long> octetsComptes;
+	/**
+	 * Parties archivées, de la plus ancienne à la plus récente.
+	 */
+	private final LinkedHashMap<Long, byte[]> archives;
+	/**
+	 * Mémoire estimée des parties et des archives.
+	 */
+	private long memoire;
+	/**
+	 * Nombre de parties évincées depuis la création de la tranche.
+	 */
+	private long nbrEvictions;
+
+
+	/**
+	 * Constructeur de <i>TrancheParties</i>.
+	 * 
+	 * @param memoireMax <code>:long</code> Plafond de la mémoire estimée, en octets.
+	 * @param inactiviteMax <code>:long</code> Durée d'inactivité avant éviction, en millisecondes.
+	 * @param archivesMax <code>:int</code> Nombre maximum d'archives, <code>0</code> pour ne rien archiver.
+	 */
+	TrancheParties(long memoireMax, long inactiviteMax, int archivesMax) {
+
+		if (memoireMax <= 0 || inactiviteMax <= 0 || archivesMax < 0) {
+			throw new IllegalArgumentException("Tranche invalide : " + memoireMax + " octets, "
+					+ inactiviteMax + " ms, " + archivesMax + " archives");
+		}
+
+		this.memoireMax = memoireMax;
+		this.inactiviteMax = TimeUnit.MILLISECONDS.toNanos(inactiviteMax);
+		this.archivesMax = archivesMax;
+		this.parties = new LinkedHashMap<>(16, 0.75f, true);
+		this.octetsComptes = new HashMap<>();
+		this.archives = new LinkedHashMap<>();
+	}
+
+	/**
+	 * Enregistre une nouvelle partie et la prend pour l'appelant, qui doit la rendre.
+	 * 
+	 * @param enregistree : partie pas encore jouée, avec un identifiant qui revient à cette tranche.
+	 * 
+	 * @throws IllegalArgumentException si la partie seule dépasse le plafond.
+	 */
+	synchronized void ajouter(PartieEnregistree enregistree) {
+
+		verifierTaille(enregistree.getOctets(), enregistree.getPartie().getConfig());
+
+		inserer(enregistree);
+		enregistree.utilisations++;
+	}
+
+	/**
+	 * Vérifie qu'une partie peut tenir dans la tranche, évictions comprises.
+	 * Ne lit que le plafond, qui ne change pas : l'appel se fait sans le verrou.
+	 * 
+	 * @param octets : mémoire estimée de la partie.
+	 * @param config : configuration de la partie, pour le message d'erreur.
+	 * 
+	 * @throws IllegalArgumentException si la partie seule dépasse le plafond.
+	 */
+	void verifierTaille(long octets, ConfigPartie config) {
+
+		if (octets + OCTETS_ENTREE > memoireMax) {
+			throw new IllegalArgumentException("Partie trop grande pour le serveur : " + config);
+		}
+	}
+
+	/**
+	 * Prend une partie pour jouer, en la reconstruisant si elle était archivée.
+	 * L'appelant doit la rendre. La reconstruction rejoue les coups de la partie sous le verrou de la tranche.
+	 * 
+	 * @param id : identifiant de la partie.
+	 * 
+	 * @return La partie, ou <code>null</code> si elle n'existe pas ou plus : <code>PartieEnregistree</code>
+	 */
+	synchronized PartieEnregistree prendre(long id) {
+
+		PartieEnregistree enregistree = parties.get(id);
+
+		if (enregistree == null) {
+
+			byte[] archive = archives.remove(id);
+			if (archive == null) {
+				return null;
+			}
+
+			memoire -= OCTETS_ENTREE + archive.length;
+			enregistree = PartieEnregistree.reprendre(id, archive);
+			inserer(enregistree);
+		}
+
+		enregistree.utilisations++;
+
+		return enregistree;
+	}
+
+	/**
+	 * Rend une partie prise : elle redevient évinçable, et sa mémoire est recomptée.
+	 * 
+	 * @param enregistree : la partie prise.
+	 */
+	synchronized void rendre(PartieEnregistree enregistree) {
+
+		enregistree.utilisations--;
+		enregistree.derniereUtilisation = System.nanoTime();
+
+		Long comptes = octetsComptes.get(enregistree.getId());
+
+		if (comptes != null) {
+			long octets = OCTETS_ENTREE + enregistree.getOctets();
+			memoire += octets - comptes;
+			octetsComptes.put(enregistree.getId(), octets);
+			respecterPlafond();
+		}
+	}
+
+	/**
+	 * Oublie une partie, en mémoire ou archivée.
+	 * 
+	 * @param id : identifiant de la partie.
+	 * 
+	 * @return <code>true</code> si la partie existait.
+	 */
+	synchronized boolean retirer(long id) {
+
+		if (parties.remove(id) != null) {
+			memoire -= octetsComptes.remove(id);
+			return true;
+		}
+
+		byte[] archive = archives.remove(id);
+
+		if (archive != null) {
+			memoire -= OCTETS_ENTREE + archive.length;
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Évince les parties inactives depuis plus de <code>inactiviteMax</code>.
+	 * 
+	 * @return Le nombre de parties évincées : <code>int</code>
+	 */
+	synchronized int expirer() {
+
+		long limite = System.nanoTime() - inactiviteMax;
+		int nbrExpirees = 0;
+
+		// Ordre d'utilisation : la première partie encore active arrête le parcours.
+		Iterator<PartieEnregistree> iterateur = parties.values().iterator();
+
+		while (iterateur.hasNext()) {
+
+			PartieEnregistree enregistree = iterateur.next();
+
+			if (enregistree.derniereUtilisation - limite > 0) {
+				break;
+			}
+			if (enregistree.utilisations == 0) {
+				iterateur.remove();
+				evincer(enregistree);
+				nbrExpirees++;
+			}
+		}
+
+		return nbrExpirees;
+	}
+
+	/**
+	 * Ajoute une partie en mémoire, puis évince les plus anciennes si le plafond est dépassé.
+	 * 
+	 * @param enregistree : la partie.
+	 */
+	private void inserer(PartieEnregistree enregistree) {
+
+		long octets = OCTETS_ENTREE + enregistree.getOctets();
+
+		enregistree.derniereUtilisation = System.nanoTime();
+		parties.put(enregistree.getId(), enregistree);
+		octetsComptes.put(enregistree.getId(), octets);
+		memoire += octets;
+
+		// La nouvelle partie n'est pas encore prise : elle ne doit pas être la première évincée.
+		enregistree.utilisations++;
+		respecterPlafond();
+		enregistree.utilisations--;
+	}
+
+	/**
+	 * Évince des parties, des moins récemment utilisées aux plus récentes, puis oublie des archives,
+	 * des plus anciennes aux plus récentes, jusqu'à repasser sous le plafond.
+	 * Seules les parties prises peuvent le dépasser.
+	 */
+	private void respecterPlafond() {
+
+		Iterator<PartieEnregistree> iterateur = parties.values().iterator();
+
+		while (memoire > memoireMax && iterateur.hasNext()) {
+
+			PartieEnregistree enregistree = iterateur.next();
+
+			if (enregistree.utilisations == 0) {
+				iterateur.remove();
+				evincer(enregistree);
+			}
+		}
+
+		Iterator<byte[]> archivesAnciennes = archives.values().iterator();
+
+		while ((memoire > memoireMax || archives.size() > archivesMax) && archivesAnciennes.hasNext()) {
+
+			memoire -= OCTETS_ENTREE + archivesAnciennes.next().length;
+			archivesAnciennes.remove();
+		}
+	}
+
+	/**
+	 * Archive une partie retirée de la mémoire, si la tranche garde des archives.
+	 * 
+	 * @param enregistree : la partie, déjà retirée de <code>parties</code>.
+	 */
+	private void evincer(PartieEnregistree enregistree) {
+
+		memoire -= octetsComptes.remove(enregistree.getId());
+		nbrEvictions++;
+
+		if (archivesMax > 0) {
+			byte[] archive = enregistree.archiver();
+			archives.put(enregistree.getId(), archive);
+			memoire += OCTETS_ENTREE + archive.length;
+		}
+	}
+
+	/**
+	 * Récupère le nombre de parties en mémoire.
+	 * 
+	 * @return <code>int</code>
+	 */
+	synchronized int getNbrParties() {
+
+		return parties.size();
+	}
+
+	/**
+	 * Récupère le nombre de parties archivées.
+	 * 
+	 * @return <code>int</code>
+	 */
+	synchronized int getNbrArchives() {
+
+		return archives.size();
+	}
+
+	/**
+	 * Récupère la mémoire estimée des parties et des archives.
+	 * 
+	 * @return <code>long</code> : en octets.
+	 */
+	synchronized long getMemoire() {
+
+		return memoire;
+	}
+
+	/**
+	 * Récupère le nombre de parties évincées depuis la création de la tranche.
+	 * 
+	 * @return <code>long</code>
+	 */
+	synchronized long getNbrEvictions() {
+
+		return nbrEvictions;
+	}
+
+}
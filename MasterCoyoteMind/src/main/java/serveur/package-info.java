@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (C) 2018 Richard ANDRIAN
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ ******************************************************************************/
+/**
+ * Serveurs réseau : parties jouées par des clients TCP avec un protocole texte,
+ * ou par une API HTTP en JSON, sur le moteur de jeu sans console.
+ * 
+ * @see serveur.ServeurJeu
+ * @see serveur.ServeurHttp
+ * @see serveur.ProtocoleJeu
+ * 
+ * @author Coyote
+ */
+
+package serveur;